@@ -15,11 +15,9 @@
  */
 
 // package edu.umd.cloud9.example.simple;
-package src;
 
 import java.io.IOException;
 import java.util.Iterator;
-import java.util.StringTokenizer;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -62,17 +60,21 @@ public class DemoWordCount extends Configured implements Tool {
     private final static IntWritable ONE = new IntWritable(1);
     private final static Text WORD = new Text();
 
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) {
+      // Words are runs of letters unless the job configures other filters.
+      analyzer = Analyzer.fromConf(context.getConfiguration(), Analyzer.LETTERS);
+    }
+
     @Override
     public void map(LongWritable key, Text value, Context context)
         throws IOException, InterruptedException {
-      String line = ((Text) value).toString();
-      StringTokenizer itr = new StringTokenizer(line);
-      while (itr.hasMoreTokens()) {
-	String token = itr.nextToken();
-	if(token.matches("[A-Za-z]+")){
-        	WORD.set(itr.nextToken());
-        	context.write(WORD, ONE);
-	}
+      analyzer.reset(value);
+      while (analyzer.next()) {
+        analyzer.getTerm(WORD);
+        context.write(WORD, ONE);
       }
     }
   }
@@ -148,6 +150,7 @@ public class DemoWordCount extends Configured implements Tool {
     LOG.info(" - input path: " + inputPath);
     LOG.info(" - output path: " + outputPath);
     LOG.info(" - number of reducers: " + reduceTasks);
+    LOG.info(" - analyzer filters: " + Analyzer.fromConf(getConf(), Analyzer.LETTERS).getFilters());
 
     Configuration conf = getConf();
     Job job = Job.getInstance(conf);
@@ -1,6 +1,5 @@
 import java.io.IOException;
 import java.util.Iterator;
-import java.util.StringTokenizer;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -36,26 +35,33 @@ public class BigramCount extends Configured implements Tool {
     // Reuse objects to save overhead of object creation.
     private final static IntWritable ONE = new IntWritable(1);
     private final static Text BIGRAM = new Text();
+    private final static Text FIRST = new Text();
+    private final static byte[] SPACE = { ' ' };
+
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) {
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
 
     @Override
     public void map(LongWritable key, Text value, Context context)
         throws IOException, InterruptedException {
-      String line = ((Text) value).toString();
-      StringTokenizer itr = new StringTokenizer(line);
-      
-      String first = "";
-      String second = "";
-      if(itr.hasMoreTokens()){
-        first = itr.nextToken();
-      }
+      analyzer.reset(value);
 
-      while (itr.hasMoreTokens()) {
-        second = itr.nextToken();
+      if(analyzer.next()){
+        analyzer.getTerm(FIRST);
+      }
 
-        BIGRAM.set(first + ' ' + second);
+      while (analyzer.next()) {
+        // The bigram is the previous term, a space and this term, built from their bytes.
+        BIGRAM.set(FIRST);
+        BIGRAM.append(SPACE, 0, 1);
+        BIGRAM.append(analyzer.getTermBytes(), analyzer.getTermStart(), analyzer.getTermLength());
         context.write(BIGRAM, ONE);
 
-        first = second;
+        analyzer.getTerm(FIRST);
       }
     }
   }
@@ -131,6 +137,7 @@ public class BigramCount extends Configured implements Tool {
     LOG.info(" - input path: " + inputPath);
     LOG.info(" - output path: " + outputPath);
     LOG.info(" - number of reducers: " + reduceTasks);
+    LOG.info(" - analyzer filters: " + Analyzer.fromConf(getConf()).getFilters());
 
     Configuration conf = getConf();
     Job job = Job.getInstance(conf);
@@ -1,15 +1,6 @@
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.StringTokenizer;
-import java.util.TreeSet;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -20,7 +11,6 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
-import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.DoubleWritable;
@@ -38,6 +28,7 @@ import org.apache.hadoop.util.ToolRunner;
 import org.apache.log4j.Logger;
 
 import cern.colt.Arrays;
+import edu.umd.cloud9.io.pair.PairOfInts;
 import edu.umd.cloud9.io.pair.PairOfStrings;
 
 
@@ -53,20 +44,28 @@ public class PairsPMI extends Configured implements Tool {
     private final static Text KEY = new Text();
     private final static IntWritable ONE = new IntWritable(1);
 
+    // Terms already emitted for the current line, copied only when first seen
+    private final Set<Text> unique = new HashSet<Text>();
+
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context){
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
+
     @Override
     public void map(LongWritable key, Text value, Context context)
         throws IOException, InterruptedException{
 
-      String line = value.toString();
-      StringTokenizer t = new StringTokenizer(line);
-      Set<String> unique = new HashSet<String>();
-      String token = "";
+      analyzer.reset(value);
+      unique.clear();
 
-      while(t.hasMoreTokens()){
-        token = t.nextToken();
+      while(analyzer.next()){
+        analyzer.getTerm(KEY);
 
-        if(unique.add(token)){
-          KEY.set(token);
+        if(!unique.contains(KEY)){
+          unique.add(new Text(KEY));
           context.write(KEY, ONE);
         }
       }
@@ -94,39 +93,58 @@ public class PairsPMI extends Configured implements Tool {
 
 
   // Second stage mapper: Maps (A, TOTAL_A), (B, TOTAL_B) and (A_B, TOTAL_A_B) to the same reducer 
-  //                via a common key 
-  private static class PairsPMIMapper extends Mapper<LongWritable, Text, PairOfStrings, IntWritable> {
+  //                via a common key. Terms travel as their vocabulary ids, so the shuffle
+  //                sorts pairs of ints rather than pairs of strings
+  private static class PairsPMIMapper extends Mapper<LongWritable, Text, PairOfInts, IntWritable> {
 
     // Objects for reuse
-    private final static PairOfStrings PAIR = new PairOfStrings();
+    private final static PairOfInts PAIR = new PairOfInts();
     private final static IntWritable ONE = new IntWritable(1);
+    private final static Text TERM = new Text();
+
+    private Analyzer analyzer;
+    private Vocabulary vocabulary;
+    private int[] ids = new int[64];
+
+    @Override
+    public void setup(Context context) throws IOException{
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+      vocabulary = Vocabulary.fromCache(context);
+    }
 
     @Override
     public void map(LongWritable key, Text value, Context context) 
         throws IOException, InterruptedException{
 
-      String line = value.toString();
-      StringTokenizer t = new StringTokenizer(line);
+      analyzer.reset(value);
 
-      Set<String> sortedTerms = new TreeSet<String>();
-      while(t.hasMoreTokens()){
-        sortedTerms.add(t.nextToken());
-      }
-
-      String left = "";
-      String right = "";
+      int n = 0;
+      while(analyzer.next()){
+        analyzer.getTerm(TERM);
+        int id = vocabulary.getId(TERM);
+        if(id < 0){
+          throw new IOException("Term not in the vocabulary: " + TERM);
+        }
 
-      String[] terms = new String[sortedTerms.size()]; 
-      sortedTerms.toArray(terms);
+        if(n == ids.length){
+          ids = java.util.Arrays.copyOf(ids, 2 * n);
+        }
+        ids[n++] = id;
+      }
 
-      for(int leftTermIndex = 0; leftTermIndex < terms.length; leftTermIndex++){
-        for(int rightTermIndex = leftTermIndex + 1; rightTermIndex < terms.length; rightTermIndex++) {
-          left = terms[leftTermIndex];
-          right = terms[rightTermIndex];
+      // Sort and drop repeated ids, so each unique pair is emitted once
+      java.util.Arrays.sort(ids, 0, n);
+      int unique = 0;
+      for(int i = 0; i < n; i++){
+        if(unique == 0 || ids[i] != ids[unique - 1]){
+          ids[unique++] = ids[i];
+        }
+      }
 
-          PAIR.set(left, right);
+      for(int leftTermIndex = 0; leftTermIndex < unique; leftTermIndex++){
+        for(int rightTermIndex = leftTermIndex + 1; rightTermIndex < unique; rightTermIndex++) {
+          PAIR.set(ids[leftTermIndex], ids[rightTermIndex]);
           context.write(PAIR, ONE);
-
         }
       }
       
@@ -134,11 +152,11 @@ public class PairsPMI extends Configured implements Tool {
   }
   
   //Combiner
-  private static class PairsPMICombiner extends Reducer<PairOfStrings, IntWritable, PairOfStrings, IntWritable> {
+  private static class PairsPMICombiner extends Reducer<PairOfInts, IntWritable, PairOfInts, IntWritable> {
     private static IntWritable SUM = new IntWritable(); 
     
     @Override
-    public void reduce(PairOfStrings pair, Iterable<IntWritable> values, Context context) 
+    public void reduce(PairOfInts pair, Iterable<IntWritable> values, Context context) 
         throws IOException, InterruptedException{
       int sum = 0;
       for(IntWritable value : values){
@@ -150,56 +168,22 @@ public class PairsPMI extends Configured implements Tool {
   }
 
   // Second Stage reducer: Finalizes PMI Calculation given 
-  private static class PairsPMIReducer extends Reducer<PairOfStrings, IntWritable, PairOfStrings, DoubleWritable> {
-    
-    private static Map<String, Integer> termTotals = new HashMap<String, Integer>();
+  private static class PairsPMIReducer extends Reducer<PairOfInts, IntWritable, PairOfStrings, DoubleWritable> {
     
+    private static PairOfStrings PAIR = new PairOfStrings();
     private static DoubleWritable PMI = new DoubleWritable();
     private static double totalDocs = 156215.0;
+
+    // Individual totals of the terms, and the terms to decode ids back to
+    private Vocabulary vocabulary;
     
     @Override
     public void setup(Context context) throws IOException{
-      //TODO Read from intermediate output of first job
-      // and build in-memory map of terms to their individual totals
-      Configuration conf = context.getConfiguration();
-      FileSystem fs = FileSystem.get(conf);
-      
-//      Path inFile = new Path(conf.get("intermediatePath"));
-      Path inFile = new Path("/Users/chris/Projects/UMD/MapReduce-assignments/assignment2/appearance_totals_pairs/part-r-00000");
-
-      if(!fs.exists(inFile)){
-        throw new IOException("File Not Found: " + inFile.toString());
-      }
-      
-      BufferedReader reader = null;
-      try{
-        FSDataInputStream in = fs.open(inFile);
-        InputStreamReader inStream = new InputStreamReader(in);
-        reader = new BufferedReader(inStream);
-        
-      } catch(FileNotFoundException e){
-        throw new IOException("Exception thrown when trying to open file.");
-      }
-      
-      
-      String line = reader.readLine();
-      while(line != null){
-        
-        String[] parts = line.split("\\s+");
-        if(parts.length != 2){
-          LOG.info("Input line did not have exactly 2 tokens: '" + line + "'");
-        } else {
-          termTotals.put(parts[0], Integer.parseInt(parts[1]));
-        }
-        line = reader.readLine();
-      }
-      
-      reader.close();
-      
+      vocabulary = Vocabulary.fromCache(context);
     }
     
     @Override
-    public void reduce(PairOfStrings pair, Iterable<IntWritable> values, Context context ) 
+    public void reduce(PairOfInts pair, Iterable<IntWritable> values, Context context ) 
         throws IOException, InterruptedException{
       // Recieving pair and pair counts -> Sum these for this pair's total
         // Only calculate PMI for pairs that occur 10 or more times
@@ -213,20 +197,26 @@ public class PairsPMI extends Configured implements Tool {
 
         // Look up individual totals for each member of pair
         // Calculate PMI emit Pair or Text as key and Float as value
-        String left = pair.getLeftElement();
-        String right = pair.getRightElement();
+        int left = pair.getLeftElement();
+        int right = pair.getRightElement();
 
         double probPair = pairSum / totalDocs;
-        double probLeft = termTotals.get(left) / totalDocs;
-        double probRight = termTotals.get(right) / totalDocs;
+        double probLeft = vocabulary.getCount(left) / totalDocs;
+        double probRight = vocabulary.getCount(right) / totalDocs;
 
         double pmi = Math.log(probPair / (probLeft * probRight));
 
-
-        pair.set(left, right);
+        // Pairs are ordered by id in the shuffle; write the terms in alphabetical order as before
+        String leftTerm = vocabulary.getTerm(left);
+        String rightTerm = vocabulary.getTerm(right);
+        if(leftTerm.compareTo(rightTerm) < 0){
+          PAIR.set(leftTerm, rightTerm);
+        } else {
+          PAIR.set(rightTerm, leftTerm);
+        }
 
         PMI.set(pmi);
-        context.write(pair, PMI);
+        context.write(PAIR, PMI);
       }
 
     }
@@ -285,6 +275,7 @@ public class PairsPMI extends Configured implements Tool {
         LOG.info(" - input path: " + inputPath);
         LOG.info(" - output path: " + intermediatePath);
         LOG.info(" - number of reducers: " + reduceTasks);
+        LOG.info(" - analyzer filters: " + Analyzer.fromConf(getConf()).getFilters());
 
         Configuration conf = getConf();
         conf.set("intermediatePath", intermediatePath);
@@ -313,6 +304,11 @@ public class PairsPMI extends Configured implements Tool {
         job1.waitForCompletion(true);
         LOG.info("Job Finished in " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
 
+        // Number the terms by their totals, most frequent first, for the second job
+        Path vocabularyPath = new Path(intermediatePath, Vocabulary.FILE);
+        int vocabularySize = Vocabulary.build(FileSystem.get(conf), intermediateDir, vocabularyPath);
+        LOG.info("Vocabulary of " + vocabularySize + " terms written to " + vocabularyPath);
+
         
         // Start second job
         
@@ -330,9 +326,12 @@ public class PairsPMI extends Configured implements Tool {
         FileInputFormat.setInputPaths(job2,  new Path(inputPath));
         TextOutputFormat.setOutputPath(job2, new Path(outputPath));
         
-        //TODO Which output key??
+        job2.addCacheFile(FileSystem.get(conf).makeQualified(vocabularyPath).toUri());
+
+        job2.setMapOutputKeyClass(PairOfInts.class);
+        job2.setMapOutputValueClass(IntWritable.class);
         job2.setOutputKeyClass(PairOfStrings.class);
-        job2.setOutputValueClass(IntWritable.class);
+        job2.setOutputValueClass(DoubleWritable.class);
         job2.setMapperClass(PairsPMIMapper.class);
         job2.setCombinerClass(PairsPMICombiner.class);
         job2.setReducerClass(PairsPMIReducer.class);
@@ -1,14 +1,6 @@
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.StringTokenizer;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -19,7 +11,6 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
-import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.DoubleWritable;
@@ -37,7 +28,8 @@ import org.apache.hadoop.util.ToolRunner;
 import org.apache.log4j.Logger;
 
 import cern.colt.Arrays;
-import edu.umd.cloud9.io.map.HMapSIW;
+import edu.umd.cloud9.io.map.HMapIIW;
+import edu.umd.cloud9.util.map.MapII;
 import edu.umd.cloud9.io.pair.PairOfStrings;
 
 
@@ -53,20 +45,28 @@ public class StripesPMI extends Configured implements Tool {
     private final static Text KEY = new Text();
     private final static IntWritable ONE = new IntWritable(1);
 
+    // Terms already emitted for the current line, copied only when first seen
+    private final Set<Text> unique = new HashSet<Text>();
+
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context){
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
+
     @Override
     public void map(LongWritable key, Text value, Context context)
         throws IOException, InterruptedException{
 
-      String line = value.toString();
-      StringTokenizer t = new StringTokenizer(line);
-      Set<String> unique = new HashSet<String>();
-      String token = "";
+      analyzer.reset(value);
+      unique.clear();
 
-      while(t.hasMoreTokens()){
-        token = t.nextToken();
+      while(analyzer.next()){
+        analyzer.getTerm(KEY);
 
-        if(unique.add(token)){
-          KEY.set(token);
+        if(!unique.contains(KEY)){
+          unique.add(new Text(KEY));
           context.write(KEY, ONE);
         }
       }
@@ -95,42 +95,54 @@ public class StripesPMI extends Configured implements Tool {
 
 
   // Second stage mapper: Maps key: term, value: map term to "cooccurance" neighbors 
-  private static class StripesPMIMapper extends Mapper<LongWritable, Text, Text, HMapSIW> {
+  //                Terms travel as their vocabulary ids, so stripes are maps of ints to ints
+  private static class StripesPMIMapper extends Mapper<LongWritable, Text, IntWritable, HMapIIW> {
 
     // Objects for reuse
-    private final static Text KEY = new Text();
-    private final static HMapSIW MAP = new HMapSIW();
+    private final static IntWritable KEY = new IntWritable();
+    private final static HMapIIW MAP = new HMapIIW();
+    private final static Text TERM = new Text();
+
+    private Analyzer analyzer;
+    private Vocabulary vocabulary;
+    private int[] ids = new int[64];
+
+    @Override
+    public void setup(Context context) throws IOException{
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+      vocabulary = Vocabulary.fromCache(context);
+    }
 
     @Override
     public void map(LongWritable key, Text value, Context context) 
         throws IOException, InterruptedException{
 
-      String line = value.toString();
-      StringTokenizer t = new StringTokenizer(line);
-
-      // Need to pass through multiple times so put tokens into array
-      List<String> terms = new ArrayList<String>();
-      while(t.hasMoreTokens()){
-        terms.add(t.nextToken());
-      }
+      analyzer.reset(value);
 
+      // Need to pass through multiple times so put term ids into array
+      int n = 0;
+      while(analyzer.next()){
+        analyzer.getTerm(TERM);
+        int id = vocabulary.getId(TERM);
+        if(id < 0){
+          throw new IOException("Term not in the vocabulary: " + TERM);
+        }
 
-      String left = "";
-      String right = "";
-      for(int leftTermIndex = 0; leftTermIndex < terms.size(); leftTermIndex++){
-        left = terms.get(leftTermIndex);
+        if(n == ids.length){
+          ids = java.util.Arrays.copyOf(ids, 2 * n);
+        }
+        ids[n++] = id;
+      }
 
-        for(int rightTermIndex = leftTermIndex + 1; rightTermIndex < terms.size(); rightTermIndex++) {
-          right = terms.get(rightTermIndex);
 
-          if(!MAP.containsKey(right)){
-            MAP.put(right, 1);
-          }
+      for(int leftTermIndex = 0; leftTermIndex < n; leftTermIndex++){
 
+        for(int rightTermIndex = leftTermIndex + 1; rightTermIndex < n; rightTermIndex++) {
+          MAP.put(ids[rightTermIndex], 1);
         } // Each right word put in map
 
 
-        KEY.set(left);
+        KEY.set(ids[leftTermIndex]);
         context.write(KEY, MAP);
         MAP.clear();
       }
@@ -139,115 +151,64 @@ public class StripesPMI extends Configured implements Tool {
     }
   }
 
-  //TODO Write fill in combiner boilerplate
   //Combiner
-  private static class StripesPMICombiner extends Reducer<Text, HMapSIW, Text, HMapSIW> {
-    private static HMapSIW MAP = new HMapSIW(); 
+  private static class StripesPMICombiner extends Reducer<IntWritable, HMapIIW, IntWritable, HMapIIW> {
+    private static HMapIIW MAP = new HMapIIW(); 
 
 
 
     @Override
-    public void reduce(Text term, Iterable<HMapSIW> values, Context context) 
+    public void reduce(IntWritable term, Iterable<HMapIIW> values, Context context) 
         throws IOException, InterruptedException{
 
       // Do a element-wise sum of the maps
-      for(HMapSIW pairMap : values){
-
-        for(String key : pairMap.keySet()){
-
-          if(MAP.containsKey(key)){
-            MAP.put(key, MAP.get(key) + pairMap.get(key));
-          }else{
-            MAP.put(key, pairMap.get(key));
-          }
-
-        }
-
+      for(HMapIIW pairMap : values){
+        MAP.plus(pairMap);
       }
       context.write(term, MAP);
+      MAP.clear();
     }
   }
 
   // Second Stage reducer: Finalizes PMI Calculation given 
-  private static class StripesPMIReducer extends Reducer<Text, HMapSIW, PairOfStrings, DoubleWritable> {
+  private static class StripesPMIReducer extends Reducer<IntWritable, HMapIIW, PairOfStrings, DoubleWritable> {
 
-    private static Map<String, Integer> termTotals = new HashMap<String, Integer>();
-    private static Map<String, Integer> MAP = new HashMap<String, Integer>();
+    private static HMapIIW MAP = new HMapIIW();
     private static PairOfStrings PAIR = new PairOfStrings();
     private static DoubleWritable PMI = new DoubleWritable();
     private static double totalDocs = 156215;
 
+    // Individual totals of the terms, and the terms to decode ids back to
+    private Vocabulary vocabulary;
+
     @Override
     public void setup(Context context) throws IOException{
-      //TODO Read from intermediate output of first job
-      // and build in-memory map of terms to their individual totals
-      Configuration conf = context.getConfiguration();
-      FileSystem fs = FileSystem.get(conf);
-
-      //      Path inFile = new Path(conf.get("intermediatePath"));
-      Path inFile = new Path("/Users/chris/Projects/UMD/MapReduce-assignments/assignment2/appearance_totals_stripes/part-r-00000");
-
-      if(!fs.exists(inFile)){
-        throw new IOException("File Not Found: " + inFile.toString());
-      }
-
-      BufferedReader reader = null;
-      try{
-        FSDataInputStream in = fs.open(inFile);
-        InputStreamReader inStream = new InputStreamReader(in);
-        reader = new BufferedReader(inStream);
-
-      } catch(FileNotFoundException e){
-        throw new IOException("Exception thrown when trying to open file.");
-      }
-
-
-      String line = reader.readLine();
-      while(line != null){
-
-        String[] parts = line.split("\\s+");
-        if(parts.length != 2){
-          LOG.info("Input line did not have exactly 2 tokens: '" + line + "'");
-        } else {
-          termTotals.put(parts[0], Integer.parseInt(parts[1]));
-        }
-        line = reader.readLine();
-      }
-
-      reader.close();
-
+      vocabulary = Vocabulary.fromCache(context);
     }
 
     @Override
-    public void reduce(Text term, Iterable<HMapSIW> values, Context context ) 
+    public void reduce(IntWritable term, Iterable<HMapIIW> values, Context context ) 
         throws IOException, InterruptedException{
       // Recieving pair and pair counts -> Sum these for this pair's total
-      // Only calculate PMI for pairs that occur 10 or more times
 
 
       // Do a element-wise sum of the maps
-      for(HMapSIW pairMap : values){
-
-        for(String key : pairMap.keySet()){
-
-          if(MAP.containsKey(key)){
-            MAP.put(key, MAP.get(key) + pairMap.get(key));
-          }else{
-            MAP.put(key, pairMap.get(key));
-          }
-        }
+      for(HMapIIW pairMap : values){
+        MAP.plus(pairMap);
       }
 
       // MAP contians the total co-appearnaces for incoming key, "term" 
       //    and all the keys of the map. We'll make Pairs like this: (term, key_i)
-      String leftTerm = term.toString();
+      int left = term.get();
+      String leftTerm = vocabulary.getTerm(left);
 
-      for(String key : MAP.keySet()){
-        PAIR.set(leftTerm, key);
+      for(MapII.Entry entry : MAP.entrySet()){
+        int right = entry.getKey();
+        PAIR.set(leftTerm, vocabulary.getTerm(right));
 
-        double probPair = MAP.get(key) / totalDocs;
-        double probLeft = termTotals.get(leftTerm) / totalDocs;
-        double probRight = termTotals.get(key) / totalDocs;
+        double probPair = entry.getValue() / totalDocs;
+        double probLeft = vocabulary.getCount(left) / totalDocs;
+        double probRight = vocabulary.getCount(right) / totalDocs;
 
         double pmi = Math.log(probPair / (probLeft * probRight));
 
@@ -320,6 +281,7 @@ public class StripesPMI extends Configured implements Tool {
         LOG.info(" - input path: " + inputPath);
         LOG.info(" - output path: " + intermediatePath);
         LOG.info(" - number of reducers: " + reduceTasks);
+        LOG.info(" - analyzer filters: " + Analyzer.fromConf(getConf()).getFilters());
 
         Configuration conf = getConf();
         conf.set("intermediatePath", intermediatePath);
@@ -348,6 +310,11 @@ public class StripesPMI extends Configured implements Tool {
         job1.waitForCompletion(true);
         LOG.info("Job Finished in " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
 
+        // Number the terms by their totals, most frequent first, for the second job
+        Path vocabularyPath = new Path(intermediatePath, Vocabulary.FILE);
+        int vocabularySize = Vocabulary.build(FileSystem.get(conf), intermediateDir, vocabularyPath);
+        LOG.info("Vocabulary of " + vocabularySize + " terms written to " + vocabularyPath);
+
 
         // Start second job
         LOG.info("Tool: " + StripesPMI.class.getSimpleName() + " Stripes PMI Part");
@@ -364,9 +331,12 @@ public class StripesPMI extends Configured implements Tool {
         FileInputFormat.setInputPaths(job2,  new Path(inputPath));
         TextOutputFormat.setOutputPath(job2, new Path(outputPath));
 
-        //TODO Which output key??
-        job2.setOutputKeyClass(Text.class);
-        job2.setOutputValueClass(HMapSIW.class);
+        job2.addCacheFile(FileSystem.get(conf).makeQualified(vocabularyPath).toUri());
+
+        job2.setMapOutputKeyClass(IntWritable.class);
+        job2.setMapOutputValueClass(HMapIIW.class);
+        job2.setOutputKeyClass(PairOfStrings.class);
+        job2.setOutputValueClass(DoubleWritable.class);
         job2.setMapperClass(StripesPMIMapper.class);
         job2.setCombinerClass(StripesPMICombiner.class);
         job2.setReducerClass(StripesPMIReducer.class);
@@ -0,0 +1,176 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.MRJobConfig;
+
+/**
+ * Integer ids for the terms of a collection, so that jobs shuffle and sort ints instead of
+ * strings. Ids are numbered from 0 by decreasing number of documents (lines) containing the
+ * term, so the most frequent terms get the smallest ids.
+ *
+ * The vocabulary is built from the (term, count) output of an appearance count job and stored
+ * as a text file, {@link #FILE}, with one "term\tcount" line per id. Jobs ship it to their tasks
+ * through the distributed cache and decode ids back to terms only when writing their output.
+ */
+public class Vocabulary {
+  public static final String FILE = "_vocabulary";
+
+  private static final PathFilter PARTS = new PathFilter() {
+    @Override
+    public boolean accept(Path path) {
+      return path.getName().startsWith("part-");
+    }
+  };
+
+  private final String[] terms;
+  private final int[] counts;
+  private final Map<Text, Integer> ids;
+
+  private Vocabulary(String[] terms, int[] counts) {
+    this.terms = terms;
+    this.counts = counts;
+    this.ids = new HashMap<Text, Integer>(2 * terms.length);
+    for (int i = 0; i < terms.length; i++) {
+      ids.put(new Text(terms[i]), i);
+    }
+  }
+
+  public int size() {
+    return terms.length;
+  }
+
+  /**
+   * Returns the id of a term, or -1 if it is not in the vocabulary. Looking up a Text allocates
+   * nothing.
+   */
+  public int getId(Text term) {
+    Integer id = ids.get(term);
+    return id == null ? -1 : id;
+  }
+
+  public String getTerm(int id) {
+    return terms[id];
+  }
+
+  /**
+   * Returns the number of documents the term with this id appears in.
+   */
+  public int getCount(int id) {
+    return counts[id];
+  }
+
+  /**
+   * Reads the (term, count) lines of the part files in a job's output directory and writes them,
+   * by decreasing count, as a vocabulary.
+   *
+   * @return the number of terms
+   */
+  public static int build(FileSystem fs, Path counts, Path vocabulary) throws IOException {
+    final List<String> terms = new ArrayList<String>();
+    final List<Integer> termCounts = new ArrayList<Integer>();
+
+    FileStatus[] parts = fs.listStatus(counts, PARTS);
+    Arrays.sort(parts);
+    for (FileStatus part : parts) {
+      BufferedReader reader =
+          new BufferedReader(new InputStreamReader(fs.open(part.getPath()), "UTF-8"));
+      try {
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+          int tab = line.lastIndexOf('\t');
+          if (tab < 0) {
+            throw new IOException("Malformed count line in " + part.getPath() + ": '" + line + "'");
+          }
+          terms.add(line.substring(0, tab));
+          termCounts.add(Integer.parseInt(line.substring(tab + 1)));
+        }
+      } finally {
+        reader.close();
+      }
+    }
+
+    Integer[] order = new Integer[terms.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer a, Integer b) {
+        int cmp = termCounts.get(b).compareTo(termCounts.get(a));
+        return cmp != 0 ? cmp : terms.get(a).compareTo(terms.get(b));
+      }
+    });
+
+    Writer out = new OutputStreamWriter(fs.create(vocabulary, true), "UTF-8");
+    try {
+      for (int i : order) {
+        out.write(terms.get(i) + "\t" + termCounts.get(i) + "\n");
+      }
+    } finally {
+      out.close();
+    }
+
+    return order.length;
+  }
+
+  public static Vocabulary read(FileSystem fs, Path path) throws IOException {
+    List<String> terms = new ArrayList<String>();
+    List<Integer> counts = new ArrayList<Integer>();
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(path), "UTF-8"));
+    try {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        int tab = line.lastIndexOf('\t');
+        terms.add(line.substring(0, tab));
+        counts.add(Integer.parseInt(line.substring(tab + 1)));
+      }
+    } finally {
+      reader.close();
+    }
+
+    int[] c = new int[counts.size()];
+    for (int i = 0; i < c.length; i++) {
+      c[i] = counts.get(i);
+    }
+
+    return new Vocabulary(terms.toArray(new String[terms.size()]), c);
+  }
+
+  /**
+   * Reads the vocabulary a job shipped to its tasks through the distributed cache: from the
+   * symlink the task gets in its working directory, or else from the cached file itself.
+   */
+  public static Vocabulary fromCache(JobContext context) throws IOException {
+    // The cache files as the job added them; the mapper context's getCacheFiles() returns the
+    // cache archives instead in this version of Hadoop.
+    String[] files = context.getConfiguration().getStrings(MRJobConfig.CACHE_FILES);
+    if (files != null) {
+      for (String uri : files) {
+        Path file = new Path(URI.create(uri));
+        if (file.getName().equals(FILE)) {
+          FileSystem local = FileSystem.getLocal(context.getConfiguration());
+          Path link = new Path(FILE);
+          return local.exists(link) ? read(local, link) :
+              read(file.getFileSystem(context.getConfiguration()), file);
+        }
+      }
+    }
+
+    throw new IOException("No " + FILE + " in the distributed cache");
+  }
+}
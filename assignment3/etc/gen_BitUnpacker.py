@@ -0,0 +1,64 @@
+#!/usr/bin/env python
+"""Generates BitUnpacker.java: python etc/gen_BitUnpacker.py > src/main/BitUnpacker.java"""
+
+HEADER = '''// Generated by etc/gen_BitUnpacker.py; do not edit.
+
+/**
+ * Unpackers for the blocks of {@link BitPackedCodec}, one per bit width. Each turns the
+ * {@code width} words holding 64 packed values into ints with straight-line code: every shift and
+ * mask is a constant, and the words a value straddles are known in advance, so there are no
+ * branches or loop counters per value.
+ */
+final class BitUnpacker {
+  private BitUnpacker() {}
+
+  /**
+   * Unpacks {@code n} values, a multiple of 64, of {@code width} bits from {@code words},
+   * starting at word {@code wp}, into {@code values}.
+   */
+  static void unpack(long[] words, int wp, int width, int[] values, int n) {
+    for (int vp = 0; vp < n; vp += 64, wp += width) {
+      switch (width) {
+      case 0:
+        java.util.Arrays.fill(values, vp, vp + 64, 0);
+        break;'''
+
+
+def value(width, i):
+    mask = '0x%XL' % ((1 << width) - 1)
+    bit = i * width
+    word, shift = bit >> 6, bit & 63
+    w = 'words[wp + %d]' % word if word else 'words[wp]'
+    if shift + width > 64:
+        return '((%s >>> %d) | (words[wp + %d] << %d)) & %s' % (w, shift, word + 1, 64 - shift, mask)
+    e = '(%s >>> %d)' % (w, shift) if shift else w
+    # A value in the top bits of a word, or a 32-bit value, needs no mask before the cast.
+    if shift + width < 64 and width < 32:
+        e = '%s & %s' % (e, mask)
+    return e
+
+
+def main():
+    print(HEADER)
+    for width in range(1, 33):
+        print('      case %d:' % width)
+        print('        unpack%d(words, wp, values, vp);' % width)
+        print('        break;')
+    print('''      default:
+        throw new IllegalArgumentException("Bad bit width: " + width);
+      }
+    }
+  }''')
+    for width in range(1, 33):
+        print('')
+        print('  private static void unpack%d(long[] words, int wp, int[] values, int vp) {' % width)
+        for i in range(64):
+            v = 'values[vp + %d]' % i if i else 'values[vp]'
+            e = value(width, i)
+            print('    %s = (int) %s;' % (v, '(%s)' % e if ' & ' in e else e))
+        print('  }')
+    print('}')
+
+
+if __name__ == '__main__':
+    main()
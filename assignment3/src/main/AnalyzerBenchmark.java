@@ -0,0 +1,172 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark of tokenizing the lines of a collection, held in memory as Texts the way mappers
+ * receive them: decoding each line and splitting it on \s+ or with a StringTokenizer, as the jobs
+ * did, against {@link Analyzer} with several filter chains, walking the terms as bytes or decoding
+ * each into a String. An operation is one pass over all the lines; the setup prints their number
+ * of tokens, to turn passes into tokens per second. Run with {@code -prof gc} for the bytes
+ * allocated per pass, e.g.
+ *
+ * <pre>
+ * java -cp ... AnalyzerBenchmark -p input=data/bible+shakes.nopunc -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AnalyzerBenchmark {
+  /**
+   * The lines of the collection.
+   */
+  @State(Scope.Benchmark)
+  public static class Lines {
+    @Param({ "data/bible+shakes.nopunc" })
+    public String input;
+
+    @Param({ "2147483647" })
+    public int lines;
+
+    List<Text> texts;
+
+    @Setup
+    public void read() throws IOException {
+      FileSystem fs = FileSystem.get(new Configuration());
+      texts = new ArrayList<Text>();
+      long bytes = 0;
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(fs.open(new Path(input)), "UTF-8"));
+      try {
+        for (String line = in.readLine(); line != null && texts.size() < lines; line = in.readLine()) {
+          Text text = new Text(line);
+          texts.add(text);
+          bytes += text.getLength();
+        }
+      } finally {
+        in.close();
+      }
+
+      long numTokens = 0;
+      Analyzer counter = new Analyzer();
+      for (Text text : texts) {
+        counter.reset(text);
+        while (counter.next()) {
+          numTokens++;
+        }
+      }
+
+      System.out.println(String.format("%d lines, %d bytes, %d tokens", texts.size(), bytes, numTokens));
+    }
+  }
+
+  /**
+   * An analyzer with one of the filter chains; "none" stands for no filters.
+   */
+  @State(Scope.Thread)
+  public static class Analyzers {
+    @Param({ "none", Analyzer.LOWERCASE, Analyzer.LOWERCASE + "," + Analyzer.STOPWORDS + "," + Analyzer.STEM })
+    public String filters;
+
+    Analyzer analyzer;
+
+    @Setup
+    public void create() {
+      analyzer = new Analyzer(filters.equals("none") ? "" : filters);
+    }
+  }
+
+  @Benchmark
+  public void split(Lines lines, Blackhole blackhole) {
+    for (Text line : lines.texts) {
+      for (String term : line.toString().split("\\s+")) {
+        if (term.length() > 0) {
+          blackhole.consume(term);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void stringTokenizer(Lines lines, Blackhole blackhole) {
+    for (Text line : lines.texts) {
+      StringTokenizer itr = new StringTokenizer(line.toString());
+      while (itr.hasMoreTokens()) {
+        blackhole.consume(itr.nextToken());
+      }
+    }
+  }
+
+  @Benchmark
+  public void analyzer(Lines lines, Analyzers analyzers, Blackhole blackhole) {
+    Analyzer analyzer = analyzers.analyzer;
+    for (Text line : lines.texts) {
+      analyzer.reset(line);
+      while (analyzer.next()) {
+        blackhole.consume(analyzer.getTermLength());
+      }
+    }
+  }
+
+  @Benchmark
+  public void analyzerToString(Lines lines, Analyzers analyzers, Blackhole blackhole) {
+    Analyzer analyzer = analyzers.analyzer;
+    for (Text line : lines.texts) {
+      analyzer.reset(line);
+      while (analyzer.next()) {
+        blackhole.consume(analyzer.getTermString());
+      }
+    }
+  }
+
+  /**
+   * Runs the benchmarks of this class through JMH, passing on its command-line options.
+   */
+  public static void main(String[] args) throws Exception {
+    String[] jmhArgs = new String[args.length + 1];
+    jmhArgs[0] = AnalyzerBenchmark.class.getName();
+    System.arraycopy(args, 0, jmhArgs, 1, args.length);
+    org.openjdk.jmh.Main.main(jmhArgs);
+  }
+}
@@ -0,0 +1,254 @@
+import java.util.Arrays;
+
+/**
+ * A {@link DocSet} held as a sorted primitive int array. AND, OR and AND-NOT are linear merges;
+ * when one side is much smaller than the other, AND gallops through the larger side instead of
+ * stepping through it.
+ */
+public class ArrayDocSet extends DocSet {
+  public static final ArrayDocSet EMPTY = new ArrayDocSet(new int[0], 0);
+
+  // Above this size ratio AND switches from a linear merge to galloping search.
+  private static final int GALLOP_RATIO = 16;
+
+  private final int[] docs;
+  private final int size;
+
+  public ArrayDocSet(int[] docs, int size) {
+    this.docs = docs;
+    this.size = size;
+  }
+
+  /**
+   * Decodes the remaining postings under the cursor.
+   */
+  public static ArrayDocSet fromCursor(PostingsCursor cursor) {
+    int[] docs = new int[cursor.df()];
+    int n = 0;
+
+    while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+      docs[n++] = cursor.docno();
+    }
+
+    return new ArrayDocSet(docs, n);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(int docno) {
+    return Arrays.binarySearch(docs, 0, size, docno) >= 0;
+  }
+
+  @Override
+  public DocIterator iterator() {
+    return new DocIterator() {
+      private int i = 0;
+
+      @Override
+      public int nextDoc() {
+        return i < size ? docs[i++] : NO_MORE_DOCS;
+      }
+    };
+  }
+
+  public int get(int i) {
+    return docs[i];
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(docs, size);
+  }
+
+  @Override
+  public DocSet and(DocSet other) {
+    if (other instanceof ArrayDocSet) {
+      return and((ArrayDocSet) other);
+    }
+
+    int[] out = new int[size];
+    int n = 0;
+    for (int i = 0; i < size; i++) {
+      if (other.contains(docs[i])) {
+        out[n++] = docs[i];
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  @Override
+  public DocSet or(DocSet other) {
+    if (other instanceof ArrayDocSet) {
+      return or((ArrayDocSet) other);
+    }
+
+    return other.or(this);
+  }
+
+  @Override
+  public DocSet andNot(DocSet other) {
+    int[] out = new int[size];
+    int n = 0;
+
+    if (other instanceof ArrayDocSet) {
+      ArrayDocSet that = (ArrayDocSet) other;
+      int j = 0;
+      for (int i = 0; i < size; i++) {
+        while (j < that.size && that.docs[j] < docs[i]) {
+          j++;
+        }
+        if (j == that.size || that.docs[j] != docs[i]) {
+          out[n++] = docs[i];
+        }
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        if (!other.contains(docs[i])) {
+          out[n++] = docs[i];
+        }
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  public ArrayDocSet and(ArrayDocSet other) {
+    if (size > other.size) {
+      return other.and(this);
+    }
+
+    if (size == 0) {
+      return EMPTY;
+    }
+
+    if ((long) size * GALLOP_RATIO < other.size) {
+      return gallop(other);
+    }
+
+    int[] out = new int[size];
+    int n = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < size && j < other.size) {
+      int a = docs[i];
+      int b = other.docs[j];
+
+      if (a < b) {
+        i++;
+      } else if (a > b) {
+        j++;
+      } else {
+        out[n++] = a;
+        i++;
+        j++;
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  /**
+   * Intersects with a posting list by advancing its cursor to each docno of this set, letting the
+   * cursor skip blocks that contain none of them.
+   */
+  @Override
+  public ArrayDocSet and(PostingsCursor cursor) {
+    int[] out = new int[size];
+    int n = 0;
+
+    for (int i = 0; i < size; i++) {
+      int docno = cursor.advance(docs[i]);
+      if (docno == PostingsCursor.NO_MORE_DOCS) {
+        break;
+      }
+
+      if (docno == docs[i]) {
+        out[n++] = docno;
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  @Override
+  public ArrayDocSet andNot(PostingsCursor cursor) {
+    int[] out = new int[size];
+    int n = 0;
+
+    for (int i = 0; i < size; i++) {
+      if (cursor.advance(docs[i]) != docs[i]) {
+        out[n++] = docs[i];
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  public ArrayDocSet or(ArrayDocSet other) {
+    int[] out = new int[size + other.size];
+    int n = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < size && j < other.size) {
+      int a = docs[i];
+      int b = other.docs[j];
+
+      if (a < b) {
+        out[n++] = a;
+        i++;
+      } else if (a > b) {
+        out[n++] = b;
+        j++;
+      } else {
+        out[n++] = a;
+        i++;
+        j++;
+      }
+    }
+
+    while (i < size) {
+      out[n++] = docs[i++];
+    }
+
+    while (j < other.size) {
+      out[n++] = other.docs[j++];
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+
+  private ArrayDocSet gallop(ArrayDocSet larger) {
+    int[] out = new int[size];
+    int n = 0;
+    int lo = 0;
+
+    for (int i = 0; i < size && lo < larger.size; i++) {
+      int target = docs[i];
+
+      // Double the step until we pass the target, then binary search the last step.
+      int step = 1;
+      int hi = lo;
+      while (hi < larger.size && larger.docs[hi] < target) {
+        lo = hi + 1;
+        hi += step;
+        step <<= 1;
+      }
+
+      int k = Arrays.binarySearch(larger.docs, lo, Math.min(hi + 1, larger.size), target);
+      if (k >= 0) {
+        out[n++] = target;
+        lo = k + 1;
+      } else {
+        lo = -k - 1;
+      }
+    }
+
+    return new ArrayDocSet(out, n);
+  }
+}
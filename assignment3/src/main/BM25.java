@@ -0,0 +1,85 @@
+/**
+ * The BM25 weighting shared by index build and ranked query evaluation. A term contributes
+ * idf x tfNorm to a document's score, where tfNorm = tf (k1 + 1) / (tf + k1 (1 - b + b dl / avgdl))
+ * depends only on the posting and the document's length. {@link PostingWriter} stores the largest
+ * tfNorm of each block and list, so k1 and b are fixed when an index is built and recorded in its
+ * {@link IndexMetadata}; query-time scores must use the same values for those bounds to hold.
+ *
+ * The document count in idf and the average length normally come from the lengths table. A
+ * segment of a larger index instead scores with those of the whole index, so that its scores are
+ * the ones a single index would give.
+ */
+public class BM25 {
+  public static final float DEFAULT_K1 = 1.2f;
+  public static final float DEFAULT_B = 0.75f;
+
+  private final float k1;
+  private final float b;
+  private final DocLengthTable lengths;
+  private final int numDocs;
+  private final float averageLength;
+
+  // k1 (1 - b + b dl / avgdl), precomputed as normBase + normScale x dl.
+  private final float normBase;
+  private final float normScale;
+
+  public BM25(float k1, float b, DocLengthTable lengths) {
+    this(k1, b, lengths, lengths.size(), lengths.getTotalLength());
+  }
+
+  /**
+   * @param lengths the lengths of the documents scored
+   * @param numDocs the number of documents of the whole collection
+   * @param totalLength the sum of their lengths
+   */
+  public BM25(float k1, float b, DocLengthTable lengths, int numDocs, long totalLength) {
+    this.k1 = k1;
+    this.b = b;
+    this.lengths = lengths;
+    this.numDocs = numDocs;
+    this.averageLength = DocLengthTable.averageLength(totalLength, numDocs);
+    this.normBase = k1 * (1 - b);
+    this.normScale = averageLength == 0 ? 0 : k1 * b / averageLength;
+  }
+
+  public float getK1() {
+    return k1;
+  }
+
+  public float getB() {
+    return b;
+  }
+
+  public int getNumDocs() {
+    return numDocs;
+  }
+
+  public float getAverageLength() {
+    return averageLength;
+  }
+
+  public float tfNorm(int tf, int docno) {
+    return tf * (k1 + 1) / (tf + normBase + normScale * lengths.getLength(docno));
+  }
+
+  /**
+   * Turns a max tfNorm stored by an index built with another average length into an upper bound
+   * on the tfNorms this scorer computes. A longer average raises every tfNorm, but by less than the
+   * ratio of the averages, and no tfNorm exceeds k1 + 1; a shorter one only lowers them.
+   */
+  public float maxTfNorm(float storedMaxTfNorm, float builtAverageLength) {
+    if (builtAverageLength <= 0 || averageLength <= builtAverageLength) {
+      return storedMaxTfNorm;
+    }
+
+    return Math.min(k1 + 1, storedMaxTfNorm * (averageLength / builtAverageLength));
+  }
+
+  /**
+   * Returns the inverse document frequency of a term, in the form that stays positive for terms
+   * in more than half of the documents.
+   */
+  public float idf(int df) {
+    return (float) Math.log(1 + (numDocs - df + 0.5) / (df + 0.5));
+  }
+}
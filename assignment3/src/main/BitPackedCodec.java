@@ -0,0 +1,115 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary packing: the d-gaps of a full block, and then its tfs minus one, are each packed at the
+ * bit width of their largest value, with no exceptions. Values are packed low bits first into
+ * 64-bit words, and a block of a multiple of 64 postings (128 by default) fills whole words. The
+ * decoder reads the block's words into an array once and hands every 64 values to the
+ * {@link BitUnpacker} for their width, straight-line code with no per-value branching as in
+ * vints. A partial block, the tail of a list, is written as vints instead.
+ *
+ * <pre>
+ * byte gaps width, byte tfs width
+ * n x gaps width bits, n x tfs width bits, as big-endian longs
+ * </pre>
+ */
+public class BitPackedCodec extends PostingCodec {
+  private final VIntCodec tail = new VIntCodec();
+
+  // The packed words of the block being decoded.
+  private long[] words = new long[64];
+
+  @Override
+  public String getName() {
+    return "packed";
+  }
+
+  @Override
+  public void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException {
+    if (n == 0 || n % 64 != 0) {
+      tail.encode(gaps, tfs, n, out);
+      return;
+    }
+
+    int gapsWidth = width(gaps, n, 0);
+    int tfsWidth = width(tfs, n, 1);
+    out.writeByte(gapsWidth);
+    out.writeByte(tfsWidth);
+    pack(gaps, n, 0, gapsWidth, out);
+    pack(tfs, n, 1, tfsWidth, out);
+  }
+
+  @Override
+  public void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n) {
+    if (n == 0 || n % 64 != 0) {
+      tail.decode(bytes, pos, gaps, tfs, n);
+      return;
+    }
+
+    int gapsWidth = bytes[pos];
+    int tfsWidth = bytes[pos + 1];
+    int gapsWords = n * gapsWidth / 64;
+
+    readWords(bytes, pos + 2, gapsWords + n * tfsWidth / 64);
+    BitUnpacker.unpack(words, 0, gapsWidth, gaps, n);
+    BitUnpacker.unpack(words, gapsWords, tfsWidth, tfs, n);
+    for (int i = 0; i < n; i++) {
+      tfs[i]++;
+    }
+  }
+
+  private static int width(int[] values, int n, int base) {
+    int or = 0;
+    for (int i = 0; i < n; i++) {
+      or |= values[i] - base;
+    }
+
+    return 32 - Integer.numberOfLeadingZeros(or);
+  }
+
+  private static void pack(int[] values, int n, int base, int width, DataOutput out)
+      throws IOException {
+    if (width == 0) {
+      return;
+    }
+
+    long[] packed = new long[n * width / 64];
+
+    long bit = 0;
+    for (int i = 0; i < n; i++, bit += width) {
+      long v = (values[i] - base) & 0xFFFFFFFFL;
+      int word = (int) (bit >>> 6);
+      int shift = (int) (bit & 63);
+
+      packed[word] |= v << shift;
+      if (shift + width > 64) {
+        packed[word + 1] |= v >>> (64 - shift);
+      }
+    }
+
+    for (long word : packed) {
+      out.writeLong(word);
+    }
+  }
+
+  /**
+   * Reads {@code n} big-endian longs starting at byte {@code pos} into {@link #words}.
+   */
+  private void readWords(byte[] bytes, int pos, int n) {
+    if (words.length < n) {
+      words = new long[Math.max(n, 2 * words.length)];
+    }
+
+    for (int i = 0; i < n; i++, pos += 8) {
+      words[i] = ((long) bytes[pos] << 56)
+          | ((long) (bytes[pos + 1] & 0xFF) << 48)
+          | ((long) (bytes[pos + 2] & 0xFF) << 40)
+          | ((long) (bytes[pos + 3] & 0xFF) << 32)
+          | ((long) (bytes[pos + 4] & 0xFF) << 24)
+          | ((bytes[pos + 5] & 0xFF) << 16)
+          | ((bytes[pos + 6] & 0xFF) << 8)
+          | (bytes[pos + 7] & 0xFF);
+    }
+  }
+}
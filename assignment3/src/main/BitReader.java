@@ -0,0 +1,70 @@
+/**
+ * Reads a bit stream written by {@link BitWriter} straight from a byte array.
+ */
+public class BitReader {
+  private byte[] bytes;
+  private long bitPos;
+
+  /**
+   * Starts reading at byte {@code pos} of {@code bytes}.
+   */
+  public void reset(byte[] bytes, int pos) {
+    this.bytes = bytes;
+    this.bitPos = 8L * pos;
+  }
+
+  /**
+   * Returns the position of the first byte after the bits read so far.
+   */
+  public int getBytePosition() {
+    return (int) ((bitPos + 7) >>> 3);
+  }
+
+  /**
+   * Reads {@code n} bits, for n from 0 to 32.
+   */
+  public int readBits(int n) {
+    long value = 0;
+
+    while (n > 0) {
+      int available = 8 - (int) (bitPos & 7);
+      int take = Math.min(available, n);
+      int b = bytes[(int) (bitPos >>> 3)] & 0xFF;
+
+      value = (value << take) | ((b >>> (available - take)) & ((1 << take) - 1));
+      bitPos += take;
+      n -= take;
+    }
+
+    return (int) value;
+  }
+
+  public int readUnary() {
+    int q = 0;
+
+    while (true) {
+      int offset = (int) (bitPos & 7);
+      int b = (bytes[(int) (bitPos >>> 3)] << offset) & 0xFF;
+
+      if (b == 0) {
+        q += 8 - offset;
+        bitPos += 8 - offset;
+      } else {
+        int zeros = Integer.numberOfLeadingZeros(b) - 24;
+        q += zeros;
+        bitPos += zeros + 1;
+        return q;
+      }
+    }
+  }
+
+  public int readGamma() {
+    int log = readUnary();
+    return (1 << log) | readBits(log);
+  }
+
+  public int readDelta() {
+    int log = readGamma() - 1;
+    return (1 << log) | readBits(log);
+  }
+}
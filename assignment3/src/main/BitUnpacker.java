@@ -0,0 +1,2267 @@
+// Generated by etc/gen_BitUnpacker.py; do not edit.
+
+/**
+ * Unpackers for the blocks of {@link BitPackedCodec}, one per bit width. Each turns the
+ * {@code width} words holding 64 packed values into ints with straight-line code: every shift and
+ * mask is a constant, and the words a value straddles are known in advance, so there are no
+ * branches or loop counters per value.
+ */
+final class BitUnpacker {
+  private BitUnpacker() {}
+
+  /**
+   * Unpacks {@code n} values, a multiple of 64, of {@code width} bits from {@code words},
+   * starting at word {@code wp}, into {@code values}.
+   */
+  static void unpack(long[] words, int wp, int width, int[] values, int n) {
+    for (int vp = 0; vp < n; vp += 64, wp += width) {
+      switch (width) {
+      case 0:
+        java.util.Arrays.fill(values, vp, vp + 64, 0);
+        break;
+      case 1:
+        unpack1(words, wp, values, vp);
+        break;
+      case 2:
+        unpack2(words, wp, values, vp);
+        break;
+      case 3:
+        unpack3(words, wp, values, vp);
+        break;
+      case 4:
+        unpack4(words, wp, values, vp);
+        break;
+      case 5:
+        unpack5(words, wp, values, vp);
+        break;
+      case 6:
+        unpack6(words, wp, values, vp);
+        break;
+      case 7:
+        unpack7(words, wp, values, vp);
+        break;
+      case 8:
+        unpack8(words, wp, values, vp);
+        break;
+      case 9:
+        unpack9(words, wp, values, vp);
+        break;
+      case 10:
+        unpack10(words, wp, values, vp);
+        break;
+      case 11:
+        unpack11(words, wp, values, vp);
+        break;
+      case 12:
+        unpack12(words, wp, values, vp);
+        break;
+      case 13:
+        unpack13(words, wp, values, vp);
+        break;
+      case 14:
+        unpack14(words, wp, values, vp);
+        break;
+      case 15:
+        unpack15(words, wp, values, vp);
+        break;
+      case 16:
+        unpack16(words, wp, values, vp);
+        break;
+      case 17:
+        unpack17(words, wp, values, vp);
+        break;
+      case 18:
+        unpack18(words, wp, values, vp);
+        break;
+      case 19:
+        unpack19(words, wp, values, vp);
+        break;
+      case 20:
+        unpack20(words, wp, values, vp);
+        break;
+      case 21:
+        unpack21(words, wp, values, vp);
+        break;
+      case 22:
+        unpack22(words, wp, values, vp);
+        break;
+      case 23:
+        unpack23(words, wp, values, vp);
+        break;
+      case 24:
+        unpack24(words, wp, values, vp);
+        break;
+      case 25:
+        unpack25(words, wp, values, vp);
+        break;
+      case 26:
+        unpack26(words, wp, values, vp);
+        break;
+      case 27:
+        unpack27(words, wp, values, vp);
+        break;
+      case 28:
+        unpack28(words, wp, values, vp);
+        break;
+      case 29:
+        unpack29(words, wp, values, vp);
+        break;
+      case 30:
+        unpack30(words, wp, values, vp);
+        break;
+      case 31:
+        unpack31(words, wp, values, vp);
+        break;
+      case 32:
+        unpack32(words, wp, values, vp);
+        break;
+      default:
+        throw new IllegalArgumentException("Bad bit width: " + width);
+      }
+    }
+  }
+
+  private static void unpack1(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1L);
+    values[vp + 1] = (int) ((words[wp] >>> 1) & 0x1L);
+    values[vp + 2] = (int) ((words[wp] >>> 2) & 0x1L);
+    values[vp + 3] = (int) ((words[wp] >>> 3) & 0x1L);
+    values[vp + 4] = (int) ((words[wp] >>> 4) & 0x1L);
+    values[vp + 5] = (int) ((words[wp] >>> 5) & 0x1L);
+    values[vp + 6] = (int) ((words[wp] >>> 6) & 0x1L);
+    values[vp + 7] = (int) ((words[wp] >>> 7) & 0x1L);
+    values[vp + 8] = (int) ((words[wp] >>> 8) & 0x1L);
+    values[vp + 9] = (int) ((words[wp] >>> 9) & 0x1L);
+    values[vp + 10] = (int) ((words[wp] >>> 10) & 0x1L);
+    values[vp + 11] = (int) ((words[wp] >>> 11) & 0x1L);
+    values[vp + 12] = (int) ((words[wp] >>> 12) & 0x1L);
+    values[vp + 13] = (int) ((words[wp] >>> 13) & 0x1L);
+    values[vp + 14] = (int) ((words[wp] >>> 14) & 0x1L);
+    values[vp + 15] = (int) ((words[wp] >>> 15) & 0x1L);
+    values[vp + 16] = (int) ((words[wp] >>> 16) & 0x1L);
+    values[vp + 17] = (int) ((words[wp] >>> 17) & 0x1L);
+    values[vp + 18] = (int) ((words[wp] >>> 18) & 0x1L);
+    values[vp + 19] = (int) ((words[wp] >>> 19) & 0x1L);
+    values[vp + 20] = (int) ((words[wp] >>> 20) & 0x1L);
+    values[vp + 21] = (int) ((words[wp] >>> 21) & 0x1L);
+    values[vp + 22] = (int) ((words[wp] >>> 22) & 0x1L);
+    values[vp + 23] = (int) ((words[wp] >>> 23) & 0x1L);
+    values[vp + 24] = (int) ((words[wp] >>> 24) & 0x1L);
+    values[vp + 25] = (int) ((words[wp] >>> 25) & 0x1L);
+    values[vp + 26] = (int) ((words[wp] >>> 26) & 0x1L);
+    values[vp + 27] = (int) ((words[wp] >>> 27) & 0x1L);
+    values[vp + 28] = (int) ((words[wp] >>> 28) & 0x1L);
+    values[vp + 29] = (int) ((words[wp] >>> 29) & 0x1L);
+    values[vp + 30] = (int) ((words[wp] >>> 30) & 0x1L);
+    values[vp + 31] = (int) ((words[wp] >>> 31) & 0x1L);
+    values[vp + 32] = (int) ((words[wp] >>> 32) & 0x1L);
+    values[vp + 33] = (int) ((words[wp] >>> 33) & 0x1L);
+    values[vp + 34] = (int) ((words[wp] >>> 34) & 0x1L);
+    values[vp + 35] = (int) ((words[wp] >>> 35) & 0x1L);
+    values[vp + 36] = (int) ((words[wp] >>> 36) & 0x1L);
+    values[vp + 37] = (int) ((words[wp] >>> 37) & 0x1L);
+    values[vp + 38] = (int) ((words[wp] >>> 38) & 0x1L);
+    values[vp + 39] = (int) ((words[wp] >>> 39) & 0x1L);
+    values[vp + 40] = (int) ((words[wp] >>> 40) & 0x1L);
+    values[vp + 41] = (int) ((words[wp] >>> 41) & 0x1L);
+    values[vp + 42] = (int) ((words[wp] >>> 42) & 0x1L);
+    values[vp + 43] = (int) ((words[wp] >>> 43) & 0x1L);
+    values[vp + 44] = (int) ((words[wp] >>> 44) & 0x1L);
+    values[vp + 45] = (int) ((words[wp] >>> 45) & 0x1L);
+    values[vp + 46] = (int) ((words[wp] >>> 46) & 0x1L);
+    values[vp + 47] = (int) ((words[wp] >>> 47) & 0x1L);
+    values[vp + 48] = (int) ((words[wp] >>> 48) & 0x1L);
+    values[vp + 49] = (int) ((words[wp] >>> 49) & 0x1L);
+    values[vp + 50] = (int) ((words[wp] >>> 50) & 0x1L);
+    values[vp + 51] = (int) ((words[wp] >>> 51) & 0x1L);
+    values[vp + 52] = (int) ((words[wp] >>> 52) & 0x1L);
+    values[vp + 53] = (int) ((words[wp] >>> 53) & 0x1L);
+    values[vp + 54] = (int) ((words[wp] >>> 54) & 0x1L);
+    values[vp + 55] = (int) ((words[wp] >>> 55) & 0x1L);
+    values[vp + 56] = (int) ((words[wp] >>> 56) & 0x1L);
+    values[vp + 57] = (int) ((words[wp] >>> 57) & 0x1L);
+    values[vp + 58] = (int) ((words[wp] >>> 58) & 0x1L);
+    values[vp + 59] = (int) ((words[wp] >>> 59) & 0x1L);
+    values[vp + 60] = (int) ((words[wp] >>> 60) & 0x1L);
+    values[vp + 61] = (int) ((words[wp] >>> 61) & 0x1L);
+    values[vp + 62] = (int) ((words[wp] >>> 62) & 0x1L);
+    values[vp + 63] = (int) (words[wp] >>> 63);
+  }
+
+  private static void unpack2(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3L);
+    values[vp + 1] = (int) ((words[wp] >>> 2) & 0x3L);
+    values[vp + 2] = (int) ((words[wp] >>> 4) & 0x3L);
+    values[vp + 3] = (int) ((words[wp] >>> 6) & 0x3L);
+    values[vp + 4] = (int) ((words[wp] >>> 8) & 0x3L);
+    values[vp + 5] = (int) ((words[wp] >>> 10) & 0x3L);
+    values[vp + 6] = (int) ((words[wp] >>> 12) & 0x3L);
+    values[vp + 7] = (int) ((words[wp] >>> 14) & 0x3L);
+    values[vp + 8] = (int) ((words[wp] >>> 16) & 0x3L);
+    values[vp + 9] = (int) ((words[wp] >>> 18) & 0x3L);
+    values[vp + 10] = (int) ((words[wp] >>> 20) & 0x3L);
+    values[vp + 11] = (int) ((words[wp] >>> 22) & 0x3L);
+    values[vp + 12] = (int) ((words[wp] >>> 24) & 0x3L);
+    values[vp + 13] = (int) ((words[wp] >>> 26) & 0x3L);
+    values[vp + 14] = (int) ((words[wp] >>> 28) & 0x3L);
+    values[vp + 15] = (int) ((words[wp] >>> 30) & 0x3L);
+    values[vp + 16] = (int) ((words[wp] >>> 32) & 0x3L);
+    values[vp + 17] = (int) ((words[wp] >>> 34) & 0x3L);
+    values[vp + 18] = (int) ((words[wp] >>> 36) & 0x3L);
+    values[vp + 19] = (int) ((words[wp] >>> 38) & 0x3L);
+    values[vp + 20] = (int) ((words[wp] >>> 40) & 0x3L);
+    values[vp + 21] = (int) ((words[wp] >>> 42) & 0x3L);
+    values[vp + 22] = (int) ((words[wp] >>> 44) & 0x3L);
+    values[vp + 23] = (int) ((words[wp] >>> 46) & 0x3L);
+    values[vp + 24] = (int) ((words[wp] >>> 48) & 0x3L);
+    values[vp + 25] = (int) ((words[wp] >>> 50) & 0x3L);
+    values[vp + 26] = (int) ((words[wp] >>> 52) & 0x3L);
+    values[vp + 27] = (int) ((words[wp] >>> 54) & 0x3L);
+    values[vp + 28] = (int) ((words[wp] >>> 56) & 0x3L);
+    values[vp + 29] = (int) ((words[wp] >>> 58) & 0x3L);
+    values[vp + 30] = (int) ((words[wp] >>> 60) & 0x3L);
+    values[vp + 31] = (int) (words[wp] >>> 62);
+    values[vp + 32] = (int) (words[wp + 1] & 0x3L);
+    values[vp + 33] = (int) ((words[wp + 1] >>> 2) & 0x3L);
+    values[vp + 34] = (int) ((words[wp + 1] >>> 4) & 0x3L);
+    values[vp + 35] = (int) ((words[wp + 1] >>> 6) & 0x3L);
+    values[vp + 36] = (int) ((words[wp + 1] >>> 8) & 0x3L);
+    values[vp + 37] = (int) ((words[wp + 1] >>> 10) & 0x3L);
+    values[vp + 38] = (int) ((words[wp + 1] >>> 12) & 0x3L);
+    values[vp + 39] = (int) ((words[wp + 1] >>> 14) & 0x3L);
+    values[vp + 40] = (int) ((words[wp + 1] >>> 16) & 0x3L);
+    values[vp + 41] = (int) ((words[wp + 1] >>> 18) & 0x3L);
+    values[vp + 42] = (int) ((words[wp + 1] >>> 20) & 0x3L);
+    values[vp + 43] = (int) ((words[wp + 1] >>> 22) & 0x3L);
+    values[vp + 44] = (int) ((words[wp + 1] >>> 24) & 0x3L);
+    values[vp + 45] = (int) ((words[wp + 1] >>> 26) & 0x3L);
+    values[vp + 46] = (int) ((words[wp + 1] >>> 28) & 0x3L);
+    values[vp + 47] = (int) ((words[wp + 1] >>> 30) & 0x3L);
+    values[vp + 48] = (int) ((words[wp + 1] >>> 32) & 0x3L);
+    values[vp + 49] = (int) ((words[wp + 1] >>> 34) & 0x3L);
+    values[vp + 50] = (int) ((words[wp + 1] >>> 36) & 0x3L);
+    values[vp + 51] = (int) ((words[wp + 1] >>> 38) & 0x3L);
+    values[vp + 52] = (int) ((words[wp + 1] >>> 40) & 0x3L);
+    values[vp + 53] = (int) ((words[wp + 1] >>> 42) & 0x3L);
+    values[vp + 54] = (int) ((words[wp + 1] >>> 44) & 0x3L);
+    values[vp + 55] = (int) ((words[wp + 1] >>> 46) & 0x3L);
+    values[vp + 56] = (int) ((words[wp + 1] >>> 48) & 0x3L);
+    values[vp + 57] = (int) ((words[wp + 1] >>> 50) & 0x3L);
+    values[vp + 58] = (int) ((words[wp + 1] >>> 52) & 0x3L);
+    values[vp + 59] = (int) ((words[wp + 1] >>> 54) & 0x3L);
+    values[vp + 60] = (int) ((words[wp + 1] >>> 56) & 0x3L);
+    values[vp + 61] = (int) ((words[wp + 1] >>> 58) & 0x3L);
+    values[vp + 62] = (int) ((words[wp + 1] >>> 60) & 0x3L);
+    values[vp + 63] = (int) (words[wp + 1] >>> 62);
+  }
+
+  private static void unpack3(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7L);
+    values[vp + 1] = (int) ((words[wp] >>> 3) & 0x7L);
+    values[vp + 2] = (int) ((words[wp] >>> 6) & 0x7L);
+    values[vp + 3] = (int) ((words[wp] >>> 9) & 0x7L);
+    values[vp + 4] = (int) ((words[wp] >>> 12) & 0x7L);
+    values[vp + 5] = (int) ((words[wp] >>> 15) & 0x7L);
+    values[vp + 6] = (int) ((words[wp] >>> 18) & 0x7L);
+    values[vp + 7] = (int) ((words[wp] >>> 21) & 0x7L);
+    values[vp + 8] = (int) ((words[wp] >>> 24) & 0x7L);
+    values[vp + 9] = (int) ((words[wp] >>> 27) & 0x7L);
+    values[vp + 10] = (int) ((words[wp] >>> 30) & 0x7L);
+    values[vp + 11] = (int) ((words[wp] >>> 33) & 0x7L);
+    values[vp + 12] = (int) ((words[wp] >>> 36) & 0x7L);
+    values[vp + 13] = (int) ((words[wp] >>> 39) & 0x7L);
+    values[vp + 14] = (int) ((words[wp] >>> 42) & 0x7L);
+    values[vp + 15] = (int) ((words[wp] >>> 45) & 0x7L);
+    values[vp + 16] = (int) ((words[wp] >>> 48) & 0x7L);
+    values[vp + 17] = (int) ((words[wp] >>> 51) & 0x7L);
+    values[vp + 18] = (int) ((words[wp] >>> 54) & 0x7L);
+    values[vp + 19] = (int) ((words[wp] >>> 57) & 0x7L);
+    values[vp + 20] = (int) ((words[wp] >>> 60) & 0x7L);
+    values[vp + 21] = (int) (((words[wp] >>> 63) | (words[wp + 1] << 1)) & 0x7L);
+    values[vp + 22] = (int) ((words[wp + 1] >>> 2) & 0x7L);
+    values[vp + 23] = (int) ((words[wp + 1] >>> 5) & 0x7L);
+    values[vp + 24] = (int) ((words[wp + 1] >>> 8) & 0x7L);
+    values[vp + 25] = (int) ((words[wp + 1] >>> 11) & 0x7L);
+    values[vp + 26] = (int) ((words[wp + 1] >>> 14) & 0x7L);
+    values[vp + 27] = (int) ((words[wp + 1] >>> 17) & 0x7L);
+    values[vp + 28] = (int) ((words[wp + 1] >>> 20) & 0x7L);
+    values[vp + 29] = (int) ((words[wp + 1] >>> 23) & 0x7L);
+    values[vp + 30] = (int) ((words[wp + 1] >>> 26) & 0x7L);
+    values[vp + 31] = (int) ((words[wp + 1] >>> 29) & 0x7L);
+    values[vp + 32] = (int) ((words[wp + 1] >>> 32) & 0x7L);
+    values[vp + 33] = (int) ((words[wp + 1] >>> 35) & 0x7L);
+    values[vp + 34] = (int) ((words[wp + 1] >>> 38) & 0x7L);
+    values[vp + 35] = (int) ((words[wp + 1] >>> 41) & 0x7L);
+    values[vp + 36] = (int) ((words[wp + 1] >>> 44) & 0x7L);
+    values[vp + 37] = (int) ((words[wp + 1] >>> 47) & 0x7L);
+    values[vp + 38] = (int) ((words[wp + 1] >>> 50) & 0x7L);
+    values[vp + 39] = (int) ((words[wp + 1] >>> 53) & 0x7L);
+    values[vp + 40] = (int) ((words[wp + 1] >>> 56) & 0x7L);
+    values[vp + 41] = (int) ((words[wp + 1] >>> 59) & 0x7L);
+    values[vp + 42] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x7L);
+    values[vp + 43] = (int) ((words[wp + 2] >>> 1) & 0x7L);
+    values[vp + 44] = (int) ((words[wp + 2] >>> 4) & 0x7L);
+    values[vp + 45] = (int) ((words[wp + 2] >>> 7) & 0x7L);
+    values[vp + 46] = (int) ((words[wp + 2] >>> 10) & 0x7L);
+    values[vp + 47] = (int) ((words[wp + 2] >>> 13) & 0x7L);
+    values[vp + 48] = (int) ((words[wp + 2] >>> 16) & 0x7L);
+    values[vp + 49] = (int) ((words[wp + 2] >>> 19) & 0x7L);
+    values[vp + 50] = (int) ((words[wp + 2] >>> 22) & 0x7L);
+    values[vp + 51] = (int) ((words[wp + 2] >>> 25) & 0x7L);
+    values[vp + 52] = (int) ((words[wp + 2] >>> 28) & 0x7L);
+    values[vp + 53] = (int) ((words[wp + 2] >>> 31) & 0x7L);
+    values[vp + 54] = (int) ((words[wp + 2] >>> 34) & 0x7L);
+    values[vp + 55] = (int) ((words[wp + 2] >>> 37) & 0x7L);
+    values[vp + 56] = (int) ((words[wp + 2] >>> 40) & 0x7L);
+    values[vp + 57] = (int) ((words[wp + 2] >>> 43) & 0x7L);
+    values[vp + 58] = (int) ((words[wp + 2] >>> 46) & 0x7L);
+    values[vp + 59] = (int) ((words[wp + 2] >>> 49) & 0x7L);
+    values[vp + 60] = (int) ((words[wp + 2] >>> 52) & 0x7L);
+    values[vp + 61] = (int) ((words[wp + 2] >>> 55) & 0x7L);
+    values[vp + 62] = (int) ((words[wp + 2] >>> 58) & 0x7L);
+    values[vp + 63] = (int) (words[wp + 2] >>> 61);
+  }
+
+  private static void unpack4(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFL);
+    values[vp + 1] = (int) ((words[wp] >>> 4) & 0xFL);
+    values[vp + 2] = (int) ((words[wp] >>> 8) & 0xFL);
+    values[vp + 3] = (int) ((words[wp] >>> 12) & 0xFL);
+    values[vp + 4] = (int) ((words[wp] >>> 16) & 0xFL);
+    values[vp + 5] = (int) ((words[wp] >>> 20) & 0xFL);
+    values[vp + 6] = (int) ((words[wp] >>> 24) & 0xFL);
+    values[vp + 7] = (int) ((words[wp] >>> 28) & 0xFL);
+    values[vp + 8] = (int) ((words[wp] >>> 32) & 0xFL);
+    values[vp + 9] = (int) ((words[wp] >>> 36) & 0xFL);
+    values[vp + 10] = (int) ((words[wp] >>> 40) & 0xFL);
+    values[vp + 11] = (int) ((words[wp] >>> 44) & 0xFL);
+    values[vp + 12] = (int) ((words[wp] >>> 48) & 0xFL);
+    values[vp + 13] = (int) ((words[wp] >>> 52) & 0xFL);
+    values[vp + 14] = (int) ((words[wp] >>> 56) & 0xFL);
+    values[vp + 15] = (int) (words[wp] >>> 60);
+    values[vp + 16] = (int) (words[wp + 1] & 0xFL);
+    values[vp + 17] = (int) ((words[wp + 1] >>> 4) & 0xFL);
+    values[vp + 18] = (int) ((words[wp + 1] >>> 8) & 0xFL);
+    values[vp + 19] = (int) ((words[wp + 1] >>> 12) & 0xFL);
+    values[vp + 20] = (int) ((words[wp + 1] >>> 16) & 0xFL);
+    values[vp + 21] = (int) ((words[wp + 1] >>> 20) & 0xFL);
+    values[vp + 22] = (int) ((words[wp + 1] >>> 24) & 0xFL);
+    values[vp + 23] = (int) ((words[wp + 1] >>> 28) & 0xFL);
+    values[vp + 24] = (int) ((words[wp + 1] >>> 32) & 0xFL);
+    values[vp + 25] = (int) ((words[wp + 1] >>> 36) & 0xFL);
+    values[vp + 26] = (int) ((words[wp + 1] >>> 40) & 0xFL);
+    values[vp + 27] = (int) ((words[wp + 1] >>> 44) & 0xFL);
+    values[vp + 28] = (int) ((words[wp + 1] >>> 48) & 0xFL);
+    values[vp + 29] = (int) ((words[wp + 1] >>> 52) & 0xFL);
+    values[vp + 30] = (int) ((words[wp + 1] >>> 56) & 0xFL);
+    values[vp + 31] = (int) (words[wp + 1] >>> 60);
+    values[vp + 32] = (int) (words[wp + 2] & 0xFL);
+    values[vp + 33] = (int) ((words[wp + 2] >>> 4) & 0xFL);
+    values[vp + 34] = (int) ((words[wp + 2] >>> 8) & 0xFL);
+    values[vp + 35] = (int) ((words[wp + 2] >>> 12) & 0xFL);
+    values[vp + 36] = (int) ((words[wp + 2] >>> 16) & 0xFL);
+    values[vp + 37] = (int) ((words[wp + 2] >>> 20) & 0xFL);
+    values[vp + 38] = (int) ((words[wp + 2] >>> 24) & 0xFL);
+    values[vp + 39] = (int) ((words[wp + 2] >>> 28) & 0xFL);
+    values[vp + 40] = (int) ((words[wp + 2] >>> 32) & 0xFL);
+    values[vp + 41] = (int) ((words[wp + 2] >>> 36) & 0xFL);
+    values[vp + 42] = (int) ((words[wp + 2] >>> 40) & 0xFL);
+    values[vp + 43] = (int) ((words[wp + 2] >>> 44) & 0xFL);
+    values[vp + 44] = (int) ((words[wp + 2] >>> 48) & 0xFL);
+    values[vp + 45] = (int) ((words[wp + 2] >>> 52) & 0xFL);
+    values[vp + 46] = (int) ((words[wp + 2] >>> 56) & 0xFL);
+    values[vp + 47] = (int) (words[wp + 2] >>> 60);
+    values[vp + 48] = (int) (words[wp + 3] & 0xFL);
+    values[vp + 49] = (int) ((words[wp + 3] >>> 4) & 0xFL);
+    values[vp + 50] = (int) ((words[wp + 3] >>> 8) & 0xFL);
+    values[vp + 51] = (int) ((words[wp + 3] >>> 12) & 0xFL);
+    values[vp + 52] = (int) ((words[wp + 3] >>> 16) & 0xFL);
+    values[vp + 53] = (int) ((words[wp + 3] >>> 20) & 0xFL);
+    values[vp + 54] = (int) ((words[wp + 3] >>> 24) & 0xFL);
+    values[vp + 55] = (int) ((words[wp + 3] >>> 28) & 0xFL);
+    values[vp + 56] = (int) ((words[wp + 3] >>> 32) & 0xFL);
+    values[vp + 57] = (int) ((words[wp + 3] >>> 36) & 0xFL);
+    values[vp + 58] = (int) ((words[wp + 3] >>> 40) & 0xFL);
+    values[vp + 59] = (int) ((words[wp + 3] >>> 44) & 0xFL);
+    values[vp + 60] = (int) ((words[wp + 3] >>> 48) & 0xFL);
+    values[vp + 61] = (int) ((words[wp + 3] >>> 52) & 0xFL);
+    values[vp + 62] = (int) ((words[wp + 3] >>> 56) & 0xFL);
+    values[vp + 63] = (int) (words[wp + 3] >>> 60);
+  }
+
+  private static void unpack5(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FL);
+    values[vp + 1] = (int) ((words[wp] >>> 5) & 0x1FL);
+    values[vp + 2] = (int) ((words[wp] >>> 10) & 0x1FL);
+    values[vp + 3] = (int) ((words[wp] >>> 15) & 0x1FL);
+    values[vp + 4] = (int) ((words[wp] >>> 20) & 0x1FL);
+    values[vp + 5] = (int) ((words[wp] >>> 25) & 0x1FL);
+    values[vp + 6] = (int) ((words[wp] >>> 30) & 0x1FL);
+    values[vp + 7] = (int) ((words[wp] >>> 35) & 0x1FL);
+    values[vp + 8] = (int) ((words[wp] >>> 40) & 0x1FL);
+    values[vp + 9] = (int) ((words[wp] >>> 45) & 0x1FL);
+    values[vp + 10] = (int) ((words[wp] >>> 50) & 0x1FL);
+    values[vp + 11] = (int) ((words[wp] >>> 55) & 0x1FL);
+    values[vp + 12] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0x1FL);
+    values[vp + 13] = (int) ((words[wp + 1] >>> 1) & 0x1FL);
+    values[vp + 14] = (int) ((words[wp + 1] >>> 6) & 0x1FL);
+    values[vp + 15] = (int) ((words[wp + 1] >>> 11) & 0x1FL);
+    values[vp + 16] = (int) ((words[wp + 1] >>> 16) & 0x1FL);
+    values[vp + 17] = (int) ((words[wp + 1] >>> 21) & 0x1FL);
+    values[vp + 18] = (int) ((words[wp + 1] >>> 26) & 0x1FL);
+    values[vp + 19] = (int) ((words[wp + 1] >>> 31) & 0x1FL);
+    values[vp + 20] = (int) ((words[wp + 1] >>> 36) & 0x1FL);
+    values[vp + 21] = (int) ((words[wp + 1] >>> 41) & 0x1FL);
+    values[vp + 22] = (int) ((words[wp + 1] >>> 46) & 0x1FL);
+    values[vp + 23] = (int) ((words[wp + 1] >>> 51) & 0x1FL);
+    values[vp + 24] = (int) ((words[wp + 1] >>> 56) & 0x1FL);
+    values[vp + 25] = (int) (((words[wp + 1] >>> 61) | (words[wp + 2] << 3)) & 0x1FL);
+    values[vp + 26] = (int) ((words[wp + 2] >>> 2) & 0x1FL);
+    values[vp + 27] = (int) ((words[wp + 2] >>> 7) & 0x1FL);
+    values[vp + 28] = (int) ((words[wp + 2] >>> 12) & 0x1FL);
+    values[vp + 29] = (int) ((words[wp + 2] >>> 17) & 0x1FL);
+    values[vp + 30] = (int) ((words[wp + 2] >>> 22) & 0x1FL);
+    values[vp + 31] = (int) ((words[wp + 2] >>> 27) & 0x1FL);
+    values[vp + 32] = (int) ((words[wp + 2] >>> 32) & 0x1FL);
+    values[vp + 33] = (int) ((words[wp + 2] >>> 37) & 0x1FL);
+    values[vp + 34] = (int) ((words[wp + 2] >>> 42) & 0x1FL);
+    values[vp + 35] = (int) ((words[wp + 2] >>> 47) & 0x1FL);
+    values[vp + 36] = (int) ((words[wp + 2] >>> 52) & 0x1FL);
+    values[vp + 37] = (int) ((words[wp + 2] >>> 57) & 0x1FL);
+    values[vp + 38] = (int) (((words[wp + 2] >>> 62) | (words[wp + 3] << 2)) & 0x1FL);
+    values[vp + 39] = (int) ((words[wp + 3] >>> 3) & 0x1FL);
+    values[vp + 40] = (int) ((words[wp + 3] >>> 8) & 0x1FL);
+    values[vp + 41] = (int) ((words[wp + 3] >>> 13) & 0x1FL);
+    values[vp + 42] = (int) ((words[wp + 3] >>> 18) & 0x1FL);
+    values[vp + 43] = (int) ((words[wp + 3] >>> 23) & 0x1FL);
+    values[vp + 44] = (int) ((words[wp + 3] >>> 28) & 0x1FL);
+    values[vp + 45] = (int) ((words[wp + 3] >>> 33) & 0x1FL);
+    values[vp + 46] = (int) ((words[wp + 3] >>> 38) & 0x1FL);
+    values[vp + 47] = (int) ((words[wp + 3] >>> 43) & 0x1FL);
+    values[vp + 48] = (int) ((words[wp + 3] >>> 48) & 0x1FL);
+    values[vp + 49] = (int) ((words[wp + 3] >>> 53) & 0x1FL);
+    values[vp + 50] = (int) ((words[wp + 3] >>> 58) & 0x1FL);
+    values[vp + 51] = (int) (((words[wp + 3] >>> 63) | (words[wp + 4] << 1)) & 0x1FL);
+    values[vp + 52] = (int) ((words[wp + 4] >>> 4) & 0x1FL);
+    values[vp + 53] = (int) ((words[wp + 4] >>> 9) & 0x1FL);
+    values[vp + 54] = (int) ((words[wp + 4] >>> 14) & 0x1FL);
+    values[vp + 55] = (int) ((words[wp + 4] >>> 19) & 0x1FL);
+    values[vp + 56] = (int) ((words[wp + 4] >>> 24) & 0x1FL);
+    values[vp + 57] = (int) ((words[wp + 4] >>> 29) & 0x1FL);
+    values[vp + 58] = (int) ((words[wp + 4] >>> 34) & 0x1FL);
+    values[vp + 59] = (int) ((words[wp + 4] >>> 39) & 0x1FL);
+    values[vp + 60] = (int) ((words[wp + 4] >>> 44) & 0x1FL);
+    values[vp + 61] = (int) ((words[wp + 4] >>> 49) & 0x1FL);
+    values[vp + 62] = (int) ((words[wp + 4] >>> 54) & 0x1FL);
+    values[vp + 63] = (int) (words[wp + 4] >>> 59);
+  }
+
+  private static void unpack6(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FL);
+    values[vp + 1] = (int) ((words[wp] >>> 6) & 0x3FL);
+    values[vp + 2] = (int) ((words[wp] >>> 12) & 0x3FL);
+    values[vp + 3] = (int) ((words[wp] >>> 18) & 0x3FL);
+    values[vp + 4] = (int) ((words[wp] >>> 24) & 0x3FL);
+    values[vp + 5] = (int) ((words[wp] >>> 30) & 0x3FL);
+    values[vp + 6] = (int) ((words[wp] >>> 36) & 0x3FL);
+    values[vp + 7] = (int) ((words[wp] >>> 42) & 0x3FL);
+    values[vp + 8] = (int) ((words[wp] >>> 48) & 0x3FL);
+    values[vp + 9] = (int) ((words[wp] >>> 54) & 0x3FL);
+    values[vp + 10] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0x3FL);
+    values[vp + 11] = (int) ((words[wp + 1] >>> 2) & 0x3FL);
+    values[vp + 12] = (int) ((words[wp + 1] >>> 8) & 0x3FL);
+    values[vp + 13] = (int) ((words[wp + 1] >>> 14) & 0x3FL);
+    values[vp + 14] = (int) ((words[wp + 1] >>> 20) & 0x3FL);
+    values[vp + 15] = (int) ((words[wp + 1] >>> 26) & 0x3FL);
+    values[vp + 16] = (int) ((words[wp + 1] >>> 32) & 0x3FL);
+    values[vp + 17] = (int) ((words[wp + 1] >>> 38) & 0x3FL);
+    values[vp + 18] = (int) ((words[wp + 1] >>> 44) & 0x3FL);
+    values[vp + 19] = (int) ((words[wp + 1] >>> 50) & 0x3FL);
+    values[vp + 20] = (int) ((words[wp + 1] >>> 56) & 0x3FL);
+    values[vp + 21] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x3FL);
+    values[vp + 22] = (int) ((words[wp + 2] >>> 4) & 0x3FL);
+    values[vp + 23] = (int) ((words[wp + 2] >>> 10) & 0x3FL);
+    values[vp + 24] = (int) ((words[wp + 2] >>> 16) & 0x3FL);
+    values[vp + 25] = (int) ((words[wp + 2] >>> 22) & 0x3FL);
+    values[vp + 26] = (int) ((words[wp + 2] >>> 28) & 0x3FL);
+    values[vp + 27] = (int) ((words[wp + 2] >>> 34) & 0x3FL);
+    values[vp + 28] = (int) ((words[wp + 2] >>> 40) & 0x3FL);
+    values[vp + 29] = (int) ((words[wp + 2] >>> 46) & 0x3FL);
+    values[vp + 30] = (int) ((words[wp + 2] >>> 52) & 0x3FL);
+    values[vp + 31] = (int) (words[wp + 2] >>> 58);
+    values[vp + 32] = (int) (words[wp + 3] & 0x3FL);
+    values[vp + 33] = (int) ((words[wp + 3] >>> 6) & 0x3FL);
+    values[vp + 34] = (int) ((words[wp + 3] >>> 12) & 0x3FL);
+    values[vp + 35] = (int) ((words[wp + 3] >>> 18) & 0x3FL);
+    values[vp + 36] = (int) ((words[wp + 3] >>> 24) & 0x3FL);
+    values[vp + 37] = (int) ((words[wp + 3] >>> 30) & 0x3FL);
+    values[vp + 38] = (int) ((words[wp + 3] >>> 36) & 0x3FL);
+    values[vp + 39] = (int) ((words[wp + 3] >>> 42) & 0x3FL);
+    values[vp + 40] = (int) ((words[wp + 3] >>> 48) & 0x3FL);
+    values[vp + 41] = (int) ((words[wp + 3] >>> 54) & 0x3FL);
+    values[vp + 42] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x3FL);
+    values[vp + 43] = (int) ((words[wp + 4] >>> 2) & 0x3FL);
+    values[vp + 44] = (int) ((words[wp + 4] >>> 8) & 0x3FL);
+    values[vp + 45] = (int) ((words[wp + 4] >>> 14) & 0x3FL);
+    values[vp + 46] = (int) ((words[wp + 4] >>> 20) & 0x3FL);
+    values[vp + 47] = (int) ((words[wp + 4] >>> 26) & 0x3FL);
+    values[vp + 48] = (int) ((words[wp + 4] >>> 32) & 0x3FL);
+    values[vp + 49] = (int) ((words[wp + 4] >>> 38) & 0x3FL);
+    values[vp + 50] = (int) ((words[wp + 4] >>> 44) & 0x3FL);
+    values[vp + 51] = (int) ((words[wp + 4] >>> 50) & 0x3FL);
+    values[vp + 52] = (int) ((words[wp + 4] >>> 56) & 0x3FL);
+    values[vp + 53] = (int) (((words[wp + 4] >>> 62) | (words[wp + 5] << 2)) & 0x3FL);
+    values[vp + 54] = (int) ((words[wp + 5] >>> 4) & 0x3FL);
+    values[vp + 55] = (int) ((words[wp + 5] >>> 10) & 0x3FL);
+    values[vp + 56] = (int) ((words[wp + 5] >>> 16) & 0x3FL);
+    values[vp + 57] = (int) ((words[wp + 5] >>> 22) & 0x3FL);
+    values[vp + 58] = (int) ((words[wp + 5] >>> 28) & 0x3FL);
+    values[vp + 59] = (int) ((words[wp + 5] >>> 34) & 0x3FL);
+    values[vp + 60] = (int) ((words[wp + 5] >>> 40) & 0x3FL);
+    values[vp + 61] = (int) ((words[wp + 5] >>> 46) & 0x3FL);
+    values[vp + 62] = (int) ((words[wp + 5] >>> 52) & 0x3FL);
+    values[vp + 63] = (int) (words[wp + 5] >>> 58);
+  }
+
+  private static void unpack7(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FL);
+    values[vp + 1] = (int) ((words[wp] >>> 7) & 0x7FL);
+    values[vp + 2] = (int) ((words[wp] >>> 14) & 0x7FL);
+    values[vp + 3] = (int) ((words[wp] >>> 21) & 0x7FL);
+    values[vp + 4] = (int) ((words[wp] >>> 28) & 0x7FL);
+    values[vp + 5] = (int) ((words[wp] >>> 35) & 0x7FL);
+    values[vp + 6] = (int) ((words[wp] >>> 42) & 0x7FL);
+    values[vp + 7] = (int) ((words[wp] >>> 49) & 0x7FL);
+    values[vp + 8] = (int) ((words[wp] >>> 56) & 0x7FL);
+    values[vp + 9] = (int) (((words[wp] >>> 63) | (words[wp + 1] << 1)) & 0x7FL);
+    values[vp + 10] = (int) ((words[wp + 1] >>> 6) & 0x7FL);
+    values[vp + 11] = (int) ((words[wp + 1] >>> 13) & 0x7FL);
+    values[vp + 12] = (int) ((words[wp + 1] >>> 20) & 0x7FL);
+    values[vp + 13] = (int) ((words[wp + 1] >>> 27) & 0x7FL);
+    values[vp + 14] = (int) ((words[wp + 1] >>> 34) & 0x7FL);
+    values[vp + 15] = (int) ((words[wp + 1] >>> 41) & 0x7FL);
+    values[vp + 16] = (int) ((words[wp + 1] >>> 48) & 0x7FL);
+    values[vp + 17] = (int) ((words[wp + 1] >>> 55) & 0x7FL);
+    values[vp + 18] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x7FL);
+    values[vp + 19] = (int) ((words[wp + 2] >>> 5) & 0x7FL);
+    values[vp + 20] = (int) ((words[wp + 2] >>> 12) & 0x7FL);
+    values[vp + 21] = (int) ((words[wp + 2] >>> 19) & 0x7FL);
+    values[vp + 22] = (int) ((words[wp + 2] >>> 26) & 0x7FL);
+    values[vp + 23] = (int) ((words[wp + 2] >>> 33) & 0x7FL);
+    values[vp + 24] = (int) ((words[wp + 2] >>> 40) & 0x7FL);
+    values[vp + 25] = (int) ((words[wp + 2] >>> 47) & 0x7FL);
+    values[vp + 26] = (int) ((words[wp + 2] >>> 54) & 0x7FL);
+    values[vp + 27] = (int) (((words[wp + 2] >>> 61) | (words[wp + 3] << 3)) & 0x7FL);
+    values[vp + 28] = (int) ((words[wp + 3] >>> 4) & 0x7FL);
+    values[vp + 29] = (int) ((words[wp + 3] >>> 11) & 0x7FL);
+    values[vp + 30] = (int) ((words[wp + 3] >>> 18) & 0x7FL);
+    values[vp + 31] = (int) ((words[wp + 3] >>> 25) & 0x7FL);
+    values[vp + 32] = (int) ((words[wp + 3] >>> 32) & 0x7FL);
+    values[vp + 33] = (int) ((words[wp + 3] >>> 39) & 0x7FL);
+    values[vp + 34] = (int) ((words[wp + 3] >>> 46) & 0x7FL);
+    values[vp + 35] = (int) ((words[wp + 3] >>> 53) & 0x7FL);
+    values[vp + 36] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x7FL);
+    values[vp + 37] = (int) ((words[wp + 4] >>> 3) & 0x7FL);
+    values[vp + 38] = (int) ((words[wp + 4] >>> 10) & 0x7FL);
+    values[vp + 39] = (int) ((words[wp + 4] >>> 17) & 0x7FL);
+    values[vp + 40] = (int) ((words[wp + 4] >>> 24) & 0x7FL);
+    values[vp + 41] = (int) ((words[wp + 4] >>> 31) & 0x7FL);
+    values[vp + 42] = (int) ((words[wp + 4] >>> 38) & 0x7FL);
+    values[vp + 43] = (int) ((words[wp + 4] >>> 45) & 0x7FL);
+    values[vp + 44] = (int) ((words[wp + 4] >>> 52) & 0x7FL);
+    values[vp + 45] = (int) (((words[wp + 4] >>> 59) | (words[wp + 5] << 5)) & 0x7FL);
+    values[vp + 46] = (int) ((words[wp + 5] >>> 2) & 0x7FL);
+    values[vp + 47] = (int) ((words[wp + 5] >>> 9) & 0x7FL);
+    values[vp + 48] = (int) ((words[wp + 5] >>> 16) & 0x7FL);
+    values[vp + 49] = (int) ((words[wp + 5] >>> 23) & 0x7FL);
+    values[vp + 50] = (int) ((words[wp + 5] >>> 30) & 0x7FL);
+    values[vp + 51] = (int) ((words[wp + 5] >>> 37) & 0x7FL);
+    values[vp + 52] = (int) ((words[wp + 5] >>> 44) & 0x7FL);
+    values[vp + 53] = (int) ((words[wp + 5] >>> 51) & 0x7FL);
+    values[vp + 54] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x7FL);
+    values[vp + 55] = (int) ((words[wp + 6] >>> 1) & 0x7FL);
+    values[vp + 56] = (int) ((words[wp + 6] >>> 8) & 0x7FL);
+    values[vp + 57] = (int) ((words[wp + 6] >>> 15) & 0x7FL);
+    values[vp + 58] = (int) ((words[wp + 6] >>> 22) & 0x7FL);
+    values[vp + 59] = (int) ((words[wp + 6] >>> 29) & 0x7FL);
+    values[vp + 60] = (int) ((words[wp + 6] >>> 36) & 0x7FL);
+    values[vp + 61] = (int) ((words[wp + 6] >>> 43) & 0x7FL);
+    values[vp + 62] = (int) ((words[wp + 6] >>> 50) & 0x7FL);
+    values[vp + 63] = (int) (words[wp + 6] >>> 57);
+  }
+
+  private static void unpack8(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 8) & 0xFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 16) & 0xFFL);
+    values[vp + 3] = (int) ((words[wp] >>> 24) & 0xFFL);
+    values[vp + 4] = (int) ((words[wp] >>> 32) & 0xFFL);
+    values[vp + 5] = (int) ((words[wp] >>> 40) & 0xFFL);
+    values[vp + 6] = (int) ((words[wp] >>> 48) & 0xFFL);
+    values[vp + 7] = (int) (words[wp] >>> 56);
+    values[vp + 8] = (int) (words[wp + 1] & 0xFFL);
+    values[vp + 9] = (int) ((words[wp + 1] >>> 8) & 0xFFL);
+    values[vp + 10] = (int) ((words[wp + 1] >>> 16) & 0xFFL);
+    values[vp + 11] = (int) ((words[wp + 1] >>> 24) & 0xFFL);
+    values[vp + 12] = (int) ((words[wp + 1] >>> 32) & 0xFFL);
+    values[vp + 13] = (int) ((words[wp + 1] >>> 40) & 0xFFL);
+    values[vp + 14] = (int) ((words[wp + 1] >>> 48) & 0xFFL);
+    values[vp + 15] = (int) (words[wp + 1] >>> 56);
+    values[vp + 16] = (int) (words[wp + 2] & 0xFFL);
+    values[vp + 17] = (int) ((words[wp + 2] >>> 8) & 0xFFL);
+    values[vp + 18] = (int) ((words[wp + 2] >>> 16) & 0xFFL);
+    values[vp + 19] = (int) ((words[wp + 2] >>> 24) & 0xFFL);
+    values[vp + 20] = (int) ((words[wp + 2] >>> 32) & 0xFFL);
+    values[vp + 21] = (int) ((words[wp + 2] >>> 40) & 0xFFL);
+    values[vp + 22] = (int) ((words[wp + 2] >>> 48) & 0xFFL);
+    values[vp + 23] = (int) (words[wp + 2] >>> 56);
+    values[vp + 24] = (int) (words[wp + 3] & 0xFFL);
+    values[vp + 25] = (int) ((words[wp + 3] >>> 8) & 0xFFL);
+    values[vp + 26] = (int) ((words[wp + 3] >>> 16) & 0xFFL);
+    values[vp + 27] = (int) ((words[wp + 3] >>> 24) & 0xFFL);
+    values[vp + 28] = (int) ((words[wp + 3] >>> 32) & 0xFFL);
+    values[vp + 29] = (int) ((words[wp + 3] >>> 40) & 0xFFL);
+    values[vp + 30] = (int) ((words[wp + 3] >>> 48) & 0xFFL);
+    values[vp + 31] = (int) (words[wp + 3] >>> 56);
+    values[vp + 32] = (int) (words[wp + 4] & 0xFFL);
+    values[vp + 33] = (int) ((words[wp + 4] >>> 8) & 0xFFL);
+    values[vp + 34] = (int) ((words[wp + 4] >>> 16) & 0xFFL);
+    values[vp + 35] = (int) ((words[wp + 4] >>> 24) & 0xFFL);
+    values[vp + 36] = (int) ((words[wp + 4] >>> 32) & 0xFFL);
+    values[vp + 37] = (int) ((words[wp + 4] >>> 40) & 0xFFL);
+    values[vp + 38] = (int) ((words[wp + 4] >>> 48) & 0xFFL);
+    values[vp + 39] = (int) (words[wp + 4] >>> 56);
+    values[vp + 40] = (int) (words[wp + 5] & 0xFFL);
+    values[vp + 41] = (int) ((words[wp + 5] >>> 8) & 0xFFL);
+    values[vp + 42] = (int) ((words[wp + 5] >>> 16) & 0xFFL);
+    values[vp + 43] = (int) ((words[wp + 5] >>> 24) & 0xFFL);
+    values[vp + 44] = (int) ((words[wp + 5] >>> 32) & 0xFFL);
+    values[vp + 45] = (int) ((words[wp + 5] >>> 40) & 0xFFL);
+    values[vp + 46] = (int) ((words[wp + 5] >>> 48) & 0xFFL);
+    values[vp + 47] = (int) (words[wp + 5] >>> 56);
+    values[vp + 48] = (int) (words[wp + 6] & 0xFFL);
+    values[vp + 49] = (int) ((words[wp + 6] >>> 8) & 0xFFL);
+    values[vp + 50] = (int) ((words[wp + 6] >>> 16) & 0xFFL);
+    values[vp + 51] = (int) ((words[wp + 6] >>> 24) & 0xFFL);
+    values[vp + 52] = (int) ((words[wp + 6] >>> 32) & 0xFFL);
+    values[vp + 53] = (int) ((words[wp + 6] >>> 40) & 0xFFL);
+    values[vp + 54] = (int) ((words[wp + 6] >>> 48) & 0xFFL);
+    values[vp + 55] = (int) (words[wp + 6] >>> 56);
+    values[vp + 56] = (int) (words[wp + 7] & 0xFFL);
+    values[vp + 57] = (int) ((words[wp + 7] >>> 8) & 0xFFL);
+    values[vp + 58] = (int) ((words[wp + 7] >>> 16) & 0xFFL);
+    values[vp + 59] = (int) ((words[wp + 7] >>> 24) & 0xFFL);
+    values[vp + 60] = (int) ((words[wp + 7] >>> 32) & 0xFFL);
+    values[vp + 61] = (int) ((words[wp + 7] >>> 40) & 0xFFL);
+    values[vp + 62] = (int) ((words[wp + 7] >>> 48) & 0xFFL);
+    values[vp + 63] = (int) (words[wp + 7] >>> 56);
+  }
+
+  private static void unpack9(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFL);
+    values[vp + 1] = (int) ((words[wp] >>> 9) & 0x1FFL);
+    values[vp + 2] = (int) ((words[wp] >>> 18) & 0x1FFL);
+    values[vp + 3] = (int) ((words[wp] >>> 27) & 0x1FFL);
+    values[vp + 4] = (int) ((words[wp] >>> 36) & 0x1FFL);
+    values[vp + 5] = (int) ((words[wp] >>> 45) & 0x1FFL);
+    values[vp + 6] = (int) ((words[wp] >>> 54) & 0x1FFL);
+    values[vp + 7] = (int) (((words[wp] >>> 63) | (words[wp + 1] << 1)) & 0x1FFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 8) & 0x1FFL);
+    values[vp + 9] = (int) ((words[wp + 1] >>> 17) & 0x1FFL);
+    values[vp + 10] = (int) ((words[wp + 1] >>> 26) & 0x1FFL);
+    values[vp + 11] = (int) ((words[wp + 1] >>> 35) & 0x1FFL);
+    values[vp + 12] = (int) ((words[wp + 1] >>> 44) & 0x1FFL);
+    values[vp + 13] = (int) ((words[wp + 1] >>> 53) & 0x1FFL);
+    values[vp + 14] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x1FFL);
+    values[vp + 15] = (int) ((words[wp + 2] >>> 7) & 0x1FFL);
+    values[vp + 16] = (int) ((words[wp + 2] >>> 16) & 0x1FFL);
+    values[vp + 17] = (int) ((words[wp + 2] >>> 25) & 0x1FFL);
+    values[vp + 18] = (int) ((words[wp + 2] >>> 34) & 0x1FFL);
+    values[vp + 19] = (int) ((words[wp + 2] >>> 43) & 0x1FFL);
+    values[vp + 20] = (int) ((words[wp + 2] >>> 52) & 0x1FFL);
+    values[vp + 21] = (int) (((words[wp + 2] >>> 61) | (words[wp + 3] << 3)) & 0x1FFL);
+    values[vp + 22] = (int) ((words[wp + 3] >>> 6) & 0x1FFL);
+    values[vp + 23] = (int) ((words[wp + 3] >>> 15) & 0x1FFL);
+    values[vp + 24] = (int) ((words[wp + 3] >>> 24) & 0x1FFL);
+    values[vp + 25] = (int) ((words[wp + 3] >>> 33) & 0x1FFL);
+    values[vp + 26] = (int) ((words[wp + 3] >>> 42) & 0x1FFL);
+    values[vp + 27] = (int) ((words[wp + 3] >>> 51) & 0x1FFL);
+    values[vp + 28] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x1FFL);
+    values[vp + 29] = (int) ((words[wp + 4] >>> 5) & 0x1FFL);
+    values[vp + 30] = (int) ((words[wp + 4] >>> 14) & 0x1FFL);
+    values[vp + 31] = (int) ((words[wp + 4] >>> 23) & 0x1FFL);
+    values[vp + 32] = (int) ((words[wp + 4] >>> 32) & 0x1FFL);
+    values[vp + 33] = (int) ((words[wp + 4] >>> 41) & 0x1FFL);
+    values[vp + 34] = (int) ((words[wp + 4] >>> 50) & 0x1FFL);
+    values[vp + 35] = (int) (((words[wp + 4] >>> 59) | (words[wp + 5] << 5)) & 0x1FFL);
+    values[vp + 36] = (int) ((words[wp + 5] >>> 4) & 0x1FFL);
+    values[vp + 37] = (int) ((words[wp + 5] >>> 13) & 0x1FFL);
+    values[vp + 38] = (int) ((words[wp + 5] >>> 22) & 0x1FFL);
+    values[vp + 39] = (int) ((words[wp + 5] >>> 31) & 0x1FFL);
+    values[vp + 40] = (int) ((words[wp + 5] >>> 40) & 0x1FFL);
+    values[vp + 41] = (int) ((words[wp + 5] >>> 49) & 0x1FFL);
+    values[vp + 42] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x1FFL);
+    values[vp + 43] = (int) ((words[wp + 6] >>> 3) & 0x1FFL);
+    values[vp + 44] = (int) ((words[wp + 6] >>> 12) & 0x1FFL);
+    values[vp + 45] = (int) ((words[wp + 6] >>> 21) & 0x1FFL);
+    values[vp + 46] = (int) ((words[wp + 6] >>> 30) & 0x1FFL);
+    values[vp + 47] = (int) ((words[wp + 6] >>> 39) & 0x1FFL);
+    values[vp + 48] = (int) ((words[wp + 6] >>> 48) & 0x1FFL);
+    values[vp + 49] = (int) (((words[wp + 6] >>> 57) | (words[wp + 7] << 7)) & 0x1FFL);
+    values[vp + 50] = (int) ((words[wp + 7] >>> 2) & 0x1FFL);
+    values[vp + 51] = (int) ((words[wp + 7] >>> 11) & 0x1FFL);
+    values[vp + 52] = (int) ((words[wp + 7] >>> 20) & 0x1FFL);
+    values[vp + 53] = (int) ((words[wp + 7] >>> 29) & 0x1FFL);
+    values[vp + 54] = (int) ((words[wp + 7] >>> 38) & 0x1FFL);
+    values[vp + 55] = (int) ((words[wp + 7] >>> 47) & 0x1FFL);
+    values[vp + 56] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0x1FFL);
+    values[vp + 57] = (int) ((words[wp + 8] >>> 1) & 0x1FFL);
+    values[vp + 58] = (int) ((words[wp + 8] >>> 10) & 0x1FFL);
+    values[vp + 59] = (int) ((words[wp + 8] >>> 19) & 0x1FFL);
+    values[vp + 60] = (int) ((words[wp + 8] >>> 28) & 0x1FFL);
+    values[vp + 61] = (int) ((words[wp + 8] >>> 37) & 0x1FFL);
+    values[vp + 62] = (int) ((words[wp + 8] >>> 46) & 0x1FFL);
+    values[vp + 63] = (int) (words[wp + 8] >>> 55);
+  }
+
+  private static void unpack10(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFL);
+    values[vp + 1] = (int) ((words[wp] >>> 10) & 0x3FFL);
+    values[vp + 2] = (int) ((words[wp] >>> 20) & 0x3FFL);
+    values[vp + 3] = (int) ((words[wp] >>> 30) & 0x3FFL);
+    values[vp + 4] = (int) ((words[wp] >>> 40) & 0x3FFL);
+    values[vp + 5] = (int) ((words[wp] >>> 50) & 0x3FFL);
+    values[vp + 6] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0x3FFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 6) & 0x3FFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 16) & 0x3FFL);
+    values[vp + 9] = (int) ((words[wp + 1] >>> 26) & 0x3FFL);
+    values[vp + 10] = (int) ((words[wp + 1] >>> 36) & 0x3FFL);
+    values[vp + 11] = (int) ((words[wp + 1] >>> 46) & 0x3FFL);
+    values[vp + 12] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0x3FFL);
+    values[vp + 13] = (int) ((words[wp + 2] >>> 2) & 0x3FFL);
+    values[vp + 14] = (int) ((words[wp + 2] >>> 12) & 0x3FFL);
+    values[vp + 15] = (int) ((words[wp + 2] >>> 22) & 0x3FFL);
+    values[vp + 16] = (int) ((words[wp + 2] >>> 32) & 0x3FFL);
+    values[vp + 17] = (int) ((words[wp + 2] >>> 42) & 0x3FFL);
+    values[vp + 18] = (int) ((words[wp + 2] >>> 52) & 0x3FFL);
+    values[vp + 19] = (int) (((words[wp + 2] >>> 62) | (words[wp + 3] << 2)) & 0x3FFL);
+    values[vp + 20] = (int) ((words[wp + 3] >>> 8) & 0x3FFL);
+    values[vp + 21] = (int) ((words[wp + 3] >>> 18) & 0x3FFL);
+    values[vp + 22] = (int) ((words[wp + 3] >>> 28) & 0x3FFL);
+    values[vp + 23] = (int) ((words[wp + 3] >>> 38) & 0x3FFL);
+    values[vp + 24] = (int) ((words[wp + 3] >>> 48) & 0x3FFL);
+    values[vp + 25] = (int) (((words[wp + 3] >>> 58) | (words[wp + 4] << 6)) & 0x3FFL);
+    values[vp + 26] = (int) ((words[wp + 4] >>> 4) & 0x3FFL);
+    values[vp + 27] = (int) ((words[wp + 4] >>> 14) & 0x3FFL);
+    values[vp + 28] = (int) ((words[wp + 4] >>> 24) & 0x3FFL);
+    values[vp + 29] = (int) ((words[wp + 4] >>> 34) & 0x3FFL);
+    values[vp + 30] = (int) ((words[wp + 4] >>> 44) & 0x3FFL);
+    values[vp + 31] = (int) (words[wp + 4] >>> 54);
+    values[vp + 32] = (int) (words[wp + 5] & 0x3FFL);
+    values[vp + 33] = (int) ((words[wp + 5] >>> 10) & 0x3FFL);
+    values[vp + 34] = (int) ((words[wp + 5] >>> 20) & 0x3FFL);
+    values[vp + 35] = (int) ((words[wp + 5] >>> 30) & 0x3FFL);
+    values[vp + 36] = (int) ((words[wp + 5] >>> 40) & 0x3FFL);
+    values[vp + 37] = (int) ((words[wp + 5] >>> 50) & 0x3FFL);
+    values[vp + 38] = (int) (((words[wp + 5] >>> 60) | (words[wp + 6] << 4)) & 0x3FFL);
+    values[vp + 39] = (int) ((words[wp + 6] >>> 6) & 0x3FFL);
+    values[vp + 40] = (int) ((words[wp + 6] >>> 16) & 0x3FFL);
+    values[vp + 41] = (int) ((words[wp + 6] >>> 26) & 0x3FFL);
+    values[vp + 42] = (int) ((words[wp + 6] >>> 36) & 0x3FFL);
+    values[vp + 43] = (int) ((words[wp + 6] >>> 46) & 0x3FFL);
+    values[vp + 44] = (int) (((words[wp + 6] >>> 56) | (words[wp + 7] << 8)) & 0x3FFL);
+    values[vp + 45] = (int) ((words[wp + 7] >>> 2) & 0x3FFL);
+    values[vp + 46] = (int) ((words[wp + 7] >>> 12) & 0x3FFL);
+    values[vp + 47] = (int) ((words[wp + 7] >>> 22) & 0x3FFL);
+    values[vp + 48] = (int) ((words[wp + 7] >>> 32) & 0x3FFL);
+    values[vp + 49] = (int) ((words[wp + 7] >>> 42) & 0x3FFL);
+    values[vp + 50] = (int) ((words[wp + 7] >>> 52) & 0x3FFL);
+    values[vp + 51] = (int) (((words[wp + 7] >>> 62) | (words[wp + 8] << 2)) & 0x3FFL);
+    values[vp + 52] = (int) ((words[wp + 8] >>> 8) & 0x3FFL);
+    values[vp + 53] = (int) ((words[wp + 8] >>> 18) & 0x3FFL);
+    values[vp + 54] = (int) ((words[wp + 8] >>> 28) & 0x3FFL);
+    values[vp + 55] = (int) ((words[wp + 8] >>> 38) & 0x3FFL);
+    values[vp + 56] = (int) ((words[wp + 8] >>> 48) & 0x3FFL);
+    values[vp + 57] = (int) (((words[wp + 8] >>> 58) | (words[wp + 9] << 6)) & 0x3FFL);
+    values[vp + 58] = (int) ((words[wp + 9] >>> 4) & 0x3FFL);
+    values[vp + 59] = (int) ((words[wp + 9] >>> 14) & 0x3FFL);
+    values[vp + 60] = (int) ((words[wp + 9] >>> 24) & 0x3FFL);
+    values[vp + 61] = (int) ((words[wp + 9] >>> 34) & 0x3FFL);
+    values[vp + 62] = (int) ((words[wp + 9] >>> 44) & 0x3FFL);
+    values[vp + 63] = (int) (words[wp + 9] >>> 54);
+  }
+
+  private static void unpack11(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFL);
+    values[vp + 1] = (int) ((words[wp] >>> 11) & 0x7FFL);
+    values[vp + 2] = (int) ((words[wp] >>> 22) & 0x7FFL);
+    values[vp + 3] = (int) ((words[wp] >>> 33) & 0x7FFL);
+    values[vp + 4] = (int) ((words[wp] >>> 44) & 0x7FFL);
+    values[vp + 5] = (int) (((words[wp] >>> 55) | (words[wp + 1] << 9)) & 0x7FFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 2) & 0x7FFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 13) & 0x7FFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 24) & 0x7FFL);
+    values[vp + 9] = (int) ((words[wp + 1] >>> 35) & 0x7FFL);
+    values[vp + 10] = (int) ((words[wp + 1] >>> 46) & 0x7FFL);
+    values[vp + 11] = (int) (((words[wp + 1] >>> 57) | (words[wp + 2] << 7)) & 0x7FFL);
+    values[vp + 12] = (int) ((words[wp + 2] >>> 4) & 0x7FFL);
+    values[vp + 13] = (int) ((words[wp + 2] >>> 15) & 0x7FFL);
+    values[vp + 14] = (int) ((words[wp + 2] >>> 26) & 0x7FFL);
+    values[vp + 15] = (int) ((words[wp + 2] >>> 37) & 0x7FFL);
+    values[vp + 16] = (int) ((words[wp + 2] >>> 48) & 0x7FFL);
+    values[vp + 17] = (int) (((words[wp + 2] >>> 59) | (words[wp + 3] << 5)) & 0x7FFL);
+    values[vp + 18] = (int) ((words[wp + 3] >>> 6) & 0x7FFL);
+    values[vp + 19] = (int) ((words[wp + 3] >>> 17) & 0x7FFL);
+    values[vp + 20] = (int) ((words[wp + 3] >>> 28) & 0x7FFL);
+    values[vp + 21] = (int) ((words[wp + 3] >>> 39) & 0x7FFL);
+    values[vp + 22] = (int) ((words[wp + 3] >>> 50) & 0x7FFL);
+    values[vp + 23] = (int) (((words[wp + 3] >>> 61) | (words[wp + 4] << 3)) & 0x7FFL);
+    values[vp + 24] = (int) ((words[wp + 4] >>> 8) & 0x7FFL);
+    values[vp + 25] = (int) ((words[wp + 4] >>> 19) & 0x7FFL);
+    values[vp + 26] = (int) ((words[wp + 4] >>> 30) & 0x7FFL);
+    values[vp + 27] = (int) ((words[wp + 4] >>> 41) & 0x7FFL);
+    values[vp + 28] = (int) ((words[wp + 4] >>> 52) & 0x7FFL);
+    values[vp + 29] = (int) (((words[wp + 4] >>> 63) | (words[wp + 5] << 1)) & 0x7FFL);
+    values[vp + 30] = (int) ((words[wp + 5] >>> 10) & 0x7FFL);
+    values[vp + 31] = (int) ((words[wp + 5] >>> 21) & 0x7FFL);
+    values[vp + 32] = (int) ((words[wp + 5] >>> 32) & 0x7FFL);
+    values[vp + 33] = (int) ((words[wp + 5] >>> 43) & 0x7FFL);
+    values[vp + 34] = (int) (((words[wp + 5] >>> 54) | (words[wp + 6] << 10)) & 0x7FFL);
+    values[vp + 35] = (int) ((words[wp + 6] >>> 1) & 0x7FFL);
+    values[vp + 36] = (int) ((words[wp + 6] >>> 12) & 0x7FFL);
+    values[vp + 37] = (int) ((words[wp + 6] >>> 23) & 0x7FFL);
+    values[vp + 38] = (int) ((words[wp + 6] >>> 34) & 0x7FFL);
+    values[vp + 39] = (int) ((words[wp + 6] >>> 45) & 0x7FFL);
+    values[vp + 40] = (int) (((words[wp + 6] >>> 56) | (words[wp + 7] << 8)) & 0x7FFL);
+    values[vp + 41] = (int) ((words[wp + 7] >>> 3) & 0x7FFL);
+    values[vp + 42] = (int) ((words[wp + 7] >>> 14) & 0x7FFL);
+    values[vp + 43] = (int) ((words[wp + 7] >>> 25) & 0x7FFL);
+    values[vp + 44] = (int) ((words[wp + 7] >>> 36) & 0x7FFL);
+    values[vp + 45] = (int) ((words[wp + 7] >>> 47) & 0x7FFL);
+    values[vp + 46] = (int) (((words[wp + 7] >>> 58) | (words[wp + 8] << 6)) & 0x7FFL);
+    values[vp + 47] = (int) ((words[wp + 8] >>> 5) & 0x7FFL);
+    values[vp + 48] = (int) ((words[wp + 8] >>> 16) & 0x7FFL);
+    values[vp + 49] = (int) ((words[wp + 8] >>> 27) & 0x7FFL);
+    values[vp + 50] = (int) ((words[wp + 8] >>> 38) & 0x7FFL);
+    values[vp + 51] = (int) ((words[wp + 8] >>> 49) & 0x7FFL);
+    values[vp + 52] = (int) (((words[wp + 8] >>> 60) | (words[wp + 9] << 4)) & 0x7FFL);
+    values[vp + 53] = (int) ((words[wp + 9] >>> 7) & 0x7FFL);
+    values[vp + 54] = (int) ((words[wp + 9] >>> 18) & 0x7FFL);
+    values[vp + 55] = (int) ((words[wp + 9] >>> 29) & 0x7FFL);
+    values[vp + 56] = (int) ((words[wp + 9] >>> 40) & 0x7FFL);
+    values[vp + 57] = (int) ((words[wp + 9] >>> 51) & 0x7FFL);
+    values[vp + 58] = (int) (((words[wp + 9] >>> 62) | (words[wp + 10] << 2)) & 0x7FFL);
+    values[vp + 59] = (int) ((words[wp + 10] >>> 9) & 0x7FFL);
+    values[vp + 60] = (int) ((words[wp + 10] >>> 20) & 0x7FFL);
+    values[vp + 61] = (int) ((words[wp + 10] >>> 31) & 0x7FFL);
+    values[vp + 62] = (int) ((words[wp + 10] >>> 42) & 0x7FFL);
+    values[vp + 63] = (int) (words[wp + 10] >>> 53);
+  }
+
+  private static void unpack12(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 12) & 0xFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 24) & 0xFFFL);
+    values[vp + 3] = (int) ((words[wp] >>> 36) & 0xFFFL);
+    values[vp + 4] = (int) ((words[wp] >>> 48) & 0xFFFL);
+    values[vp + 5] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0xFFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 8) & 0xFFFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 20) & 0xFFFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 32) & 0xFFFL);
+    values[vp + 9] = (int) ((words[wp + 1] >>> 44) & 0xFFFL);
+    values[vp + 10] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0xFFFL);
+    values[vp + 11] = (int) ((words[wp + 2] >>> 4) & 0xFFFL);
+    values[vp + 12] = (int) ((words[wp + 2] >>> 16) & 0xFFFL);
+    values[vp + 13] = (int) ((words[wp + 2] >>> 28) & 0xFFFL);
+    values[vp + 14] = (int) ((words[wp + 2] >>> 40) & 0xFFFL);
+    values[vp + 15] = (int) (words[wp + 2] >>> 52);
+    values[vp + 16] = (int) (words[wp + 3] & 0xFFFL);
+    values[vp + 17] = (int) ((words[wp + 3] >>> 12) & 0xFFFL);
+    values[vp + 18] = (int) ((words[wp + 3] >>> 24) & 0xFFFL);
+    values[vp + 19] = (int) ((words[wp + 3] >>> 36) & 0xFFFL);
+    values[vp + 20] = (int) ((words[wp + 3] >>> 48) & 0xFFFL);
+    values[vp + 21] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0xFFFL);
+    values[vp + 22] = (int) ((words[wp + 4] >>> 8) & 0xFFFL);
+    values[vp + 23] = (int) ((words[wp + 4] >>> 20) & 0xFFFL);
+    values[vp + 24] = (int) ((words[wp + 4] >>> 32) & 0xFFFL);
+    values[vp + 25] = (int) ((words[wp + 4] >>> 44) & 0xFFFL);
+    values[vp + 26] = (int) (((words[wp + 4] >>> 56) | (words[wp + 5] << 8)) & 0xFFFL);
+    values[vp + 27] = (int) ((words[wp + 5] >>> 4) & 0xFFFL);
+    values[vp + 28] = (int) ((words[wp + 5] >>> 16) & 0xFFFL);
+    values[vp + 29] = (int) ((words[wp + 5] >>> 28) & 0xFFFL);
+    values[vp + 30] = (int) ((words[wp + 5] >>> 40) & 0xFFFL);
+    values[vp + 31] = (int) (words[wp + 5] >>> 52);
+    values[vp + 32] = (int) (words[wp + 6] & 0xFFFL);
+    values[vp + 33] = (int) ((words[wp + 6] >>> 12) & 0xFFFL);
+    values[vp + 34] = (int) ((words[wp + 6] >>> 24) & 0xFFFL);
+    values[vp + 35] = (int) ((words[wp + 6] >>> 36) & 0xFFFL);
+    values[vp + 36] = (int) ((words[wp + 6] >>> 48) & 0xFFFL);
+    values[vp + 37] = (int) (((words[wp + 6] >>> 60) | (words[wp + 7] << 4)) & 0xFFFL);
+    values[vp + 38] = (int) ((words[wp + 7] >>> 8) & 0xFFFL);
+    values[vp + 39] = (int) ((words[wp + 7] >>> 20) & 0xFFFL);
+    values[vp + 40] = (int) ((words[wp + 7] >>> 32) & 0xFFFL);
+    values[vp + 41] = (int) ((words[wp + 7] >>> 44) & 0xFFFL);
+    values[vp + 42] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0xFFFL);
+    values[vp + 43] = (int) ((words[wp + 8] >>> 4) & 0xFFFL);
+    values[vp + 44] = (int) ((words[wp + 8] >>> 16) & 0xFFFL);
+    values[vp + 45] = (int) ((words[wp + 8] >>> 28) & 0xFFFL);
+    values[vp + 46] = (int) ((words[wp + 8] >>> 40) & 0xFFFL);
+    values[vp + 47] = (int) (words[wp + 8] >>> 52);
+    values[vp + 48] = (int) (words[wp + 9] & 0xFFFL);
+    values[vp + 49] = (int) ((words[wp + 9] >>> 12) & 0xFFFL);
+    values[vp + 50] = (int) ((words[wp + 9] >>> 24) & 0xFFFL);
+    values[vp + 51] = (int) ((words[wp + 9] >>> 36) & 0xFFFL);
+    values[vp + 52] = (int) ((words[wp + 9] >>> 48) & 0xFFFL);
+    values[vp + 53] = (int) (((words[wp + 9] >>> 60) | (words[wp + 10] << 4)) & 0xFFFL);
+    values[vp + 54] = (int) ((words[wp + 10] >>> 8) & 0xFFFL);
+    values[vp + 55] = (int) ((words[wp + 10] >>> 20) & 0xFFFL);
+    values[vp + 56] = (int) ((words[wp + 10] >>> 32) & 0xFFFL);
+    values[vp + 57] = (int) ((words[wp + 10] >>> 44) & 0xFFFL);
+    values[vp + 58] = (int) (((words[wp + 10] >>> 56) | (words[wp + 11] << 8)) & 0xFFFL);
+    values[vp + 59] = (int) ((words[wp + 11] >>> 4) & 0xFFFL);
+    values[vp + 60] = (int) ((words[wp + 11] >>> 16) & 0xFFFL);
+    values[vp + 61] = (int) ((words[wp + 11] >>> 28) & 0xFFFL);
+    values[vp + 62] = (int) ((words[wp + 11] >>> 40) & 0xFFFL);
+    values[vp + 63] = (int) (words[wp + 11] >>> 52);
+  }
+
+  private static void unpack13(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 13) & 0x1FFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 26) & 0x1FFFL);
+    values[vp + 3] = (int) ((words[wp] >>> 39) & 0x1FFFL);
+    values[vp + 4] = (int) (((words[wp] >>> 52) | (words[wp + 1] << 12)) & 0x1FFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 1) & 0x1FFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 14) & 0x1FFFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 27) & 0x1FFFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 40) & 0x1FFFL);
+    values[vp + 9] = (int) (((words[wp + 1] >>> 53) | (words[wp + 2] << 11)) & 0x1FFFL);
+    values[vp + 10] = (int) ((words[wp + 2] >>> 2) & 0x1FFFL);
+    values[vp + 11] = (int) ((words[wp + 2] >>> 15) & 0x1FFFL);
+    values[vp + 12] = (int) ((words[wp + 2] >>> 28) & 0x1FFFL);
+    values[vp + 13] = (int) ((words[wp + 2] >>> 41) & 0x1FFFL);
+    values[vp + 14] = (int) (((words[wp + 2] >>> 54) | (words[wp + 3] << 10)) & 0x1FFFL);
+    values[vp + 15] = (int) ((words[wp + 3] >>> 3) & 0x1FFFL);
+    values[vp + 16] = (int) ((words[wp + 3] >>> 16) & 0x1FFFL);
+    values[vp + 17] = (int) ((words[wp + 3] >>> 29) & 0x1FFFL);
+    values[vp + 18] = (int) ((words[wp + 3] >>> 42) & 0x1FFFL);
+    values[vp + 19] = (int) (((words[wp + 3] >>> 55) | (words[wp + 4] << 9)) & 0x1FFFL);
+    values[vp + 20] = (int) ((words[wp + 4] >>> 4) & 0x1FFFL);
+    values[vp + 21] = (int) ((words[wp + 4] >>> 17) & 0x1FFFL);
+    values[vp + 22] = (int) ((words[wp + 4] >>> 30) & 0x1FFFL);
+    values[vp + 23] = (int) ((words[wp + 4] >>> 43) & 0x1FFFL);
+    values[vp + 24] = (int) (((words[wp + 4] >>> 56) | (words[wp + 5] << 8)) & 0x1FFFL);
+    values[vp + 25] = (int) ((words[wp + 5] >>> 5) & 0x1FFFL);
+    values[vp + 26] = (int) ((words[wp + 5] >>> 18) & 0x1FFFL);
+    values[vp + 27] = (int) ((words[wp + 5] >>> 31) & 0x1FFFL);
+    values[vp + 28] = (int) ((words[wp + 5] >>> 44) & 0x1FFFL);
+    values[vp + 29] = (int) (((words[wp + 5] >>> 57) | (words[wp + 6] << 7)) & 0x1FFFL);
+    values[vp + 30] = (int) ((words[wp + 6] >>> 6) & 0x1FFFL);
+    values[vp + 31] = (int) ((words[wp + 6] >>> 19) & 0x1FFFL);
+    values[vp + 32] = (int) ((words[wp + 6] >>> 32) & 0x1FFFL);
+    values[vp + 33] = (int) ((words[wp + 6] >>> 45) & 0x1FFFL);
+    values[vp + 34] = (int) (((words[wp + 6] >>> 58) | (words[wp + 7] << 6)) & 0x1FFFL);
+    values[vp + 35] = (int) ((words[wp + 7] >>> 7) & 0x1FFFL);
+    values[vp + 36] = (int) ((words[wp + 7] >>> 20) & 0x1FFFL);
+    values[vp + 37] = (int) ((words[wp + 7] >>> 33) & 0x1FFFL);
+    values[vp + 38] = (int) ((words[wp + 7] >>> 46) & 0x1FFFL);
+    values[vp + 39] = (int) (((words[wp + 7] >>> 59) | (words[wp + 8] << 5)) & 0x1FFFL);
+    values[vp + 40] = (int) ((words[wp + 8] >>> 8) & 0x1FFFL);
+    values[vp + 41] = (int) ((words[wp + 8] >>> 21) & 0x1FFFL);
+    values[vp + 42] = (int) ((words[wp + 8] >>> 34) & 0x1FFFL);
+    values[vp + 43] = (int) ((words[wp + 8] >>> 47) & 0x1FFFL);
+    values[vp + 44] = (int) (((words[wp + 8] >>> 60) | (words[wp + 9] << 4)) & 0x1FFFL);
+    values[vp + 45] = (int) ((words[wp + 9] >>> 9) & 0x1FFFL);
+    values[vp + 46] = (int) ((words[wp + 9] >>> 22) & 0x1FFFL);
+    values[vp + 47] = (int) ((words[wp + 9] >>> 35) & 0x1FFFL);
+    values[vp + 48] = (int) ((words[wp + 9] >>> 48) & 0x1FFFL);
+    values[vp + 49] = (int) (((words[wp + 9] >>> 61) | (words[wp + 10] << 3)) & 0x1FFFL);
+    values[vp + 50] = (int) ((words[wp + 10] >>> 10) & 0x1FFFL);
+    values[vp + 51] = (int) ((words[wp + 10] >>> 23) & 0x1FFFL);
+    values[vp + 52] = (int) ((words[wp + 10] >>> 36) & 0x1FFFL);
+    values[vp + 53] = (int) ((words[wp + 10] >>> 49) & 0x1FFFL);
+    values[vp + 54] = (int) (((words[wp + 10] >>> 62) | (words[wp + 11] << 2)) & 0x1FFFL);
+    values[vp + 55] = (int) ((words[wp + 11] >>> 11) & 0x1FFFL);
+    values[vp + 56] = (int) ((words[wp + 11] >>> 24) & 0x1FFFL);
+    values[vp + 57] = (int) ((words[wp + 11] >>> 37) & 0x1FFFL);
+    values[vp + 58] = (int) ((words[wp + 11] >>> 50) & 0x1FFFL);
+    values[vp + 59] = (int) (((words[wp + 11] >>> 63) | (words[wp + 12] << 1)) & 0x1FFFL);
+    values[vp + 60] = (int) ((words[wp + 12] >>> 12) & 0x1FFFL);
+    values[vp + 61] = (int) ((words[wp + 12] >>> 25) & 0x1FFFL);
+    values[vp + 62] = (int) ((words[wp + 12] >>> 38) & 0x1FFFL);
+    values[vp + 63] = (int) (words[wp + 12] >>> 51);
+  }
+
+  private static void unpack14(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 14) & 0x3FFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 28) & 0x3FFFL);
+    values[vp + 3] = (int) ((words[wp] >>> 42) & 0x3FFFL);
+    values[vp + 4] = (int) (((words[wp] >>> 56) | (words[wp + 1] << 8)) & 0x3FFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 6) & 0x3FFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 20) & 0x3FFFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 34) & 0x3FFFL);
+    values[vp + 8] = (int) ((words[wp + 1] >>> 48) & 0x3FFFL);
+    values[vp + 9] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x3FFFL);
+    values[vp + 10] = (int) ((words[wp + 2] >>> 12) & 0x3FFFL);
+    values[vp + 11] = (int) ((words[wp + 2] >>> 26) & 0x3FFFL);
+    values[vp + 12] = (int) ((words[wp + 2] >>> 40) & 0x3FFFL);
+    values[vp + 13] = (int) (((words[wp + 2] >>> 54) | (words[wp + 3] << 10)) & 0x3FFFL);
+    values[vp + 14] = (int) ((words[wp + 3] >>> 4) & 0x3FFFL);
+    values[vp + 15] = (int) ((words[wp + 3] >>> 18) & 0x3FFFL);
+    values[vp + 16] = (int) ((words[wp + 3] >>> 32) & 0x3FFFL);
+    values[vp + 17] = (int) ((words[wp + 3] >>> 46) & 0x3FFFL);
+    values[vp + 18] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x3FFFL);
+    values[vp + 19] = (int) ((words[wp + 4] >>> 10) & 0x3FFFL);
+    values[vp + 20] = (int) ((words[wp + 4] >>> 24) & 0x3FFFL);
+    values[vp + 21] = (int) ((words[wp + 4] >>> 38) & 0x3FFFL);
+    values[vp + 22] = (int) (((words[wp + 4] >>> 52) | (words[wp + 5] << 12)) & 0x3FFFL);
+    values[vp + 23] = (int) ((words[wp + 5] >>> 2) & 0x3FFFL);
+    values[vp + 24] = (int) ((words[wp + 5] >>> 16) & 0x3FFFL);
+    values[vp + 25] = (int) ((words[wp + 5] >>> 30) & 0x3FFFL);
+    values[vp + 26] = (int) ((words[wp + 5] >>> 44) & 0x3FFFL);
+    values[vp + 27] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x3FFFL);
+    values[vp + 28] = (int) ((words[wp + 6] >>> 8) & 0x3FFFL);
+    values[vp + 29] = (int) ((words[wp + 6] >>> 22) & 0x3FFFL);
+    values[vp + 30] = (int) ((words[wp + 6] >>> 36) & 0x3FFFL);
+    values[vp + 31] = (int) (words[wp + 6] >>> 50);
+    values[vp + 32] = (int) (words[wp + 7] & 0x3FFFL);
+    values[vp + 33] = (int) ((words[wp + 7] >>> 14) & 0x3FFFL);
+    values[vp + 34] = (int) ((words[wp + 7] >>> 28) & 0x3FFFL);
+    values[vp + 35] = (int) ((words[wp + 7] >>> 42) & 0x3FFFL);
+    values[vp + 36] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0x3FFFL);
+    values[vp + 37] = (int) ((words[wp + 8] >>> 6) & 0x3FFFL);
+    values[vp + 38] = (int) ((words[wp + 8] >>> 20) & 0x3FFFL);
+    values[vp + 39] = (int) ((words[wp + 8] >>> 34) & 0x3FFFL);
+    values[vp + 40] = (int) ((words[wp + 8] >>> 48) & 0x3FFFL);
+    values[vp + 41] = (int) (((words[wp + 8] >>> 62) | (words[wp + 9] << 2)) & 0x3FFFL);
+    values[vp + 42] = (int) ((words[wp + 9] >>> 12) & 0x3FFFL);
+    values[vp + 43] = (int) ((words[wp + 9] >>> 26) & 0x3FFFL);
+    values[vp + 44] = (int) ((words[wp + 9] >>> 40) & 0x3FFFL);
+    values[vp + 45] = (int) (((words[wp + 9] >>> 54) | (words[wp + 10] << 10)) & 0x3FFFL);
+    values[vp + 46] = (int) ((words[wp + 10] >>> 4) & 0x3FFFL);
+    values[vp + 47] = (int) ((words[wp + 10] >>> 18) & 0x3FFFL);
+    values[vp + 48] = (int) ((words[wp + 10] >>> 32) & 0x3FFFL);
+    values[vp + 49] = (int) ((words[wp + 10] >>> 46) & 0x3FFFL);
+    values[vp + 50] = (int) (((words[wp + 10] >>> 60) | (words[wp + 11] << 4)) & 0x3FFFL);
+    values[vp + 51] = (int) ((words[wp + 11] >>> 10) & 0x3FFFL);
+    values[vp + 52] = (int) ((words[wp + 11] >>> 24) & 0x3FFFL);
+    values[vp + 53] = (int) ((words[wp + 11] >>> 38) & 0x3FFFL);
+    values[vp + 54] = (int) (((words[wp + 11] >>> 52) | (words[wp + 12] << 12)) & 0x3FFFL);
+    values[vp + 55] = (int) ((words[wp + 12] >>> 2) & 0x3FFFL);
+    values[vp + 56] = (int) ((words[wp + 12] >>> 16) & 0x3FFFL);
+    values[vp + 57] = (int) ((words[wp + 12] >>> 30) & 0x3FFFL);
+    values[vp + 58] = (int) ((words[wp + 12] >>> 44) & 0x3FFFL);
+    values[vp + 59] = (int) (((words[wp + 12] >>> 58) | (words[wp + 13] << 6)) & 0x3FFFL);
+    values[vp + 60] = (int) ((words[wp + 13] >>> 8) & 0x3FFFL);
+    values[vp + 61] = (int) ((words[wp + 13] >>> 22) & 0x3FFFL);
+    values[vp + 62] = (int) ((words[wp + 13] >>> 36) & 0x3FFFL);
+    values[vp + 63] = (int) (words[wp + 13] >>> 50);
+  }
+
+  private static void unpack15(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 15) & 0x7FFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 30) & 0x7FFFL);
+    values[vp + 3] = (int) ((words[wp] >>> 45) & 0x7FFFL);
+    values[vp + 4] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0x7FFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 11) & 0x7FFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 26) & 0x7FFFL);
+    values[vp + 7] = (int) ((words[wp + 1] >>> 41) & 0x7FFFL);
+    values[vp + 8] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0x7FFFL);
+    values[vp + 9] = (int) ((words[wp + 2] >>> 7) & 0x7FFFL);
+    values[vp + 10] = (int) ((words[wp + 2] >>> 22) & 0x7FFFL);
+    values[vp + 11] = (int) ((words[wp + 2] >>> 37) & 0x7FFFL);
+    values[vp + 12] = (int) (((words[wp + 2] >>> 52) | (words[wp + 3] << 12)) & 0x7FFFL);
+    values[vp + 13] = (int) ((words[wp + 3] >>> 3) & 0x7FFFL);
+    values[vp + 14] = (int) ((words[wp + 3] >>> 18) & 0x7FFFL);
+    values[vp + 15] = (int) ((words[wp + 3] >>> 33) & 0x7FFFL);
+    values[vp + 16] = (int) ((words[wp + 3] >>> 48) & 0x7FFFL);
+    values[vp + 17] = (int) (((words[wp + 3] >>> 63) | (words[wp + 4] << 1)) & 0x7FFFL);
+    values[vp + 18] = (int) ((words[wp + 4] >>> 14) & 0x7FFFL);
+    values[vp + 19] = (int) ((words[wp + 4] >>> 29) & 0x7FFFL);
+    values[vp + 20] = (int) ((words[wp + 4] >>> 44) & 0x7FFFL);
+    values[vp + 21] = (int) (((words[wp + 4] >>> 59) | (words[wp + 5] << 5)) & 0x7FFFL);
+    values[vp + 22] = (int) ((words[wp + 5] >>> 10) & 0x7FFFL);
+    values[vp + 23] = (int) ((words[wp + 5] >>> 25) & 0x7FFFL);
+    values[vp + 24] = (int) ((words[wp + 5] >>> 40) & 0x7FFFL);
+    values[vp + 25] = (int) (((words[wp + 5] >>> 55) | (words[wp + 6] << 9)) & 0x7FFFL);
+    values[vp + 26] = (int) ((words[wp + 6] >>> 6) & 0x7FFFL);
+    values[vp + 27] = (int) ((words[wp + 6] >>> 21) & 0x7FFFL);
+    values[vp + 28] = (int) ((words[wp + 6] >>> 36) & 0x7FFFL);
+    values[vp + 29] = (int) (((words[wp + 6] >>> 51) | (words[wp + 7] << 13)) & 0x7FFFL);
+    values[vp + 30] = (int) ((words[wp + 7] >>> 2) & 0x7FFFL);
+    values[vp + 31] = (int) ((words[wp + 7] >>> 17) & 0x7FFFL);
+    values[vp + 32] = (int) ((words[wp + 7] >>> 32) & 0x7FFFL);
+    values[vp + 33] = (int) ((words[wp + 7] >>> 47) & 0x7FFFL);
+    values[vp + 34] = (int) (((words[wp + 7] >>> 62) | (words[wp + 8] << 2)) & 0x7FFFL);
+    values[vp + 35] = (int) ((words[wp + 8] >>> 13) & 0x7FFFL);
+    values[vp + 36] = (int) ((words[wp + 8] >>> 28) & 0x7FFFL);
+    values[vp + 37] = (int) ((words[wp + 8] >>> 43) & 0x7FFFL);
+    values[vp + 38] = (int) (((words[wp + 8] >>> 58) | (words[wp + 9] << 6)) & 0x7FFFL);
+    values[vp + 39] = (int) ((words[wp + 9] >>> 9) & 0x7FFFL);
+    values[vp + 40] = (int) ((words[wp + 9] >>> 24) & 0x7FFFL);
+    values[vp + 41] = (int) ((words[wp + 9] >>> 39) & 0x7FFFL);
+    values[vp + 42] = (int) (((words[wp + 9] >>> 54) | (words[wp + 10] << 10)) & 0x7FFFL);
+    values[vp + 43] = (int) ((words[wp + 10] >>> 5) & 0x7FFFL);
+    values[vp + 44] = (int) ((words[wp + 10] >>> 20) & 0x7FFFL);
+    values[vp + 45] = (int) ((words[wp + 10] >>> 35) & 0x7FFFL);
+    values[vp + 46] = (int) (((words[wp + 10] >>> 50) | (words[wp + 11] << 14)) & 0x7FFFL);
+    values[vp + 47] = (int) ((words[wp + 11] >>> 1) & 0x7FFFL);
+    values[vp + 48] = (int) ((words[wp + 11] >>> 16) & 0x7FFFL);
+    values[vp + 49] = (int) ((words[wp + 11] >>> 31) & 0x7FFFL);
+    values[vp + 50] = (int) ((words[wp + 11] >>> 46) & 0x7FFFL);
+    values[vp + 51] = (int) (((words[wp + 11] >>> 61) | (words[wp + 12] << 3)) & 0x7FFFL);
+    values[vp + 52] = (int) ((words[wp + 12] >>> 12) & 0x7FFFL);
+    values[vp + 53] = (int) ((words[wp + 12] >>> 27) & 0x7FFFL);
+    values[vp + 54] = (int) ((words[wp + 12] >>> 42) & 0x7FFFL);
+    values[vp + 55] = (int) (((words[wp + 12] >>> 57) | (words[wp + 13] << 7)) & 0x7FFFL);
+    values[vp + 56] = (int) ((words[wp + 13] >>> 8) & 0x7FFFL);
+    values[vp + 57] = (int) ((words[wp + 13] >>> 23) & 0x7FFFL);
+    values[vp + 58] = (int) ((words[wp + 13] >>> 38) & 0x7FFFL);
+    values[vp + 59] = (int) (((words[wp + 13] >>> 53) | (words[wp + 14] << 11)) & 0x7FFFL);
+    values[vp + 60] = (int) ((words[wp + 14] >>> 4) & 0x7FFFL);
+    values[vp + 61] = (int) ((words[wp + 14] >>> 19) & 0x7FFFL);
+    values[vp + 62] = (int) ((words[wp + 14] >>> 34) & 0x7FFFL);
+    values[vp + 63] = (int) (words[wp + 14] >>> 49);
+  }
+
+  private static void unpack16(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 16) & 0xFFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 32) & 0xFFFFL);
+    values[vp + 3] = (int) (words[wp] >>> 48);
+    values[vp + 4] = (int) (words[wp + 1] & 0xFFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 16) & 0xFFFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 32) & 0xFFFFL);
+    values[vp + 7] = (int) (words[wp + 1] >>> 48);
+    values[vp + 8] = (int) (words[wp + 2] & 0xFFFFL);
+    values[vp + 9] = (int) ((words[wp + 2] >>> 16) & 0xFFFFL);
+    values[vp + 10] = (int) ((words[wp + 2] >>> 32) & 0xFFFFL);
+    values[vp + 11] = (int) (words[wp + 2] >>> 48);
+    values[vp + 12] = (int) (words[wp + 3] & 0xFFFFL);
+    values[vp + 13] = (int) ((words[wp + 3] >>> 16) & 0xFFFFL);
+    values[vp + 14] = (int) ((words[wp + 3] >>> 32) & 0xFFFFL);
+    values[vp + 15] = (int) (words[wp + 3] >>> 48);
+    values[vp + 16] = (int) (words[wp + 4] & 0xFFFFL);
+    values[vp + 17] = (int) ((words[wp + 4] >>> 16) & 0xFFFFL);
+    values[vp + 18] = (int) ((words[wp + 4] >>> 32) & 0xFFFFL);
+    values[vp + 19] = (int) (words[wp + 4] >>> 48);
+    values[vp + 20] = (int) (words[wp + 5] & 0xFFFFL);
+    values[vp + 21] = (int) ((words[wp + 5] >>> 16) & 0xFFFFL);
+    values[vp + 22] = (int) ((words[wp + 5] >>> 32) & 0xFFFFL);
+    values[vp + 23] = (int) (words[wp + 5] >>> 48);
+    values[vp + 24] = (int) (words[wp + 6] & 0xFFFFL);
+    values[vp + 25] = (int) ((words[wp + 6] >>> 16) & 0xFFFFL);
+    values[vp + 26] = (int) ((words[wp + 6] >>> 32) & 0xFFFFL);
+    values[vp + 27] = (int) (words[wp + 6] >>> 48);
+    values[vp + 28] = (int) (words[wp + 7] & 0xFFFFL);
+    values[vp + 29] = (int) ((words[wp + 7] >>> 16) & 0xFFFFL);
+    values[vp + 30] = (int) ((words[wp + 7] >>> 32) & 0xFFFFL);
+    values[vp + 31] = (int) (words[wp + 7] >>> 48);
+    values[vp + 32] = (int) (words[wp + 8] & 0xFFFFL);
+    values[vp + 33] = (int) ((words[wp + 8] >>> 16) & 0xFFFFL);
+    values[vp + 34] = (int) ((words[wp + 8] >>> 32) & 0xFFFFL);
+    values[vp + 35] = (int) (words[wp + 8] >>> 48);
+    values[vp + 36] = (int) (words[wp + 9] & 0xFFFFL);
+    values[vp + 37] = (int) ((words[wp + 9] >>> 16) & 0xFFFFL);
+    values[vp + 38] = (int) ((words[wp + 9] >>> 32) & 0xFFFFL);
+    values[vp + 39] = (int) (words[wp + 9] >>> 48);
+    values[vp + 40] = (int) (words[wp + 10] & 0xFFFFL);
+    values[vp + 41] = (int) ((words[wp + 10] >>> 16) & 0xFFFFL);
+    values[vp + 42] = (int) ((words[wp + 10] >>> 32) & 0xFFFFL);
+    values[vp + 43] = (int) (words[wp + 10] >>> 48);
+    values[vp + 44] = (int) (words[wp + 11] & 0xFFFFL);
+    values[vp + 45] = (int) ((words[wp + 11] >>> 16) & 0xFFFFL);
+    values[vp + 46] = (int) ((words[wp + 11] >>> 32) & 0xFFFFL);
+    values[vp + 47] = (int) (words[wp + 11] >>> 48);
+    values[vp + 48] = (int) (words[wp + 12] & 0xFFFFL);
+    values[vp + 49] = (int) ((words[wp + 12] >>> 16) & 0xFFFFL);
+    values[vp + 50] = (int) ((words[wp + 12] >>> 32) & 0xFFFFL);
+    values[vp + 51] = (int) (words[wp + 12] >>> 48);
+    values[vp + 52] = (int) (words[wp + 13] & 0xFFFFL);
+    values[vp + 53] = (int) ((words[wp + 13] >>> 16) & 0xFFFFL);
+    values[vp + 54] = (int) ((words[wp + 13] >>> 32) & 0xFFFFL);
+    values[vp + 55] = (int) (words[wp + 13] >>> 48);
+    values[vp + 56] = (int) (words[wp + 14] & 0xFFFFL);
+    values[vp + 57] = (int) ((words[wp + 14] >>> 16) & 0xFFFFL);
+    values[vp + 58] = (int) ((words[wp + 14] >>> 32) & 0xFFFFL);
+    values[vp + 59] = (int) (words[wp + 14] >>> 48);
+    values[vp + 60] = (int) (words[wp + 15] & 0xFFFFL);
+    values[vp + 61] = (int) ((words[wp + 15] >>> 16) & 0xFFFFL);
+    values[vp + 62] = (int) ((words[wp + 15] >>> 32) & 0xFFFFL);
+    values[vp + 63] = (int) (words[wp + 15] >>> 48);
+  }
+
+  private static void unpack17(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 17) & 0x1FFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 34) & 0x1FFFFL);
+    values[vp + 3] = (int) (((words[wp] >>> 51) | (words[wp + 1] << 13)) & 0x1FFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 4) & 0x1FFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 21) & 0x1FFFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 38) & 0x1FFFFL);
+    values[vp + 7] = (int) (((words[wp + 1] >>> 55) | (words[wp + 2] << 9)) & 0x1FFFFL);
+    values[vp + 8] = (int) ((words[wp + 2] >>> 8) & 0x1FFFFL);
+    values[vp + 9] = (int) ((words[wp + 2] >>> 25) & 0x1FFFFL);
+    values[vp + 10] = (int) ((words[wp + 2] >>> 42) & 0x1FFFFL);
+    values[vp + 11] = (int) (((words[wp + 2] >>> 59) | (words[wp + 3] << 5)) & 0x1FFFFL);
+    values[vp + 12] = (int) ((words[wp + 3] >>> 12) & 0x1FFFFL);
+    values[vp + 13] = (int) ((words[wp + 3] >>> 29) & 0x1FFFFL);
+    values[vp + 14] = (int) ((words[wp + 3] >>> 46) & 0x1FFFFL);
+    values[vp + 15] = (int) (((words[wp + 3] >>> 63) | (words[wp + 4] << 1)) & 0x1FFFFL);
+    values[vp + 16] = (int) ((words[wp + 4] >>> 16) & 0x1FFFFL);
+    values[vp + 17] = (int) ((words[wp + 4] >>> 33) & 0x1FFFFL);
+    values[vp + 18] = (int) (((words[wp + 4] >>> 50) | (words[wp + 5] << 14)) & 0x1FFFFL);
+    values[vp + 19] = (int) ((words[wp + 5] >>> 3) & 0x1FFFFL);
+    values[vp + 20] = (int) ((words[wp + 5] >>> 20) & 0x1FFFFL);
+    values[vp + 21] = (int) ((words[wp + 5] >>> 37) & 0x1FFFFL);
+    values[vp + 22] = (int) (((words[wp + 5] >>> 54) | (words[wp + 6] << 10)) & 0x1FFFFL);
+    values[vp + 23] = (int) ((words[wp + 6] >>> 7) & 0x1FFFFL);
+    values[vp + 24] = (int) ((words[wp + 6] >>> 24) & 0x1FFFFL);
+    values[vp + 25] = (int) ((words[wp + 6] >>> 41) & 0x1FFFFL);
+    values[vp + 26] = (int) (((words[wp + 6] >>> 58) | (words[wp + 7] << 6)) & 0x1FFFFL);
+    values[vp + 27] = (int) ((words[wp + 7] >>> 11) & 0x1FFFFL);
+    values[vp + 28] = (int) ((words[wp + 7] >>> 28) & 0x1FFFFL);
+    values[vp + 29] = (int) ((words[wp + 7] >>> 45) & 0x1FFFFL);
+    values[vp + 30] = (int) (((words[wp + 7] >>> 62) | (words[wp + 8] << 2)) & 0x1FFFFL);
+    values[vp + 31] = (int) ((words[wp + 8] >>> 15) & 0x1FFFFL);
+    values[vp + 32] = (int) ((words[wp + 8] >>> 32) & 0x1FFFFL);
+    values[vp + 33] = (int) (((words[wp + 8] >>> 49) | (words[wp + 9] << 15)) & 0x1FFFFL);
+    values[vp + 34] = (int) ((words[wp + 9] >>> 2) & 0x1FFFFL);
+    values[vp + 35] = (int) ((words[wp + 9] >>> 19) & 0x1FFFFL);
+    values[vp + 36] = (int) ((words[wp + 9] >>> 36) & 0x1FFFFL);
+    values[vp + 37] = (int) (((words[wp + 9] >>> 53) | (words[wp + 10] << 11)) & 0x1FFFFL);
+    values[vp + 38] = (int) ((words[wp + 10] >>> 6) & 0x1FFFFL);
+    values[vp + 39] = (int) ((words[wp + 10] >>> 23) & 0x1FFFFL);
+    values[vp + 40] = (int) ((words[wp + 10] >>> 40) & 0x1FFFFL);
+    values[vp + 41] = (int) (((words[wp + 10] >>> 57) | (words[wp + 11] << 7)) & 0x1FFFFL);
+    values[vp + 42] = (int) ((words[wp + 11] >>> 10) & 0x1FFFFL);
+    values[vp + 43] = (int) ((words[wp + 11] >>> 27) & 0x1FFFFL);
+    values[vp + 44] = (int) ((words[wp + 11] >>> 44) & 0x1FFFFL);
+    values[vp + 45] = (int) (((words[wp + 11] >>> 61) | (words[wp + 12] << 3)) & 0x1FFFFL);
+    values[vp + 46] = (int) ((words[wp + 12] >>> 14) & 0x1FFFFL);
+    values[vp + 47] = (int) ((words[wp + 12] >>> 31) & 0x1FFFFL);
+    values[vp + 48] = (int) (((words[wp + 12] >>> 48) | (words[wp + 13] << 16)) & 0x1FFFFL);
+    values[vp + 49] = (int) ((words[wp + 13] >>> 1) & 0x1FFFFL);
+    values[vp + 50] = (int) ((words[wp + 13] >>> 18) & 0x1FFFFL);
+    values[vp + 51] = (int) ((words[wp + 13] >>> 35) & 0x1FFFFL);
+    values[vp + 52] = (int) (((words[wp + 13] >>> 52) | (words[wp + 14] << 12)) & 0x1FFFFL);
+    values[vp + 53] = (int) ((words[wp + 14] >>> 5) & 0x1FFFFL);
+    values[vp + 54] = (int) ((words[wp + 14] >>> 22) & 0x1FFFFL);
+    values[vp + 55] = (int) ((words[wp + 14] >>> 39) & 0x1FFFFL);
+    values[vp + 56] = (int) (((words[wp + 14] >>> 56) | (words[wp + 15] << 8)) & 0x1FFFFL);
+    values[vp + 57] = (int) ((words[wp + 15] >>> 9) & 0x1FFFFL);
+    values[vp + 58] = (int) ((words[wp + 15] >>> 26) & 0x1FFFFL);
+    values[vp + 59] = (int) ((words[wp + 15] >>> 43) & 0x1FFFFL);
+    values[vp + 60] = (int) (((words[wp + 15] >>> 60) | (words[wp + 16] << 4)) & 0x1FFFFL);
+    values[vp + 61] = (int) ((words[wp + 16] >>> 13) & 0x1FFFFL);
+    values[vp + 62] = (int) ((words[wp + 16] >>> 30) & 0x1FFFFL);
+    values[vp + 63] = (int) (words[wp + 16] >>> 47);
+  }
+
+  private static void unpack18(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 18) & 0x3FFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 36) & 0x3FFFFL);
+    values[vp + 3] = (int) (((words[wp] >>> 54) | (words[wp + 1] << 10)) & 0x3FFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 8) & 0x3FFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 26) & 0x3FFFFL);
+    values[vp + 6] = (int) ((words[wp + 1] >>> 44) & 0x3FFFFL);
+    values[vp + 7] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x3FFFFL);
+    values[vp + 8] = (int) ((words[wp + 2] >>> 16) & 0x3FFFFL);
+    values[vp + 9] = (int) ((words[wp + 2] >>> 34) & 0x3FFFFL);
+    values[vp + 10] = (int) (((words[wp + 2] >>> 52) | (words[wp + 3] << 12)) & 0x3FFFFL);
+    values[vp + 11] = (int) ((words[wp + 3] >>> 6) & 0x3FFFFL);
+    values[vp + 12] = (int) ((words[wp + 3] >>> 24) & 0x3FFFFL);
+    values[vp + 13] = (int) ((words[wp + 3] >>> 42) & 0x3FFFFL);
+    values[vp + 14] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x3FFFFL);
+    values[vp + 15] = (int) ((words[wp + 4] >>> 14) & 0x3FFFFL);
+    values[vp + 16] = (int) ((words[wp + 4] >>> 32) & 0x3FFFFL);
+    values[vp + 17] = (int) (((words[wp + 4] >>> 50) | (words[wp + 5] << 14)) & 0x3FFFFL);
+    values[vp + 18] = (int) ((words[wp + 5] >>> 4) & 0x3FFFFL);
+    values[vp + 19] = (int) ((words[wp + 5] >>> 22) & 0x3FFFFL);
+    values[vp + 20] = (int) ((words[wp + 5] >>> 40) & 0x3FFFFL);
+    values[vp + 21] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x3FFFFL);
+    values[vp + 22] = (int) ((words[wp + 6] >>> 12) & 0x3FFFFL);
+    values[vp + 23] = (int) ((words[wp + 6] >>> 30) & 0x3FFFFL);
+    values[vp + 24] = (int) (((words[wp + 6] >>> 48) | (words[wp + 7] << 16)) & 0x3FFFFL);
+    values[vp + 25] = (int) ((words[wp + 7] >>> 2) & 0x3FFFFL);
+    values[vp + 26] = (int) ((words[wp + 7] >>> 20) & 0x3FFFFL);
+    values[vp + 27] = (int) ((words[wp + 7] >>> 38) & 0x3FFFFL);
+    values[vp + 28] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0x3FFFFL);
+    values[vp + 29] = (int) ((words[wp + 8] >>> 10) & 0x3FFFFL);
+    values[vp + 30] = (int) ((words[wp + 8] >>> 28) & 0x3FFFFL);
+    values[vp + 31] = (int) (words[wp + 8] >>> 46);
+    values[vp + 32] = (int) (words[wp + 9] & 0x3FFFFL);
+    values[vp + 33] = (int) ((words[wp + 9] >>> 18) & 0x3FFFFL);
+    values[vp + 34] = (int) ((words[wp + 9] >>> 36) & 0x3FFFFL);
+    values[vp + 35] = (int) (((words[wp + 9] >>> 54) | (words[wp + 10] << 10)) & 0x3FFFFL);
+    values[vp + 36] = (int) ((words[wp + 10] >>> 8) & 0x3FFFFL);
+    values[vp + 37] = (int) ((words[wp + 10] >>> 26) & 0x3FFFFL);
+    values[vp + 38] = (int) ((words[wp + 10] >>> 44) & 0x3FFFFL);
+    values[vp + 39] = (int) (((words[wp + 10] >>> 62) | (words[wp + 11] << 2)) & 0x3FFFFL);
+    values[vp + 40] = (int) ((words[wp + 11] >>> 16) & 0x3FFFFL);
+    values[vp + 41] = (int) ((words[wp + 11] >>> 34) & 0x3FFFFL);
+    values[vp + 42] = (int) (((words[wp + 11] >>> 52) | (words[wp + 12] << 12)) & 0x3FFFFL);
+    values[vp + 43] = (int) ((words[wp + 12] >>> 6) & 0x3FFFFL);
+    values[vp + 44] = (int) ((words[wp + 12] >>> 24) & 0x3FFFFL);
+    values[vp + 45] = (int) ((words[wp + 12] >>> 42) & 0x3FFFFL);
+    values[vp + 46] = (int) (((words[wp + 12] >>> 60) | (words[wp + 13] << 4)) & 0x3FFFFL);
+    values[vp + 47] = (int) ((words[wp + 13] >>> 14) & 0x3FFFFL);
+    values[vp + 48] = (int) ((words[wp + 13] >>> 32) & 0x3FFFFL);
+    values[vp + 49] = (int) (((words[wp + 13] >>> 50) | (words[wp + 14] << 14)) & 0x3FFFFL);
+    values[vp + 50] = (int) ((words[wp + 14] >>> 4) & 0x3FFFFL);
+    values[vp + 51] = (int) ((words[wp + 14] >>> 22) & 0x3FFFFL);
+    values[vp + 52] = (int) ((words[wp + 14] >>> 40) & 0x3FFFFL);
+    values[vp + 53] = (int) (((words[wp + 14] >>> 58) | (words[wp + 15] << 6)) & 0x3FFFFL);
+    values[vp + 54] = (int) ((words[wp + 15] >>> 12) & 0x3FFFFL);
+    values[vp + 55] = (int) ((words[wp + 15] >>> 30) & 0x3FFFFL);
+    values[vp + 56] = (int) (((words[wp + 15] >>> 48) | (words[wp + 16] << 16)) & 0x3FFFFL);
+    values[vp + 57] = (int) ((words[wp + 16] >>> 2) & 0x3FFFFL);
+    values[vp + 58] = (int) ((words[wp + 16] >>> 20) & 0x3FFFFL);
+    values[vp + 59] = (int) ((words[wp + 16] >>> 38) & 0x3FFFFL);
+    values[vp + 60] = (int) (((words[wp + 16] >>> 56) | (words[wp + 17] << 8)) & 0x3FFFFL);
+    values[vp + 61] = (int) ((words[wp + 17] >>> 10) & 0x3FFFFL);
+    values[vp + 62] = (int) ((words[wp + 17] >>> 28) & 0x3FFFFL);
+    values[vp + 63] = (int) (words[wp + 17] >>> 46);
+  }
+
+  private static void unpack19(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 19) & 0x7FFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 38) & 0x7FFFFL);
+    values[vp + 3] = (int) (((words[wp] >>> 57) | (words[wp + 1] << 7)) & 0x7FFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 12) & 0x7FFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 31) & 0x7FFFFL);
+    values[vp + 6] = (int) (((words[wp + 1] >>> 50) | (words[wp + 2] << 14)) & 0x7FFFFL);
+    values[vp + 7] = (int) ((words[wp + 2] >>> 5) & 0x7FFFFL);
+    values[vp + 8] = (int) ((words[wp + 2] >>> 24) & 0x7FFFFL);
+    values[vp + 9] = (int) ((words[wp + 2] >>> 43) & 0x7FFFFL);
+    values[vp + 10] = (int) (((words[wp + 2] >>> 62) | (words[wp + 3] << 2)) & 0x7FFFFL);
+    values[vp + 11] = (int) ((words[wp + 3] >>> 17) & 0x7FFFFL);
+    values[vp + 12] = (int) ((words[wp + 3] >>> 36) & 0x7FFFFL);
+    values[vp + 13] = (int) (((words[wp + 3] >>> 55) | (words[wp + 4] << 9)) & 0x7FFFFL);
+    values[vp + 14] = (int) ((words[wp + 4] >>> 10) & 0x7FFFFL);
+    values[vp + 15] = (int) ((words[wp + 4] >>> 29) & 0x7FFFFL);
+    values[vp + 16] = (int) (((words[wp + 4] >>> 48) | (words[wp + 5] << 16)) & 0x7FFFFL);
+    values[vp + 17] = (int) ((words[wp + 5] >>> 3) & 0x7FFFFL);
+    values[vp + 18] = (int) ((words[wp + 5] >>> 22) & 0x7FFFFL);
+    values[vp + 19] = (int) ((words[wp + 5] >>> 41) & 0x7FFFFL);
+    values[vp + 20] = (int) (((words[wp + 5] >>> 60) | (words[wp + 6] << 4)) & 0x7FFFFL);
+    values[vp + 21] = (int) ((words[wp + 6] >>> 15) & 0x7FFFFL);
+    values[vp + 22] = (int) ((words[wp + 6] >>> 34) & 0x7FFFFL);
+    values[vp + 23] = (int) (((words[wp + 6] >>> 53) | (words[wp + 7] << 11)) & 0x7FFFFL);
+    values[vp + 24] = (int) ((words[wp + 7] >>> 8) & 0x7FFFFL);
+    values[vp + 25] = (int) ((words[wp + 7] >>> 27) & 0x7FFFFL);
+    values[vp + 26] = (int) (((words[wp + 7] >>> 46) | (words[wp + 8] << 18)) & 0x7FFFFL);
+    values[vp + 27] = (int) ((words[wp + 8] >>> 1) & 0x7FFFFL);
+    values[vp + 28] = (int) ((words[wp + 8] >>> 20) & 0x7FFFFL);
+    values[vp + 29] = (int) ((words[wp + 8] >>> 39) & 0x7FFFFL);
+    values[vp + 30] = (int) (((words[wp + 8] >>> 58) | (words[wp + 9] << 6)) & 0x7FFFFL);
+    values[vp + 31] = (int) ((words[wp + 9] >>> 13) & 0x7FFFFL);
+    values[vp + 32] = (int) ((words[wp + 9] >>> 32) & 0x7FFFFL);
+    values[vp + 33] = (int) (((words[wp + 9] >>> 51) | (words[wp + 10] << 13)) & 0x7FFFFL);
+    values[vp + 34] = (int) ((words[wp + 10] >>> 6) & 0x7FFFFL);
+    values[vp + 35] = (int) ((words[wp + 10] >>> 25) & 0x7FFFFL);
+    values[vp + 36] = (int) ((words[wp + 10] >>> 44) & 0x7FFFFL);
+    values[vp + 37] = (int) (((words[wp + 10] >>> 63) | (words[wp + 11] << 1)) & 0x7FFFFL);
+    values[vp + 38] = (int) ((words[wp + 11] >>> 18) & 0x7FFFFL);
+    values[vp + 39] = (int) ((words[wp + 11] >>> 37) & 0x7FFFFL);
+    values[vp + 40] = (int) (((words[wp + 11] >>> 56) | (words[wp + 12] << 8)) & 0x7FFFFL);
+    values[vp + 41] = (int) ((words[wp + 12] >>> 11) & 0x7FFFFL);
+    values[vp + 42] = (int) ((words[wp + 12] >>> 30) & 0x7FFFFL);
+    values[vp + 43] = (int) (((words[wp + 12] >>> 49) | (words[wp + 13] << 15)) & 0x7FFFFL);
+    values[vp + 44] = (int) ((words[wp + 13] >>> 4) & 0x7FFFFL);
+    values[vp + 45] = (int) ((words[wp + 13] >>> 23) & 0x7FFFFL);
+    values[vp + 46] = (int) ((words[wp + 13] >>> 42) & 0x7FFFFL);
+    values[vp + 47] = (int) (((words[wp + 13] >>> 61) | (words[wp + 14] << 3)) & 0x7FFFFL);
+    values[vp + 48] = (int) ((words[wp + 14] >>> 16) & 0x7FFFFL);
+    values[vp + 49] = (int) ((words[wp + 14] >>> 35) & 0x7FFFFL);
+    values[vp + 50] = (int) (((words[wp + 14] >>> 54) | (words[wp + 15] << 10)) & 0x7FFFFL);
+    values[vp + 51] = (int) ((words[wp + 15] >>> 9) & 0x7FFFFL);
+    values[vp + 52] = (int) ((words[wp + 15] >>> 28) & 0x7FFFFL);
+    values[vp + 53] = (int) (((words[wp + 15] >>> 47) | (words[wp + 16] << 17)) & 0x7FFFFL);
+    values[vp + 54] = (int) ((words[wp + 16] >>> 2) & 0x7FFFFL);
+    values[vp + 55] = (int) ((words[wp + 16] >>> 21) & 0x7FFFFL);
+    values[vp + 56] = (int) ((words[wp + 16] >>> 40) & 0x7FFFFL);
+    values[vp + 57] = (int) (((words[wp + 16] >>> 59) | (words[wp + 17] << 5)) & 0x7FFFFL);
+    values[vp + 58] = (int) ((words[wp + 17] >>> 14) & 0x7FFFFL);
+    values[vp + 59] = (int) ((words[wp + 17] >>> 33) & 0x7FFFFL);
+    values[vp + 60] = (int) (((words[wp + 17] >>> 52) | (words[wp + 18] << 12)) & 0x7FFFFL);
+    values[vp + 61] = (int) ((words[wp + 18] >>> 7) & 0x7FFFFL);
+    values[vp + 62] = (int) ((words[wp + 18] >>> 26) & 0x7FFFFL);
+    values[vp + 63] = (int) (words[wp + 18] >>> 45);
+  }
+
+  private static void unpack20(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 20) & 0xFFFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 40) & 0xFFFFFL);
+    values[vp + 3] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0xFFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 16) & 0xFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 36) & 0xFFFFFL);
+    values[vp + 6] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0xFFFFFL);
+    values[vp + 7] = (int) ((words[wp + 2] >>> 12) & 0xFFFFFL);
+    values[vp + 8] = (int) ((words[wp + 2] >>> 32) & 0xFFFFFL);
+    values[vp + 9] = (int) (((words[wp + 2] >>> 52) | (words[wp + 3] << 12)) & 0xFFFFFL);
+    values[vp + 10] = (int) ((words[wp + 3] >>> 8) & 0xFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 3] >>> 28) & 0xFFFFFL);
+    values[vp + 12] = (int) (((words[wp + 3] >>> 48) | (words[wp + 4] << 16)) & 0xFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 4] >>> 4) & 0xFFFFFL);
+    values[vp + 14] = (int) ((words[wp + 4] >>> 24) & 0xFFFFFL);
+    values[vp + 15] = (int) (words[wp + 4] >>> 44);
+    values[vp + 16] = (int) (words[wp + 5] & 0xFFFFFL);
+    values[vp + 17] = (int) ((words[wp + 5] >>> 20) & 0xFFFFFL);
+    values[vp + 18] = (int) ((words[wp + 5] >>> 40) & 0xFFFFFL);
+    values[vp + 19] = (int) (((words[wp + 5] >>> 60) | (words[wp + 6] << 4)) & 0xFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 6] >>> 16) & 0xFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 6] >>> 36) & 0xFFFFFL);
+    values[vp + 22] = (int) (((words[wp + 6] >>> 56) | (words[wp + 7] << 8)) & 0xFFFFFL);
+    values[vp + 23] = (int) ((words[wp + 7] >>> 12) & 0xFFFFFL);
+    values[vp + 24] = (int) ((words[wp + 7] >>> 32) & 0xFFFFFL);
+    values[vp + 25] = (int) (((words[wp + 7] >>> 52) | (words[wp + 8] << 12)) & 0xFFFFFL);
+    values[vp + 26] = (int) ((words[wp + 8] >>> 8) & 0xFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 8] >>> 28) & 0xFFFFFL);
+    values[vp + 28] = (int) (((words[wp + 8] >>> 48) | (words[wp + 9] << 16)) & 0xFFFFFL);
+    values[vp + 29] = (int) ((words[wp + 9] >>> 4) & 0xFFFFFL);
+    values[vp + 30] = (int) ((words[wp + 9] >>> 24) & 0xFFFFFL);
+    values[vp + 31] = (int) (words[wp + 9] >>> 44);
+    values[vp + 32] = (int) (words[wp + 10] & 0xFFFFFL);
+    values[vp + 33] = (int) ((words[wp + 10] >>> 20) & 0xFFFFFL);
+    values[vp + 34] = (int) ((words[wp + 10] >>> 40) & 0xFFFFFL);
+    values[vp + 35] = (int) (((words[wp + 10] >>> 60) | (words[wp + 11] << 4)) & 0xFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 11] >>> 16) & 0xFFFFFL);
+    values[vp + 37] = (int) ((words[wp + 11] >>> 36) & 0xFFFFFL);
+    values[vp + 38] = (int) (((words[wp + 11] >>> 56) | (words[wp + 12] << 8)) & 0xFFFFFL);
+    values[vp + 39] = (int) ((words[wp + 12] >>> 12) & 0xFFFFFL);
+    values[vp + 40] = (int) ((words[wp + 12] >>> 32) & 0xFFFFFL);
+    values[vp + 41] = (int) (((words[wp + 12] >>> 52) | (words[wp + 13] << 12)) & 0xFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 13] >>> 8) & 0xFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 13] >>> 28) & 0xFFFFFL);
+    values[vp + 44] = (int) (((words[wp + 13] >>> 48) | (words[wp + 14] << 16)) & 0xFFFFFL);
+    values[vp + 45] = (int) ((words[wp + 14] >>> 4) & 0xFFFFFL);
+    values[vp + 46] = (int) ((words[wp + 14] >>> 24) & 0xFFFFFL);
+    values[vp + 47] = (int) (words[wp + 14] >>> 44);
+    values[vp + 48] = (int) (words[wp + 15] & 0xFFFFFL);
+    values[vp + 49] = (int) ((words[wp + 15] >>> 20) & 0xFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 15] >>> 40) & 0xFFFFFL);
+    values[vp + 51] = (int) (((words[wp + 15] >>> 60) | (words[wp + 16] << 4)) & 0xFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 16] >>> 16) & 0xFFFFFL);
+    values[vp + 53] = (int) ((words[wp + 16] >>> 36) & 0xFFFFFL);
+    values[vp + 54] = (int) (((words[wp + 16] >>> 56) | (words[wp + 17] << 8)) & 0xFFFFFL);
+    values[vp + 55] = (int) ((words[wp + 17] >>> 12) & 0xFFFFFL);
+    values[vp + 56] = (int) ((words[wp + 17] >>> 32) & 0xFFFFFL);
+    values[vp + 57] = (int) (((words[wp + 17] >>> 52) | (words[wp + 18] << 12)) & 0xFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 18] >>> 8) & 0xFFFFFL);
+    values[vp + 59] = (int) ((words[wp + 18] >>> 28) & 0xFFFFFL);
+    values[vp + 60] = (int) (((words[wp + 18] >>> 48) | (words[wp + 19] << 16)) & 0xFFFFFL);
+    values[vp + 61] = (int) ((words[wp + 19] >>> 4) & 0xFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 19] >>> 24) & 0xFFFFFL);
+    values[vp + 63] = (int) (words[wp + 19] >>> 44);
+  }
+
+  private static void unpack21(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 21) & 0x1FFFFFL);
+    values[vp + 2] = (int) ((words[wp] >>> 42) & 0x1FFFFFL);
+    values[vp + 3] = (int) (((words[wp] >>> 63) | (words[wp + 1] << 1)) & 0x1FFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 20) & 0x1FFFFFL);
+    values[vp + 5] = (int) ((words[wp + 1] >>> 41) & 0x1FFFFFL);
+    values[vp + 6] = (int) (((words[wp + 1] >>> 62) | (words[wp + 2] << 2)) & 0x1FFFFFL);
+    values[vp + 7] = (int) ((words[wp + 2] >>> 19) & 0x1FFFFFL);
+    values[vp + 8] = (int) ((words[wp + 2] >>> 40) & 0x1FFFFFL);
+    values[vp + 9] = (int) (((words[wp + 2] >>> 61) | (words[wp + 3] << 3)) & 0x1FFFFFL);
+    values[vp + 10] = (int) ((words[wp + 3] >>> 18) & 0x1FFFFFL);
+    values[vp + 11] = (int) ((words[wp + 3] >>> 39) & 0x1FFFFFL);
+    values[vp + 12] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0x1FFFFFL);
+    values[vp + 13] = (int) ((words[wp + 4] >>> 17) & 0x1FFFFFL);
+    values[vp + 14] = (int) ((words[wp + 4] >>> 38) & 0x1FFFFFL);
+    values[vp + 15] = (int) (((words[wp + 4] >>> 59) | (words[wp + 5] << 5)) & 0x1FFFFFL);
+    values[vp + 16] = (int) ((words[wp + 5] >>> 16) & 0x1FFFFFL);
+    values[vp + 17] = (int) ((words[wp + 5] >>> 37) & 0x1FFFFFL);
+    values[vp + 18] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x1FFFFFL);
+    values[vp + 19] = (int) ((words[wp + 6] >>> 15) & 0x1FFFFFL);
+    values[vp + 20] = (int) ((words[wp + 6] >>> 36) & 0x1FFFFFL);
+    values[vp + 21] = (int) (((words[wp + 6] >>> 57) | (words[wp + 7] << 7)) & 0x1FFFFFL);
+    values[vp + 22] = (int) ((words[wp + 7] >>> 14) & 0x1FFFFFL);
+    values[vp + 23] = (int) ((words[wp + 7] >>> 35) & 0x1FFFFFL);
+    values[vp + 24] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0x1FFFFFL);
+    values[vp + 25] = (int) ((words[wp + 8] >>> 13) & 0x1FFFFFL);
+    values[vp + 26] = (int) ((words[wp + 8] >>> 34) & 0x1FFFFFL);
+    values[vp + 27] = (int) (((words[wp + 8] >>> 55) | (words[wp + 9] << 9)) & 0x1FFFFFL);
+    values[vp + 28] = (int) ((words[wp + 9] >>> 12) & 0x1FFFFFL);
+    values[vp + 29] = (int) ((words[wp + 9] >>> 33) & 0x1FFFFFL);
+    values[vp + 30] = (int) (((words[wp + 9] >>> 54) | (words[wp + 10] << 10)) & 0x1FFFFFL);
+    values[vp + 31] = (int) ((words[wp + 10] >>> 11) & 0x1FFFFFL);
+    values[vp + 32] = (int) ((words[wp + 10] >>> 32) & 0x1FFFFFL);
+    values[vp + 33] = (int) (((words[wp + 10] >>> 53) | (words[wp + 11] << 11)) & 0x1FFFFFL);
+    values[vp + 34] = (int) ((words[wp + 11] >>> 10) & 0x1FFFFFL);
+    values[vp + 35] = (int) ((words[wp + 11] >>> 31) & 0x1FFFFFL);
+    values[vp + 36] = (int) (((words[wp + 11] >>> 52) | (words[wp + 12] << 12)) & 0x1FFFFFL);
+    values[vp + 37] = (int) ((words[wp + 12] >>> 9) & 0x1FFFFFL);
+    values[vp + 38] = (int) ((words[wp + 12] >>> 30) & 0x1FFFFFL);
+    values[vp + 39] = (int) (((words[wp + 12] >>> 51) | (words[wp + 13] << 13)) & 0x1FFFFFL);
+    values[vp + 40] = (int) ((words[wp + 13] >>> 8) & 0x1FFFFFL);
+    values[vp + 41] = (int) ((words[wp + 13] >>> 29) & 0x1FFFFFL);
+    values[vp + 42] = (int) (((words[wp + 13] >>> 50) | (words[wp + 14] << 14)) & 0x1FFFFFL);
+    values[vp + 43] = (int) ((words[wp + 14] >>> 7) & 0x1FFFFFL);
+    values[vp + 44] = (int) ((words[wp + 14] >>> 28) & 0x1FFFFFL);
+    values[vp + 45] = (int) (((words[wp + 14] >>> 49) | (words[wp + 15] << 15)) & 0x1FFFFFL);
+    values[vp + 46] = (int) ((words[wp + 15] >>> 6) & 0x1FFFFFL);
+    values[vp + 47] = (int) ((words[wp + 15] >>> 27) & 0x1FFFFFL);
+    values[vp + 48] = (int) (((words[wp + 15] >>> 48) | (words[wp + 16] << 16)) & 0x1FFFFFL);
+    values[vp + 49] = (int) ((words[wp + 16] >>> 5) & 0x1FFFFFL);
+    values[vp + 50] = (int) ((words[wp + 16] >>> 26) & 0x1FFFFFL);
+    values[vp + 51] = (int) (((words[wp + 16] >>> 47) | (words[wp + 17] << 17)) & 0x1FFFFFL);
+    values[vp + 52] = (int) ((words[wp + 17] >>> 4) & 0x1FFFFFL);
+    values[vp + 53] = (int) ((words[wp + 17] >>> 25) & 0x1FFFFFL);
+    values[vp + 54] = (int) (((words[wp + 17] >>> 46) | (words[wp + 18] << 18)) & 0x1FFFFFL);
+    values[vp + 55] = (int) ((words[wp + 18] >>> 3) & 0x1FFFFFL);
+    values[vp + 56] = (int) ((words[wp + 18] >>> 24) & 0x1FFFFFL);
+    values[vp + 57] = (int) (((words[wp + 18] >>> 45) | (words[wp + 19] << 19)) & 0x1FFFFFL);
+    values[vp + 58] = (int) ((words[wp + 19] >>> 2) & 0x1FFFFFL);
+    values[vp + 59] = (int) ((words[wp + 19] >>> 23) & 0x1FFFFFL);
+    values[vp + 60] = (int) (((words[wp + 19] >>> 44) | (words[wp + 20] << 20)) & 0x1FFFFFL);
+    values[vp + 61] = (int) ((words[wp + 20] >>> 1) & 0x1FFFFFL);
+    values[vp + 62] = (int) ((words[wp + 20] >>> 22) & 0x1FFFFFL);
+    values[vp + 63] = (int) (words[wp + 20] >>> 43);
+  }
+
+  private static void unpack22(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 22) & 0x3FFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 44) | (words[wp + 1] << 20)) & 0x3FFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 2) & 0x3FFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 24) & 0x3FFFFFL);
+    values[vp + 5] = (int) (((words[wp + 1] >>> 46) | (words[wp + 2] << 18)) & 0x3FFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 4) & 0x3FFFFFL);
+    values[vp + 7] = (int) ((words[wp + 2] >>> 26) & 0x3FFFFFL);
+    values[vp + 8] = (int) (((words[wp + 2] >>> 48) | (words[wp + 3] << 16)) & 0x3FFFFFL);
+    values[vp + 9] = (int) ((words[wp + 3] >>> 6) & 0x3FFFFFL);
+    values[vp + 10] = (int) ((words[wp + 3] >>> 28) & 0x3FFFFFL);
+    values[vp + 11] = (int) (((words[wp + 3] >>> 50) | (words[wp + 4] << 14)) & 0x3FFFFFL);
+    values[vp + 12] = (int) ((words[wp + 4] >>> 8) & 0x3FFFFFL);
+    values[vp + 13] = (int) ((words[wp + 4] >>> 30) & 0x3FFFFFL);
+    values[vp + 14] = (int) (((words[wp + 4] >>> 52) | (words[wp + 5] << 12)) & 0x3FFFFFL);
+    values[vp + 15] = (int) ((words[wp + 5] >>> 10) & 0x3FFFFFL);
+    values[vp + 16] = (int) ((words[wp + 5] >>> 32) & 0x3FFFFFL);
+    values[vp + 17] = (int) (((words[wp + 5] >>> 54) | (words[wp + 6] << 10)) & 0x3FFFFFL);
+    values[vp + 18] = (int) ((words[wp + 6] >>> 12) & 0x3FFFFFL);
+    values[vp + 19] = (int) ((words[wp + 6] >>> 34) & 0x3FFFFFL);
+    values[vp + 20] = (int) (((words[wp + 6] >>> 56) | (words[wp + 7] << 8)) & 0x3FFFFFL);
+    values[vp + 21] = (int) ((words[wp + 7] >>> 14) & 0x3FFFFFL);
+    values[vp + 22] = (int) ((words[wp + 7] >>> 36) & 0x3FFFFFL);
+    values[vp + 23] = (int) (((words[wp + 7] >>> 58) | (words[wp + 8] << 6)) & 0x3FFFFFL);
+    values[vp + 24] = (int) ((words[wp + 8] >>> 16) & 0x3FFFFFL);
+    values[vp + 25] = (int) ((words[wp + 8] >>> 38) & 0x3FFFFFL);
+    values[vp + 26] = (int) (((words[wp + 8] >>> 60) | (words[wp + 9] << 4)) & 0x3FFFFFL);
+    values[vp + 27] = (int) ((words[wp + 9] >>> 18) & 0x3FFFFFL);
+    values[vp + 28] = (int) ((words[wp + 9] >>> 40) & 0x3FFFFFL);
+    values[vp + 29] = (int) (((words[wp + 9] >>> 62) | (words[wp + 10] << 2)) & 0x3FFFFFL);
+    values[vp + 30] = (int) ((words[wp + 10] >>> 20) & 0x3FFFFFL);
+    values[vp + 31] = (int) (words[wp + 10] >>> 42);
+    values[vp + 32] = (int) (words[wp + 11] & 0x3FFFFFL);
+    values[vp + 33] = (int) ((words[wp + 11] >>> 22) & 0x3FFFFFL);
+    values[vp + 34] = (int) (((words[wp + 11] >>> 44) | (words[wp + 12] << 20)) & 0x3FFFFFL);
+    values[vp + 35] = (int) ((words[wp + 12] >>> 2) & 0x3FFFFFL);
+    values[vp + 36] = (int) ((words[wp + 12] >>> 24) & 0x3FFFFFL);
+    values[vp + 37] = (int) (((words[wp + 12] >>> 46) | (words[wp + 13] << 18)) & 0x3FFFFFL);
+    values[vp + 38] = (int) ((words[wp + 13] >>> 4) & 0x3FFFFFL);
+    values[vp + 39] = (int) ((words[wp + 13] >>> 26) & 0x3FFFFFL);
+    values[vp + 40] = (int) (((words[wp + 13] >>> 48) | (words[wp + 14] << 16)) & 0x3FFFFFL);
+    values[vp + 41] = (int) ((words[wp + 14] >>> 6) & 0x3FFFFFL);
+    values[vp + 42] = (int) ((words[wp + 14] >>> 28) & 0x3FFFFFL);
+    values[vp + 43] = (int) (((words[wp + 14] >>> 50) | (words[wp + 15] << 14)) & 0x3FFFFFL);
+    values[vp + 44] = (int) ((words[wp + 15] >>> 8) & 0x3FFFFFL);
+    values[vp + 45] = (int) ((words[wp + 15] >>> 30) & 0x3FFFFFL);
+    values[vp + 46] = (int) (((words[wp + 15] >>> 52) | (words[wp + 16] << 12)) & 0x3FFFFFL);
+    values[vp + 47] = (int) ((words[wp + 16] >>> 10) & 0x3FFFFFL);
+    values[vp + 48] = (int) ((words[wp + 16] >>> 32) & 0x3FFFFFL);
+    values[vp + 49] = (int) (((words[wp + 16] >>> 54) | (words[wp + 17] << 10)) & 0x3FFFFFL);
+    values[vp + 50] = (int) ((words[wp + 17] >>> 12) & 0x3FFFFFL);
+    values[vp + 51] = (int) ((words[wp + 17] >>> 34) & 0x3FFFFFL);
+    values[vp + 52] = (int) (((words[wp + 17] >>> 56) | (words[wp + 18] << 8)) & 0x3FFFFFL);
+    values[vp + 53] = (int) ((words[wp + 18] >>> 14) & 0x3FFFFFL);
+    values[vp + 54] = (int) ((words[wp + 18] >>> 36) & 0x3FFFFFL);
+    values[vp + 55] = (int) (((words[wp + 18] >>> 58) | (words[wp + 19] << 6)) & 0x3FFFFFL);
+    values[vp + 56] = (int) ((words[wp + 19] >>> 16) & 0x3FFFFFL);
+    values[vp + 57] = (int) ((words[wp + 19] >>> 38) & 0x3FFFFFL);
+    values[vp + 58] = (int) (((words[wp + 19] >>> 60) | (words[wp + 20] << 4)) & 0x3FFFFFL);
+    values[vp + 59] = (int) ((words[wp + 20] >>> 18) & 0x3FFFFFL);
+    values[vp + 60] = (int) ((words[wp + 20] >>> 40) & 0x3FFFFFL);
+    values[vp + 61] = (int) (((words[wp + 20] >>> 62) | (words[wp + 21] << 2)) & 0x3FFFFFL);
+    values[vp + 62] = (int) ((words[wp + 21] >>> 20) & 0x3FFFFFL);
+    values[vp + 63] = (int) (words[wp + 21] >>> 42);
+  }
+
+  private static void unpack23(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 23) & 0x7FFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 46) | (words[wp + 1] << 18)) & 0x7FFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 5) & 0x7FFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 28) & 0x7FFFFFL);
+    values[vp + 5] = (int) (((words[wp + 1] >>> 51) | (words[wp + 2] << 13)) & 0x7FFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 10) & 0x7FFFFFL);
+    values[vp + 7] = (int) ((words[wp + 2] >>> 33) & 0x7FFFFFL);
+    values[vp + 8] = (int) (((words[wp + 2] >>> 56) | (words[wp + 3] << 8)) & 0x7FFFFFL);
+    values[vp + 9] = (int) ((words[wp + 3] >>> 15) & 0x7FFFFFL);
+    values[vp + 10] = (int) ((words[wp + 3] >>> 38) & 0x7FFFFFL);
+    values[vp + 11] = (int) (((words[wp + 3] >>> 61) | (words[wp + 4] << 3)) & 0x7FFFFFL);
+    values[vp + 12] = (int) ((words[wp + 4] >>> 20) & 0x7FFFFFL);
+    values[vp + 13] = (int) (((words[wp + 4] >>> 43) | (words[wp + 5] << 21)) & 0x7FFFFFL);
+    values[vp + 14] = (int) ((words[wp + 5] >>> 2) & 0x7FFFFFL);
+    values[vp + 15] = (int) ((words[wp + 5] >>> 25) & 0x7FFFFFL);
+    values[vp + 16] = (int) (((words[wp + 5] >>> 48) | (words[wp + 6] << 16)) & 0x7FFFFFL);
+    values[vp + 17] = (int) ((words[wp + 6] >>> 7) & 0x7FFFFFL);
+    values[vp + 18] = (int) ((words[wp + 6] >>> 30) & 0x7FFFFFL);
+    values[vp + 19] = (int) (((words[wp + 6] >>> 53) | (words[wp + 7] << 11)) & 0x7FFFFFL);
+    values[vp + 20] = (int) ((words[wp + 7] >>> 12) & 0x7FFFFFL);
+    values[vp + 21] = (int) ((words[wp + 7] >>> 35) & 0x7FFFFFL);
+    values[vp + 22] = (int) (((words[wp + 7] >>> 58) | (words[wp + 8] << 6)) & 0x7FFFFFL);
+    values[vp + 23] = (int) ((words[wp + 8] >>> 17) & 0x7FFFFFL);
+    values[vp + 24] = (int) ((words[wp + 8] >>> 40) & 0x7FFFFFL);
+    values[vp + 25] = (int) (((words[wp + 8] >>> 63) | (words[wp + 9] << 1)) & 0x7FFFFFL);
+    values[vp + 26] = (int) ((words[wp + 9] >>> 22) & 0x7FFFFFL);
+    values[vp + 27] = (int) (((words[wp + 9] >>> 45) | (words[wp + 10] << 19)) & 0x7FFFFFL);
+    values[vp + 28] = (int) ((words[wp + 10] >>> 4) & 0x7FFFFFL);
+    values[vp + 29] = (int) ((words[wp + 10] >>> 27) & 0x7FFFFFL);
+    values[vp + 30] = (int) (((words[wp + 10] >>> 50) | (words[wp + 11] << 14)) & 0x7FFFFFL);
+    values[vp + 31] = (int) ((words[wp + 11] >>> 9) & 0x7FFFFFL);
+    values[vp + 32] = (int) ((words[wp + 11] >>> 32) & 0x7FFFFFL);
+    values[vp + 33] = (int) (((words[wp + 11] >>> 55) | (words[wp + 12] << 9)) & 0x7FFFFFL);
+    values[vp + 34] = (int) ((words[wp + 12] >>> 14) & 0x7FFFFFL);
+    values[vp + 35] = (int) ((words[wp + 12] >>> 37) & 0x7FFFFFL);
+    values[vp + 36] = (int) (((words[wp + 12] >>> 60) | (words[wp + 13] << 4)) & 0x7FFFFFL);
+    values[vp + 37] = (int) ((words[wp + 13] >>> 19) & 0x7FFFFFL);
+    values[vp + 38] = (int) (((words[wp + 13] >>> 42) | (words[wp + 14] << 22)) & 0x7FFFFFL);
+    values[vp + 39] = (int) ((words[wp + 14] >>> 1) & 0x7FFFFFL);
+    values[vp + 40] = (int) ((words[wp + 14] >>> 24) & 0x7FFFFFL);
+    values[vp + 41] = (int) (((words[wp + 14] >>> 47) | (words[wp + 15] << 17)) & 0x7FFFFFL);
+    values[vp + 42] = (int) ((words[wp + 15] >>> 6) & 0x7FFFFFL);
+    values[vp + 43] = (int) ((words[wp + 15] >>> 29) & 0x7FFFFFL);
+    values[vp + 44] = (int) (((words[wp + 15] >>> 52) | (words[wp + 16] << 12)) & 0x7FFFFFL);
+    values[vp + 45] = (int) ((words[wp + 16] >>> 11) & 0x7FFFFFL);
+    values[vp + 46] = (int) ((words[wp + 16] >>> 34) & 0x7FFFFFL);
+    values[vp + 47] = (int) (((words[wp + 16] >>> 57) | (words[wp + 17] << 7)) & 0x7FFFFFL);
+    values[vp + 48] = (int) ((words[wp + 17] >>> 16) & 0x7FFFFFL);
+    values[vp + 49] = (int) ((words[wp + 17] >>> 39) & 0x7FFFFFL);
+    values[vp + 50] = (int) (((words[wp + 17] >>> 62) | (words[wp + 18] << 2)) & 0x7FFFFFL);
+    values[vp + 51] = (int) ((words[wp + 18] >>> 21) & 0x7FFFFFL);
+    values[vp + 52] = (int) (((words[wp + 18] >>> 44) | (words[wp + 19] << 20)) & 0x7FFFFFL);
+    values[vp + 53] = (int) ((words[wp + 19] >>> 3) & 0x7FFFFFL);
+    values[vp + 54] = (int) ((words[wp + 19] >>> 26) & 0x7FFFFFL);
+    values[vp + 55] = (int) (((words[wp + 19] >>> 49) | (words[wp + 20] << 15)) & 0x7FFFFFL);
+    values[vp + 56] = (int) ((words[wp + 20] >>> 8) & 0x7FFFFFL);
+    values[vp + 57] = (int) ((words[wp + 20] >>> 31) & 0x7FFFFFL);
+    values[vp + 58] = (int) (((words[wp + 20] >>> 54) | (words[wp + 21] << 10)) & 0x7FFFFFL);
+    values[vp + 59] = (int) ((words[wp + 21] >>> 13) & 0x7FFFFFL);
+    values[vp + 60] = (int) ((words[wp + 21] >>> 36) & 0x7FFFFFL);
+    values[vp + 61] = (int) (((words[wp + 21] >>> 59) | (words[wp + 22] << 5)) & 0x7FFFFFL);
+    values[vp + 62] = (int) ((words[wp + 22] >>> 18) & 0x7FFFFFL);
+    values[vp + 63] = (int) (words[wp + 22] >>> 41);
+  }
+
+  private static void unpack24(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 24) & 0xFFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 48) | (words[wp + 1] << 16)) & 0xFFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 8) & 0xFFFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 32) & 0xFFFFFFL);
+    values[vp + 5] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0xFFFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 16) & 0xFFFFFFL);
+    values[vp + 7] = (int) (words[wp + 2] >>> 40);
+    values[vp + 8] = (int) (words[wp + 3] & 0xFFFFFFL);
+    values[vp + 9] = (int) ((words[wp + 3] >>> 24) & 0xFFFFFFL);
+    values[vp + 10] = (int) (((words[wp + 3] >>> 48) | (words[wp + 4] << 16)) & 0xFFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 4] >>> 8) & 0xFFFFFFL);
+    values[vp + 12] = (int) ((words[wp + 4] >>> 32) & 0xFFFFFFL);
+    values[vp + 13] = (int) (((words[wp + 4] >>> 56) | (words[wp + 5] << 8)) & 0xFFFFFFL);
+    values[vp + 14] = (int) ((words[wp + 5] >>> 16) & 0xFFFFFFL);
+    values[vp + 15] = (int) (words[wp + 5] >>> 40);
+    values[vp + 16] = (int) (words[wp + 6] & 0xFFFFFFL);
+    values[vp + 17] = (int) ((words[wp + 6] >>> 24) & 0xFFFFFFL);
+    values[vp + 18] = (int) (((words[wp + 6] >>> 48) | (words[wp + 7] << 16)) & 0xFFFFFFL);
+    values[vp + 19] = (int) ((words[wp + 7] >>> 8) & 0xFFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 7] >>> 32) & 0xFFFFFFL);
+    values[vp + 21] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0xFFFFFFL);
+    values[vp + 22] = (int) ((words[wp + 8] >>> 16) & 0xFFFFFFL);
+    values[vp + 23] = (int) (words[wp + 8] >>> 40);
+    values[vp + 24] = (int) (words[wp + 9] & 0xFFFFFFL);
+    values[vp + 25] = (int) ((words[wp + 9] >>> 24) & 0xFFFFFFL);
+    values[vp + 26] = (int) (((words[wp + 9] >>> 48) | (words[wp + 10] << 16)) & 0xFFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 10] >>> 8) & 0xFFFFFFL);
+    values[vp + 28] = (int) ((words[wp + 10] >>> 32) & 0xFFFFFFL);
+    values[vp + 29] = (int) (((words[wp + 10] >>> 56) | (words[wp + 11] << 8)) & 0xFFFFFFL);
+    values[vp + 30] = (int) ((words[wp + 11] >>> 16) & 0xFFFFFFL);
+    values[vp + 31] = (int) (words[wp + 11] >>> 40);
+    values[vp + 32] = (int) (words[wp + 12] & 0xFFFFFFL);
+    values[vp + 33] = (int) ((words[wp + 12] >>> 24) & 0xFFFFFFL);
+    values[vp + 34] = (int) (((words[wp + 12] >>> 48) | (words[wp + 13] << 16)) & 0xFFFFFFL);
+    values[vp + 35] = (int) ((words[wp + 13] >>> 8) & 0xFFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 13] >>> 32) & 0xFFFFFFL);
+    values[vp + 37] = (int) (((words[wp + 13] >>> 56) | (words[wp + 14] << 8)) & 0xFFFFFFL);
+    values[vp + 38] = (int) ((words[wp + 14] >>> 16) & 0xFFFFFFL);
+    values[vp + 39] = (int) (words[wp + 14] >>> 40);
+    values[vp + 40] = (int) (words[wp + 15] & 0xFFFFFFL);
+    values[vp + 41] = (int) ((words[wp + 15] >>> 24) & 0xFFFFFFL);
+    values[vp + 42] = (int) (((words[wp + 15] >>> 48) | (words[wp + 16] << 16)) & 0xFFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 16] >>> 8) & 0xFFFFFFL);
+    values[vp + 44] = (int) ((words[wp + 16] >>> 32) & 0xFFFFFFL);
+    values[vp + 45] = (int) (((words[wp + 16] >>> 56) | (words[wp + 17] << 8)) & 0xFFFFFFL);
+    values[vp + 46] = (int) ((words[wp + 17] >>> 16) & 0xFFFFFFL);
+    values[vp + 47] = (int) (words[wp + 17] >>> 40);
+    values[vp + 48] = (int) (words[wp + 18] & 0xFFFFFFL);
+    values[vp + 49] = (int) ((words[wp + 18] >>> 24) & 0xFFFFFFL);
+    values[vp + 50] = (int) (((words[wp + 18] >>> 48) | (words[wp + 19] << 16)) & 0xFFFFFFL);
+    values[vp + 51] = (int) ((words[wp + 19] >>> 8) & 0xFFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 19] >>> 32) & 0xFFFFFFL);
+    values[vp + 53] = (int) (((words[wp + 19] >>> 56) | (words[wp + 20] << 8)) & 0xFFFFFFL);
+    values[vp + 54] = (int) ((words[wp + 20] >>> 16) & 0xFFFFFFL);
+    values[vp + 55] = (int) (words[wp + 20] >>> 40);
+    values[vp + 56] = (int) (words[wp + 21] & 0xFFFFFFL);
+    values[vp + 57] = (int) ((words[wp + 21] >>> 24) & 0xFFFFFFL);
+    values[vp + 58] = (int) (((words[wp + 21] >>> 48) | (words[wp + 22] << 16)) & 0xFFFFFFL);
+    values[vp + 59] = (int) ((words[wp + 22] >>> 8) & 0xFFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 22] >>> 32) & 0xFFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 22] >>> 56) | (words[wp + 23] << 8)) & 0xFFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 23] >>> 16) & 0xFFFFFFL);
+    values[vp + 63] = (int) (words[wp + 23] >>> 40);
+  }
+
+  private static void unpack25(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 25) & 0x1FFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 50) | (words[wp + 1] << 14)) & 0x1FFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 11) & 0x1FFFFFFL);
+    values[vp + 4] = (int) ((words[wp + 1] >>> 36) & 0x1FFFFFFL);
+    values[vp + 5] = (int) (((words[wp + 1] >>> 61) | (words[wp + 2] << 3)) & 0x1FFFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 22) & 0x1FFFFFFL);
+    values[vp + 7] = (int) (((words[wp + 2] >>> 47) | (words[wp + 3] << 17)) & 0x1FFFFFFL);
+    values[vp + 8] = (int) ((words[wp + 3] >>> 8) & 0x1FFFFFFL);
+    values[vp + 9] = (int) ((words[wp + 3] >>> 33) & 0x1FFFFFFL);
+    values[vp + 10] = (int) (((words[wp + 3] >>> 58) | (words[wp + 4] << 6)) & 0x1FFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 4] >>> 19) & 0x1FFFFFFL);
+    values[vp + 12] = (int) (((words[wp + 4] >>> 44) | (words[wp + 5] << 20)) & 0x1FFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 5] >>> 5) & 0x1FFFFFFL);
+    values[vp + 14] = (int) ((words[wp + 5] >>> 30) & 0x1FFFFFFL);
+    values[vp + 15] = (int) (((words[wp + 5] >>> 55) | (words[wp + 6] << 9)) & 0x1FFFFFFL);
+    values[vp + 16] = (int) ((words[wp + 6] >>> 16) & 0x1FFFFFFL);
+    values[vp + 17] = (int) (((words[wp + 6] >>> 41) | (words[wp + 7] << 23)) & 0x1FFFFFFL);
+    values[vp + 18] = (int) ((words[wp + 7] >>> 2) & 0x1FFFFFFL);
+    values[vp + 19] = (int) ((words[wp + 7] >>> 27) & 0x1FFFFFFL);
+    values[vp + 20] = (int) (((words[wp + 7] >>> 52) | (words[wp + 8] << 12)) & 0x1FFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 8] >>> 13) & 0x1FFFFFFL);
+    values[vp + 22] = (int) ((words[wp + 8] >>> 38) & 0x1FFFFFFL);
+    values[vp + 23] = (int) (((words[wp + 8] >>> 63) | (words[wp + 9] << 1)) & 0x1FFFFFFL);
+    values[vp + 24] = (int) ((words[wp + 9] >>> 24) & 0x1FFFFFFL);
+    values[vp + 25] = (int) (((words[wp + 9] >>> 49) | (words[wp + 10] << 15)) & 0x1FFFFFFL);
+    values[vp + 26] = (int) ((words[wp + 10] >>> 10) & 0x1FFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 10] >>> 35) & 0x1FFFFFFL);
+    values[vp + 28] = (int) (((words[wp + 10] >>> 60) | (words[wp + 11] << 4)) & 0x1FFFFFFL);
+    values[vp + 29] = (int) ((words[wp + 11] >>> 21) & 0x1FFFFFFL);
+    values[vp + 30] = (int) (((words[wp + 11] >>> 46) | (words[wp + 12] << 18)) & 0x1FFFFFFL);
+    values[vp + 31] = (int) ((words[wp + 12] >>> 7) & 0x1FFFFFFL);
+    values[vp + 32] = (int) ((words[wp + 12] >>> 32) & 0x1FFFFFFL);
+    values[vp + 33] = (int) (((words[wp + 12] >>> 57) | (words[wp + 13] << 7)) & 0x1FFFFFFL);
+    values[vp + 34] = (int) ((words[wp + 13] >>> 18) & 0x1FFFFFFL);
+    values[vp + 35] = (int) (((words[wp + 13] >>> 43) | (words[wp + 14] << 21)) & 0x1FFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 14] >>> 4) & 0x1FFFFFFL);
+    values[vp + 37] = (int) ((words[wp + 14] >>> 29) & 0x1FFFFFFL);
+    values[vp + 38] = (int) (((words[wp + 14] >>> 54) | (words[wp + 15] << 10)) & 0x1FFFFFFL);
+    values[vp + 39] = (int) ((words[wp + 15] >>> 15) & 0x1FFFFFFL);
+    values[vp + 40] = (int) (((words[wp + 15] >>> 40) | (words[wp + 16] << 24)) & 0x1FFFFFFL);
+    values[vp + 41] = (int) ((words[wp + 16] >>> 1) & 0x1FFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 16] >>> 26) & 0x1FFFFFFL);
+    values[vp + 43] = (int) (((words[wp + 16] >>> 51) | (words[wp + 17] << 13)) & 0x1FFFFFFL);
+    values[vp + 44] = (int) ((words[wp + 17] >>> 12) & 0x1FFFFFFL);
+    values[vp + 45] = (int) ((words[wp + 17] >>> 37) & 0x1FFFFFFL);
+    values[vp + 46] = (int) (((words[wp + 17] >>> 62) | (words[wp + 18] << 2)) & 0x1FFFFFFL);
+    values[vp + 47] = (int) ((words[wp + 18] >>> 23) & 0x1FFFFFFL);
+    values[vp + 48] = (int) (((words[wp + 18] >>> 48) | (words[wp + 19] << 16)) & 0x1FFFFFFL);
+    values[vp + 49] = (int) ((words[wp + 19] >>> 9) & 0x1FFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 19] >>> 34) & 0x1FFFFFFL);
+    values[vp + 51] = (int) (((words[wp + 19] >>> 59) | (words[wp + 20] << 5)) & 0x1FFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 20] >>> 20) & 0x1FFFFFFL);
+    values[vp + 53] = (int) (((words[wp + 20] >>> 45) | (words[wp + 21] << 19)) & 0x1FFFFFFL);
+    values[vp + 54] = (int) ((words[wp + 21] >>> 6) & 0x1FFFFFFL);
+    values[vp + 55] = (int) ((words[wp + 21] >>> 31) & 0x1FFFFFFL);
+    values[vp + 56] = (int) (((words[wp + 21] >>> 56) | (words[wp + 22] << 8)) & 0x1FFFFFFL);
+    values[vp + 57] = (int) ((words[wp + 22] >>> 17) & 0x1FFFFFFL);
+    values[vp + 58] = (int) (((words[wp + 22] >>> 42) | (words[wp + 23] << 22)) & 0x1FFFFFFL);
+    values[vp + 59] = (int) ((words[wp + 23] >>> 3) & 0x1FFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 23] >>> 28) & 0x1FFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 23] >>> 53) | (words[wp + 24] << 11)) & 0x1FFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 24] >>> 14) & 0x1FFFFFFL);
+    values[vp + 63] = (int) (words[wp + 24] >>> 39);
+  }
+
+  private static void unpack26(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 26) & 0x3FFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 52) | (words[wp + 1] << 12)) & 0x3FFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 14) & 0x3FFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 40) | (words[wp + 2] << 24)) & 0x3FFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 2) & 0x3FFFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 28) & 0x3FFFFFFL);
+    values[vp + 7] = (int) (((words[wp + 2] >>> 54) | (words[wp + 3] << 10)) & 0x3FFFFFFL);
+    values[vp + 8] = (int) ((words[wp + 3] >>> 16) & 0x3FFFFFFL);
+    values[vp + 9] = (int) (((words[wp + 3] >>> 42) | (words[wp + 4] << 22)) & 0x3FFFFFFL);
+    values[vp + 10] = (int) ((words[wp + 4] >>> 4) & 0x3FFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 4] >>> 30) & 0x3FFFFFFL);
+    values[vp + 12] = (int) (((words[wp + 4] >>> 56) | (words[wp + 5] << 8)) & 0x3FFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 5] >>> 18) & 0x3FFFFFFL);
+    values[vp + 14] = (int) (((words[wp + 5] >>> 44) | (words[wp + 6] << 20)) & 0x3FFFFFFL);
+    values[vp + 15] = (int) ((words[wp + 6] >>> 6) & 0x3FFFFFFL);
+    values[vp + 16] = (int) ((words[wp + 6] >>> 32) & 0x3FFFFFFL);
+    values[vp + 17] = (int) (((words[wp + 6] >>> 58) | (words[wp + 7] << 6)) & 0x3FFFFFFL);
+    values[vp + 18] = (int) ((words[wp + 7] >>> 20) & 0x3FFFFFFL);
+    values[vp + 19] = (int) (((words[wp + 7] >>> 46) | (words[wp + 8] << 18)) & 0x3FFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 8] >>> 8) & 0x3FFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 8] >>> 34) & 0x3FFFFFFL);
+    values[vp + 22] = (int) (((words[wp + 8] >>> 60) | (words[wp + 9] << 4)) & 0x3FFFFFFL);
+    values[vp + 23] = (int) ((words[wp + 9] >>> 22) & 0x3FFFFFFL);
+    values[vp + 24] = (int) (((words[wp + 9] >>> 48) | (words[wp + 10] << 16)) & 0x3FFFFFFL);
+    values[vp + 25] = (int) ((words[wp + 10] >>> 10) & 0x3FFFFFFL);
+    values[vp + 26] = (int) ((words[wp + 10] >>> 36) & 0x3FFFFFFL);
+    values[vp + 27] = (int) (((words[wp + 10] >>> 62) | (words[wp + 11] << 2)) & 0x3FFFFFFL);
+    values[vp + 28] = (int) ((words[wp + 11] >>> 24) & 0x3FFFFFFL);
+    values[vp + 29] = (int) (((words[wp + 11] >>> 50) | (words[wp + 12] << 14)) & 0x3FFFFFFL);
+    values[vp + 30] = (int) ((words[wp + 12] >>> 12) & 0x3FFFFFFL);
+    values[vp + 31] = (int) (words[wp + 12] >>> 38);
+    values[vp + 32] = (int) (words[wp + 13] & 0x3FFFFFFL);
+    values[vp + 33] = (int) ((words[wp + 13] >>> 26) & 0x3FFFFFFL);
+    values[vp + 34] = (int) (((words[wp + 13] >>> 52) | (words[wp + 14] << 12)) & 0x3FFFFFFL);
+    values[vp + 35] = (int) ((words[wp + 14] >>> 14) & 0x3FFFFFFL);
+    values[vp + 36] = (int) (((words[wp + 14] >>> 40) | (words[wp + 15] << 24)) & 0x3FFFFFFL);
+    values[vp + 37] = (int) ((words[wp + 15] >>> 2) & 0x3FFFFFFL);
+    values[vp + 38] = (int) ((words[wp + 15] >>> 28) & 0x3FFFFFFL);
+    values[vp + 39] = (int) (((words[wp + 15] >>> 54) | (words[wp + 16] << 10)) & 0x3FFFFFFL);
+    values[vp + 40] = (int) ((words[wp + 16] >>> 16) & 0x3FFFFFFL);
+    values[vp + 41] = (int) (((words[wp + 16] >>> 42) | (words[wp + 17] << 22)) & 0x3FFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 17] >>> 4) & 0x3FFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 17] >>> 30) & 0x3FFFFFFL);
+    values[vp + 44] = (int) (((words[wp + 17] >>> 56) | (words[wp + 18] << 8)) & 0x3FFFFFFL);
+    values[vp + 45] = (int) ((words[wp + 18] >>> 18) & 0x3FFFFFFL);
+    values[vp + 46] = (int) (((words[wp + 18] >>> 44) | (words[wp + 19] << 20)) & 0x3FFFFFFL);
+    values[vp + 47] = (int) ((words[wp + 19] >>> 6) & 0x3FFFFFFL);
+    values[vp + 48] = (int) ((words[wp + 19] >>> 32) & 0x3FFFFFFL);
+    values[vp + 49] = (int) (((words[wp + 19] >>> 58) | (words[wp + 20] << 6)) & 0x3FFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 20] >>> 20) & 0x3FFFFFFL);
+    values[vp + 51] = (int) (((words[wp + 20] >>> 46) | (words[wp + 21] << 18)) & 0x3FFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 21] >>> 8) & 0x3FFFFFFL);
+    values[vp + 53] = (int) ((words[wp + 21] >>> 34) & 0x3FFFFFFL);
+    values[vp + 54] = (int) (((words[wp + 21] >>> 60) | (words[wp + 22] << 4)) & 0x3FFFFFFL);
+    values[vp + 55] = (int) ((words[wp + 22] >>> 22) & 0x3FFFFFFL);
+    values[vp + 56] = (int) (((words[wp + 22] >>> 48) | (words[wp + 23] << 16)) & 0x3FFFFFFL);
+    values[vp + 57] = (int) ((words[wp + 23] >>> 10) & 0x3FFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 23] >>> 36) & 0x3FFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 23] >>> 62) | (words[wp + 24] << 2)) & 0x3FFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 24] >>> 24) & 0x3FFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 24] >>> 50) | (words[wp + 25] << 14)) & 0x3FFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 25] >>> 12) & 0x3FFFFFFL);
+    values[vp + 63] = (int) (words[wp + 25] >>> 38);
+  }
+
+  private static void unpack27(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 27) & 0x7FFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 54) | (words[wp + 1] << 10)) & 0x7FFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 17) & 0x7FFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 44) | (words[wp + 2] << 20)) & 0x7FFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 7) & 0x7FFFFFFL);
+    values[vp + 6] = (int) ((words[wp + 2] >>> 34) & 0x7FFFFFFL);
+    values[vp + 7] = (int) (((words[wp + 2] >>> 61) | (words[wp + 3] << 3)) & 0x7FFFFFFL);
+    values[vp + 8] = (int) ((words[wp + 3] >>> 24) & 0x7FFFFFFL);
+    values[vp + 9] = (int) (((words[wp + 3] >>> 51) | (words[wp + 4] << 13)) & 0x7FFFFFFL);
+    values[vp + 10] = (int) ((words[wp + 4] >>> 14) & 0x7FFFFFFL);
+    values[vp + 11] = (int) (((words[wp + 4] >>> 41) | (words[wp + 5] << 23)) & 0x7FFFFFFL);
+    values[vp + 12] = (int) ((words[wp + 5] >>> 4) & 0x7FFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 5] >>> 31) & 0x7FFFFFFL);
+    values[vp + 14] = (int) (((words[wp + 5] >>> 58) | (words[wp + 6] << 6)) & 0x7FFFFFFL);
+    values[vp + 15] = (int) ((words[wp + 6] >>> 21) & 0x7FFFFFFL);
+    values[vp + 16] = (int) (((words[wp + 6] >>> 48) | (words[wp + 7] << 16)) & 0x7FFFFFFL);
+    values[vp + 17] = (int) ((words[wp + 7] >>> 11) & 0x7FFFFFFL);
+    values[vp + 18] = (int) (((words[wp + 7] >>> 38) | (words[wp + 8] << 26)) & 0x7FFFFFFL);
+    values[vp + 19] = (int) ((words[wp + 8] >>> 1) & 0x7FFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 8] >>> 28) & 0x7FFFFFFL);
+    values[vp + 21] = (int) (((words[wp + 8] >>> 55) | (words[wp + 9] << 9)) & 0x7FFFFFFL);
+    values[vp + 22] = (int) ((words[wp + 9] >>> 18) & 0x7FFFFFFL);
+    values[vp + 23] = (int) (((words[wp + 9] >>> 45) | (words[wp + 10] << 19)) & 0x7FFFFFFL);
+    values[vp + 24] = (int) ((words[wp + 10] >>> 8) & 0x7FFFFFFL);
+    values[vp + 25] = (int) ((words[wp + 10] >>> 35) & 0x7FFFFFFL);
+    values[vp + 26] = (int) (((words[wp + 10] >>> 62) | (words[wp + 11] << 2)) & 0x7FFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 11] >>> 25) & 0x7FFFFFFL);
+    values[vp + 28] = (int) (((words[wp + 11] >>> 52) | (words[wp + 12] << 12)) & 0x7FFFFFFL);
+    values[vp + 29] = (int) ((words[wp + 12] >>> 15) & 0x7FFFFFFL);
+    values[vp + 30] = (int) (((words[wp + 12] >>> 42) | (words[wp + 13] << 22)) & 0x7FFFFFFL);
+    values[vp + 31] = (int) ((words[wp + 13] >>> 5) & 0x7FFFFFFL);
+    values[vp + 32] = (int) ((words[wp + 13] >>> 32) & 0x7FFFFFFL);
+    values[vp + 33] = (int) (((words[wp + 13] >>> 59) | (words[wp + 14] << 5)) & 0x7FFFFFFL);
+    values[vp + 34] = (int) ((words[wp + 14] >>> 22) & 0x7FFFFFFL);
+    values[vp + 35] = (int) (((words[wp + 14] >>> 49) | (words[wp + 15] << 15)) & 0x7FFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 15] >>> 12) & 0x7FFFFFFL);
+    values[vp + 37] = (int) (((words[wp + 15] >>> 39) | (words[wp + 16] << 25)) & 0x7FFFFFFL);
+    values[vp + 38] = (int) ((words[wp + 16] >>> 2) & 0x7FFFFFFL);
+    values[vp + 39] = (int) ((words[wp + 16] >>> 29) & 0x7FFFFFFL);
+    values[vp + 40] = (int) (((words[wp + 16] >>> 56) | (words[wp + 17] << 8)) & 0x7FFFFFFL);
+    values[vp + 41] = (int) ((words[wp + 17] >>> 19) & 0x7FFFFFFL);
+    values[vp + 42] = (int) (((words[wp + 17] >>> 46) | (words[wp + 18] << 18)) & 0x7FFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 18] >>> 9) & 0x7FFFFFFL);
+    values[vp + 44] = (int) ((words[wp + 18] >>> 36) & 0x7FFFFFFL);
+    values[vp + 45] = (int) (((words[wp + 18] >>> 63) | (words[wp + 19] << 1)) & 0x7FFFFFFL);
+    values[vp + 46] = (int) ((words[wp + 19] >>> 26) & 0x7FFFFFFL);
+    values[vp + 47] = (int) (((words[wp + 19] >>> 53) | (words[wp + 20] << 11)) & 0x7FFFFFFL);
+    values[vp + 48] = (int) ((words[wp + 20] >>> 16) & 0x7FFFFFFL);
+    values[vp + 49] = (int) (((words[wp + 20] >>> 43) | (words[wp + 21] << 21)) & 0x7FFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 21] >>> 6) & 0x7FFFFFFL);
+    values[vp + 51] = (int) ((words[wp + 21] >>> 33) & 0x7FFFFFFL);
+    values[vp + 52] = (int) (((words[wp + 21] >>> 60) | (words[wp + 22] << 4)) & 0x7FFFFFFL);
+    values[vp + 53] = (int) ((words[wp + 22] >>> 23) & 0x7FFFFFFL);
+    values[vp + 54] = (int) (((words[wp + 22] >>> 50) | (words[wp + 23] << 14)) & 0x7FFFFFFL);
+    values[vp + 55] = (int) ((words[wp + 23] >>> 13) & 0x7FFFFFFL);
+    values[vp + 56] = (int) (((words[wp + 23] >>> 40) | (words[wp + 24] << 24)) & 0x7FFFFFFL);
+    values[vp + 57] = (int) ((words[wp + 24] >>> 3) & 0x7FFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 24] >>> 30) & 0x7FFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 24] >>> 57) | (words[wp + 25] << 7)) & 0x7FFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 25] >>> 20) & 0x7FFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 25] >>> 47) | (words[wp + 26] << 17)) & 0x7FFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 26] >>> 10) & 0x7FFFFFFL);
+    values[vp + 63] = (int) (words[wp + 26] >>> 37);
+  }
+
+  private static void unpack28(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0xFFFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 28) & 0xFFFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 56) | (words[wp + 1] << 8)) & 0xFFFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 20) & 0xFFFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 48) | (words[wp + 2] << 16)) & 0xFFFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 12) & 0xFFFFFFFL);
+    values[vp + 6] = (int) (((words[wp + 2] >>> 40) | (words[wp + 3] << 24)) & 0xFFFFFFFL);
+    values[vp + 7] = (int) ((words[wp + 3] >>> 4) & 0xFFFFFFFL);
+    values[vp + 8] = (int) ((words[wp + 3] >>> 32) & 0xFFFFFFFL);
+    values[vp + 9] = (int) (((words[wp + 3] >>> 60) | (words[wp + 4] << 4)) & 0xFFFFFFFL);
+    values[vp + 10] = (int) ((words[wp + 4] >>> 24) & 0xFFFFFFFL);
+    values[vp + 11] = (int) (((words[wp + 4] >>> 52) | (words[wp + 5] << 12)) & 0xFFFFFFFL);
+    values[vp + 12] = (int) ((words[wp + 5] >>> 16) & 0xFFFFFFFL);
+    values[vp + 13] = (int) (((words[wp + 5] >>> 44) | (words[wp + 6] << 20)) & 0xFFFFFFFL);
+    values[vp + 14] = (int) ((words[wp + 6] >>> 8) & 0xFFFFFFFL);
+    values[vp + 15] = (int) (words[wp + 6] >>> 36);
+    values[vp + 16] = (int) (words[wp + 7] & 0xFFFFFFFL);
+    values[vp + 17] = (int) ((words[wp + 7] >>> 28) & 0xFFFFFFFL);
+    values[vp + 18] = (int) (((words[wp + 7] >>> 56) | (words[wp + 8] << 8)) & 0xFFFFFFFL);
+    values[vp + 19] = (int) ((words[wp + 8] >>> 20) & 0xFFFFFFFL);
+    values[vp + 20] = (int) (((words[wp + 8] >>> 48) | (words[wp + 9] << 16)) & 0xFFFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 9] >>> 12) & 0xFFFFFFFL);
+    values[vp + 22] = (int) (((words[wp + 9] >>> 40) | (words[wp + 10] << 24)) & 0xFFFFFFFL);
+    values[vp + 23] = (int) ((words[wp + 10] >>> 4) & 0xFFFFFFFL);
+    values[vp + 24] = (int) ((words[wp + 10] >>> 32) & 0xFFFFFFFL);
+    values[vp + 25] = (int) (((words[wp + 10] >>> 60) | (words[wp + 11] << 4)) & 0xFFFFFFFL);
+    values[vp + 26] = (int) ((words[wp + 11] >>> 24) & 0xFFFFFFFL);
+    values[vp + 27] = (int) (((words[wp + 11] >>> 52) | (words[wp + 12] << 12)) & 0xFFFFFFFL);
+    values[vp + 28] = (int) ((words[wp + 12] >>> 16) & 0xFFFFFFFL);
+    values[vp + 29] = (int) (((words[wp + 12] >>> 44) | (words[wp + 13] << 20)) & 0xFFFFFFFL);
+    values[vp + 30] = (int) ((words[wp + 13] >>> 8) & 0xFFFFFFFL);
+    values[vp + 31] = (int) (words[wp + 13] >>> 36);
+    values[vp + 32] = (int) (words[wp + 14] & 0xFFFFFFFL);
+    values[vp + 33] = (int) ((words[wp + 14] >>> 28) & 0xFFFFFFFL);
+    values[vp + 34] = (int) (((words[wp + 14] >>> 56) | (words[wp + 15] << 8)) & 0xFFFFFFFL);
+    values[vp + 35] = (int) ((words[wp + 15] >>> 20) & 0xFFFFFFFL);
+    values[vp + 36] = (int) (((words[wp + 15] >>> 48) | (words[wp + 16] << 16)) & 0xFFFFFFFL);
+    values[vp + 37] = (int) ((words[wp + 16] >>> 12) & 0xFFFFFFFL);
+    values[vp + 38] = (int) (((words[wp + 16] >>> 40) | (words[wp + 17] << 24)) & 0xFFFFFFFL);
+    values[vp + 39] = (int) ((words[wp + 17] >>> 4) & 0xFFFFFFFL);
+    values[vp + 40] = (int) ((words[wp + 17] >>> 32) & 0xFFFFFFFL);
+    values[vp + 41] = (int) (((words[wp + 17] >>> 60) | (words[wp + 18] << 4)) & 0xFFFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 18] >>> 24) & 0xFFFFFFFL);
+    values[vp + 43] = (int) (((words[wp + 18] >>> 52) | (words[wp + 19] << 12)) & 0xFFFFFFFL);
+    values[vp + 44] = (int) ((words[wp + 19] >>> 16) & 0xFFFFFFFL);
+    values[vp + 45] = (int) (((words[wp + 19] >>> 44) | (words[wp + 20] << 20)) & 0xFFFFFFFL);
+    values[vp + 46] = (int) ((words[wp + 20] >>> 8) & 0xFFFFFFFL);
+    values[vp + 47] = (int) (words[wp + 20] >>> 36);
+    values[vp + 48] = (int) (words[wp + 21] & 0xFFFFFFFL);
+    values[vp + 49] = (int) ((words[wp + 21] >>> 28) & 0xFFFFFFFL);
+    values[vp + 50] = (int) (((words[wp + 21] >>> 56) | (words[wp + 22] << 8)) & 0xFFFFFFFL);
+    values[vp + 51] = (int) ((words[wp + 22] >>> 20) & 0xFFFFFFFL);
+    values[vp + 52] = (int) (((words[wp + 22] >>> 48) | (words[wp + 23] << 16)) & 0xFFFFFFFL);
+    values[vp + 53] = (int) ((words[wp + 23] >>> 12) & 0xFFFFFFFL);
+    values[vp + 54] = (int) (((words[wp + 23] >>> 40) | (words[wp + 24] << 24)) & 0xFFFFFFFL);
+    values[vp + 55] = (int) ((words[wp + 24] >>> 4) & 0xFFFFFFFL);
+    values[vp + 56] = (int) ((words[wp + 24] >>> 32) & 0xFFFFFFFL);
+    values[vp + 57] = (int) (((words[wp + 24] >>> 60) | (words[wp + 25] << 4)) & 0xFFFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 25] >>> 24) & 0xFFFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 25] >>> 52) | (words[wp + 26] << 12)) & 0xFFFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 26] >>> 16) & 0xFFFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 26] >>> 44) | (words[wp + 27] << 20)) & 0xFFFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 27] >>> 8) & 0xFFFFFFFL);
+    values[vp + 63] = (int) (words[wp + 27] >>> 36);
+  }
+
+  private static void unpack29(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x1FFFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 29) & 0x1FFFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 58) | (words[wp + 1] << 6)) & 0x1FFFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 23) & 0x1FFFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 52) | (words[wp + 2] << 12)) & 0x1FFFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 17) & 0x1FFFFFFFL);
+    values[vp + 6] = (int) (((words[wp + 2] >>> 46) | (words[wp + 3] << 18)) & 0x1FFFFFFFL);
+    values[vp + 7] = (int) ((words[wp + 3] >>> 11) & 0x1FFFFFFFL);
+    values[vp + 8] = (int) (((words[wp + 3] >>> 40) | (words[wp + 4] << 24)) & 0x1FFFFFFFL);
+    values[vp + 9] = (int) ((words[wp + 4] >>> 5) & 0x1FFFFFFFL);
+    values[vp + 10] = (int) ((words[wp + 4] >>> 34) & 0x1FFFFFFFL);
+    values[vp + 11] = (int) (((words[wp + 4] >>> 63) | (words[wp + 5] << 1)) & 0x1FFFFFFFL);
+    values[vp + 12] = (int) ((words[wp + 5] >>> 28) & 0x1FFFFFFFL);
+    values[vp + 13] = (int) (((words[wp + 5] >>> 57) | (words[wp + 6] << 7)) & 0x1FFFFFFFL);
+    values[vp + 14] = (int) ((words[wp + 6] >>> 22) & 0x1FFFFFFFL);
+    values[vp + 15] = (int) (((words[wp + 6] >>> 51) | (words[wp + 7] << 13)) & 0x1FFFFFFFL);
+    values[vp + 16] = (int) ((words[wp + 7] >>> 16) & 0x1FFFFFFFL);
+    values[vp + 17] = (int) (((words[wp + 7] >>> 45) | (words[wp + 8] << 19)) & 0x1FFFFFFFL);
+    values[vp + 18] = (int) ((words[wp + 8] >>> 10) & 0x1FFFFFFFL);
+    values[vp + 19] = (int) (((words[wp + 8] >>> 39) | (words[wp + 9] << 25)) & 0x1FFFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 9] >>> 4) & 0x1FFFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 9] >>> 33) & 0x1FFFFFFFL);
+    values[vp + 22] = (int) (((words[wp + 9] >>> 62) | (words[wp + 10] << 2)) & 0x1FFFFFFFL);
+    values[vp + 23] = (int) ((words[wp + 10] >>> 27) & 0x1FFFFFFFL);
+    values[vp + 24] = (int) (((words[wp + 10] >>> 56) | (words[wp + 11] << 8)) & 0x1FFFFFFFL);
+    values[vp + 25] = (int) ((words[wp + 11] >>> 21) & 0x1FFFFFFFL);
+    values[vp + 26] = (int) (((words[wp + 11] >>> 50) | (words[wp + 12] << 14)) & 0x1FFFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 12] >>> 15) & 0x1FFFFFFFL);
+    values[vp + 28] = (int) (((words[wp + 12] >>> 44) | (words[wp + 13] << 20)) & 0x1FFFFFFFL);
+    values[vp + 29] = (int) ((words[wp + 13] >>> 9) & 0x1FFFFFFFL);
+    values[vp + 30] = (int) (((words[wp + 13] >>> 38) | (words[wp + 14] << 26)) & 0x1FFFFFFFL);
+    values[vp + 31] = (int) ((words[wp + 14] >>> 3) & 0x1FFFFFFFL);
+    values[vp + 32] = (int) ((words[wp + 14] >>> 32) & 0x1FFFFFFFL);
+    values[vp + 33] = (int) (((words[wp + 14] >>> 61) | (words[wp + 15] << 3)) & 0x1FFFFFFFL);
+    values[vp + 34] = (int) ((words[wp + 15] >>> 26) & 0x1FFFFFFFL);
+    values[vp + 35] = (int) (((words[wp + 15] >>> 55) | (words[wp + 16] << 9)) & 0x1FFFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 16] >>> 20) & 0x1FFFFFFFL);
+    values[vp + 37] = (int) (((words[wp + 16] >>> 49) | (words[wp + 17] << 15)) & 0x1FFFFFFFL);
+    values[vp + 38] = (int) ((words[wp + 17] >>> 14) & 0x1FFFFFFFL);
+    values[vp + 39] = (int) (((words[wp + 17] >>> 43) | (words[wp + 18] << 21)) & 0x1FFFFFFFL);
+    values[vp + 40] = (int) ((words[wp + 18] >>> 8) & 0x1FFFFFFFL);
+    values[vp + 41] = (int) (((words[wp + 18] >>> 37) | (words[wp + 19] << 27)) & 0x1FFFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 19] >>> 2) & 0x1FFFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 19] >>> 31) & 0x1FFFFFFFL);
+    values[vp + 44] = (int) (((words[wp + 19] >>> 60) | (words[wp + 20] << 4)) & 0x1FFFFFFFL);
+    values[vp + 45] = (int) ((words[wp + 20] >>> 25) & 0x1FFFFFFFL);
+    values[vp + 46] = (int) (((words[wp + 20] >>> 54) | (words[wp + 21] << 10)) & 0x1FFFFFFFL);
+    values[vp + 47] = (int) ((words[wp + 21] >>> 19) & 0x1FFFFFFFL);
+    values[vp + 48] = (int) (((words[wp + 21] >>> 48) | (words[wp + 22] << 16)) & 0x1FFFFFFFL);
+    values[vp + 49] = (int) ((words[wp + 22] >>> 13) & 0x1FFFFFFFL);
+    values[vp + 50] = (int) (((words[wp + 22] >>> 42) | (words[wp + 23] << 22)) & 0x1FFFFFFFL);
+    values[vp + 51] = (int) ((words[wp + 23] >>> 7) & 0x1FFFFFFFL);
+    values[vp + 52] = (int) (((words[wp + 23] >>> 36) | (words[wp + 24] << 28)) & 0x1FFFFFFFL);
+    values[vp + 53] = (int) ((words[wp + 24] >>> 1) & 0x1FFFFFFFL);
+    values[vp + 54] = (int) ((words[wp + 24] >>> 30) & 0x1FFFFFFFL);
+    values[vp + 55] = (int) (((words[wp + 24] >>> 59) | (words[wp + 25] << 5)) & 0x1FFFFFFFL);
+    values[vp + 56] = (int) ((words[wp + 25] >>> 24) & 0x1FFFFFFFL);
+    values[vp + 57] = (int) (((words[wp + 25] >>> 53) | (words[wp + 26] << 11)) & 0x1FFFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 26] >>> 18) & 0x1FFFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 26] >>> 47) | (words[wp + 27] << 17)) & 0x1FFFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 27] >>> 12) & 0x1FFFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 27] >>> 41) | (words[wp + 28] << 23)) & 0x1FFFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 28] >>> 6) & 0x1FFFFFFFL);
+    values[vp + 63] = (int) (words[wp + 28] >>> 35);
+  }
+
+  private static void unpack30(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x3FFFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 30) & 0x3FFFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 60) | (words[wp + 1] << 4)) & 0x3FFFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 26) & 0x3FFFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 56) | (words[wp + 2] << 8)) & 0x3FFFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 22) & 0x3FFFFFFFL);
+    values[vp + 6] = (int) (((words[wp + 2] >>> 52) | (words[wp + 3] << 12)) & 0x3FFFFFFFL);
+    values[vp + 7] = (int) ((words[wp + 3] >>> 18) & 0x3FFFFFFFL);
+    values[vp + 8] = (int) (((words[wp + 3] >>> 48) | (words[wp + 4] << 16)) & 0x3FFFFFFFL);
+    values[vp + 9] = (int) ((words[wp + 4] >>> 14) & 0x3FFFFFFFL);
+    values[vp + 10] = (int) (((words[wp + 4] >>> 44) | (words[wp + 5] << 20)) & 0x3FFFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 5] >>> 10) & 0x3FFFFFFFL);
+    values[vp + 12] = (int) (((words[wp + 5] >>> 40) | (words[wp + 6] << 24)) & 0x3FFFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 6] >>> 6) & 0x3FFFFFFFL);
+    values[vp + 14] = (int) (((words[wp + 6] >>> 36) | (words[wp + 7] << 28)) & 0x3FFFFFFFL);
+    values[vp + 15] = (int) ((words[wp + 7] >>> 2) & 0x3FFFFFFFL);
+    values[vp + 16] = (int) ((words[wp + 7] >>> 32) & 0x3FFFFFFFL);
+    values[vp + 17] = (int) (((words[wp + 7] >>> 62) | (words[wp + 8] << 2)) & 0x3FFFFFFFL);
+    values[vp + 18] = (int) ((words[wp + 8] >>> 28) & 0x3FFFFFFFL);
+    values[vp + 19] = (int) (((words[wp + 8] >>> 58) | (words[wp + 9] << 6)) & 0x3FFFFFFFL);
+    values[vp + 20] = (int) ((words[wp + 9] >>> 24) & 0x3FFFFFFFL);
+    values[vp + 21] = (int) (((words[wp + 9] >>> 54) | (words[wp + 10] << 10)) & 0x3FFFFFFFL);
+    values[vp + 22] = (int) ((words[wp + 10] >>> 20) & 0x3FFFFFFFL);
+    values[vp + 23] = (int) (((words[wp + 10] >>> 50) | (words[wp + 11] << 14)) & 0x3FFFFFFFL);
+    values[vp + 24] = (int) ((words[wp + 11] >>> 16) & 0x3FFFFFFFL);
+    values[vp + 25] = (int) (((words[wp + 11] >>> 46) | (words[wp + 12] << 18)) & 0x3FFFFFFFL);
+    values[vp + 26] = (int) ((words[wp + 12] >>> 12) & 0x3FFFFFFFL);
+    values[vp + 27] = (int) (((words[wp + 12] >>> 42) | (words[wp + 13] << 22)) & 0x3FFFFFFFL);
+    values[vp + 28] = (int) ((words[wp + 13] >>> 8) & 0x3FFFFFFFL);
+    values[vp + 29] = (int) (((words[wp + 13] >>> 38) | (words[wp + 14] << 26)) & 0x3FFFFFFFL);
+    values[vp + 30] = (int) ((words[wp + 14] >>> 4) & 0x3FFFFFFFL);
+    values[vp + 31] = (int) (words[wp + 14] >>> 34);
+    values[vp + 32] = (int) (words[wp + 15] & 0x3FFFFFFFL);
+    values[vp + 33] = (int) ((words[wp + 15] >>> 30) & 0x3FFFFFFFL);
+    values[vp + 34] = (int) (((words[wp + 15] >>> 60) | (words[wp + 16] << 4)) & 0x3FFFFFFFL);
+    values[vp + 35] = (int) ((words[wp + 16] >>> 26) & 0x3FFFFFFFL);
+    values[vp + 36] = (int) (((words[wp + 16] >>> 56) | (words[wp + 17] << 8)) & 0x3FFFFFFFL);
+    values[vp + 37] = (int) ((words[wp + 17] >>> 22) & 0x3FFFFFFFL);
+    values[vp + 38] = (int) (((words[wp + 17] >>> 52) | (words[wp + 18] << 12)) & 0x3FFFFFFFL);
+    values[vp + 39] = (int) ((words[wp + 18] >>> 18) & 0x3FFFFFFFL);
+    values[vp + 40] = (int) (((words[wp + 18] >>> 48) | (words[wp + 19] << 16)) & 0x3FFFFFFFL);
+    values[vp + 41] = (int) ((words[wp + 19] >>> 14) & 0x3FFFFFFFL);
+    values[vp + 42] = (int) (((words[wp + 19] >>> 44) | (words[wp + 20] << 20)) & 0x3FFFFFFFL);
+    values[vp + 43] = (int) ((words[wp + 20] >>> 10) & 0x3FFFFFFFL);
+    values[vp + 44] = (int) (((words[wp + 20] >>> 40) | (words[wp + 21] << 24)) & 0x3FFFFFFFL);
+    values[vp + 45] = (int) ((words[wp + 21] >>> 6) & 0x3FFFFFFFL);
+    values[vp + 46] = (int) (((words[wp + 21] >>> 36) | (words[wp + 22] << 28)) & 0x3FFFFFFFL);
+    values[vp + 47] = (int) ((words[wp + 22] >>> 2) & 0x3FFFFFFFL);
+    values[vp + 48] = (int) ((words[wp + 22] >>> 32) & 0x3FFFFFFFL);
+    values[vp + 49] = (int) (((words[wp + 22] >>> 62) | (words[wp + 23] << 2)) & 0x3FFFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 23] >>> 28) & 0x3FFFFFFFL);
+    values[vp + 51] = (int) (((words[wp + 23] >>> 58) | (words[wp + 24] << 6)) & 0x3FFFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 24] >>> 24) & 0x3FFFFFFFL);
+    values[vp + 53] = (int) (((words[wp + 24] >>> 54) | (words[wp + 25] << 10)) & 0x3FFFFFFFL);
+    values[vp + 54] = (int) ((words[wp + 25] >>> 20) & 0x3FFFFFFFL);
+    values[vp + 55] = (int) (((words[wp + 25] >>> 50) | (words[wp + 26] << 14)) & 0x3FFFFFFFL);
+    values[vp + 56] = (int) ((words[wp + 26] >>> 16) & 0x3FFFFFFFL);
+    values[vp + 57] = (int) (((words[wp + 26] >>> 46) | (words[wp + 27] << 18)) & 0x3FFFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 27] >>> 12) & 0x3FFFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 27] >>> 42) | (words[wp + 28] << 22)) & 0x3FFFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 28] >>> 8) & 0x3FFFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 28] >>> 38) | (words[wp + 29] << 26)) & 0x3FFFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 29] >>> 4) & 0x3FFFFFFFL);
+    values[vp + 63] = (int) (words[wp + 29] >>> 34);
+  }
+
+  private static void unpack31(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) (words[wp] & 0x7FFFFFFFL);
+    values[vp + 1] = (int) ((words[wp] >>> 31) & 0x7FFFFFFFL);
+    values[vp + 2] = (int) (((words[wp] >>> 62) | (words[wp + 1] << 2)) & 0x7FFFFFFFL);
+    values[vp + 3] = (int) ((words[wp + 1] >>> 29) & 0x7FFFFFFFL);
+    values[vp + 4] = (int) (((words[wp + 1] >>> 60) | (words[wp + 2] << 4)) & 0x7FFFFFFFL);
+    values[vp + 5] = (int) ((words[wp + 2] >>> 27) & 0x7FFFFFFFL);
+    values[vp + 6] = (int) (((words[wp + 2] >>> 58) | (words[wp + 3] << 6)) & 0x7FFFFFFFL);
+    values[vp + 7] = (int) ((words[wp + 3] >>> 25) & 0x7FFFFFFFL);
+    values[vp + 8] = (int) (((words[wp + 3] >>> 56) | (words[wp + 4] << 8)) & 0x7FFFFFFFL);
+    values[vp + 9] = (int) ((words[wp + 4] >>> 23) & 0x7FFFFFFFL);
+    values[vp + 10] = (int) (((words[wp + 4] >>> 54) | (words[wp + 5] << 10)) & 0x7FFFFFFFL);
+    values[vp + 11] = (int) ((words[wp + 5] >>> 21) & 0x7FFFFFFFL);
+    values[vp + 12] = (int) (((words[wp + 5] >>> 52) | (words[wp + 6] << 12)) & 0x7FFFFFFFL);
+    values[vp + 13] = (int) ((words[wp + 6] >>> 19) & 0x7FFFFFFFL);
+    values[vp + 14] = (int) (((words[wp + 6] >>> 50) | (words[wp + 7] << 14)) & 0x7FFFFFFFL);
+    values[vp + 15] = (int) ((words[wp + 7] >>> 17) & 0x7FFFFFFFL);
+    values[vp + 16] = (int) (((words[wp + 7] >>> 48) | (words[wp + 8] << 16)) & 0x7FFFFFFFL);
+    values[vp + 17] = (int) ((words[wp + 8] >>> 15) & 0x7FFFFFFFL);
+    values[vp + 18] = (int) (((words[wp + 8] >>> 46) | (words[wp + 9] << 18)) & 0x7FFFFFFFL);
+    values[vp + 19] = (int) ((words[wp + 9] >>> 13) & 0x7FFFFFFFL);
+    values[vp + 20] = (int) (((words[wp + 9] >>> 44) | (words[wp + 10] << 20)) & 0x7FFFFFFFL);
+    values[vp + 21] = (int) ((words[wp + 10] >>> 11) & 0x7FFFFFFFL);
+    values[vp + 22] = (int) (((words[wp + 10] >>> 42) | (words[wp + 11] << 22)) & 0x7FFFFFFFL);
+    values[vp + 23] = (int) ((words[wp + 11] >>> 9) & 0x7FFFFFFFL);
+    values[vp + 24] = (int) (((words[wp + 11] >>> 40) | (words[wp + 12] << 24)) & 0x7FFFFFFFL);
+    values[vp + 25] = (int) ((words[wp + 12] >>> 7) & 0x7FFFFFFFL);
+    values[vp + 26] = (int) (((words[wp + 12] >>> 38) | (words[wp + 13] << 26)) & 0x7FFFFFFFL);
+    values[vp + 27] = (int) ((words[wp + 13] >>> 5) & 0x7FFFFFFFL);
+    values[vp + 28] = (int) (((words[wp + 13] >>> 36) | (words[wp + 14] << 28)) & 0x7FFFFFFFL);
+    values[vp + 29] = (int) ((words[wp + 14] >>> 3) & 0x7FFFFFFFL);
+    values[vp + 30] = (int) (((words[wp + 14] >>> 34) | (words[wp + 15] << 30)) & 0x7FFFFFFFL);
+    values[vp + 31] = (int) ((words[wp + 15] >>> 1) & 0x7FFFFFFFL);
+    values[vp + 32] = (int) ((words[wp + 15] >>> 32) & 0x7FFFFFFFL);
+    values[vp + 33] = (int) (((words[wp + 15] >>> 63) | (words[wp + 16] << 1)) & 0x7FFFFFFFL);
+    values[vp + 34] = (int) ((words[wp + 16] >>> 30) & 0x7FFFFFFFL);
+    values[vp + 35] = (int) (((words[wp + 16] >>> 61) | (words[wp + 17] << 3)) & 0x7FFFFFFFL);
+    values[vp + 36] = (int) ((words[wp + 17] >>> 28) & 0x7FFFFFFFL);
+    values[vp + 37] = (int) (((words[wp + 17] >>> 59) | (words[wp + 18] << 5)) & 0x7FFFFFFFL);
+    values[vp + 38] = (int) ((words[wp + 18] >>> 26) & 0x7FFFFFFFL);
+    values[vp + 39] = (int) (((words[wp + 18] >>> 57) | (words[wp + 19] << 7)) & 0x7FFFFFFFL);
+    values[vp + 40] = (int) ((words[wp + 19] >>> 24) & 0x7FFFFFFFL);
+    values[vp + 41] = (int) (((words[wp + 19] >>> 55) | (words[wp + 20] << 9)) & 0x7FFFFFFFL);
+    values[vp + 42] = (int) ((words[wp + 20] >>> 22) & 0x7FFFFFFFL);
+    values[vp + 43] = (int) (((words[wp + 20] >>> 53) | (words[wp + 21] << 11)) & 0x7FFFFFFFL);
+    values[vp + 44] = (int) ((words[wp + 21] >>> 20) & 0x7FFFFFFFL);
+    values[vp + 45] = (int) (((words[wp + 21] >>> 51) | (words[wp + 22] << 13)) & 0x7FFFFFFFL);
+    values[vp + 46] = (int) ((words[wp + 22] >>> 18) & 0x7FFFFFFFL);
+    values[vp + 47] = (int) (((words[wp + 22] >>> 49) | (words[wp + 23] << 15)) & 0x7FFFFFFFL);
+    values[vp + 48] = (int) ((words[wp + 23] >>> 16) & 0x7FFFFFFFL);
+    values[vp + 49] = (int) (((words[wp + 23] >>> 47) | (words[wp + 24] << 17)) & 0x7FFFFFFFL);
+    values[vp + 50] = (int) ((words[wp + 24] >>> 14) & 0x7FFFFFFFL);
+    values[vp + 51] = (int) (((words[wp + 24] >>> 45) | (words[wp + 25] << 19)) & 0x7FFFFFFFL);
+    values[vp + 52] = (int) ((words[wp + 25] >>> 12) & 0x7FFFFFFFL);
+    values[vp + 53] = (int) (((words[wp + 25] >>> 43) | (words[wp + 26] << 21)) & 0x7FFFFFFFL);
+    values[vp + 54] = (int) ((words[wp + 26] >>> 10) & 0x7FFFFFFFL);
+    values[vp + 55] = (int) (((words[wp + 26] >>> 41) | (words[wp + 27] << 23)) & 0x7FFFFFFFL);
+    values[vp + 56] = (int) ((words[wp + 27] >>> 8) & 0x7FFFFFFFL);
+    values[vp + 57] = (int) (((words[wp + 27] >>> 39) | (words[wp + 28] << 25)) & 0x7FFFFFFFL);
+    values[vp + 58] = (int) ((words[wp + 28] >>> 6) & 0x7FFFFFFFL);
+    values[vp + 59] = (int) (((words[wp + 28] >>> 37) | (words[wp + 29] << 27)) & 0x7FFFFFFFL);
+    values[vp + 60] = (int) ((words[wp + 29] >>> 4) & 0x7FFFFFFFL);
+    values[vp + 61] = (int) (((words[wp + 29] >>> 35) | (words[wp + 30] << 29)) & 0x7FFFFFFFL);
+    values[vp + 62] = (int) ((words[wp + 30] >>> 2) & 0x7FFFFFFFL);
+    values[vp + 63] = (int) (words[wp + 30] >>> 33);
+  }
+
+  private static void unpack32(long[] words, int wp, int[] values, int vp) {
+    values[vp] = (int) words[wp];
+    values[vp + 1] = (int) (words[wp] >>> 32);
+    values[vp + 2] = (int) words[wp + 1];
+    values[vp + 3] = (int) (words[wp + 1] >>> 32);
+    values[vp + 4] = (int) words[wp + 2];
+    values[vp + 5] = (int) (words[wp + 2] >>> 32);
+    values[vp + 6] = (int) words[wp + 3];
+    values[vp + 7] = (int) (words[wp + 3] >>> 32);
+    values[vp + 8] = (int) words[wp + 4];
+    values[vp + 9] = (int) (words[wp + 4] >>> 32);
+    values[vp + 10] = (int) words[wp + 5];
+    values[vp + 11] = (int) (words[wp + 5] >>> 32);
+    values[vp + 12] = (int) words[wp + 6];
+    values[vp + 13] = (int) (words[wp + 6] >>> 32);
+    values[vp + 14] = (int) words[wp + 7];
+    values[vp + 15] = (int) (words[wp + 7] >>> 32);
+    values[vp + 16] = (int) words[wp + 8];
+    values[vp + 17] = (int) (words[wp + 8] >>> 32);
+    values[vp + 18] = (int) words[wp + 9];
+    values[vp + 19] = (int) (words[wp + 9] >>> 32);
+    values[vp + 20] = (int) words[wp + 10];
+    values[vp + 21] = (int) (words[wp + 10] >>> 32);
+    values[vp + 22] = (int) words[wp + 11];
+    values[vp + 23] = (int) (words[wp + 11] >>> 32);
+    values[vp + 24] = (int) words[wp + 12];
+    values[vp + 25] = (int) (words[wp + 12] >>> 32);
+    values[vp + 26] = (int) words[wp + 13];
+    values[vp + 27] = (int) (words[wp + 13] >>> 32);
+    values[vp + 28] = (int) words[wp + 14];
+    values[vp + 29] = (int) (words[wp + 14] >>> 32);
+    values[vp + 30] = (int) words[wp + 15];
+    values[vp + 31] = (int) (words[wp + 15] >>> 32);
+    values[vp + 32] = (int) words[wp + 16];
+    values[vp + 33] = (int) (words[wp + 16] >>> 32);
+    values[vp + 34] = (int) words[wp + 17];
+    values[vp + 35] = (int) (words[wp + 17] >>> 32);
+    values[vp + 36] = (int) words[wp + 18];
+    values[vp + 37] = (int) (words[wp + 18] >>> 32);
+    values[vp + 38] = (int) words[wp + 19];
+    values[vp + 39] = (int) (words[wp + 19] >>> 32);
+    values[vp + 40] = (int) words[wp + 20];
+    values[vp + 41] = (int) (words[wp + 20] >>> 32);
+    values[vp + 42] = (int) words[wp + 21];
+    values[vp + 43] = (int) (words[wp + 21] >>> 32);
+    values[vp + 44] = (int) words[wp + 22];
+    values[vp + 45] = (int) (words[wp + 22] >>> 32);
+    values[vp + 46] = (int) words[wp + 23];
+    values[vp + 47] = (int) (words[wp + 23] >>> 32);
+    values[vp + 48] = (int) words[wp + 24];
+    values[vp + 49] = (int) (words[wp + 24] >>> 32);
+    values[vp + 50] = (int) words[wp + 25];
+    values[vp + 51] = (int) (words[wp + 25] >>> 32);
+    values[vp + 52] = (int) words[wp + 26];
+    values[vp + 53] = (int) (words[wp + 26] >>> 32);
+    values[vp + 54] = (int) words[wp + 27];
+    values[vp + 55] = (int) (words[wp + 27] >>> 32);
+    values[vp + 56] = (int) words[wp + 28];
+    values[vp + 57] = (int) (words[wp + 28] >>> 32);
+    values[vp + 58] = (int) words[wp + 29];
+    values[vp + 59] = (int) (words[wp + 29] >>> 32);
+    values[vp + 60] = (int) words[wp + 30];
+    values[vp + 61] = (int) (words[wp + 30] >>> 32);
+    values[vp + 62] = (int) words[wp + 31];
+    values[vp + 63] = (int) (words[wp + 31] >>> 32);
+  }
+}
@@ -0,0 +1,66 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes a bit stream, most significant bit first, to a {@link DataOutput}. {@link #flush()} pads
+ * the last byte with zero bits; {@link BitReader} reads the stream back.
+ */
+public class BitWriter {
+  private final DataOutput out;
+
+  private long buffer;
+  private int numBits;
+
+  public BitWriter(DataOutput out) {
+    this.out = out;
+  }
+
+  /**
+   * Writes the low {@code n} bits of {@code value}, for n from 0 to 32.
+   */
+  public void writeBits(int value, int n) throws IOException {
+    buffer = (buffer << n) | (value & ((1L << n) - 1));
+    numBits += n;
+
+    while (numBits >= 8) {
+      numBits -= 8;
+      out.writeByte((int) (buffer >>> numBits));
+    }
+  }
+
+  /**
+   * Writes q zero bits followed by a one bit.
+   */
+  public void writeUnary(int q) throws IOException {
+    for (; q >= 32; q -= 32) {
+      writeBits(0, 32);
+    }
+    writeBits(1, q + 1);
+  }
+
+  /**
+   * Writes x &gt;= 1 in Elias gamma code: floor(log2 x) in unary, then x without its leading bit.
+   */
+  public void writeGamma(int x) throws IOException {
+    int log = 31 - Integer.numberOfLeadingZeros(x);
+    writeUnary(log);
+    writeBits(x, log);
+  }
+
+  /**
+   * Writes x &gt;= 1 in Elias delta code: floor(log2 x) + 1 in gamma code, then x without its
+   * leading bit.
+   */
+  public void writeDelta(int x) throws IOException {
+    int log = 31 - Integer.numberOfLeadingZeros(x);
+    writeGamma(log + 1);
+    writeBits(x, log);
+  }
+
+  public void flush() throws IOException {
+    if (numBits > 0) {
+      out.writeByte((int) (buffer << (8 - numBits)));
+      numBits = 0;
+    }
+  }
+}
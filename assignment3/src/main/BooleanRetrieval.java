@@ -49,6 +49,7 @@ public class BooleanRetrieval extends Configured implements Tool {
   private MapFile.Reader index;
   private FSDataInputStream collection;
   private Stack<Set<Integer>> stack;
+  private Analyzer analyzer;
 
   private BooleanRetrieval() {}
 
@@ -56,6 +57,7 @@ public class BooleanRetrieval extends Configured implements Tool {
     index = new MapFile.Reader(new Path(indexPath + "/part-r-00000"), fs.getConf());
     collection = fs.open(new Path(collectionPath));
     stack = new Stack<Set<Integer>>();
+    analyzer = Analyzer.fromConf(getConf());
   }
 
   private void runQuery(String q) throws IOException {
@@ -79,8 +81,10 @@ public class BooleanRetrieval extends Configured implements Tool {
     }
   }
 
-  private void pushTerm(String term) throws IOException {
-    stack.push(fetchDocumentSet(term));
+  // Query terms must be analyzed as BuildInvertedIndex analyzed the collection.
+  private void pushTerm(String token) throws IOException {
+    String term = analyzer.analyzeToken(token);
+    stack.push(term == null ? new TreeSet<Integer>() : fetchDocumentSet(term));
   }
 
   private void performAND() {
@@ -0,0 +1,194 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.Stack;
+import java.util.TreeSet;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Times query evaluation over a compressed index: the original TreeSet&lt;Integer&gt; evaluation
+ * against {@link QueryEvaluator}, on the five queries of {@link BooleanRetrievalCompressed} and on
+ * queries over high-df terms. Collection lines are not fetched.
+ */
+public class BooleanRetrievalBenchmark extends Configured implements Tool {
+  private static final String[] QUERIES = {
+      "outrageous fortune AND", "white rose AND", "means deceit AND",
+      "white red OR rose AND pluck AND", "unhappy outrageous OR good your AND OR fortune AND",
+      "the and AND", "the and OR of OR to OR", "the and AND of AND i AND",
+      "lord god AND the AND", "king lord OR god OR the AND" };
+
+  private BooleanRetrievalBenchmark() {}
+
+  /**
+   * The evaluation BooleanRetrievalCompressed used before QueryEvaluator, kept as the baseline.
+   */
+  private static class TreeSetEvaluator {
+    private final PostingsIndex index;
+    private final Stack<Set<Integer>> stack = new Stack<Set<Integer>>();
+
+    private final Text key = new Text();
+    private final BytesWritable value = new BytesWritable();
+    private final PostingsCursor cursor;
+    private final Analyzer analyzer;
+
+    TreeSetEvaluator(PostingsIndex index, IndexMetadata metadata) {
+      this.index = index;
+      this.cursor = metadata.newCursor();
+      this.analyzer = new Analyzer(metadata.getAnalyzer());
+    }
+
+    Set<Integer> evaluate(String q) throws IOException {
+      stack.clear();
+
+      for (String t : q.split("\\s+")) {
+        if (t.equals("AND")) {
+          Set<Integer> s1 = stack.pop();
+          Set<Integer> s2 = stack.pop();
+          Set<Integer> sn = new TreeSet<Integer>();
+          for (int n : s1) {
+            if (s2.contains(n)) {
+              sn.add(n);
+            }
+          }
+          stack.push(sn);
+        } else if (t.equals("OR")) {
+          Set<Integer> sn = new TreeSet<Integer>(stack.pop());
+          sn.addAll(stack.pop());
+          stack.push(sn);
+        } else {
+          Set<Integer> set = new TreeSet<Integer>();
+          String term = analyzer.analyzeToken(t);
+          if (term == null) {
+            value.setSize(0);
+          } else {
+            key.set(term);
+            index.getPostings(key, value);
+          }
+          cursor.reset(value);
+          while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+            set.add(cursor.docno());
+          }
+          stack.push(set);
+        }
+      }
+
+      return stack.pop();
+    }
+  }
+
+  private static final String INDEX = "index";
+  private static final String ITERATIONS = "iterations";
+
+  /**
+   * Runs this tool.
+   */
+  @SuppressWarnings({ "static-access" })
+  public int run(String[] args) throws Exception {
+    Options options = new Options();
+
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("index path").create(INDEX));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("timed runs per query").create(ITERATIONS));
+
+    CommandLine cmdline;
+    CommandLineParser parser = new GnuParser();
+
+    try {
+      cmdline = parser.parse(options, args);
+    } catch (ParseException exp) {
+      System.err.println("Error parsing command line: " + exp.getMessage());
+      return -1;
+    }
+
+    if (!cmdline.hasOption(INDEX)) {
+      System.out.println("args: " + Arrays.toString(args));
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.setWidth(120);
+      formatter.printHelp(this.getClass().getName(), options);
+      ToolRunner.printGenericCommandUsage(System.out);
+      return -1;
+    }
+
+    String indexPath = cmdline.getOptionValue(INDEX);
+    int iterations = cmdline.hasOption(ITERATIONS) ?
+        Integer.parseInt(cmdline.getOptionValue(ITERATIONS)) : 200;
+
+    FileSystem fs = FileSystem.get(new Configuration());
+    IndexMetadata metadata = IndexMetadata.read(fs, new Path(indexPath));
+    PostingsIndex index = PostingsIndex.open(fs, new Path(indexPath));
+    TreeSetEvaluator before = new TreeSetEvaluator(index, metadata);
+    QueryEvaluator after = new QueryEvaluator(index, metadata);
+
+    System.out.println("query\thits\tTreeSet us\tQueryEvaluator us");
+    for (String q : QUERIES) {
+      int hits = after.evaluate(q).size();
+      if (hits != before.evaluate(q).size()) {
+        throw new IllegalStateException("Evaluators disagree on query: " + q);
+      }
+
+      // Warm up both paths before timing them.
+      for (int i = 0; i < iterations / 10 + 1; i++) {
+        before.evaluate(q);
+        after.evaluate(q);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        before.evaluate(q);
+      }
+      double beforeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        after.evaluate(q);
+      }
+      double afterMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+      System.out.println(String.format("%s\t%d\t%.1f\t%.1f", q, hits, beforeMicros, afterMicros));
+    }
+
+    index.close();
+
+    return 0;
+  }
+
+  /**
+   * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
+   */
+  public static void main(String[] args) throws Exception {
+    ToolRunner.run(new BooleanRetrievalBenchmark(), args);
+  }
+}
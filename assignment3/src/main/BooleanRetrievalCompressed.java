@@ -18,11 +18,16 @@
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Set;
-import java.util.Stack;
-import java.util.TreeSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -33,122 +38,237 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
-import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.io.BytesWritable;
-import org.apache.hadoop.io.IntWritable;
-import org.apache.hadoop.io.MapFile;
-import org.apache.hadoop.io.Text;
 import org.apache.hadoop.util.Tool;
 import org.apache.hadoop.util.ToolRunner;
 
-import edu.umd.cloud9.io.array.ArrayListWritable;
-import edu.umd.cloud9.io.pair.PairOfInts;
-import edu.umd.cloud9.io.pair.PairOfWritables;
-
-public class BooleanRetrievalCompressed extends Configured implements Tool {
-  private MapFile.Reader index;
-  private FSDataInputStream collection;
-  private Stack<Set<Integer>> stack;
+/**
+ * Answers boolean queries, or ranked ones with -topk, over an index and prints the matching lines
+ * of the collection. On a segmented index (see {@link SegmentManifest}) a query is evaluated on
+ * each segment and the results are merged: boolean results are concatenated in segment order,
+ * which keeps docnos ascending, and each segment's top k are offered to a global top k. With
+ * several segments, as in a document-partitioned index, the segments are evaluated in parallel on
+ * a shared pool of threads and the results gathered in segment order. Ranked queries score with
+ * the statistics of the whole index: the document count and average length of all segments, and
+ * each term's df summed over them, gathered before any segment scores. A segmented index thus
+ * ranks exactly as a single index of the same documents.
+ */
+public class BooleanRetrievalCompressed extends Configured implements Tool, QueryServer.Searcher {
+  /**
+   * One index searched: a whole index, or a segment of a segmented index whose docnos start at
+   * base. Its tables and cache are shared by all searchers.
+   */
+  private static class Segment {
+    final Path path;
+    final int base;
+    final IndexMetadata metadata;
+    final DocnoTable docnos;
+    final DocLengthTable lengths;
+    final PostingsCache cache;
+
+    Segment(Path path, int base, IndexMetadata metadata, DocnoTable docnos, DocLengthTable lengths,
+        PostingsCache cache) {
+      this.path = path;
+      this.base = base;
+      this.metadata = metadata;
+      this.docnos = docnos;
+      this.lengths = lengths;
+      this.cache = cache;
+    }
+  }
 
-  private BooleanRetrievalCompressed() {}
+  private Segment[] segments;
+  private SegmentManifest manifest;
+  private QueryEvaluator[] evaluators;
+  private RankedEvaluator[] rankers;
+  private CollectionReader[] collections;
+  private ExecutorService executor;
+  private final TopDocs top = new TopDocs();
+  private int topK;
 
-  private void initialize(String indexPath, String collectionPath, FileSystem fs) throws IOException {
-    index = new MapFile.Reader(new Path(indexPath + "/part-r-00000"), fs.getConf());
-    collection = fs.open(new Path(collectionPath));
-    stack = new Stack<Set<Integer>>();
+  /**
+   * Evaluates a query on one segment.
+   */
+  private interface SegmentTask<T> {
+    T run(int segment) throws IOException;
   }
 
-  private void runQuery(String q) throws IOException {
-    String[] terms = q.split("\\s+");
+  private BooleanRetrievalCompressed() {}
 
-    for (String t : terms) {
-      if (t.equals("AND")) {
-        performAND();
-      } else if (t.equals("OR")) {
-        performOR();
-      } else {
-        pushTerm(t);
+  /**
+   * @param manifest the segments' manifest, or null for a single index
+   * @param collectionPaths the collection of a single index, or the manifest's batches
+   * @param executor runs the segments of a query in parallel, or null to run them in turn
+   */
+  private void initialize(Segment[] segments, SegmentManifest manifest, Path[] collectionPaths,
+      FileSystem fs, int topK, ExecutorService executor) throws IOException {
+    this.segments = segments;
+    this.manifest = manifest;
+    this.topK = topK;
+    this.executor = executor;
+
+    int numDocs = 0;
+    long totalLength = 0;
+    if (topK > 0) {
+      for (Segment segment : segments) {
+        numDocs += segment.lengths.size();
+        totalLength += segment.lengths.getTotalLength();
       }
     }
 
-    Set<Integer> set = stack.pop();
+    evaluators = new QueryEvaluator[segments.length];
+    rankers = new RankedEvaluator[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      PostingsIndex index = PostingsIndex.open(fs, segments[i].path);
+      if (segments[i].cache != null) {
+        index = new CachedPostingsIndex(index, segments[i].cache);
+      }
+      evaluators[i] = new QueryEvaluator(index, segments[i].metadata);
+      if (topK > 0) {
+        rankers[i] = new RankedEvaluator(index, segments[i].metadata, segments[i].lengths,
+            numDocs, totalLength);
+      }
+    }
 
-    for (Integer i : set) {
-      String line = fetchLine(i);
-      System.out.println(i + "\t" + line);
+    collections = new CollectionReader[collectionPaths.length];
+    for (int i = 0; i < collectionPaths.length; i++) {
+      collections[i] = CollectionReader.open(fs, collectionPaths[i]);
     }
   }
 
-  private void pushTerm(String term) throws IOException {
-    stack.push(fetchDocumentSet(term));
+  private void runQuery(String q) throws IOException {
+    StringBuilder out = new StringBuilder();
+    search(q, out);
+    System.out.print(out);
   }
 
-  private void performAND() {
-    Set<Integer> s1 = stack.pop();
-    Set<Integer> s2 = stack.pop();
-
-    Set<Integer> sn = new TreeSet<Integer>();
+  @Override
+  public void search(final String q, StringBuilder out) throws IOException {
+    if (topK > 0) {
+      // Gather the query terms' dfs over all segments first, then score with them.
+      List<int[]> segmentDfs = scatter(new SegmentTask<int[]>() {
+        @Override
+        public int[] run(int segment) throws IOException {
+          return rankers[segment].open(q);
+        }
+      });
+
+      final int[] dfs = new int[segmentDfs.get(0).length];
+      for (int[] d : segmentDfs) {
+        for (int i = 0; i < dfs.length; i++) {
+          dfs[i] += d[i];
+        }
+      }
 
-    for (int n : s1) {
-      if (s2.contains(n)) {
-        sn.add(n);
+      List<TopDocs> segmentTops = scatter(new SegmentTask<TopDocs>() {
+        @Override
+        public TopDocs run(int segment) throws IOException {
+          return rankers[segment].evaluate(dfs, topK);
+        }
+      });
+
+      top.reset(topK);
+      for (int i = 0; i < segments.length; i++) {
+        TopDocs segmentTop = segmentTops.get(i);
+        for (int j = 0; j < segmentTop.size(); j++) {
+          top.insert(segments[i].base + segmentTop.docno(j), segmentTop.score(j));
+        }
       }
-    }
+      top.sort();
 
-    stack.push(sn);
-  }
+      for (int i = 0; i < top.size(); i++) {
+        int s = segments.length - 1;
+        while (segments[s].base > top.docno(i)) {
+          s--;
+        }
 
-  private void performOR() {
-    Set<Integer> s1 = stack.pop();
-    Set<Integer> s2 = stack.pop();
+        String line = readLine(s, top.docno(i) - segments[s].base);
+        out.append(top.docno(i)).append('\t').append(String.format("%.4f", top.score(i)))
+            .append('\t').append(line).append('\n');
+      }
+      return;
+    }
 
-    Set<Integer> sn = new TreeSet<Integer>();
+    List<DocSet> segmentDocs = scatter(new SegmentTask<DocSet>() {
+      @Override
+      public DocSet run(int segment) throws IOException {
+        return evaluators[segment].evaluate(q);
+      }
+    });
 
-    for (int n : s1) {
-      sn.add(n);
-    }
+    for (int i = 0; i < segments.length; i++) {
+      DocSet.DocIterator iter = segmentDocs.get(i).iterator();
 
-    for (int n : s2) {
-      sn.add(n);
+      // Docnos come in ascending order, so the lines are fetched in one forward pass.
+      for (int docno = iter.nextDoc(); docno != DocSet.NO_MORE_DOCS; docno = iter.nextDoc()) {
+        String line = readLine(i, docno);
+        out.append(segments[i].base + docno).append('\t').append(line).append('\n');
+      }
     }
-
-    stack.push(sn);
   }
 
-  private Set<Integer> fetchDocumentSet(String term) throws IOException {
-    Set<Integer> set = new TreeSet<Integer>();
-
-    for (PairOfInts pair : fetchPostings(term)) {
-      set.add(pair.getLeftElement());
+  /**
+   * Runs a task on every segment and returns the results in segment order. Each segment has its
+   * own evaluators, so the tasks of one query never share one.
+   */
+  private <T> List<T> scatter(final SegmentTask<T> task) throws IOException {
+    List<T> results = new ArrayList<T>(segments.length);
+    if (executor == null || segments.length == 1) {
+      for (int i = 0; i < segments.length; i++) {
+        results.add(task.run(i));
+      }
+      return results;
     }
 
-    return set;
-  }
-
-  private ArrayList<PairOfInts> fetchPostings(String term) throws IOException {
-    Text key = new Text();
-    BytesWritable value = new BytesWritable();
+    List<Future<T>> futures = new ArrayList<Future<T>>(segments.length);
+    for (int i = 0; i < segments.length; i++) {
+      final int segment = i;
+      futures.add(executor.submit(new Callable<T>() {
+        @Override
+        public T call() throws IOException {
+          return task.run(segment);
+        }
+      }));
+    }
 
-    key.set(term);
-    index.get(key, value);
-    
-    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> postings = PostingReader.readPostings(value);
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
 
-    return postings.getRightElement();
+    return results;
   }
-    
 
-  private String fetchLine(long offset) throws IOException {
-    collection.seek(offset);
-    BufferedReader reader = new BufferedReader(new InputStreamReader(collection));
+  /**
+   * Returns the line of a document, given by its docno within a segment.
+   */
+  private String readLine(int segment, int docno) throws IOException {
+    Segment s = segments[segment];
+    long offset = s.docnos == null ? docno : s.docnos.getOffset(docno);
+    CollectionReader collection =
+        collections[manifest == null ? 0 : manifest.findBatch(s.base + docno)];
 
-    return reader.readLine();
+    return collection.readLine(offset);
   }
 
   private static final String INDEX = "index";
   private static final String COLLECTION = "collection";
+  private static final String SERVER = "server";
+  private static final String PORT = "port";
+  private static final String THREADS = "threads";
+  private static final String CACHE_SIZE = "cacheSize";
+  private static final String TOP_K = "topk";
+  private static final String SEGMENT_THREADS = "segmentThreads";
 
   /**
    * Runs this tool.
@@ -161,6 +281,18 @@ public class BooleanRetrievalCompressed extends Configured implements Tool {
         .withDescription("input path").create(INDEX));
     options.addOption(OptionBuilder.withArgName("path").hasArg()
         .withDescription("output path").create(COLLECTION));
+    options.addOption(OptionBuilder.withDescription("answer queries from stdin, one per line")
+        .create(SERVER));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("answer queries from clients on this local port").create(PORT));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("concurrent queries in server mode").create(THREADS));
+    options.addOption(OptionBuilder.withArgName("mb").hasArg()
+        .withDescription("cache posting lists of recently queried terms").create(CACHE_SIZE));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("rank documents by BM25 and return this many").create(TOP_K));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("threads evaluating the segments of a query in parallel").create(SEGMENT_THREADS));
 
     CommandLine cmdline = null;
     CommandLineParser parser = new GnuParser();
@@ -172,7 +304,12 @@ public class BooleanRetrievalCompressed extends Configured implements Tool {
       System.exit(-1);
     }
 
-    if (!cmdline.hasOption(INDEX) || !cmdline.hasOption(COLLECTION)) {
+    FileSystem fs = FileSystem.get(new Configuration());
+    boolean segmented = cmdline.hasOption(INDEX)
+        && SegmentManifest.exists(fs, new Path(cmdline.getOptionValue(INDEX)));
+
+    // A segmented index records the collection of each batch itself.
+    if (!cmdline.hasOption(INDEX) || !(segmented || cmdline.hasOption(COLLECTION))) {
       System.out.println("args: " + Arrays.toString(args));
       HelpFormatter formatter = new HelpFormatter();
       formatter.setWidth(120);
@@ -181,17 +318,104 @@ public class BooleanRetrievalCompressed extends Configured implements Tool {
       System.exit(-1);
     }
 
-    String indexPath = cmdline.getOptionValue(INDEX);
-    String collectionPath = cmdline.getOptionValue(COLLECTION);
+    Path indexPath = new Path(cmdline.getOptionValue(INDEX));
+    SegmentManifest manifest = null;
+    Path[] segmentPaths;
+    int[] bases;
+    Path[] collectionPaths;
+    if (segmented) {
+      manifest = SegmentManifest.read(fs, indexPath);
+      List<SegmentManifest.Entry> entries = manifest.getSegments();
+      segmentPaths = new Path[entries.size()];
+      bases = new int[entries.size()];
+      for (int i = 0; i < entries.size(); i++) {
+        segmentPaths[i] = new Path(indexPath, entries.get(i).getName());
+        bases[i] = entries.get(i).getBase();
+      }
 
-    if (collectionPath.endsWith(".gz")) {
-      System.out.println("gzipped collection is not seekable: use compressed version!");
-      System.exit(-1);
+      List<SegmentManifest.Entry> batches = manifest.getBatches();
+      collectionPaths = new Path[batches.size()];
+      for (int i = 0; i < batches.size(); i++) {
+        collectionPaths[i] = new Path(batches.get(i).getName());
+      }
+    } else {
+      segmentPaths = new Path[] { indexPath };
+      bases = new int[] { 0 };
+      collectionPaths = new Path[] { new Path(cmdline.getOptionValue(COLLECTION)) };
     }
 
-    FileSystem fs = FileSystem.get(new Configuration());
+    for (Path collectionPath : collectionPaths) {
+      if (collectionPath.getName().endsWith(".gz")) {
+        System.out.println("gzipped collection is not seekable: use compressed version!");
+        System.exit(-1);
+      }
+    }
+
+    int topK = cmdline.hasOption(TOP_K) ? Integer.parseInt(cmdline.getOptionValue(TOP_K)) : 0;
+
+    // Each segment caches its own lists, since a term's list differs between segments.
+    long cacheSize = cmdline.hasOption(CACHE_SIZE) ?
+        (Long.parseLong(cmdline.getOptionValue(CACHE_SIZE)) << 20) / Math.max(1, segmentPaths.length) : 0;
+
+    Segment[] segments = new Segment[segmentPaths.length];
+    for (int i = 0; i < segments.length; i++) {
+      IndexMetadata metadata = IndexMetadata.read(fs, segmentPaths[i]);
+      DocLengthTable lengths = null;
+      if (topK > 0) {
+        lengths = DocLengthTable.open(fs, segmentPaths[i], metadata);
+        if (lengths == null) {
+          System.err.println("Ranked retrieval needs document lengths: rebuild the index with -denseDocnos");
+          return -1;
+        }
+      }
 
-    initialize(indexPath, collectionPath, fs);
+      segments[i] = new Segment(segmentPaths[i], bases[i], metadata,
+          DocnoTable.open(fs, segmentPaths[i], metadata), lengths,
+          cacheSize > 0 ? new PostingsCache(cacheSize) : null);
+    }
+
+    // One pool for all searchers; by default, a thread per segment up to one per core.
+    int segmentThreads = cmdline.hasOption(SEGMENT_THREADS) ?
+        Integer.parseInt(cmdline.getOptionValue(SEGMENT_THREADS)) :
+        Math.min(segments.length, Runtime.getRuntime().availableProcessors());
+    ExecutorService executor = segmentThreads > 1 ? Executors.newFixedThreadPool(segmentThreads) : null;
+
+    if (cmdline.hasOption(SERVER) || cmdline.hasOption(PORT)) {
+      int threads = cmdline.hasOption(THREADS) ?
+          Integer.parseInt(cmdline.getOptionValue(THREADS)) : Runtime.getRuntime().availableProcessors();
+
+      // One searcher per thread: index readers and collection streams are not thread-safe, but
+      // the cache is shared.
+      List<QueryServer.Searcher> searchers = new ArrayList<QueryServer.Searcher>();
+      for (int i = 0; i < threads; i++) {
+        BooleanRetrievalCompressed searcher = new BooleanRetrievalCompressed();
+        searcher.initialize(segments, manifest, collectionPaths, fs, topK, executor);
+        searchers.add(searcher);
+      }
+
+      QueryServer server = new QueryServer(searchers);
+      if (cmdline.hasOption(PORT)) {
+        server.listen(Integer.parseInt(cmdline.getOptionValue(PORT)));
+      } else {
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out));
+        server.serve(new BufferedReader(new InputStreamReader(System.in)), out);
+        out.print(server.stats());
+        for (Segment segment : segments) {
+          if (segment.cache != null) {
+            out.println(segment.cache);
+          }
+        }
+        out.flush();
+        server.shutdown();
+        if (executor != null) {
+          executor.shutdown();
+        }
+      }
+
+      return 0;
+    }
+
+    initialize(segments, manifest, collectionPaths, fs, topK, executor);
 
     String[] queries = { "outrageous fortune AND", "white rose AND", "means deceit AND",
         "white red OR rose AND pluck AND", "unhappy outrageous OR good your AND OR fortune AND" };
@@ -203,6 +427,10 @@ public class BooleanRetrievalCompressed extends Configured implements Tool {
       System.out.println("");
     }
 
+    if (executor != null) {
+      executor.shutdown();
+    }
+
     return 1;
   }
 
@@ -46,39 +46,36 @@ import org.apache.log4j.Logger;
 import edu.umd.cloud9.io.array.ArrayListWritable;
 import edu.umd.cloud9.io.pair.PairOfInts;
 import edu.umd.cloud9.io.pair.PairOfWritables;
-import edu.umd.cloud9.util.fd.Object2IntFrequencyDistribution;
-import edu.umd.cloud9.util.fd.Object2IntFrequencyDistributionEntry;
-import edu.umd.cloud9.util.pair.PairOfObjectInt;
 
 public class BuildInvertedIndex extends Configured implements Tool {
   private static final Logger LOG = Logger.getLogger(BuildInvertedIndex.class);
 
   private static class MyMapper extends Mapper<LongWritable, Text, Text, PairOfInts> {
     private static final Text WORD = new Text();
-    private static final Object2IntFrequencyDistribution<String> COUNTS =
-        new Object2IntFrequencyDistributionEntry<String>();
+    private static final TermCounts COUNTS = new TermCounts();
+
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) {
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
 
     @Override
     public void map(LongWritable docno, Text doc, Context context)
         throws IOException, InterruptedException {
-      String text = doc.toString();
       COUNTS.clear();
 
-      String[] terms = text.split("\\s+");
-
       // First build a histogram of the terms.
-      for (String term : terms) {
-        if (term == null || term.length() == 0) {
-          continue;
-        }
-
-        COUNTS.increment(term);
+      analyzer.reset(doc);
+      while (analyzer.next()) {
+        COUNTS.add(analyzer);
       }
 
       // Emit postings.
-      for (PairOfObjectInt<String> e : COUNTS) {
-        WORD.set(e.getLeftElement());
-        context.write(WORD, new PairOfInts((int) docno.get(), e.getRightElement()));
+      for (int i = 0; i < COUNTS.size(); i++) {
+        COUNTS.getTerm(i, WORD);
+        context.write(WORD, new PairOfInts((int) docno.get(), COUNTS.getCount(i)));
       }
     }
   }
@@ -108,11 +105,57 @@ public class BuildInvertedIndex extends Configured implements Tool {
     }
   }
 
+  /**
+   * Like {@link MyReducer}, but keeps the heap bounded whatever the df of the term: postings go
+   * into a {@link SpillingPostingsWritable}, which spills sorted runs to the task's local
+   * directories past its byte budget and merges them as it is written out, so each list is still
+   * a single record that {@code MapFile.Reader.get} reads back whole.
+   */
+  private static class MySpillingReducer extends
+      Reducer<Text, PairOfInts, Text, SpillingPostingsWritable> {
+    private SpillingPostingsWritable postings;
+
+    @Override
+    public void setup(Context context) {
+      postings = new SpillingPostingsWritable(
+          context.getConfiguration().getLong(BUFFER_BYTES_KEY, SpillingPostingsWritable.DEFAULT_BUDGET),
+          context.getConfiguration(), "postings-" + context.getTaskAttemptID());
+    }
+
+    @Override
+    public void reduce(Text key, Iterable<PairOfInts> values, Context context)
+        throws IOException, InterruptedException {
+      postings.reset();
+      for (PairOfInts posting : values) {
+        postings.add(posting.getLeftElement(), posting.getRightElement());
+      }
+
+      if (postings.getNumRuns() > 0) {
+        context.getCounter(Spilling.spilledTerms).increment(1);
+        context.getCounter(Spilling.runs).increment(postings.getNumRuns());
+      }
+
+      context.write(key, postings);
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException {
+      postings.reset();
+    }
+  }
+
+  private static enum Spilling {
+    spilledTerms, runs
+  };
+
   private BuildInvertedIndex() {}
 
   private static final String INPUT = "input";
   private static final String OUTPUT = "output";
   private static final String NUM_REDUCERS = "numReducers";
+  private static final String BUFFER = "buffer";
+
+  private static final String BUFFER_BYTES_KEY = "index.postings.buffer";
 
   /**
    * Runs this tool.
@@ -127,6 +170,8 @@ public class BuildInvertedIndex extends Configured implements Tool {
         .withDescription("output path").create(OUTPUT));
     options.addOption(OptionBuilder.withArgName("num").hasArg()
         .withDescription("number of reducers").create(NUM_REDUCERS));
+    options.addOption(OptionBuilder.withArgName("mb").hasArg()
+        .withDescription("buffer each term's postings in this many MB, spilling past it").create(BUFFER));
 
     CommandLine cmdline;
     CommandLineParser parser = new GnuParser();
@@ -151,17 +196,22 @@ public class BuildInvertedIndex extends Configured implements Tool {
     String outputPath = cmdline.getOptionValue(OUTPUT);
     int reduceTasks = cmdline.hasOption(NUM_REDUCERS) ?
         Integer.parseInt(cmdline.getOptionValue(NUM_REDUCERS)) : 1;
+    long bufferBytes = cmdline.hasOption(BUFFER) ?
+        Long.parseLong(cmdline.getOptionValue(BUFFER)) << 20 : 0;
 
     LOG.info("Tool name: " + BuildInvertedIndex.class.getSimpleName());
     LOG.info(" - input path: " + inputPath);
     LOG.info(" - output path: " + outputPath);
     LOG.info(" - num reducers: " + reduceTasks);
+    LOG.info(" - postings buffer: " + (bufferBytes > 0 ? (bufferBytes >> 20) + " MB" : "none"));
+    LOG.info(" - analyzer filters: " + Analyzer.fromConf(getConf()).getFilters());
 
     Job job = Job.getInstance(getConf());
     job.setJobName(BuildInvertedIndex.class.getSimpleName());
     job.setJarByClass(BuildInvertedIndex.class);
 
     job.setNumReduceTasks(reduceTasks);
+    job.getConfiguration().setLong(BUFFER_BYTES_KEY, bufferBytes);
 
     FileInputFormat.setInputPaths(job, new Path(inputPath));
     FileOutputFormat.setOutputPath(job, new Path(outputPath));
@@ -169,11 +219,11 @@ public class BuildInvertedIndex extends Configured implements Tool {
     job.setMapOutputKeyClass(Text.class);
     job.setMapOutputValueClass(PairOfInts.class);
     job.setOutputKeyClass(Text.class);
-    job.setOutputValueClass(PairOfWritables.class);
+    job.setOutputValueClass(bufferBytes > 0 ? SpillingPostingsWritable.class : PairOfWritables.class);
     job.setOutputFormatClass(MapFileOutputFormat.class);
 
     job.setMapperClass(MyMapper.class);
-    job.setReducerClass(MyReducer.class);
+    job.setReducerClass(bufferBytes > 0 ? MySpillingReducer.class : MyReducer.class);
 
     // Delete the output directory if it exists already.
     Path outputDir = new Path(outputPath);
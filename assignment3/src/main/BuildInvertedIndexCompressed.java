@@ -15,11 +15,12 @@
  */
 
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -28,34 +29,90 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.MapFile;
 import org.apache.hadoop.io.Text;
-import org.apache.hadoop.io.WritableComparable;
-import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.Mapper;
 import org.apache.hadoop.mapreduce.Partitioner;
 import org.apache.hadoop.mapreduce.Reducer;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.LazyOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.MapFileOutputFormat;
 import org.apache.hadoop.util.Tool;
 import org.apache.hadoop.util.ToolRunner;
 import org.apache.log4j.Logger;
 
-import edu.umd.cloud9.util.fd.Object2IntFrequencyDistribution;
-import edu.umd.cloud9.util.fd.Object2IntFrequencyDistributionEntry;
-import edu.umd.cloud9.util.pair.PairOfObjectInt;
+import edu.umd.cloud9.io.array.ArrayListOfIntsWritable;
 
 public class BuildInvertedIndexCompressed extends Configured implements Tool {
   private static final Logger LOG = Logger.getLogger(BuildInvertedIndexCompressed.class);
 
+  /**
+   * Turns the byte offsets of a split's lines into docnos. With a docno table, the docno of the
+   * split's first line is looked up once, among the docnos of the split's file, and the following
+   * lines are counted from it; without one, the offset is the docno.
+   */
+  private static class DocnoCounter {
+    private FSDataInputStream table;
+    private int first;
+    private int numDocs;
+    private int next = -1;
+
+    void setup(Configuration conf, InputSplit split) throws IOException {
+      String path = conf.get(DOCNOS_KEY);
+      if (path == null) {
+        return;
+      }
+
+      FileSystem fs = FileSystem.get(conf);
+      String file = ((FileSplit) split).getPath().toString();
+      for (SegmentManifest.Entry batch :
+          SegmentManifest.read(fs, new Path(conf.get(BATCHES_KEY))).getBatches()) {
+        if (batch.getName().equals(file)) {
+          first = batch.getBase();
+          numDocs = batch.getNumDocs();
+          table = fs.open(new Path(path));
+          return;
+        }
+      }
+
+      throw new IOException("No docnos were counted for " + file);
+    }
+
+    int getDocno(long offset) throws IOException {
+      if (table == null) {
+        return (int) offset;
+      }
+
+      if (next < 0) {
+        next = DocnoTable.find(table, first, numDocs, offset);
+      }
+      return next++;
+    }
+
+    void cleanup() throws IOException {
+      if (table != null) {
+        table.close();
+      }
+    }
+  }
+
   private static class MyMapper extends Mapper<LongWritable, Text, TextIntWritablePairComparable, IntWritable> {
     private static final Text WORD = new Text();
     private static final IntWritable DOCNO = new IntWritable();
@@ -63,182 +120,534 @@ public class BuildInvertedIndexCompressed extends Configured implements Tool {
     private static final TextIntWritablePairComparable KEY_PAIR = new TextIntWritablePairComparable();
     private static final IntWritable TERM_FREQ = new IntWritable();
 
-    private static final Object2IntFrequencyDistribution<String> COUNTS =
-        new Object2IntFrequencyDistributionEntry<String>();
+    private static final TermCounts COUNTS = new TermCounts();
+
+    private final DocnoCounter docnos = new DocnoCounter();
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) throws IOException {
+      docnos.setup(context.getConfiguration(), context.getInputSplit());
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
 
     @Override
     public void map(LongWritable docno, Text doc, Context context)
         throws IOException, InterruptedException {
-      String text = doc.toString();
       COUNTS.clear();
-
-      String[] terms = text.split("\\s+");
+      DOCNO.set(docnos.getDocno(docno.get()));
 
       // First build a histogram of the terms.
-      for (String term : terms) {
-        if (term == null || term.length() == 0) {
-          continue;
-        }
-
-        COUNTS.increment(term);
+      analyzer.reset(doc);
+      while (analyzer.next()) {
+        COUNTS.add(analyzer);
       }
 
       // Emit postings.
-      for (PairOfObjectInt<String> e : COUNTS) {
-        WORD.set(e.getLeftElement());
-        DOCNO.set((int)docno.get());
+      for (int i = 0; i < COUNTS.size(); i++) {
+        COUNTS.getTerm(i, WORD);
         KEY_PAIR.set(WORD, DOCNO);
 
-        TERM_FREQ.set(e.getRightElement());
+        TERM_FREQ.set(COUNTS.getCount(i));
 
         context.write(KEY_PAIR, TERM_FREQ);
 
       }
     }
-  }
 
-  protected static class MyPartitioner extends Partitioner<TextIntWritablePairComparable, IntWritable> {
     @Override
-    public int getPartition(TextIntWritablePairComparable key, IntWritable value, int numReduceTasks) {
-      return (key.getLeftElement().hashCode() & Integer.MAX_VALUE) % numReduceTasks;
+    public void cleanup(Context context) throws IOException {
+      docnos.cleanup();
     }
   }
 
-  public static class MyKeyComparator extends WritableComparator {
-    protected MyKeyComparator() {
-      super(TextIntWritablePairComparable.class, true);
+  /**
+   * Like {@link MyMapper}, but emits the positions of each term in the document instead of its
+   * tf; positions count the terms of the line from 0, so a dropped stopword leaves no gap.
+   */
+  private static class MyPositionalMapper
+      extends Mapper<LongWritable, Text, TextIntWritablePairComparable, ArrayListOfIntsWritable> {
+    private static final Text WORD = new Text();
+    private static final IntWritable DOCNO = new IntWritable();
+
+    private static final TextIntWritablePairComparable KEY_PAIR = new TextIntWritablePairComparable();
+
+    private static final TermCounts POSITIONS = new TermCounts();
+
+    private final DocnoCounter docnos = new DocnoCounter();
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) throws IOException {
+      docnos.setup(context.getConfiguration(), context.getInputSplit());
+      analyzer = Analyzer.fromConf(context.getConfiguration());
     }
 
-    @SuppressWarnings("rawtypes")
     @Override
-    public int compare(WritableComparable w1, WritableComparable w2){
-      TextIntWritablePairComparable pair1 = (TextIntWritablePairComparable) w1;
-      TextIntWritablePairComparable pair2 = (TextIntWritablePairComparable) w2;
+    public void map(LongWritable docno, Text doc, Context context)
+        throws IOException, InterruptedException {
+      POSITIONS.clear();
+      DOCNO.set(docnos.getDocno(docno.get()));
 
+      int position = 0;
+      analyzer.reset(doc);
+      while (analyzer.next()) {
+        POSITIONS.add(analyzer, position++);
+      }
 
-      //      LOG.info("Comparing keys: " + pair1.getLeftElement().toString() + " & " + pair2.getLeftElement().toString());
+      // Emit postings.
+      for (int i = 0; i < POSITIONS.size(); i++) {
+        POSITIONS.getTerm(i, WORD);
+        KEY_PAIR.set(WORD, DOCNO);
 
-      int compareTo = pair1.compareTo(pair2);
-      //      LOG.info("Result is: " + compareTo);
+        context.write(KEY_PAIR, POSITIONS.getPositions(i));
+      }
+    }
 
-      return compareTo;
+    @Override
+    public void cleanup(Context context) throws IOException {
+      docnos.cleanup();
     }
   }
 
-  private static class MyReducer extends
-  Reducer<TextIntWritablePairComparable, IntWritable, Text, BytesWritable> {
-    private final static Text TERM = new Text();
-    
-    private final static ByteArrayOutputStream postingByteStream = new ByteArrayOutputStream();
-    private final static DataOutputStream outStream = new DataOutputStream(postingByteStream);
-    
-    private static int lastDocno = 0;
-    private static int thisDocno = 0;
-    private static int dGapInt = 0;
-    
-    private static int docFreq = 0;
-    private static int termFreq = 0;
-    private static String currentTerm = null;
-    
+  private static enum Combining {
+    flushes
+  };
+
+  /**
+   * Combines postings in the mapper: rather than one record per term per document, it keeps a
+   * growing, d-gap encoded partial list per term over many documents in {@link PartialLists},
+   * which takes exactly the combining budget, and emits each list once, keyed by the term and the
+   * list's first docno, when a posting no longer fits or the split ends. Splits cover disjoint docno ranges and a mapper flushes its lists
+   * in docno order, so the partial lists of a term never overlap, and the sort on (term, first
+   * docno) hands them to the reducer in the order to concatenate them.
+   */
+  private static class MyCombiningMapper
+      extends Mapper<LongWritable, Text, TextIntWritablePairComparable, BytesWritable> {
+    private static final Text WORD = new Text();
+    // Flushing may happen mid-document, while WORD still holds the term being added.
+    private static final Text FLUSHED = new Text();
+    private static final IntWritable DOCNO = new IntWritable();
+    private static final BytesWritable LIST = new BytesWritable();
+    private static final DataOutputBuffer POSTING = new DataOutputBuffer();
+
+    private static final TextIntWritablePairComparable KEY_PAIR = new TextIntWritablePairComparable();
+
+    private static final TermCounts COUNTS = new TermCounts();
+
+    private final DocnoCounter docnos = new DocnoCounter();
+    private PartialLists lists;
+    private Analyzer analyzer;
+    private boolean positional;
+
+    @Override
+    public void setup(Context context) throws IOException {
+      Configuration conf = context.getConfiguration();
+      docnos.setup(conf, context.getInputSplit());
+      analyzer = Analyzer.fromConf(conf);
+      positional = conf.getBoolean(POSITIONS_KEY, false);
+      lists = new PartialLists(conf.getLong(COMBINE_BYTES_KEY, 0));
+    }
+
     @Override
-    public void reduce(TextIntWritablePairComparable key, Iterable<IntWritable> values, Context context)
+    public void map(LongWritable offset, Text doc, Context context)
         throws IOException, InterruptedException {
+      int docno = docnos.getDocno(offset.get());
 
-      //Get doc number
-      thisDocno = key.getRightElement().get();
-      String incomingTerm = key.getKey().toString();
-
-      if(incomingTerm.equals(currentTerm) || currentTerm == null){
-        
-        currentTerm = key.getKey().toString();
-        
-        //Iterate through the values
-        Iterator<IntWritable> iter = values.iterator();
-        while(iter.hasNext()){
-          docFreq++;
-          termFreq = iter.next().get();
-          
-          dGapInt = thisDocno - lastDocno;
-          WritableUtils.writeVInt(outStream, dGapInt);
-          WritableUtils.writeVInt(outStream, termFreq);
-          
-
-          lastDocno = thisDocno;
+      COUNTS.clear();
+      int position = 0;
+      analyzer.reset(doc);
+      while (analyzer.next()) {
+        if (positional) {
+          COUNTS.add(analyzer, position++);
+        } else {
+          COUNTS.add(analyzer);
         }
+      }
+
+      for (int i = 0; i < COUNTS.size(); i++) {
+        COUNTS.getTerm(i, WORD);
 
-      } else {
-        // Emit the current posting list and reset everything for next term
+        POSTING.reset();
+        WritableUtils.writeVInt(POSTING, COUNTS.getCount(i));
+        if (positional) {
+          ArrayListOfIntsWritable positions = COUNTS.getPositions(i);
+          int last = 0;
+          for (int j = 0; j < positions.size(); j++) {
+            WritableUtils.writeVInt(POSTING, positions.get(j) - last);
+            last = positions.get(j);
+          }
+        }
 
-        if(currentTerm.equals("starcross'd")){
-          LOG.info("starcross'd Posting Byte Stream size: " + postingByteStream.size());
+        // A term's posting goes whole into one list, so flushing mid-document keeps the lists of
+        // every term disjoint and in docno order.
+        if (!lists.add(WORD, docno, POSTING)) {
+          flush(context);
+          if (!lists.add(WORD, docno, POSTING)) {
+            throw new IOException("A posting of " + POSTING.getLength()
+                + " bytes does not fit the combining buffer");
+          }
         }
-        
-        if(lastDocno % 10 == 0) {
-          LOG.info(currentTerm + " posting list size = " + postingByteStream.size());
+      }
+    }
+
+    private void flush(Context context) throws IOException, InterruptedException {
+      for (int i = 0; i < lists.size(); i++) {
+        lists.getTerm(i, FLUSHED);
+        DOCNO.set(lists.getFirstDocno(i));
+        KEY_PAIR.set(FLUSHED, DOCNO);
+        lists.getList(i, LIST);
+
+        context.write(KEY_PAIR, LIST);
+      }
+
+      context.getCounter(Combining.flushes).increment(1);
+      lists.clear();
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException, InterruptedException {
+      flush(context);
+      docnos.cleanup();
+    }
+  }
+
+  protected static class MyPartitioner extends Partitioner<TextIntWritablePairComparable, Writable> {
+    @Override
+    public int getPartition(TextIntWritablePairComparable key, Writable value, int numReduceTasks) {
+      return getPartition(key.getLeftElement(), numReduceTasks);
+    }
+
+    /**
+     * Returns the partition holding a term's postings; readers route lookups with this.
+     */
+    static int getPartition(Text term, int numPartitions) {
+      return (term.hashCode() & Integer.MAX_VALUE) % numPartitions;
+    }
+  }
+
+  /**
+   * Routes postings by a {@link TermPartitionTable} built for the job, so that the most frequent
+   * terms are spread over the reducers by their postings rather than their hashes.
+   */
+  protected static class TablePartitioner extends Partitioner<TextIntWritablePairComparable, Writable>
+      implements Configurable {
+    private Configuration conf;
+    private TermPartitionTable table;
+
+    @Override
+    public void setConf(Configuration conf) {
+      this.conf = conf;
+      try {
+        Path path = new Path(conf.get(PARTITION_TABLE_KEY));
+        table = TermPartitionTable.read(path.getFileSystem(conf), path);
+      } catch (IOException e) {
+        throw new RuntimeException("Unable to read partition table", e);
+      }
+    }
+
+    @Override
+    public Configuration getConf() {
+      return conf;
+    }
+
+    @Override
+    public int getPartition(TextIntWritablePairComparable key, Writable value, int numReduceTasks) {
+      return table.getPartition(key.getLeftElement(), numReduceTasks);
+    }
+  }
+
+  /**
+   * Routes postings by docno for a document-partitioned index: the docnos are cut into numShards
+   * consecutive ranges of equal size, and each shard goes to one reducer.
+   */
+  protected static class ShardPartitioner extends Partitioner<TextIntWritablePairComparable, Writable>
+      implements Configurable {
+    private Configuration conf;
+    private int numDocs;
+    private int numShards;
+
+    @Override
+    public void setConf(Configuration conf) {
+      this.conf = conf;
+      numDocs = conf.getInt(NUM_DOCS_KEY, 0);
+      numShards = conf.getInt(SHARDS_KEY, 1);
+    }
+
+    @Override
+    public Configuration getConf() {
+      return conf;
+    }
+
+    @Override
+    public int getPartition(TextIntWritablePairComparable key, Writable value, int numReduceTasks) {
+      return getShard(key.getRightElement().get(), numDocs, numShards) % numReduceTasks;
+    }
+
+    /**
+     * Returns the shard holding a docno.
+     */
+    static int getShard(int docno, int numDocs, int numShards) {
+      return (int) (((docno + 1L) * numShards - 1) / numDocs);
+    }
+
+    /**
+     * Returns the first docno of a shard; shard numShards gives the end of the last one.
+     */
+    static int getShardBase(int shard, int numDocs, int numShards) {
+      return (int) ((long) shard * numDocs / numShards);
+    }
+  }
+
+  /**
+   * Writes a document-partitioned index: each shard is a self-contained index of a docno range,
+   * numbering its documents from 0, written as the side file seg-NNNNN/part-r-00000 of the task's
+   * output. A reducer may receive several shards, so a term's postings are cut into one list per
+   * shard where the docnos cross into the next shard. Max scores are computed with the document
+   * count and average length of the whole collection, which shards are searched with, so they are
+   * as tight as in a single index.
+   */
+  private static class MyShardReducer extends
+  Reducer<TextIntWritablePairComparable, Writable, Text, BytesWritable> {
+    private final static Text TERM = new Text();
+    private final static BytesWritable POSTINGS = new BytesWritable();
+
+    /**
+     * The writers of one shard.
+     */
+    private static class Shard {
+      final int base;
+      final PostingWriter postingWriter;
+      final MapFile.Writer out;
+
+      Shard(int base, PostingWriter postingWriter, MapFile.Writer out) {
+        this.base = base;
+        this.postingWriter = postingWriter;
+        this.out = out;
+      }
+    }
+
+    private final DataOutputBuffer outBuffer = new DataOutputBuffer();
+    private final Map<Integer, Shard> shards = new HashMap<Integer, Shard>();
+    private Configuration conf;
+    private FileSystem fs;
+    private Path outputPath;
+    private boolean positional;
+    private int numDocs;
+    private int numShards;
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+      conf = context.getConfiguration();
+      fs = FileSystem.get(conf);
+      outputPath = FileOutputFormat.getWorkOutputPath(context);
+      positional = conf.getBoolean(POSITIONS_KEY, false);
+      numDocs = conf.getInt(NUM_DOCS_KEY, 0);
+      numShards = conf.getInt(SHARDS_KEY, 1);
+    }
+
+    @SuppressWarnings("deprecation")
+    private Shard getShard(int shard) throws IOException {
+      Shard s = shards.get(shard);
+      if (s == null) {
+        String name = SegmentManifest.segmentName(shard);
+        DocLengthTable lengths =
+            DocLengthTable.open(fs, new Path(new Path(conf.get(SHARD_TABLES_KEY), name), DocLengthTable.FILE));
+        BM25 scorer = new BM25(conf.getFloat(K1_KEY, BM25.DEFAULT_K1), conf.getFloat(B_KEY, BM25.DEFAULT_B),
+            lengths, numDocs, conf.getLong(TOTAL_LENGTH_KEY, 0));
+
+        s = new Shard(ShardPartitioner.getShardBase(shard, numDocs, numShards),
+            new PostingWriter(
+                conf.getInt(BLOCK_SIZE_KEY, PostingWriter.DEFAULT_BLOCK_SIZE),
+                positional,
+                PostingCodec.forName(conf.get(CODEC_KEY, PostingCodec.DEFAULT)),
+                scorer),
+            new MapFile.Writer(conf, fs, new Path(new Path(outputPath, name), "part-r-00000").toString(),
+                Text.class, BytesWritable.class));
+        shards.put(shard, s);
+      }
+
+      return s;
+    }
+
+    @Override
+    public void reduce(TextIntWritablePairComparable key, Iterable<Writable> values, Context context)
+        throws IOException, InterruptedException {
+      TERM.set(key.getLeftElement());
+      Shard shard = null;
+      int current = -1;
+
+      // The key is refilled as the values advance, so it always holds the current docno.
+      Iterator<Writable> iter = values.iterator();
+      while (iter.hasNext()) {
+        Writable value = iter.next();
+        int docno = key.getRightElement().get();
+
+        int s = ShardPartitioner.getShard(docno, numDocs, numShards);
+        if (s != current) {
+          if (shard != null) {
+            write(shard);
+          }
+          current = s;
+          shard = getShard(s);
+          shard.postingWriter.reset();
         }
-        
-        TERM.set(currentTerm);
-        
-        outStream.flush();
-        postingByteStream.flush();
-        
-        ByteArrayOutputStream toWrite = new ByteArrayOutputStream(4 + postingByteStream.size());
-        DataOutputStream out = new DataOutputStream(toWrite);
-        WritableUtils.writeVInt(out, docFreq);
-        out.write(postingByteStream.toByteArray());
-
-        context.write(TERM, new BytesWritable(toWrite.toByteArray()) );
-
-        //Reset counters
-        lastDocno = 0;
-        docFreq = 0;
-        currentTerm = key.getKey().toString();
-        postingByteStream.reset();
-        
-        //Iterate through the values (first posting for new word)
-        Iterator<IntWritable> iter = values.iterator();
-        while(iter.hasNext()){
-          docFreq++;
-          termFreq = iter.next().get();
-          
-          dGapInt = thisDocno - lastDocno;
-
-          WritableUtils.writeVInt(outStream, dGapInt);
-          WritableUtils.writeVInt(outStream, termFreq);
-
-          lastDocno = thisDocno;
+
+        if (positional) {
+          ArrayListOfIntsWritable positions = (ArrayListOfIntsWritable) value;
+          shard.postingWriter.add(docno - shard.base, positions.getArray(), positions.size());
+        } else {
+          shard.postingWriter.add(docno - shard.base, ((IntWritable) value).get());
         }
       }
 
+      if (shard != null) {
+        write(shard);
+      }
+    }
+
+    private void write(Shard shard) throws IOException {
+      outBuffer.reset();
+      shard.postingWriter.write(outBuffer);
+      POSTINGS.set(outBuffer.getData(), 0, outBuffer.getLength());
+      shard.out.append(TERM, POSTINGS);
     }
-  
+
     @Override
-    public void cleanup(Context context) throws IOException, InterruptedException{
-
-      TERM.set(currentTerm);
-      
-      outStream.flush();
-      postingByteStream.flush();
-      
-      
-      ByteArrayOutputStream toWrite = new ByteArrayOutputStream(4 + postingByteStream.size());
-      DataOutputStream out = new DataOutputStream(toWrite);
-      WritableUtils.writeVInt(out, docFreq);
-      out.write(postingByteStream.toByteArray());
-
-      context.write(TERM, new BytesWritable(toWrite.toByteArray()));
-      
-      postingByteStream.close();
-      outStream.close();      
-    }
-    
+    public void cleanup(Context context) throws IOException {
+      for (Shard shard : shards.values()) {
+        shard.out.close();
+      }
+    }
   }
 
-  private BuildInvertedIndexCompressed() {}
+  /**
+   * Receives every (term, docno) key of one term in a single call, grouped by
+   * {@link TextIntWritablePairComparable.TermComparator} with docnos in ascending order, and
+   * writes the posting list in the block format of {@link PostingWriter}. Values are tfs, or
+   * position lists when the index is positional, or partial lists from
+   * {@link MyCombiningMapper}.
+   */
+  private static class MyReducer extends
+  Reducer<TextIntWritablePairComparable, Writable, Text, BytesWritable> {
+    private final static Text TERM = new Text();
+    private final static BytesWritable POSTINGS = new BytesWritable();
+
+    private final DataOutputBuffer outBuffer = new DataOutputBuffer();
+    private final DataInputBuffer inBuffer = new DataInputBuffer();
+    private int[] positions = new int[16];
+    private PostingWriter postingWriter;
+    private boolean positional;
+
+    @Override
+    public void setup(Context context) throws IOException {
+      Configuration conf = context.getConfiguration();
+      positional = conf.getBoolean(POSITIONS_KEY, false);
+
+      // With document lengths, lists carry the BM25 max scores ranked queries prune with.
+      BM25 scorer = null;
+      if (conf.get(LENGTHS_KEY) != null) {
+        DocLengthTable lengths = DocLengthTable.open(FileSystem.get(conf), new Path(conf.get(LENGTHS_KEY)));
+        scorer = new BM25(conf.getFloat(K1_KEY, BM25.DEFAULT_K1), conf.getFloat(B_KEY, BM25.DEFAULT_B),
+            lengths);
+      }
+
+      postingWriter = new PostingWriter(
+          conf.getInt(BLOCK_SIZE_KEY, PostingWriter.DEFAULT_BLOCK_SIZE),
+          positional,
+          PostingCodec.forName(conf.get(CODEC_KEY, PostingCodec.DEFAULT)),
+          scorer);
+    }
+
+    @Override
+    public void reduce(TextIntWritablePairComparable key, Iterable<Writable> values, Context context)
+        throws IOException, InterruptedException {
+      postingWriter.reset();
+
+      // The key is refilled as the values advance, so it always holds the current docno.
+      Iterator<Writable> iter = values.iterator();
+      while (iter.hasNext()) {
+        Writable value = iter.next();
+        int docno = key.getRightElement().get();
+
+        if (value instanceof BytesWritable) {
+          addPartialList(docno, (BytesWritable) value);
+        } else if (positional) {
+          ArrayListOfIntsWritable positions = (ArrayListOfIntsWritable) value;
+          postingWriter.add(docno, positions.getArray(), positions.size());
+        } else {
+          postingWriter.add(docno, ((IntWritable) value).get());
+        }
+      }
+
+      outBuffer.reset();
+      postingWriter.write(outBuffer);
+
+      TERM.set(key.getLeftElement());
+      POSTINGS.set(outBuffer.getData(), 0, outBuffer.getLength());
+      context.write(TERM, POSTINGS);
+    }
+
+    /**
+     * Appends the postings of a partial list from {@link MyCombiningMapper}, whose first
+     * document is {@code docno}.
+     */
+    private void addPartialList(int docno, BytesWritable list) throws IOException {
+      inBuffer.reset(list.getBytes(), list.getLength());
+      while (inBuffer.getPosition() < list.getLength()) {
+        docno += WritableUtils.readVInt(inBuffer);
+        int tf = WritableUtils.readVInt(inBuffer);
+
+        if (positional) {
+          if (positions.length < tf) {
+            positions = new int[Math.max(tf, 2 * positions.length)];
+          }
+          int last = 0;
+          for (int i = 0; i < tf; i++) {
+            last += WritableUtils.readVInt(inBuffer);
+            positions[i] = last;
+          }
+          postingWriter.add(docno, positions, tf);
+        } else {
+          postingWriter.add(docno, tf);
+        }
+      }
+    }
+  }
+
+  // Package-private so that UpdateIndexCompressed can build segments with it.
+  BuildInvertedIndexCompressed() {}
 
   private static final String INPUT = "input";
   private static final String OUTPUT = "output";
   private static final String NUM_REDUCERS = "numReducers";
+  private static final String BLOCK_SIZE = "blockSize";
+  private static final String POSITIONS = "positions";
+  private static final String DENSE_DOCNOS = "denseDocnos";
+  private static final String CODEC = "codec";
+  private static final String K1 = "k1";
+  private static final String B = "b";
+  private static final String NO_DICTIONARY = "noDictionary";
+  private static final String TERM_HASH = "termHash";
+  private static final String KEEP_PARTITIONS = "keepPartitions";
+  private static final String COMBINE = "combine";
+  private static final String SHARDS = "shards";
+  private static final String BALANCE = "balance";
+
+  private static final String BLOCK_SIZE_KEY = "index.block.size";
+  private static final String POSITIONS_KEY = "index.positions";
+  private static final String DOCNOS_KEY = "index.docnos.path";
+  private static final String NUM_DOCS_KEY = "index.docnos.count";
+  private static final String BATCHES_KEY = "index.docnos.batches";
+  private static final String CODEC_KEY = "index.codec";
+  private static final String LENGTHS_KEY = "index.lengths.path";
+  private static final String K1_KEY = "index.bm25.k1";
+  private static final String B_KEY = "index.bm25.b";
+  private static final String COMBINE_BYTES_KEY = "index.combine.bytes";
+  private static final String SHARDS_KEY = "index.shards";
+  private static final String SHARD_TABLES_KEY = "index.shards.path";
+  private static final String TOTAL_LENGTH_KEY = "index.shards.totalLength";
+  private static final String PARTITION_TABLE_KEY = "index.partitions.path";
 
   /**
    * Runs this tool.
@@ -253,6 +662,31 @@ public class BuildInvertedIndexCompressed extends Configured implements Tool {
         .withDescription("output path").create(OUTPUT));
     options.addOption(OptionBuilder.withArgName("num").hasArg()
         .withDescription("number of reducers").create(NUM_REDUCERS));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("postings per skip block").create(BLOCK_SIZE));
+    options.addOption(OptionBuilder.withDescription("store term positions for phrase queries")
+        .create(POSITIONS));
+    options.addOption(OptionBuilder.withDescription("number documents densely from 0 instead of by byte offset, "
+        + "for ranking, shards and segments").create(DENSE_DOCNOS));
+    options.addOption(OptionBuilder.withArgName("name").hasArg()
+        .withDescription("posting codec: " + Arrays.toString(PostingCodec.NAMES)).create(CODEC));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("BM25 k1 for the stored max scores").create(K1));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("BM25 b for the stored max scores").create(B));
+    options.addOption(OptionBuilder.withDescription("skip the term dictionary; readers use the MapFiles")
+        .create(NO_DICTIONARY));
+    options.addOption(OptionBuilder.withDescription("also write a minimal perfect hash for exact term lookups")
+        .create(TERM_HASH));
+    options.addOption(OptionBuilder.withDescription("keep the MapFiles next to the term dictionary")
+        .create(KEEP_PARTITIONS));
+    options.addOption(OptionBuilder.withArgName("mb").hasArg()
+        .withDescription("combine postings in the mappers, buffering up to this many MB").create(COMBINE));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("partition the index by document into this many shards").create(SHARDS));
+    options.addOption(OptionBuilder.withArgName("mb").hasArg()
+        .withDescription("balance postings over the reducers by term dfs sampled from this many MB of input")
+        .create(BALANCE));
 
     CommandLine cmdline;
     CommandLineParser parser = new GnuParser();
@@ -277,23 +711,74 @@ public class BuildInvertedIndexCompressed extends Configured implements Tool {
     String outputPath = cmdline.getOptionValue(OUTPUT);
     int reduceTasks = cmdline.hasOption(NUM_REDUCERS) ?
         Integer.parseInt(cmdline.getOptionValue(NUM_REDUCERS)) : 1;
+    int blockSize = cmdline.hasOption(BLOCK_SIZE) ?
+        Integer.parseInt(cmdline.getOptionValue(BLOCK_SIZE)) : PostingWriter.DEFAULT_BLOCK_SIZE;
+    boolean positions = cmdline.hasOption(POSITIONS);
+    boolean denseDocnos = cmdline.hasOption(DENSE_DOCNOS);
+    boolean dictionary = !cmdline.hasOption(NO_DICTIONARY);
+    boolean termHash = dictionary && cmdline.hasOption(TERM_HASH);
+    boolean keepPartitions = !dictionary || cmdline.hasOption(KEEP_PARTITIONS);
+    String codec = cmdline.hasOption(CODEC) ? cmdline.getOptionValue(CODEC) : PostingCodec.DEFAULT;
+    // Fail here rather than in every reducer.
+    PostingCodec.forName(codec);
+    Analyzer analyzer = Analyzer.fromConf(getConf());
+    float k1 = cmdline.hasOption(K1) ? Float.parseFloat(cmdline.getOptionValue(K1)) : BM25.DEFAULT_K1;
+    float b = cmdline.hasOption(B) ? Float.parseFloat(cmdline.getOptionValue(B)) : BM25.DEFAULT_B;
+    long combineBytes = cmdline.hasOption(COMBINE) ?
+        Long.parseLong(cmdline.getOptionValue(COMBINE)) << 20 : 0;
+    int numShards = cmdline.hasOption(SHARDS) ? Integer.parseInt(cmdline.getOptionValue(SHARDS)) : 0;
+    long sampleBytes = cmdline.hasOption(BALANCE) ?
+        Long.parseLong(cmdline.getOptionValue(BALANCE)) << 20 : 0;
+
+    // Shards are docno ranges, and a combined partial list may span several.
+    if (numShards > 0 && (!denseDocnos || combineBytes > 0)) {
+      System.err.println("A document-partitioned index needs -" + DENSE_DOCNOS + " and no -" + COMBINE);
+      return -1;
+    }
+
+    // Shards route postings by docno, so there are no terms to balance.
+    if (numShards > 0 && sampleBytes > 0) {
+      System.err.println("-" + BALANCE + " applies to term-partitioned indexes only, not -" + SHARDS);
+      return -1;
+    }
 
         LOG.info("Tool name: " + BuildInvertedIndexCompressed.class.getSimpleName());
         LOG.info(" - input path: " + inputPath);
         LOG.info(" - output path: " + outputPath);
         LOG.info(" - num reducers: " + reduceTasks);
+        LOG.info(" - block size: " + blockSize);
+        LOG.info(" - positions: " + positions);
+        LOG.info(" - dense docnos: " + denseDocnos);
+        LOG.info(" - codec: " + codec);
+        LOG.info(" - term dictionary: " + dictionary);
+        LOG.info(" - term hash: " + termHash);
+        LOG.info(" - keep partitions: " + keepPartitions);
+        LOG.info(" - analyzer filters: " + analyzer.getFilters());
+        LOG.info(" - combining buffer: " + (combineBytes >> 20) + " MB");
+        LOG.info(" - document shards: " + numShards);
+        LOG.info(" - balancing sample: " + (sampleBytes >> 20) + " MB");
+        if (denseDocnos) {
+          LOG.info(" - bm25 k1, b: " + k1 + ", " + b);
+        }
 
         Job job = Job.getInstance(getConf());
         job.setJobName(BuildInvertedIndexCompressed.class.getSimpleName());
         job.setJarByClass(BuildInvertedIndexCompressed.class);
 
         job.setNumReduceTasks(reduceTasks);
+        job.getConfiguration().setInt(BLOCK_SIZE_KEY, blockSize);
+        job.getConfiguration().setBoolean(POSITIONS_KEY, positions);
+        job.getConfiguration().set(CODEC_KEY, codec);
+        job.getConfiguration().setLong(COMBINE_BYTES_KEY, combineBytes);
 
         FileInputFormat.setInputPaths(job, new Path(inputPath));
-        FileOutputFormat.setOutputPath(job, new Path(outputPath));
 
         job.setMapOutputKeyClass(TextIntWritablePairComparable.class);
-        job.setMapOutputValueClass(IntWritable.class);
+        if (combineBytes > 0) {
+          job.setMapOutputValueClass(BytesWritable.class);
+        } else {
+          job.setMapOutputValueClass(positions ? ArrayListOfIntsWritable.class : IntWritable.class);
+        }
 
         job.setOutputKeyClass(Text.class);
         job.setOutputValueClass(BytesWritable.class);
@@ -301,24 +786,260 @@ public class BuildInvertedIndexCompressed extends Configured implements Tool {
 //        job.setOutputFormatClass(TextOutputFormat.class);
 
         //Use this one v. Using TextOutput just to test output
-        job.setOutputFormatClass(MapFileOutputFormat.class);
+        if (numShards > 0) {
+          // Shard reducers write their MapFiles themselves.
+          LazyOutputFormat.setOutputFormatClass(job, MapFileOutputFormat.class);
+        } else {
+          job.setOutputFormatClass(MapFileOutputFormat.class);
+        }
 
-        job.setMapperClass(MyMapper.class);
-        job.setPartitionerClass(MyPartitioner.class);
-        job.setSortComparatorClass(MyKeyComparator.class);
-        job.setReducerClass(MyReducer.class);
+        if (combineBytes > 0) {
+          job.setMapperClass(MyCombiningMapper.class);
+        } else {
+          job.setMapperClass(positions ? MyPositionalMapper.class : MyMapper.class);
+        }
+        if (numShards > 0) {
+          job.setPartitionerClass(ShardPartitioner.class);
+        } else {
+          job.setPartitionerClass(sampleBytes > 0 ? TablePartitioner.class : MyPartitioner.class);
+        }
+        job.setSortComparatorClass(TextIntWritablePairComparable.Comparator.class);
+        job.setGroupingComparatorClass(TextIntWritablePairComparable.TermComparator.class);
+        job.setReducerClass(numShards > 0 ? MyShardReducer.class : MyReducer.class);
 
         // Delete the output directory if it exists already.
         Path outputDir = new Path(outputPath);
-        FileSystem.get(getConf()).delete(outputDir, true);
+        FileSystem fs = FileSystem.get(getConf());
+        fs.delete(outputDir, true);
+
+        // Dense docnos run through the files of a directory one after another, so such an index of
+        // several files is a segmented one whose manifest tells which file holds each docno.
+        // Unless it is sharded, its single segment is written as the job's output. Offset docnos
+        // keep the plain layout, the job's output being the index.
+        boolean segmented = denseDocnos && !fs.isFile(new Path(inputPath));
+        SegmentManifest batches = null;
+        Path indexDir = outputDir;
+        if (segmented && numShards == 0) {
+          indexDir = new Path(outputDir, SegmentManifest.segmentName(0));
+        }
+        FileOutputFormat.setOutputPath(job, indexDir);
+
+        // The job creates the output directory, so the tables are written next to it until then.
+        Path docnoTable = new Path(outputDir.getParent(), "_" + outputDir.getName() + DocnoTable.FILE);
+        Path lengthTable =
+            new Path(outputDir.getParent(), "_" + outputDir.getName() + DocLengthTable.FILE);
+        Path shardTables = new Path(outputDir.getParent(), "_" + outputDir.getName() + "_shards");
+        Path partitionTable =
+            new Path(outputDir.getParent(), "_" + outputDir.getName() + TermPartitionTable.FILE);
+        Path batchesDir = new Path(outputDir.getParent(), "_" + outputDir.getName() + "_batches");
+        if (denseDocnos) {
+          long tableTime = System.currentTimeMillis();
+          batches = DocnoTable.build(getConf(), new Path(inputPath), docnoTable, lengthTable,
+              new Path(outputDir.getParent(), "_" + outputDir.getName() + "_splits"));
+          int numDocs = batches.getNumDocs();
+          fs.mkdirs(batchesDir);
+          batches.write(fs, batchesDir);
+          job.getConfiguration().set(DOCNOS_KEY, fs.makeQualified(docnoTable).toString());
+          job.getConfiguration().set(BATCHES_KEY, fs.makeQualified(batchesDir).toString());
+          job.getConfiguration().setInt(NUM_DOCS_KEY, numDocs);
+          job.getConfiguration().set(LENGTHS_KEY, fs.makeQualified(lengthTable).toString());
+          job.getConfiguration().setFloat(K1_KEY, k1);
+          job.getConfiguration().setFloat(B_KEY, b);
+          LOG.info("Numbered " + numDocs + " documents in " + batches.getBatches().size() + " files in "
+              + (System.currentTimeMillis() - tableTime) / 1000.0 + " seconds");
+
+          if (numShards > 0) {
+            numShards = Math.max(1, Math.min(numShards, numDocs));
+            writeShardTables(fs, docnoTable, lengthTable, shardTables, numDocs, numShards);
+            job.getConfiguration().setInt(SHARDS_KEY, numShards);
+            job.getConfiguration().set(SHARD_TABLES_KEY, fs.makeQualified(shardTables).toString());
+            job.getConfiguration().setLong(TOTAL_LENGTH_KEY,
+                DocLengthTable.open(fs, lengthTable).getTotalLength());
+          }
+        }
+
+        if (sampleBytes > 0) {
+          writePartitionTable(fs, new Path(inputPath), partitionTable, sampleBytes, reduceTasks,
+              analyzer);
+          job.getConfiguration().set(PARTITION_TABLE_KEY, fs.makeQualified(partitionTable).toString());
+        }
 
         long startTime = System.currentTimeMillis();
-        job.waitForCompletion(true);
+        if (!job.waitForCompletion(true)) {
+          fs.delete(docnoTable, false);
+          fs.delete(lengthTable, false);
+          fs.delete(shardTables, true);
+          fs.delete(partitionTable, false);
+          fs.delete(batchesDir, true);
+          return -1;
+        }
+        fs.delete(batchesDir, true);
         System.out.println("Job Finished in " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
 
+        if (numShards > 0) {
+          IndexMetadata metadata = new IndexMetadata();
+          metadata.setBlockSize(blockSize);
+          metadata.setPositions(positions);
+          metadata.setDenseDocnos(true);
+          metadata.setCodec(codec);
+          metadata.setTermDictionary(dictionary);
+          metadata.setTermHash(termHash);
+          metadata.setAnalyzer(analyzer.getFilters());
+          metadata.setMaxScores(k1, b);
+          metadata.setMaxScoreAverageLength(DocLengthTable.averageLength(
+              job.getConfiguration().getLong(TOTAL_LENGTH_KEY, 0),
+              job.getConfiguration().getInt(NUM_DOCS_KEY, 0)));
+          metadata.setPartitions(1);
+
+          finishShards(fs, outputDir, shardTables, batches,
+              job.getConfiguration().getInt(NUM_DOCS_KEY, 0), numShards, metadata, keepPartitions);
+          fs.delete(docnoTable, false);
+          fs.delete(lengthTable, false);
+          fs.delete(shardTables, true);
+          return 0;
+        }
+
+        if (denseDocnos) {
+          fs.rename(docnoTable, new Path(indexDir, DocnoTable.FILE));
+          fs.rename(lengthTable, new Path(indexDir, DocLengthTable.FILE));
+        }
+        if (sampleBytes > 0) {
+          fs.rename(partitionTable, new Path(indexDir, TermPartitionTable.FILE));
+        }
+
+        // The local runner ignores the reducer count, so count what was actually written.
+        int partitions = fs.listStatus(indexDir, MapFilePostingsIndex.PARTITIONS).length;
+
+        if (dictionary) {
+          long dictionaryTime = System.currentTimeMillis();
+          int numTerms = DictionaryPostingsIndex.build(fs, indexDir,
+              TermDictionary.DEFAULT_TERMS_PER_BLOCK, termHash, keepPartitions);
+          LOG.info("Wrote dictionary of " + numTerms + " terms in "
+              + (System.currentTimeMillis() - dictionaryTime) / 1000.0 + " seconds");
+        }
+
+        IndexMetadata metadata = new IndexMetadata();
+        metadata.setBlockSize(blockSize);
+        metadata.setPositions(positions);
+        metadata.setDenseDocnos(denseDocnos);
+        metadata.setCodec(codec);
+        metadata.setTermDictionary(dictionary);
+        metadata.setTermHash(termHash);
+        metadata.setAnalyzer(analyzer.getFilters());
+        metadata.setPartitionTable(sampleBytes > 0);
+        if (denseDocnos) {
+          metadata.setMaxScores(k1, b);
+        }
+        metadata.setPartitions(partitions);
+        metadata.write(fs, indexDir);
+
+        if (segmented) {
+          batches.addSegment(batches.newSegmentName(), 0, batches.getNumDocs());
+          batches.write(fs, outputDir);
+        }
+
         return 0;
   }
 
+  /**
+   * Estimates term dfs from a sample of the input and writes a {@link TermPartitionTable} that
+   * balances their postings over the reducers, logging the estimated postings per reducer with
+   * hashing alone and with the table.
+   */
+  private static void writePartitionTable(FileSystem fs, Path input, Path partitionTable,
+      long sampleBytes, int reduceTasks, Analyzer analyzer) throws IOException {
+    long sampleTime = System.currentTimeMillis();
+    Map<String, Long> dfs = TermPartitionTable.sample(fs, input, sampleBytes, analyzer);
+    TermPartitionTable table =
+        TermPartitionTable.build(dfs, reduceTasks, TermPartitionTable.DEFAULT_MAX_TERMS);
+    table.write(fs, partitionTable);
+
+    LOG.info("Placed " + table.size() + " of " + dfs.size() + " sampled terms in "
+        + (System.currentTimeMillis() - sampleTime) / 1000.0 + " seconds");
+    LOG.info(" - estimated postings per reducer, hashed: "
+        + TermPartitionTable.formatLoads(TermPartitionTable.getHashLoads(dfs, reduceTasks)));
+    LOG.info(" - estimated postings per reducer, balanced: "
+        + TermPartitionTable.formatLoads(table.getLoads(dfs)));
+  }
+
+  /**
+   * Cuts the docno and length tables of the collection into one pair per shard, in
+   * shardTables/seg-NNNNN, for the shard reducers and then the shards themselves.
+   */
+  private static void writeShardTables(FileSystem fs, Path docnoTable, Path lengthTable,
+      Path shardTables, int numDocs, int numShards) throws IOException {
+    fs.delete(shardTables, true);
+    FSDataInputStream docnos = fs.open(docnoTable);
+    FSDataInputStream lengths = fs.open(lengthTable);
+    byte[] buffer = new byte[1 << 16];
+    try {
+      for (int shard = 0; shard < numShards; shard++) {
+        Path dir = new Path(shardTables, SegmentManifest.segmentName(shard));
+        long docs = ShardPartitioner.getShardBase(shard + 1, numDocs, numShards)
+            - ShardPartitioner.getShardBase(shard, numDocs, numShards);
+
+        copy(docnos, fs.create(new Path(dir, DocnoTable.FILE), true), 8 * docs, buffer);
+        copy(lengths, fs.create(new Path(dir, DocLengthTable.FILE), true), 4 * docs, buffer);
+      }
+    } finally {
+      docnos.close();
+      lengths.close();
+    }
+  }
+
+  private static void copy(FSDataInputStream in, OutputStream out, long length, byte[] buffer)
+      throws IOException {
+    try {
+      while (length > 0) {
+        int n = (int) Math.min(length, buffer.length);
+        in.readFully(buffer, 0, n);
+        out.write(buffer, 0, n);
+        length -= n;
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Completes each shard written by the shard reducers into an index of its own, with its tables,
+   * dictionary and metadata, and lists the shards after the collection's files in its
+   * {@link SegmentManifest}, so that the index is searched, updated and merged like a segmented
+   * one.
+   */
+  @SuppressWarnings("deprecation")
+  private static void finishShards(FileSystem fs, Path outputDir, Path shardTables,
+      SegmentManifest manifest, int numDocs, int numShards, IndexMetadata metadata,
+      boolean keepPartitions) throws IOException {
+    for (int shard = 0; shard < numShards; shard++) {
+      String name = manifest.newSegmentName();
+      Path dir = new Path(outputDir, name);
+
+      // A shard whose documents are all empty gets no postings, and no MapFile from its reducer.
+      if (fs.listStatus(dir, MapFilePostingsIndex.PARTITIONS) == null
+          || fs.listStatus(dir, MapFilePostingsIndex.PARTITIONS).length == 0) {
+        new MapFile.Writer(fs.getConf(), fs, new Path(dir, "part-r-00000").toString(),
+            Text.class, BytesWritable.class).close();
+      }
+
+      fs.rename(new Path(new Path(shardTables, name), DocnoTable.FILE), new Path(dir, DocnoTable.FILE));
+      fs.rename(new Path(new Path(shardTables, name), DocLengthTable.FILE),
+          new Path(dir, DocLengthTable.FILE));
+
+      if (metadata.hasTermDictionary()) {
+        DictionaryPostingsIndex.build(fs, dir, TermDictionary.DEFAULT_TERMS_PER_BLOCK,
+            metadata.hasTermHash(), keepPartitions);
+      }
+      metadata.write(fs, dir);
+
+      int base = ShardPartitioner.getShardBase(shard, numDocs, numShards);
+      manifest.addSegment(name, base, ShardPartitioner.getShardBase(shard + 1, numDocs, numShards) - base);
+    }
+
+    manifest.write(fs, outputDir);
+    LOG.info("Wrote " + numShards + " document shards");
+  }
+
   /**
    * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
    */
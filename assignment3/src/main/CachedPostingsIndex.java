@@ -0,0 +1,36 @@
+import java.io.IOException;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Serves lookups from a {@link PostingsCache} and falls through to an index on a miss. Several
+ * indexes, each used by one thread, may share the same cache.
+ */
+public class CachedPostingsIndex extends PostingsIndex {
+  private final PostingsIndex index;
+  private final PostingsCache cache;
+
+  public CachedPostingsIndex(PostingsIndex index, PostingsCache cache) {
+    this.index = index;
+    this.cache = cache;
+  }
+
+  @Override
+  public boolean getPostings(Text term, BytesWritable postings) throws IOException {
+    if (!cache.get(term, postings)) {
+      index.getPostings(term, postings);
+      cache.put(term, postings);
+    }
+
+    return postings.getLength() > 0;
+  }
+
+  /**
+   * Closes the underlying index; the cache stays usable by other indexes.
+   */
+  @Override
+  public void close() throws IOException {
+    index.close();
+  }
+}
@@ -0,0 +1,70 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Fetches lines of the collection by byte offset. Lines are scanned in place for their end and
+ * only their own bytes are decoded. Fetching lines in ascending offset order, as query results
+ * come, lets a reader go through the collection in a single forward pass.
+ *
+ * Readers reuse their buffers and are not thread-safe.
+ */
+public abstract class CollectionReader implements Closeable {
+  private byte[] line = new byte[256];
+
+  /**
+   * Opens a collection: memory-mapped if it is on the local file system, streamed otherwise.
+   */
+  public static CollectionReader open(FileSystem fs, Path path) throws IOException {
+    if (fs instanceof LocalFileSystem) {
+      return new MappedCollectionReader(((LocalFileSystem) fs).pathToFile(path));
+    }
+
+    return new StreamCollectionReader(fs.open(path));
+  }
+
+  /**
+   * Returns the byte at a position of the collection, or -1 past its end.
+   */
+  protected abstract int byteAt(long pos) throws IOException;
+
+  /**
+   * Returns the line starting at an offset, without its terminator, or null at the end of the
+   * collection.
+   */
+  public String readLine(long offset) throws IOException {
+    int n = 0;
+    int b = byteAt(offset);
+    if (b < 0) {
+      return null;
+    }
+
+    while (b >= 0 && b != '\n') {
+      if (n == line.length) {
+        byte[] grown = new byte[2 * n];
+        System.arraycopy(line, 0, grown, 0, n);
+        line = grown;
+      }
+      line[n++] = (byte) b;
+      b = byteAt(offset + n);
+    }
+
+    if (n > 0 && line[n - 1] == '\r') {
+      n--;
+    }
+
+    return decode(line, n);
+  }
+
+  private static String decode(byte[] bytes, int length) {
+    try {
+      return new String(bytes, 0, length, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
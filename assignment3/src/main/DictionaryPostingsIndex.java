@@ -0,0 +1,243 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Reads posting lists through a {@link TermDictionary} from a single postings file, {@link #FILE},
+ * that holds every list back to back in term order. Both are written by {@link #build} from the
+ * MapFile partitions once the index job is done, and the partitions are then deleted unless asked
+ * for; {@link #scan} reads the lists in term order instead. Local postings files are memory-mapped in 1 GB
+ * chunks, so a lookup is a dictionary search plus one copy; others are read with positioned reads.
+ * Given a {@link TermHash}, lookups go through it instead of searching the dictionary.
+ *
+ * Not thread-safe, like the dictionary it uses.
+ */
+public class DictionaryPostingsIndex extends PostingsIndex {
+  public static final String FILE = "_postings";
+
+  private static final int CHUNK_BITS = 30;
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+  private final TermDictionary dictionary;
+  private final TermHash hash;
+  private final ByteBuffer[] chunks;
+  private final FSDataInputStream in;
+
+  /**
+   * @param useHash whether to look terms up through the index's {@link TermHash}
+   */
+  public DictionaryPostingsIndex(FileSystem fs, Path indexPath, boolean useHash) throws IOException {
+    dictionary = TermDictionary.open(fs, indexPath);
+    hash = useHash ? TermHash.open(fs, indexPath) : null;
+
+    Path path = new Path(indexPath, FILE);
+    if (fs instanceof LocalFileSystem) {
+      long length = fs.getFileStatus(path).getLen();
+      chunks = new ByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_BITS)];
+
+      RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem) fs).pathToFile(path), "r");
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << CHUNK_BITS;
+          chunks[i] = raf.getChannel()
+              .map(FileChannel.MapMode.READ_ONLY, start, Math.min(length - start, 1L << CHUNK_BITS));
+        }
+      } finally {
+        raf.close();
+      }
+      in = null;
+    } else {
+      chunks = null;
+      in = fs.open(path);
+    }
+  }
+
+  @Override
+  public boolean getPostings(Text term, BytesWritable postings) throws IOException {
+    long offset;
+    int length;
+    if (hash != null) {
+      int slot = hash.find(term);
+      if (slot < 0) {
+        postings.setSize(0);
+        return false;
+      }
+      offset = hash.getOffset(slot);
+      length = hash.getLength(slot);
+    } else {
+      if (!dictionary.find(term)) {
+        postings.setSize(0);
+        return false;
+      }
+      offset = dictionary.getOffset();
+      length = dictionary.getLength();
+    }
+
+    postings.setSize(length);
+    byte[] bytes = postings.getBytes();
+
+    if (chunks == null) {
+      in.readFully(offset, bytes, 0, length);
+      return true;
+    }
+
+    // A list may straddle two chunks.
+    int done = 0;
+    while (done < length) {
+      ByteBuffer chunk = chunks[(int) ((offset + done) >>> CHUNK_BITS)];
+      chunk.position((int) ((offset + done) & CHUNK_MASK));
+      int n = Math.min(length - done, chunk.remaining());
+      chunk.get(bytes, done, n);
+      done += n;
+    }
+
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (in != null) {
+      in.close();
+    }
+  }
+
+  /**
+   * Opens a scanner that reads the postings file from start to end, along with the dictionary.
+   */
+  static Scanner scan(FileSystem fs, Path indexPath) throws IOException {
+    final TermDictionary dictionary = TermDictionary.open(fs, indexPath);
+    final DataInputStream in = new DataInputStream(
+        new BufferedInputStream(fs.open(new Path(indexPath, FILE)), 1 << 16));
+
+    return new Scanner() {
+      @Override
+      public boolean next(Text term, BytesWritable postings) throws IOException {
+        if (!dictionary.next(term)) {
+          return false;
+        }
+
+        // The lists are back to back in term order, so each starts where the last ended.
+        postings.setSize(dictionary.getLength());
+        in.readFully(postings.getBytes(), 0, dictionary.getLength());
+        return true;
+      }
+
+      @Override
+      public void close() throws IOException {
+        in.close();
+      }
+    };
+  }
+
+  /**
+   * One partition's reader and its current entry, for the merge in {@link #build}.
+   */
+  private static class Head {
+    final MapFile.Reader reader;
+    final Text term = new Text();
+    final BytesWritable postings = new BytesWritable();
+
+    Head(MapFile.Reader reader) {
+      this.reader = reader;
+    }
+
+    boolean next() throws IOException {
+      return reader.next(term, postings);
+    }
+  }
+
+  /**
+   * Merges the sorted MapFile partitions of an index into the postings file and dictionary. The
+   * partitions are hash-partitioned, so each is sorted but their terms interleave; a k-way merge
+   * over one reader per partition restores global term order. The partitions are deleted
+   * afterwards, unless kept for tools that read them directly, such as {@link TermLookupBenchmark}.
+   *
+   * @param hash whether to also write a {@link TermHash} over the vocabulary
+   * @param keepPartitions whether to keep the MapFile partitions
+   * @return the number of terms
+   */
+  public static int build(FileSystem fs, Path indexPath, int termsPerBlock, boolean hash,
+      boolean keepPartitions) throws IOException {
+    FileStatus[] parts = fs.listStatus(indexPath, MapFilePostingsIndex.PARTITIONS);
+    Arrays.sort(parts);
+
+    PriorityQueue<Head> heads = new PriorityQueue<Head>(Math.max(parts.length, 1),
+        new Comparator<Head>() {
+          @Override
+          public int compare(Head a, Head b) {
+            return a.term.compareTo(b.term);
+          }
+        });
+
+    OutputStream out = new BufferedOutputStream(fs.create(new Path(indexPath, FILE), true), 1 << 16);
+    TermDictionary.Writer dictionary =
+        new TermDictionary.Writer(fs, new Path(indexPath, TermDictionary.FILE), termsPerBlock);
+
+    TermHash.Builder hashBuilder = hash ? new TermHash.Builder() : null;
+
+    int numTerms = 0;
+    long offset = 0;
+    try {
+      for (FileStatus part : parts) {
+        Head head = new Head(new MapFile.Reader(part.getPath(), fs.getConf()));
+        if (head.next()) {
+          heads.add(head);
+        } else {
+          head.reader.close();
+        }
+      }
+
+      while (!heads.isEmpty()) {
+        Head head = heads.poll();
+        out.write(head.postings.getBytes(), 0, head.postings.getLength());
+        dictionary.add(head.term, head.postings.getLength());
+        if (hashBuilder != null) {
+          hashBuilder.add(head.term, offset, head.postings.getLength());
+        }
+        offset += head.postings.getLength();
+        numTerms++;
+
+        if (head.next()) {
+          heads.add(head);
+        } else {
+          head.reader.close();
+        }
+      }
+    } finally {
+      for (Head head : heads) {
+        head.reader.close();
+      }
+      out.close();
+      dictionary.close();
+    }
+
+    if (hashBuilder != null) {
+      hashBuilder.write(fs, new Path(indexPath, TermHash.FILE));
+    }
+
+    if (!keepPartitions) {
+      for (FileStatus part : parts) {
+        fs.delete(part.getPath(), true);
+      }
+    }
+
+    return numTerms;
+  }
+}
@@ -0,0 +1,119 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Holds the length of each document, in tokens as the mappers count them, for length
+ * normalization in ranked retrieval. The table is a flat file of big-endian ints indexed by dense
+ * docno, stored as {@link #FILE} in the index directory and written alongside the
+ * {@link DocnoTable} by {@link DocnoTable#build}. Like the docno table, local tables are
+ * memory-mapped and others are read into memory.
+ */
+public class DocLengthTable {
+  public static final String FILE = "_doclengths";
+
+  // 2^28 ints, or 1 GB, per buffer.
+  private static final int CHUNK_BITS = 28;
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+  private final IntBuffer[] chunks;
+  private final int numDocs;
+  private final long totalLength;
+  private final float averageLength;
+
+  private DocLengthTable(IntBuffer[] chunks, int numDocs) {
+    this.chunks = chunks;
+    this.numDocs = numDocs;
+
+    long total = 0;
+    for (IntBuffer chunk : chunks) {
+      for (int i = 0; i < chunk.limit(); i++) {
+        total += chunk.get(i);
+      }
+    }
+    this.totalLength = total;
+    this.averageLength = averageLength(total, numDocs);
+  }
+
+  /**
+   * Returns the average of {@code numDocs} lengths summing to {@code totalLength}, rounded the
+   * same way for a table and for several tables taken together.
+   */
+  public static float averageLength(long totalLength, int numDocs) {
+    return numDocs == 0 ? 0 : (float) ((double) totalLength / numDocs);
+  }
+
+  public int size() {
+    return numDocs;
+  }
+
+  public int getLength(int docno) {
+    return chunks[docno >>> CHUNK_BITS].get(docno & CHUNK_MASK);
+  }
+
+  public long getTotalLength() {
+    return totalLength;
+  }
+
+  public float getAverageLength() {
+    return averageLength;
+  }
+
+  /**
+   * Opens the document length table of an index, or returns null if the index has none: indexes
+   * with byte offsets as docnos, and older indexes, were built without one.
+   */
+  public static DocLengthTable open(FileSystem fs, Path indexPath, IndexMetadata metadata)
+      throws IOException {
+    Path path = new Path(indexPath, FILE);
+    if (!metadata.hasDenseDocnos() || !fs.exists(path)) {
+      return null;
+    }
+
+    return open(fs, path);
+  }
+
+  /**
+   * Opens a table file directly, as the reducers do while the index is being built.
+   */
+  public static DocLengthTable open(FileSystem fs, Path path) throws IOException {
+    long length = fs.getFileStatus(path).getLen();
+    int numDocs = (int) (length / 4);
+    IntBuffer[] chunks = new IntBuffer[(int) (((long) numDocs + CHUNK_MASK) >>> CHUNK_BITS)];
+
+    if (fs instanceof LocalFileSystem) {
+      RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem) fs).pathToFile(path), "r");
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << (CHUNK_BITS + 2);
+          chunks[i] = raf.getChannel()
+              .map(FileChannel.MapMode.READ_ONLY, start, Math.min(length - start, 4L << CHUNK_BITS))
+              .asIntBuffer();
+        }
+      } finally {
+        raf.close();
+      }
+    } else {
+      FSDataInputStream in = fs.open(path);
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << (CHUNK_BITS + 2);
+          byte[] bytes = new byte[(int) Math.min(length - start, 4L << CHUNK_BITS)];
+          in.readFully(bytes);
+          chunks[i] = ByteBuffer.wrap(bytes).asIntBuffer();
+        }
+      } finally {
+        in.close();
+      }
+    }
+
+    return new DocLengthTable(chunks, numDocs);
+  }
+}
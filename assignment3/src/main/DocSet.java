@@ -0,0 +1,43 @@
+/**
+ * An immutable set of docnos produced by boolean query evaluation. {@link ArrayDocSet} holds
+ * sparse sets as sorted int arrays; {@link RoaringDocSet} holds large sets as compressed bitmaps.
+ * Operations accept either representation and return whichever suits the result.
+ */
+public abstract class DocSet {
+  public static final int NO_MORE_DOCS = PostingsCursor.NO_MORE_DOCS;
+
+  /**
+   * Iterates the docnos of a set in ascending order.
+   */
+  public interface DocIterator {
+    /**
+     * Returns the next docno, or {@link DocSet#NO_MORE_DOCS} when done.
+     */
+    int nextDoc();
+  }
+
+  public abstract int size();
+
+  public abstract boolean contains(int docno);
+
+  public abstract DocIterator iterator();
+
+  public abstract DocSet and(DocSet other);
+
+  public abstract DocSet or(DocSet other);
+
+  /**
+   * Returns the docnos of this set that are not in {@code other}.
+   */
+  public abstract DocSet andNot(DocSet other);
+
+  /**
+   * Intersects with the remaining postings under a cursor.
+   */
+  public abstract DocSet and(PostingsCursor cursor);
+
+  /**
+   * Removes the remaining postings under a cursor, streaming through it with advance().
+   */
+  public abstract DocSet andNot(PostingsCursor cursor);
+}
@@ -0,0 +1,306 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.LazyOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+
+/**
+ * Maps dense docnos (0, 1, 2, ... in collection order) to the byte offsets of their lines. The
+ * table is a flat file of big-endian longs, one per line of the collection, each relative to the
+ * start of the line's file; a collection of several files lists them, with their first docnos,
+ * in the {@link SegmentManifest} of a segmented index. It is stored as
+ * {@link #FILE} in the index directory. Local tables are memory-mapped; others are read into
+ * memory.
+ */
+public class DocnoTable {
+  public static final String FILE = "_docnos";
+
+  // 2^27 longs, or 1 GB, per buffer.
+  private static final int CHUNK_BITS = 27;
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+  private final LongBuffer[] chunks;
+  private final int numDocs;
+
+  private DocnoTable(LongBuffer[] chunks, int numDocs) {
+    this.chunks = chunks;
+    this.numDocs = numDocs;
+  }
+
+  public int size() {
+    return numDocs;
+  }
+
+  public long getOffset(int docno) {
+    return chunks[docno >>> CHUNK_BITS].get(docno & CHUNK_MASK);
+  }
+
+  /**
+   * Opens the docno table of an index, or returns null if the index uses byte offsets as docnos.
+   */
+  public static DocnoTable open(FileSystem fs, Path indexPath, IndexMetadata metadata)
+      throws IOException {
+    if (!metadata.hasDenseDocnos()) {
+      return null;
+    }
+
+    Path path = new Path(indexPath, FILE);
+    long length = fs.getFileStatus(path).getLen();
+    int numDocs = (int) (length / 8);
+    LongBuffer[] chunks = new LongBuffer[(int) (((long) numDocs + CHUNK_MASK) >>> CHUNK_BITS)];
+
+    if (fs instanceof LocalFileSystem) {
+      RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem) fs).pathToFile(path), "r");
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << (CHUNK_BITS + 3);
+          chunks[i] = raf.getChannel()
+              .map(FileChannel.MapMode.READ_ONLY, start, Math.min(length - start, 8L << CHUNK_BITS))
+              .asLongBuffer();
+        }
+      } finally {
+        raf.close();
+      }
+    } else {
+      FSDataInputStream in = fs.open(path);
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << (CHUNK_BITS + 3);
+          byte[] bytes = new byte[(int) Math.min(length - start, 8L << CHUNK_BITS)];
+          in.readFully(bytes);
+          chunks[i] = ByteBuffer.wrap(bytes).asLongBuffer();
+        }
+      } finally {
+        in.close();
+      }
+    }
+
+    return new DocnoTable(chunks, numDocs);
+  }
+
+  /**
+   * Numbers the lines of a collection file, or of every file under a directory, with a map-only
+   * job. Each mapper writes the offsets of its split's lines, as TextInputFormat reports them, and
+   * the number of terms the analyzer finds on each, as the build's mappers analyze them; the
+   * driver then orders the splits by file and start, prefix-sums their line counts, and
+   * concatenates their offsets into the table and their counts into a {@link DocLengthTable}.
+   * Offsets come from the same record reader as the build's, so they match on compressed input
+   * too.
+   *
+   * Docnos run through the files in path order. The files are returned as the batches of a
+   * manifest, each with its first docno and number of lines, and the offsets in the table are
+   * relative to the start of each line's file.
+   *
+   * @param workDir a scratch directory for the job's output, deleted afterwards
+   */
+  public static SegmentManifest build(Configuration conf, Path input, Path table, Path lengthTable,
+      Path workDir) throws IOException, InterruptedException, ClassNotFoundException {
+    FileSystem fs = FileSystem.get(conf);
+    fs.delete(workDir, true);
+
+    Job job = Job.getInstance(conf);
+    job.setJobName(DocnoTable.class.getSimpleName());
+    job.setJarByClass(DocnoTable.class);
+    job.setNumReduceTasks(0);
+    job.setMapperClass(SplitMapper.class);
+    job.setOutputKeyClass(NullWritable.class);
+    job.setOutputValueClass(NullWritable.class);
+    // The mappers write side files only, so no part files are created.
+    LazyOutputFormat.setOutputFormatClass(job, SequenceFileOutputFormat.class);
+    FileInputFormat.setInputPaths(job, input);
+    FileOutputFormat.setOutputPath(job, workDir);
+
+    try {
+      if (!job.waitForCompletion(true)) {
+        throw new IOException("Counting the lines of " + input + " failed");
+      }
+
+      FileStatus[] files = fs.listStatus(workDir, new PathFilter() {
+        @Override
+        public boolean accept(Path path) {
+          return path.getName().startsWith(OFFSETS + "-");
+        }
+      });
+      Split[] splits = new Split[files.length];
+      for (int i = 0; i < files.length; i++) {
+        splits[i] = new Split(fs, files[i]);
+      }
+      Arrays.sort(splits);
+
+      SegmentManifest batches = new SegmentManifest();
+      OutputStream out = fs.create(table, true);
+      OutputStream lengths = fs.create(lengthTable, true);
+      long numDocs = 0;
+      try {
+        for (int i = 0; i < splits.length; ) {
+          long fileDocs = 0;
+          int j = i;
+          for (; j < splits.length && splits[j].file.equals(splits[i].file); j++) {
+            splits[j].copy(fs, out, lengths);
+            fileDocs += splits[j].numDocs;
+          }
+
+          numDocs += fileDocs;
+          if (numDocs > Integer.MAX_VALUE) {
+            throw new IOException("Too many lines for int docnos: " + numDocs);
+          }
+          batches.addCollection(new Path(splits[i].file), (int) fileDocs);
+          i = j;
+        }
+      } finally {
+        out.close();
+        lengths.close();
+      }
+
+      return batches;
+    } finally {
+      fs.delete(workDir, true);
+    }
+  }
+
+  private static final String OFFSETS = "offsets";
+  private static final String LENGTHS = "lengths";
+
+  /**
+   * Writes the offsets of a split's lines to a side file headed by the split's file and start,
+   * and the number of terms on each line to a second side file.
+   */
+  private static class SplitMapper extends Mapper<LongWritable, Text, NullWritable, NullWritable> {
+    private DataOutputStream offsets;
+    private DataOutputStream lengths;
+    private Analyzer analyzer;
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+      FileSplit split = (FileSplit) context.getInputSplit();
+      Path offsetsPath = FileOutputFormat.getPathForWorkFile(context, OFFSETS, "");
+      Path lengthsPath = FileOutputFormat.getPathForWorkFile(context, LENGTHS, "");
+      FileSystem fs = offsetsPath.getFileSystem(context.getConfiguration());
+
+      offsets = new DataOutputStream(new BufferedOutputStream(fs.create(offsetsPath, false), 1 << 16));
+      lengths = new DataOutputStream(new BufferedOutputStream(fs.create(lengthsPath, false), 1 << 16));
+      offsets.writeUTF(split.getPath().toString());
+      offsets.writeLong(split.getStart());
+
+      analyzer = Analyzer.fromConf(context.getConfiguration());
+    }
+
+    @Override
+    public void map(LongWritable offset, Text line, Context context) throws IOException {
+      offsets.writeLong(offset.get());
+
+      int n = 0;
+      analyzer.reset(line);
+      while (analyzer.next()) {
+        n++;
+      }
+      lengths.writeInt(n);
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException {
+      offsets.close();
+      lengths.close();
+    }
+  }
+
+  /**
+   * The side files of one split, ordered by file and then start.
+   */
+  private static class Split implements Comparable<Split> {
+    final String file;
+    final long start;
+    final Path offsets;
+    final Path lengths;
+    final long headerLength;
+    final long numDocs;
+
+    Split(FileSystem fs, FileStatus status) throws IOException {
+      offsets = status.getPath();
+      lengths = new Path(offsets.getParent(),
+          LENGTHS + offsets.getName().substring(OFFSETS.length()));
+
+      FSDataInputStream in = fs.open(offsets);
+      try {
+        file = in.readUTF();
+        start = in.readLong();
+        headerLength = in.getPos();
+      } finally {
+        in.close();
+      }
+      numDocs = (status.getLen() - headerLength) / 8;
+    }
+
+    void copy(FileSystem fs, OutputStream out, OutputStream lengthsOut) throws IOException {
+      FSDataInputStream in = fs.open(offsets);
+      try {
+        in.seek(headerLength);
+        IOUtils.copyBytes(in, out, 1 << 16, false);
+      } finally {
+        in.close();
+      }
+
+      in = fs.open(lengths);
+      try {
+        IOUtils.copyBytes(in, lengthsOut, 1 << 16, false);
+      } finally {
+        in.close();
+      }
+    }
+
+    @Override
+    public int compareTo(Split other) {
+      int c = file.compareTo(other.file);
+      return c != 0 ? c : (start < other.start ? -1 : (start == other.start ? 0 : 1));
+    }
+  }
+
+  /**
+   * Finds the docno of the line at an offset by binary search over a table stream, for mappers
+   * that need the docno of the first line of their split. The search is limited to the docnos of
+   * the split's file, from {@code first} on.
+   */
+  static int find(FSDataInputStream table, int first, int numDocs, long offset) throws IOException {
+    int lo = first;
+    int hi = first + numDocs - 1;
+
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      table.seek(8L * mid);
+      long midOffset = table.readLong();
+
+      if (midOffset < offset) {
+        lo = mid + 1;
+      } else if (midOffset > offset) {
+        hi = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+
+    throw new IOException("No line starts at offset " + offset + " in the docno table");
+  }
+}
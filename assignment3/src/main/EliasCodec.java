@@ -0,0 +1,63 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes d-gaps and tfs in Elias gamma or Elias delta code, interleaved. Gamma suits the small
+ * gaps of frequent terms; delta grows more slowly and suits the large gaps of rare ones. The first
+ * d-gap of a block, which may be 0, is written plus one.
+ */
+public class EliasCodec extends PostingCodec {
+  private final boolean delta;
+  private final BitReader in = new BitReader();
+
+  /**
+   * @param delta whether to use delta rather than gamma code
+   */
+  public EliasCodec(boolean delta) {
+    this.delta = delta;
+  }
+
+  @Override
+  public String getName() {
+    return delta ? "delta" : "gamma";
+  }
+
+  @Override
+  public void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException {
+    BitWriter bits = new BitWriter(out);
+
+    for (int i = 0; i < n; i++) {
+      int gap = i == 0 ? gaps[i] + 1 : gaps[i];
+      if (delta) {
+        bits.writeDelta(gap);
+        bits.writeDelta(tfs[i]);
+      } else {
+        bits.writeGamma(gap);
+        bits.writeGamma(tfs[i]);
+      }
+    }
+
+    bits.flush();
+  }
+
+  @Override
+  public void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n) {
+    in.reset(bytes, pos);
+
+    if (delta) {
+      for (int i = 0; i < n; i++) {
+        gaps[i] = in.readDelta();
+        tfs[i] = in.readDelta();
+      }
+    } else {
+      for (int i = 0; i < n; i++) {
+        gaps[i] = in.readGamma();
+        tfs[i] = in.readGamma();
+      }
+    }
+
+    if (n > 0) {
+      gaps[0]--;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes d-gaps in Golomb code and tfs in gamma code. The Golomb parameter is the usual
+ * 0.69 x mean d-gap, and since postings arrive a block at a time, it is taken from each block's
+ * own gaps and stored at the start of the block; for a term spread evenly through the collection
+ * that mean is N / df. Gaps after the first of a block are at least 1 and are written minus one.
+ */
+public class GolombCodec extends PostingCodec {
+  private final BitReader in = new BitReader();
+
+  @Override
+  public String getName() {
+    return "golomb";
+  }
+
+  @Override
+  public void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException {
+    long sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += i == 0 ? gaps[i] : gaps[i] - 1;
+    }
+    int b = (int) Math.max(1, Math.ceil(0.69 * sum / Math.max(n, 1)));
+
+    BitWriter bits = new BitWriter(out);
+    bits.writeGamma(b);
+
+    int k = 32 - Integer.numberOfLeadingZeros(b - 1);
+    int u = (1 << k) - b;
+    for (int i = 0; i < n; i++) {
+      int x = i == 0 ? gaps[i] : gaps[i] - 1;
+      int r = x % b;
+
+      bits.writeUnary(x / b);
+      if (r < u) {
+        bits.writeBits(r, k - 1);
+      } else {
+        bits.writeBits(r + u, k);
+      }
+      bits.writeGamma(tfs[i]);
+    }
+
+    bits.flush();
+  }
+
+  @Override
+  public void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n) {
+    in.reset(bytes, pos);
+
+    int b = in.readGamma();
+    int k = 32 - Integer.numberOfLeadingZeros(b - 1);
+    int u = (1 << k) - b;
+    for (int i = 0; i < n; i++) {
+      int q = in.readUnary();
+      int r = 0;
+      if (k > 0) {
+        r = in.readBits(k - 1);
+        if (r >= u) {
+          r = ((r << 1) | in.readBits(1)) - u;
+        }
+      }
+
+      gaps[i] = q * b + r + (i == 0 ? 0 : 1);
+      tfs[i] = in.readGamma();
+    }
+  }
+}
@@ -0,0 +1,200 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Describes how a compressed index was built, so that readers decode it the same way. Written by
+ * {@link BuildInvertedIndexCompressed} as a properties file next to the MapFile partitions; an
+ * index without one gets the defaults.
+ */
+public class IndexMetadata {
+  public static final String FILE = "_metadata";
+
+  private static final String POSITIONS = "positions";
+  private static final String BLOCK_SIZE = "blockSize";
+  private static final String PARTITIONS = "partitions";
+  private static final String DOCNOS = "docnos";
+  private static final String CODEC = "codec";
+  private static final String K1 = "bm25.k1";
+  private static final String B = "bm25.b";
+  private static final String AVERAGE_LENGTH = "bm25.avgdl";
+  private static final String DICTIONARY = "dictionary";
+  private static final String TERM_HASH = "termHash";
+  private static final String PARTITION_TABLE = "partitionTable";
+  private static final String ANALYZER = "analyzer";
+
+  private final Properties properties = new Properties();
+
+  public boolean hasPositions() {
+    return Boolean.parseBoolean(properties.getProperty(POSITIONS, "false"));
+  }
+
+  public void setPositions(boolean positions) {
+    properties.setProperty(POSITIONS, Boolean.toString(positions));
+  }
+
+  public int getBlockSize() {
+    return Integer.parseInt(
+        properties.getProperty(BLOCK_SIZE, Integer.toString(PostingWriter.DEFAULT_BLOCK_SIZE)));
+  }
+
+  public void setBlockSize(int blockSize) {
+    properties.setProperty(BLOCK_SIZE, Integer.toString(blockSize));
+  }
+
+  /**
+   * Returns the number of MapFile partitions the index was written in, or 0 if not recorded.
+   */
+  public int getPartitions() {
+    return Integer.parseInt(properties.getProperty(PARTITIONS, "0"));
+  }
+
+  public void setPartitions(int partitions) {
+    properties.setProperty(PARTITIONS, Integer.toString(partitions));
+  }
+
+  /**
+   * Returns whether docnos number the lines of the collection densely from 0, with a
+   * {@link DocnoTable} for their offsets, rather than being the lines' byte offsets.
+   */
+  public boolean hasDenseDocnos() {
+    return "dense".equals(properties.getProperty(DOCNOS, "offset"));
+  }
+
+  public void setDenseDocnos(boolean dense) {
+    properties.setProperty(DOCNOS, dense ? "dense" : "offset");
+  }
+
+  /**
+   * Returns the name of the {@link PostingCodec} the docs sections of the index were written with.
+   */
+  public String getCodec() {
+    return properties.getProperty(CODEC, PostingCodec.DEFAULT);
+  }
+
+  public void setCodec(String codec) {
+    properties.setProperty(CODEC, codec);
+  }
+
+  /**
+   * Returns whether the posting lists carry BM25 max scores, computed with {@link #getK1()} and
+   * {@link #getB()}.
+   */
+  public boolean hasMaxScores() {
+    return properties.containsKey(K1);
+  }
+
+  public void setMaxScores(float k1, float b) {
+    properties.setProperty(K1, Float.toString(k1));
+    properties.setProperty(B, Float.toString(b));
+  }
+
+  public float getK1() {
+    return Float.parseFloat(properties.getProperty(K1, Float.toString(BM25.DEFAULT_K1)));
+  }
+
+  public float getB() {
+    return Float.parseFloat(properties.getProperty(B, Float.toString(BM25.DEFAULT_B)));
+  }
+
+  /**
+   * Returns the average document length the max scores were computed with, or 0 if it is the
+   * index's own, as for every index but the shards of a document-partitioned one.
+   */
+  public float getMaxScoreAverageLength() {
+    return Float.parseFloat(properties.getProperty(AVERAGE_LENGTH, "0"));
+  }
+
+  public void setMaxScoreAverageLength(float averageLength) {
+    if (averageLength > 0) {
+      properties.setProperty(AVERAGE_LENGTH, Float.toString(averageLength));
+    } else {
+      properties.remove(AVERAGE_LENGTH);
+    }
+  }
+
+  /**
+   * Returns whether the index has a {@link TermDictionary} and postings file besides its MapFile
+   * partitions.
+   */
+  public boolean hasTermDictionary() {
+    return Boolean.parseBoolean(properties.getProperty(DICTIONARY, "false"));
+  }
+
+  public void setTermDictionary(boolean dictionary) {
+    properties.setProperty(DICTIONARY, Boolean.toString(dictionary));
+  }
+
+  /**
+   * Returns whether the index has a {@link TermHash} for exact term lookups, next to its term
+   * dictionary.
+   */
+  public boolean hasTermHash() {
+    return Boolean.parseBoolean(properties.getProperty(TERM_HASH, "false"));
+  }
+
+  public void setTermHash(boolean hash) {
+    properties.setProperty(TERM_HASH, Boolean.toString(hash));
+  }
+
+  /**
+   * Returns whether terms were assigned to partitions by a {@link TermPartitionTable}, stored in
+   * the index, rather than by hashing alone.
+   */
+  public boolean hasPartitionTable() {
+    return Boolean.parseBoolean(properties.getProperty(PARTITION_TABLE, "false"));
+  }
+
+  public void setPartitionTable(boolean table) {
+    properties.setProperty(PARTITION_TABLE, Boolean.toString(table));
+  }
+
+  /**
+   * Returns the {@link Analyzer} filters the collection was indexed with, which queries must be
+   * analyzed with too.
+   */
+  public String getAnalyzer() {
+    return properties.getProperty(ANALYZER, "");
+  }
+
+  public void setAnalyzer(String filters) {
+    properties.setProperty(ANALYZER, filters);
+  }
+
+  /**
+   * Returns a cursor able to decode this index's posting lists.
+   */
+  public PostingsCursor newCursor() {
+    return new PostingsCursor(hasPositions(), hasMaxScores(), PostingCodec.forName(getCodec()),
+        getBlockSize());
+  }
+
+  public void write(FileSystem fs, Path indexPath) throws IOException {
+    OutputStream out = fs.create(new Path(indexPath, FILE), true);
+    try {
+      properties.store(out, BuildInvertedIndexCompressed.class.getSimpleName());
+    } finally {
+      out.close();
+    }
+  }
+
+  public static IndexMetadata read(FileSystem fs, Path indexPath) throws IOException {
+    IndexMetadata metadata = new IndexMetadata();
+
+    Path path = new Path(indexPath, FILE);
+    if (fs.exists(path)) {
+      InputStream in = fs.open(path);
+      try {
+        metadata.properties.load(in);
+      } finally {
+        in.close();
+      }
+    }
+
+    return metadata;
+  }
+}
@@ -32,16 +32,11 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
-import org.apache.hadoop.io.IntWritable;
-import org.apache.hadoop.io.MapFile;
 import org.apache.hadoop.io.Text;
-import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.util.Tool;
 import org.apache.hadoop.util.ToolRunner;
 
-import edu.umd.cloud9.io.array.ArrayListWritable;
 import edu.umd.cloud9.io.pair.PairOfInts;
-import edu.umd.cloud9.io.pair.PairOfWritables;
 import edu.umd.cloud9.util.fd.Int2IntFrequencyDistribution;
 import edu.umd.cloud9.util.fd.Int2IntFrequencyDistributionEntry;
 
@@ -92,7 +87,7 @@ public class LookupPostingsCompressed extends Configured implements Tool {
 
     Configuration config = new Configuration();
     FileSystem fs = FileSystem.get(config);
-    MapFile.Reader reader = new MapFile.Reader(new Path(indexPath + "/part-r-00000"), config);
+    PostingsIndex reader = PostingsIndex.open(fs, new Path(indexPath));
 
     FSDataInputStream collection = fs.open(new Path(collectionPath));
     BufferedReader d = new BufferedReader(new InputStreamReader(collection));
@@ -100,27 +95,27 @@ public class LookupPostingsCompressed extends Configured implements Tool {
     Text key = new Text();
     BytesWritable value = new BytesWritable();
 
+    IndexMetadata metadata = IndexMetadata.read(fs, new Path(indexPath));
+    PostingsCursor cursor = metadata.newCursor();
+    DocnoTable docnos = DocnoTable.open(fs, new Path(indexPath), metadata);
+
     System.out.println("Looking up postings for the term \"starcross'd\"");
     key.set("starcross'd");
 
-    reader.get(key, value);
+    reader.getPostings(key, value);
 
-    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> postings = PostingReader.readPostings(value);
-    for (PairOfInts pair : postings.getRightElement()) {
-      System.out.println(pair);
-      collection.seek(pair.getLeftElement());
+    cursor.reset(value);
+    while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+      System.out.println("(" + cursor.docno() + ", " + cursor.tf() + ")");
+      collection.seek(docnos == null ? cursor.docno() : docnos.getOffset(cursor.docno()));
       System.out.println(d.readLine());
     }
 
     key.set("gold");
-    reader.get(key, value);
-    postings = PostingReader.readPostings(value);
-    System.out.println("Complete postings list for 'gold': " + postings);
-
-    Int2IntFrequencyDistribution goldHist = new Int2IntFrequencyDistributionEntry();
-    for (PairOfInts pair : postings.getRightElement()) {
-      goldHist.increment(pair.getRightElement());
-    }
+    reader.getPostings(key, value);
+    cursor.reset(value);
+    System.out.print("Complete postings list for 'gold': ");
+    Int2IntFrequencyDistribution goldHist = printPostings(cursor);
 
     System.out.println("histogram of tf values for gold");
     for (PairOfInts pair : goldHist) {
@@ -128,14 +123,10 @@ public class LookupPostingsCompressed extends Configured implements Tool {
     }
 
     key.set("silver");
-    reader.get(key, value);
-    postings = PostingReader.readPostings(value);
-    System.out.println("Complete postings list for 'silver': " + postings);
-
-    Int2IntFrequencyDistribution silverHist = new Int2IntFrequencyDistributionEntry();
-    for (PairOfInts pair : postings.getRightElement()) {
-      silverHist.increment(pair.getRightElement());
-    }
+    reader.getPostings(key, value);
+    cursor.reset(value);
+    System.out.print("Complete postings list for 'silver': ");
+    Int2IntFrequencyDistribution silverHist = printPostings(cursor);
 
     System.out.println("histogram of tf values for silver");
     for (PairOfInts pair : silverHist) {
@@ -143,9 +134,7 @@ public class LookupPostingsCompressed extends Configured implements Tool {
     }
 
     key.set("bronze");
-    Writable w = reader.get(key, value);
-
-    if (w == null) {
+    if (!reader.getPostings(key, value)) {
       System.out.println("the term bronze does not appear in the collection");
     }
 
@@ -155,6 +144,30 @@ public class LookupPostingsCompressed extends Configured implements Tool {
     return 0;
   }
 
+  /**
+   * Prints the postings under the cursor as "(df, [(docno, tf), ...])" and returns the histogram
+   * of their tf values.
+   */
+  private static Int2IntFrequencyDistribution printPostings(PostingsCursor cursor) {
+    Int2IntFrequencyDistribution hist = new Int2IntFrequencyDistributionEntry();
+
+    StringBuilder sb = new StringBuilder();
+    sb.append('(').append(cursor.df()).append(", [");
+    boolean first = true;
+    while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+      if (!first) {
+        sb.append(", ");
+      }
+      first = false;
+      sb.append('(').append(cursor.docno()).append(", ").append(cursor.tf()).append(')');
+      hist.increment(cursor.tf());
+    }
+    sb.append("])");
+    System.out.println(sb);
+
+    return hist;
+  }
+
   /**
    * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
    */
@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Reads the MapFile partitions (part-r-00000, part-r-00001, ...) of an index. Each term lives in
+ * exactly one partition, chosen by {@link BuildInvertedIndexCompressed.MyPartitioner} or the
+ * index's {@link TermPartitionTable}, so a lookup goes straight to that partition's reader.
+ *
+ * MapFile readers are not thread-safe, and neither is this class.
+ */
+public class MapFilePostingsIndex extends PostingsIndex {
+  static final PathFilter PARTITIONS = new PathFilter() {
+    @Override
+    public boolean accept(Path path) {
+      return path.getName().startsWith("part-");
+    }
+  };
+
+  private final MapFile.Reader[] readers;
+  private final TermPartitionTable table;
+
+  public MapFilePostingsIndex(FileSystem fs, Path indexPath, IndexMetadata metadata) throws IOException {
+    FileStatus[] parts = fs.listStatus(indexPath, PARTITIONS);
+    if (parts == null || parts.length == 0) {
+      throw new IOException("No index partitions in " + indexPath);
+    }
+
+    // Partition numbers follow the zero-padded names.
+    Arrays.sort(parts);
+
+    if (metadata.getPartitions() != 0 && metadata.getPartitions() != parts.length) {
+      throw new IOException("Expected " + metadata.getPartitions() + " index partitions in "
+          + indexPath + " but found " + parts.length);
+    }
+
+    readers = new MapFile.Reader[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      readers[i] = new MapFile.Reader(parts[i].getPath(), fs.getConf());
+    }
+
+    table = metadata.hasPartitionTable() ?
+        TermPartitionTable.read(fs, new Path(indexPath, TermPartitionTable.FILE)) : null;
+  }
+
+  /**
+   * Opens a scanner over each partition of an index, in partition order.
+   */
+  static Scanner[] scan(FileSystem fs, Path indexPath) throws IOException {
+    FileStatus[] parts = fs.listStatus(indexPath, PARTITIONS);
+    Arrays.sort(parts);
+
+    Scanner[] scanners = new Scanner[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      final MapFile.Reader reader = new MapFile.Reader(parts[i].getPath(), fs.getConf());
+      scanners[i] = new Scanner() {
+        @Override
+        public boolean next(Text term, BytesWritable postings) throws IOException {
+          return reader.next(term, postings);
+        }
+
+        @Override
+        public void close() throws IOException {
+          reader.close();
+        }
+      };
+    }
+
+    return scanners;
+  }
+
+  public int getNumPartitions() {
+    return readers.length;
+  }
+
+  @Override
+  public boolean getPostings(Text term, BytesWritable postings) throws IOException {
+    MapFile.Reader reader = readers[table != null ? table.getPartition(term, readers.length) :
+        BuildInvertedIndexCompressed.MyPartitioner.getPartition(term, readers.length)];
+
+    // A miss leaves the value untouched, so clear it rather than return stale postings.
+    if (reader.get(term, postings) == null) {
+      postings.setSize(0);
+      return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (MapFile.Reader reader : readers) {
+      reader.close();
+    }
+  }
+}
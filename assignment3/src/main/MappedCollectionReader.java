@@ -0,0 +1,50 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a local collection through memory maps, so fetching a line costs page-cache reads rather
+ * than a seek and a buffer fill. The file is mapped in 1 GB chunks to get past the 2 GB limit of
+ * a single map.
+ */
+public class MappedCollectionReader extends CollectionReader {
+  private static final int CHUNK_BITS = 30;
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+  private final MappedByteBuffer[] chunks;
+  private final long length;
+
+  public MappedCollectionReader(File file) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = raf.getChannel();
+      length = channel.size();
+      chunks = new MappedByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_BITS)];
+      for (int i = 0; i < chunks.length; i++) {
+        long start = (long) i << CHUNK_BITS;
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(length - start, CHUNK_MASK + 1));
+      }
+    } finally {
+      // The maps stay valid after the channel is closed.
+      raf.close();
+    }
+  }
+
+  @Override
+  protected int byteAt(long pos) {
+    if (pos >= length) {
+      return -1;
+    }
+
+    return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK)) & 0xff;
+  }
+
+  /**
+   * Leaves unmapping to the garbage collector; there is no supported way to unmap earlier.
+   */
+  @Override
+  public void close() {}
+}
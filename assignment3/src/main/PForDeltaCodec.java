@@ -0,0 +1,125 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Patched frame-of-reference coding (PForDelta). The d-gaps of a block, and then its tfs minus
+ * one, are each packed at one bit width b, chosen to minimize the frame's size. Values that do not
+ * fit in b bits are exceptions: their low b bits are packed with the rest, and their index and
+ * high bits follow the frame in gamma code and are patched in after unpacking.
+ *
+ * <pre>
+ * 6 bits  b
+ * gamma   exceptions + 1
+ * n x b bits
+ * exceptions x (gamma index gap + 1, gamma high bits)
+ * </pre>
+ */
+public class PForDeltaCodec extends PostingCodec {
+  private final BitReader in = new BitReader();
+
+  @Override
+  public String getName() {
+    return "pfor";
+  }
+
+  @Override
+  public void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException {
+    BitWriter bits = new BitWriter(out);
+
+    writeFrame(gaps, n, 0, bits);
+    writeFrame(tfs, n, 1, bits);
+
+    bits.flush();
+  }
+
+  @Override
+  public void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n) {
+    in.reset(bytes, pos);
+
+    readFrame(gaps, n, 0);
+    readFrame(tfs, n, 1);
+  }
+
+  /**
+   * Writes {@code values[i] - base}, all of which must be non-negative.
+   */
+  private static void writeFrame(int[] values, int n, int base, BitWriter bits) throws IOException {
+    int width = bestWidth(values, n, base);
+
+    int exceptions = 0;
+    for (int i = 0; i < n; i++) {
+      if (width < 32 && (values[i] - base) >>> width != 0) {
+        exceptions++;
+      }
+    }
+
+    bits.writeBits(width, 6);
+    bits.writeGamma(exceptions + 1);
+    for (int i = 0; i < n; i++) {
+      bits.writeBits(values[i] - base, width);
+    }
+
+    int last = -1;
+    for (int i = 0; i < n && width < 32; i++) {
+      int high = (values[i] - base) >>> width;
+      if (high != 0) {
+        bits.writeGamma(i - last);
+        bits.writeGamma(high);
+        last = i;
+      }
+    }
+  }
+
+  private void readFrame(int[] values, int n, int base) {
+    int width = in.readBits(6);
+    int exceptions = in.readGamma() - 1;
+
+    for (int i = 0; i < n; i++) {
+      values[i] = in.readBits(width);
+    }
+
+    int i = -1;
+    for (int e = 0; e < exceptions; e++) {
+      i += in.readGamma();
+      values[i] |= in.readGamma() << width;
+    }
+
+    if (base != 0) {
+      for (int j = 0; j < n; j++) {
+        values[j] += base;
+      }
+    }
+  }
+
+  /**
+   * Picks the width that minimizes packed bits plus an estimate of the exceptions' cost.
+   */
+  private static int bestWidth(int[] values, int n, int base) {
+    // counts[w]: values needing exactly w bits.
+    int[] counts = new int[33];
+    for (int i = 0; i < n; i++) {
+      counts[32 - Integer.numberOfLeadingZeros(values[i] - base)]++;
+    }
+
+    int maxWidth = 32;
+    while (maxWidth > 0 && counts[maxWidth] == 0) {
+      maxWidth--;
+    }
+
+    int best = maxWidth;
+    long bestSize = (long) n * maxWidth;
+    for (int w = maxWidth - 1; w >= 0; w--) {
+      // An exception costs its index gap and high bits in gamma code; guess 8 + 2 x high width.
+      long size = (long) n * w;
+      for (int v = w + 1; v <= maxWidth; v++) {
+        size += counts[v] * (8L + 2L * (v - w));
+      }
+      if (size < bestSize) {
+        best = w;
+        bestSize = size;
+      }
+    }
+
+    return best;
+  }
+}
@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * The partial posting lists of a combining mapper, one per term, in memory of a fixed size: a
+ * byte slab holding the terms and their lists, an open-addressed hash table over the terms and
+ * primitive arrays describing each entry, all allocated up front from the byte budget. Nothing is
+ * allocated per term or per posting, so the footprint is exactly {@link #getFootprint()} bytes
+ * (plus a few array headers), and {@link #add} refuses a posting once the slab or the entries are
+ * full rather than growing past it.
+ *
+ * A list is a d-gap encoded sequence of vints: for each document its gap from the previous one
+ * (0 for the first) and the bytes of its posting. It is stored in slices of the slab, 16 bytes
+ * for the first and doubling up to 4 KB, the last 4 bytes of each pointing at the next, so a list
+ * grows without being copied and short lists waste little.
+ *
+ * Entries are numbered from 0 in the order their terms are first added.
+ */
+public class PartialLists {
+  private static final int FIRST_SLICE = 16;
+  private static final int MAX_LEVEL = 8;
+
+  // Bytes per entry when sizing the entries: nine ints, and at least two table slots.
+  private static final int ENTRY_BYTES = 9 * 4 + 2 * 4;
+
+  private final byte[] slab;
+  private int slabLength;
+
+  private final int[] termStarts;
+  private final int[] termLengths;
+  private final int[] firstDocnos;
+  private final int[] lastDocnos;
+  // Each list's first slice, the next byte to write, the end of the current slice's data (where
+  // the pointer to the next slice goes) and the current slice's level.
+  private final int[] heads;
+  private final int[] writes;
+  private final int[] ends;
+  private final int[] levels;
+  private final int[] listLengths;
+  private int size;
+
+  // Open-addressed table of entry numbers plus one, 0 for an empty slot; a power of two, at most
+  // half full.
+  private final int[] table;
+
+  private final DataOutputBuffer gap = new DataOutputBuffer(5);
+
+  /**
+   * @param budget bytes to allocate, a quarter of them for the entries and the rest for the slab
+   */
+  public PartialLists(long budget) {
+    int maxEntries = (int) Math.max(1, Math.min(budget / 4 / ENTRY_BYTES, 1 << 28));
+    termStarts = new int[maxEntries];
+    termLengths = new int[maxEntries];
+    firstDocnos = new int[maxEntries];
+    lastDocnos = new int[maxEntries];
+    heads = new int[maxEntries];
+    writes = new int[maxEntries];
+    ends = new int[maxEntries];
+    levels = new int[maxEntries];
+    listLengths = new int[maxEntries];
+    table = new int[Integer.highestOneBit(maxEntries) << 2];
+
+    long entryBytes = 9L * 4 * maxEntries + 4L * table.length;
+    slab = new byte[(int) Math.max(sliceSize(MAX_LEVEL),
+        Math.min(budget - entryBytes, Integer.MAX_VALUE - 8))];
+  }
+
+  private static int sliceSize(int level) {
+    return FIRST_SLICE << level;
+  }
+
+  /**
+   * Returns the bytes allocated for the lists, the terms, the entries and the table.
+   */
+  public long getFootprint() {
+    return slab.length + 9L * 4 * termStarts.length + 4L * table.length;
+  }
+
+  /**
+   * Removes every list, keeping the memory.
+   */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(table, 0);
+    }
+    size = 0;
+    slabLength = 0;
+  }
+
+  /**
+   * Appends a posting of a document to the list of a term: the gap from the list's previous
+   * document, then the posting's bytes. Docnos must not decrease from one call to the next.
+   *
+   * @return false, having changed nothing, if there is no room left for the posting
+   */
+  public boolean add(Text term, int docno, DataOutputBuffer posting) throws IOException {
+    byte[] bytes = term.getBytes();
+    int length = term.getLength();
+
+    int mask = table.length - 1;
+    int slot = WritableComparator.hashBytes(bytes, 0, length) & mask;
+    int entry = -1;
+    while (table[slot] != 0) {
+      int e = table[slot] - 1;
+      if (termLengths[e] == length
+          && WritableComparator.compareBytes(slab, termStarts[e], length, bytes, 0, length) == 0) {
+        entry = e;
+        break;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    gap.reset();
+    WritableUtils.writeVInt(gap, entry < 0 ? 0 : docno - lastDocnos[entry]);
+    int n = gap.getLength() + posting.getLength();
+
+    if (entry < 0) {
+      if (size == termStarts.length || (long) slabLength + length + FIRST_SLICE
+          + newSlices(FIRST_SLICE - 4, 0, n) > slab.length) {
+        return false;
+      }
+
+      entry = size++;
+      termStarts[entry] = slabLength;
+      termLengths[entry] = length;
+      System.arraycopy(bytes, 0, slab, slabLength, length);
+      slabLength += length;
+
+      firstDocnos[entry] = docno;
+      heads[entry] = writes[entry] = slabLength;
+      ends[entry] = slabLength + FIRST_SLICE - 4;
+      levels[entry] = 0;
+      listLengths[entry] = 0;
+      slabLength += FIRST_SLICE;
+      table[slot] = entry + 1;
+    } else if ((long) slabLength + newSlices(ends[entry] - writes[entry], levels[entry], n)
+        > slab.length) {
+      return false;
+    }
+
+    write(entry, gap.getData(), gap.getLength());
+    write(entry, posting.getData(), posting.getLength());
+    lastDocnos[entry] = docno;
+    return true;
+  }
+
+  /**
+   * Returns the bytes of the slices a list needs to take n more bytes, with room bytes left in
+   * its current slice, at the given level.
+   */
+  private static long newSlices(int room, int level, int n) {
+    long bytes = 0;
+    while (n > room) {
+      n -= room;
+      level = Math.min(level + 1, MAX_LEVEL);
+      bytes += sliceSize(level);
+      room = sliceSize(level) - 4;
+    }
+    return bytes;
+  }
+
+  private void write(int entry, byte[] bytes, int length) {
+    int offset = 0;
+    while (offset < length) {
+      if (writes[entry] == ends[entry]) {
+        int level = Math.min(levels[entry] + 1, MAX_LEVEL);
+        writeInt(ends[entry], slabLength);
+        writes[entry] = slabLength;
+        ends[entry] = slabLength + sliceSize(level) - 4;
+        levels[entry] = level;
+        slabLength += sliceSize(level);
+      }
+
+      int n = Math.min(length - offset, ends[entry] - writes[entry]);
+      System.arraycopy(bytes, offset, slab, writes[entry], n);
+      writes[entry] += n;
+      listLengths[entry] += n;
+      offset += n;
+    }
+  }
+
+  private void writeInt(int pos, int value) {
+    slab[pos] = (byte) (value >>> 24);
+    slab[pos + 1] = (byte) (value >>> 16);
+    slab[pos + 2] = (byte) (value >>> 8);
+    slab[pos + 3] = (byte) value;
+  }
+
+  private int readInt(int pos) {
+    return (slab[pos] & 0xFF) << 24 | (slab[pos + 1] & 0xFF) << 16 | (slab[pos + 2] & 0xFF) << 8
+        | (slab[pos + 3] & 0xFF);
+  }
+
+  /**
+   * Returns the number of lists.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Copies the term of an entry into a Text.
+   */
+  public void getTerm(int entry, Text term) {
+    term.set(slab, termStarts[entry], termLengths[entry]);
+  }
+
+  public int getFirstDocno(int entry) {
+    return firstDocnos[entry];
+  }
+
+  /**
+   * Copies the list of an entry, gathered from its slices, into a BytesWritable.
+   */
+  public void getList(int entry, BytesWritable list) {
+    int remaining = listLengths[entry];
+    list.setSize(remaining);
+    byte[] out = list.getBytes();
+
+    int slice = heads[entry];
+    int level = 0;
+    int offset = 0;
+    while (true) {
+      int n = Math.min(remaining, sliceSize(level) - 4);
+      System.arraycopy(slab, slice, out, offset, n);
+      offset += n;
+      remaining -= n;
+      if (remaining == 0) {
+        return;
+      }
+
+      slice = readInt(slice + sliceSize(level) - 4);
+      level = Math.min(level + 1, MAX_LEVEL);
+    }
+  }
+}
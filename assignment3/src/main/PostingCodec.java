@@ -0,0 +1,52 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the docs section of one block of postings: its d-gaps and tfs. {@link PostingWriter}
+ * hands over whole blocks and {@link PostingsCursor} decodes a whole block when it enters it; the
+ * block headers and the positions section stay vints whatever the codec.
+ *
+ * The first d-gap of a block is taken from the last docno of the previous block, so it is 0 when
+ * the list starts at docno 0; every other d-gap, and every tf, is at least 1.
+ *
+ * Codecs may keep decoding state, so each cursor or writer gets its own instance from
+ * {@link #forName(String)}.
+ */
+public abstract class PostingCodec {
+  public static final String DEFAULT = "vint";
+
+  /**
+   * Names of the available codecs, as accepted by {@link #forName(String)}.
+   */
+  public static final String[] NAMES = { "vint", "gamma", "delta", "golomb", "pfor", "packed" };
+
+  public static PostingCodec forName(String name) {
+    if (name.equals("vint")) {
+      return new VIntCodec();
+    } else if (name.equals("gamma")) {
+      return new EliasCodec(false);
+    } else if (name.equals("delta")) {
+      return new EliasCodec(true);
+    } else if (name.equals("golomb")) {
+      return new GolombCodec();
+    } else if (name.equals("pfor")) {
+      return new PForDeltaCodec();
+    } else if (name.equals("packed")) {
+      return new BitPackedCodec();
+    }
+
+    throw new IllegalArgumentException("Unknown posting codec: " + name);
+  }
+
+  public abstract String getName();
+
+  /**
+   * Writes the first {@code n} d-gaps and tfs.
+   */
+  public abstract void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException;
+
+  /**
+   * Reads {@code n} d-gaps and tfs written by {@link #encode} starting at {@code pos}.
+   */
+  public abstract void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n);
+}
@@ -0,0 +1,228 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Compares the posting codecs on the lists of an existing compressed index: each list is
+ * re-encoded with every codec, and the tool reports the total size of the encoded lists, how
+ * fast a {@link PostingsCursor} walks all of them, and how fast the codec alone decodes the full
+ * blocks among them (d-gaps and tfs, two ints per posting). Positions are left out, since they
+ * are encoded the same way whatever the codec.
+ */
+public class PostingCodecBenchmark extends Configured implements Tool {
+  private static final String INDEX = "index";
+  private static final String ITERATIONS = "iterations";
+
+  private PostingCodecBenchmark() {}
+
+  /**
+   * Runs this tool.
+   */
+  @SuppressWarnings({ "static-access" })
+  public int run(String[] args) throws Exception {
+    Options options = new Options();
+
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("index path").create(INDEX));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("timed passes over all lists").create(ITERATIONS));
+
+    CommandLine cmdline;
+    CommandLineParser parser = new GnuParser();
+
+    try {
+      cmdline = parser.parse(options, args);
+    } catch (ParseException exp) {
+      System.err.println("Error parsing command line: " + exp.getMessage());
+      return -1;
+    }
+
+    if (!cmdline.hasOption(INDEX)) {
+      System.out.println("args: " + Arrays.toString(args));
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.setWidth(120);
+      formatter.printHelp(this.getClass().getName(), options);
+      ToolRunner.printGenericCommandUsage(System.out);
+      return -1;
+    }
+
+    Path indexPath = new Path(cmdline.getOptionValue(INDEX));
+    int iterations = cmdline.hasOption(ITERATIONS) ?
+        Integer.parseInt(cmdline.getOptionValue(ITERATIONS)) : 10;
+
+    FileSystem fs = FileSystem.get(new Configuration());
+    IndexMetadata metadata = IndexMetadata.read(fs, indexPath);
+    int blockSize = metadata.getBlockSize();
+
+    // Decode every list of the index once.
+    List<int[]> docnos = new ArrayList<int[]>();
+    List<int[]> tfs = new ArrayList<int[]>();
+    long numPostings = 0;
+
+    PostingsCursor cursor = metadata.newCursor();
+    Text term = new Text();
+    BytesWritable value = new BytesWritable();
+    for (PostingsIndex.Scanner scanner : PostingsIndex.scan(fs, indexPath, metadata)) {
+      while (scanner.next(term, value)) {
+        cursor.reset(value);
+        int[] d = new int[cursor.df()];
+        int[] f = new int[cursor.df()];
+        for (int i = 0; cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS; i++) {
+          d[i] = cursor.docno();
+          f[i] = cursor.tf();
+        }
+        docnos.add(d);
+        tfs.add(f);
+        numPostings += d.length;
+      }
+      scanner.close();
+    }
+
+    System.out.println(String.format("%d lists, %d postings, block size %d",
+        docnos.size(), numPostings, blockSize));
+    System.out.println("codec\tbytes\tbits/posting\tM postings/s\tblock M ints/s\tchecksum");
+
+    for (String name : PostingCodec.NAMES) {
+      PostingWriter writer = new PostingWriter(blockSize, false, PostingCodec.forName(name));
+      DataOutputBuffer out = new DataOutputBuffer();
+
+      BytesWritable[] lists = new BytesWritable[docnos.size()];
+      long bytes = 0;
+      for (int i = 0; i < lists.length; i++) {
+        writer.reset();
+        int[] d = docnos.get(i);
+        int[] f = tfs.get(i);
+        for (int j = 0; j < d.length; j++) {
+          writer.add(d[j], f[j]);
+        }
+
+        out.reset();
+        writer.write(out);
+        lists[i] = new BytesWritable(Arrays.copyOf(out.getData(), out.getLength()));
+        bytes += out.getLength();
+      }
+
+      PostingsCursor decoder = new PostingsCursor(false, PostingCodec.forName(name), blockSize);
+
+      // Check the round trip, which also warms up the decoder.
+      for (int i = 0; i < lists.length; i++) {
+        decoder.reset(lists[i]);
+        int[] d = docnos.get(i);
+        int[] f = tfs.get(i);
+        for (int j = 0; j < d.length; j++) {
+          if (decoder.nextDoc() != d[j] || decoder.tf() != f[j]) {
+            throw new IllegalStateException("Codec " + name + " garbles list " + i);
+          }
+        }
+      }
+
+      long checksum = 0;
+      long start = System.nanoTime();
+      for (int k = 0; k < iterations; k++) {
+        for (BytesWritable list : lists) {
+          decoder.reset(list);
+          while (decoder.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+            checksum += decoder.tf();
+          }
+        }
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      double blockInts = decodeBlocks(PostingCodec.forName(name), docnos, tfs, blockSize, iterations);
+
+      // Printing the checksum keeps the decoding loop from being optimized away.
+      System.out.println(String.format("%s\t%d\t%.2f\t%.1f\t%.1f\t%d", name, bytes,
+          8.0 * bytes / numPostings, numPostings * iterations / seconds / 1e6, blockInts / 1e6,
+          checksum));
+    }
+
+    return 0;
+  }
+
+  /**
+   * Encodes the full blocks of all lists back to back and returns how many ints per second the
+   * codec decodes them at.
+   */
+  private static double decodeBlocks(PostingCodec codec, List<int[]> docnos, List<int[]> tfs,
+      int blockSize, int iterations) throws IOException {
+    DataOutputBuffer out = new DataOutputBuffer();
+    List<Integer> starts = new ArrayList<Integer>();
+    int[] gaps = new int[blockSize];
+    int[] f = new int[blockSize];
+
+    for (int i = 0; i < docnos.size(); i++) {
+      int[] d = docnos.get(i);
+      for (int start = 0; start + blockSize <= d.length; start += blockSize) {
+        for (int j = 0; j < blockSize; j++) {
+          gaps[j] = d[start + j] - (start + j == 0 ? 0 : d[start + j - 1]);
+          f[j] = tfs.get(i)[start + j];
+        }
+        starts.add(out.getLength());
+        codec.encode(gaps, f, blockSize, out);
+      }
+    }
+
+    byte[] bytes = Arrays.copyOf(out.getData(), out.getLength());
+    int[] offsets = new int[starts.size()];
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = starts.get(i);
+    }
+
+    // Warm up, then time.
+    for (int offset : offsets) {
+      codec.decode(bytes, offset, gaps, f, blockSize);
+    }
+
+    long start = System.nanoTime();
+    for (int k = 0; k < iterations; k++) {
+      for (int offset : offsets) {
+        codec.decode(bytes, offset, gaps, f, blockSize);
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    return 2.0 * blockSize * offsets.length * iterations / seconds;
+  }
+
+  /**
+   * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
+   */
+  public static void main(String[] args) throws Exception {
+    ToolRunner.run(new PostingCodecBenchmark(), args);
+  }
+}
@@ -1,10 +1,7 @@
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.io.IOException;
 
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.io.IntWritable;
-import org.apache.hadoop.io.WritableUtils;
 
 import edu.umd.cloud9.io.array.ArrayListWritable;
 import edu.umd.cloud9.io.pair.PairOfInts;
@@ -13,33 +10,24 @@ import edu.umd.cloud9.io.pair.PairOfWritables;
 
 public class PostingReader {
 
+  /**
+   * Decodes a posting list of an index into (df, [(docno, tf), ...]). The list's layout (codec,
+   * block size, max score, positions) is the index's, so it is read with the index's metadata.
+   */
   public static PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> 
-    readPostings(BytesWritable bytesWritable) throws IOException{
+    readPostings(BytesWritable bytesWritable, IndexMetadata metadata) throws IOException{
 
-    byte[] bytes = bytesWritable.getBytes();
-
-    ByteArrayInputStream postingsByteStream = new ByteArrayInputStream(bytes);
-    DataInputStream inStream = new DataInputStream(postingsByteStream);
+    PostingsCursor cursor = metadata.newCursor();
+    cursor.reset(bytesWritable);
 
     ArrayListWritable<PairOfInts> postings = new ArrayListWritable<PairOfInts>();
 
-    int docno = 0;
-    int nextDgap = 0;
-    int termFreq = -1;
-    int numPostings = WritableUtils.readVInt(inStream);
-    
-
-    for(int i = 0; i < numPostings; i++){
-
-      nextDgap = WritableUtils.readVInt(inStream);
-      termFreq = WritableUtils.readVInt(inStream);
-      
-      docno = docno + nextDgap;
-      
-      postings.add(new PairOfInts(docno, termFreq));
+    while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+      postings.add(new PairOfInts(cursor.docno(), cursor.tf()));
     }
 
-    
+    int numPostings = cursor.df();
+
     return new PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>(new IntWritable(numPostings), postings);
 
   }
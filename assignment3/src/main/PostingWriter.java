@@ -0,0 +1,174 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Encodes one posting list in the block format read by {@link PostingsCursor}:
+ *
+ * <pre>
+ * vint df
+ * vint numBlocks
+ * vint headersLength
+ * [vint docsLength]                                         (positional only)
+ * [float max tfNorm]                                        (with max scores only)
+ * numBlocks x (vint lastDocno - previous block's lastDocno,
+ *              vint docs byte length, [vint positions byte length],
+ *              [float max tfNorm])
+ * docs:      numBlocks x (blockSize d-gaps and tfs, encoded by the {@link PostingCodec})
+ * positions: numBlocks x blockSize x tf x vint position gap (positional only)
+ * </pre>
+ *
+ * Every block but the last holds exactly blockSize postings. The first d-gap of a block is taken
+ * from the last docno of the previous block, so a reader can jump to any block using only the
+ * headers. Positions are kept in their own section after the docs so that readers which never ask
+ * for them never decode them.
+ *
+ * Given a {@link BM25}, the writer also records the largest BM25 tfNorm of the list and of each
+ * block, rounded up, so that ranked evaluation can bound what a term adds to any document's score
+ * and skip documents and blocks that cannot reach the top k.
+ */
+public class PostingWriter {
+  public static final int DEFAULT_BLOCK_SIZE = 128;
+
+  private final int blockSize;
+  private final boolean positional;
+  private final PostingCodec codec;
+  private final BM25 scorer;
+
+  private final DataOutputBuffer headers = new DataOutputBuffer();
+  private final DataOutputBuffer data = new DataOutputBuffer();
+  private final DataOutputBuffer positions = new DataOutputBuffer();
+  private final int[] blockGaps;
+  private final int[] blockTfs;
+
+  private int docFreq;
+  private int numBlocks;
+  private int lastDocno;
+  private int blockLastDocno;
+  private int blockStart;
+  private int blockPositionsStart;
+  private int blockCount;
+  private float blockMaxScore;
+  private float maxScore;
+
+  public PostingWriter() {
+    this(DEFAULT_BLOCK_SIZE, false);
+  }
+
+  public PostingWriter(int blockSize, boolean positional) {
+    this(blockSize, positional, PostingCodec.forName(PostingCodec.DEFAULT));
+  }
+
+  public PostingWriter(int blockSize, boolean positional, PostingCodec codec) {
+    this(blockSize, positional, codec, null);
+  }
+
+  /**
+   * @param scorer computes the max scores to store, or null to store none
+   */
+  public PostingWriter(int blockSize, boolean positional, PostingCodec codec, BM25 scorer) {
+    this.blockSize = blockSize;
+    this.positional = positional;
+    this.codec = codec;
+    this.scorer = scorer;
+    this.blockGaps = new int[blockSize];
+    this.blockTfs = new int[blockSize];
+  }
+
+  public void reset() {
+    headers.reset();
+    data.reset();
+    positions.reset();
+    docFreq = 0;
+    numBlocks = 0;
+    lastDocno = 0;
+    blockLastDocno = 0;
+    blockStart = 0;
+    blockPositionsStart = 0;
+    blockCount = 0;
+    blockMaxScore = 0;
+    maxScore = 0;
+  }
+
+  /**
+   * Appends a posting. Docnos must be added in ascending order.
+   */
+  public void add(int docno, int tf) throws IOException {
+    if (blockCount == blockSize) {
+      finishBlock();
+    }
+
+    blockGaps[blockCount] = docno - lastDocno;
+    blockTfs[blockCount] = tf;
+    if (scorer != null) {
+      blockMaxScore = Math.max(blockMaxScore, scorer.tfNorm(tf, docno));
+    }
+
+    lastDocno = docno;
+    blockCount++;
+    docFreq++;
+  }
+
+  /**
+   * Appends a posting with its term positions, given in ascending order; tf is their count.
+   */
+  public void add(int docno, int[] termPositions, int tf) throws IOException {
+    add(docno, tf);
+
+    int last = 0;
+    for (int i = 0; i < tf; i++) {
+      WritableUtils.writeVInt(positions, termPositions[i] - last);
+      last = termPositions[i];
+    }
+  }
+
+  public int getDocFreq() {
+    return docFreq;
+  }
+
+  public void write(DataOutput out) throws IOException {
+    if (blockCount > 0) {
+      finishBlock();
+    }
+
+    WritableUtils.writeVInt(out, docFreq);
+    WritableUtils.writeVInt(out, numBlocks);
+    WritableUtils.writeVInt(out, headers.getLength());
+    if (positional) {
+      WritableUtils.writeVInt(out, data.getLength());
+    }
+    if (scorer != null) {
+      out.writeFloat(maxScore);
+    }
+    out.write(headers.getData(), 0, headers.getLength());
+    out.write(data.getData(), 0, data.getLength());
+    if (positional) {
+      out.write(positions.getData(), 0, positions.getLength());
+    }
+  }
+
+  private void finishBlock() throws IOException {
+    codec.encode(blockGaps, blockTfs, blockCount, data);
+
+    WritableUtils.writeVInt(headers, lastDocno - blockLastDocno);
+    WritableUtils.writeVInt(headers, data.getLength() - blockStart);
+    if (positional) {
+      WritableUtils.writeVInt(headers, positions.getLength() - blockPositionsStart);
+    }
+    if (scorer != null) {
+      // Rounded up, so the bound holds however the query sums the terms' scores.
+      float bound = Math.nextUp(blockMaxScore);
+      headers.writeFloat(bound);
+      maxScore = Math.max(maxScore, bound);
+      blockMaxScore = 0;
+    }
+
+    blockLastDocno = lastDocno;
+    blockStart = data.getLength();
+    blockPositionsStart = positions.getLength();
+    blockCount = 0;
+    numBlocks++;
+  }
+}
@@ -0,0 +1,113 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+
+/**
+ * A least-recently-used cache of compressed posting lists, bounded by the bytes it holds. Lists
+ * are kept compressed, as stored in the index: a cursor decodes them about as fast as it walks a
+ * decoded array, and compressed lists let several times more terms fit in the same budget.
+ * Terms missing from the index are cached too, as empty lists.
+ *
+ * The cache is thread-safe, so one cache can serve the per-thread indexes of a query server.
+ */
+public class PostingsCache {
+  // Rough per-entry cost of the map entry, key and arrays on top of the term and posting bytes.
+  private static final int ENTRY_OVERHEAD = 96;
+
+  private final long capacity;
+  private final LinkedHashMap<Text, byte[]> entries = new LinkedHashMap<Text, byte[]>(16, 0.75f, true);
+
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * @param capacity bytes the cache may hold
+   */
+  public PostingsCache(long capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Copies the cached posting list of a term into {@code postings}.
+   *
+   * @return whether the term was cached
+   */
+  public synchronized boolean get(Text term, BytesWritable postings) {
+    byte[] bytes = entries.get(term);
+    if (bytes == null) {
+      misses++;
+      return false;
+    }
+
+    hits++;
+    postings.set(bytes, 0, bytes.length);
+    return true;
+  }
+
+  /**
+   * Caches the posting list of a term, evicting the least recently used terms to make room.
+   * Lists larger than the whole cache are not cached.
+   */
+  public synchronized void put(Text term, BytesWritable postings) {
+    long cost = cost(term, postings.getLength());
+    if (cost > capacity) {
+      return;
+    }
+
+    byte[] bytes = new byte[postings.getLength()];
+    System.arraycopy(postings.getBytes(), 0, bytes, 0, bytes.length);
+
+    byte[] previous = entries.put(new Text(term), bytes);
+    if (previous != null) {
+      size -= cost(term, previous.length);
+    }
+    size += cost;
+
+    Iterator<Map.Entry<Text, byte[]>> iter = entries.entrySet().iterator();
+    while (size > capacity) {
+      Map.Entry<Text, byte[]> eldest = iter.next();
+      size -= cost(eldest.getKey(), eldest.getValue().length);
+      iter.remove();
+      evictions++;
+    }
+  }
+
+  private static long cost(Text term, int length) {
+    return term.getLength() + length + ENTRY_OVERHEAD;
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Returns the bytes the cache currently holds, as estimated against its capacity.
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  public synchronized int getNumTerms() {
+    return entries.size();
+  }
+
+  @Override
+  public synchronized String toString() {
+    long lookups = hits + misses;
+    return String.format("Postings cache: %d terms, %d/%d bytes, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+        entries.size(), size, capacity, hits, misses, lookups == 0 ? 0.0 : 100.0 * hits / lookups, evictions);
+  }
+}
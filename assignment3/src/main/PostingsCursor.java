@@ -0,0 +1,313 @@
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Forward-only cursor over a posting list written by {@link PostingWriter}. Postings are decoded
+ * straight from the backing byte array, a block at a time by the index's {@link PostingCodec};
+ * {@link #advance(int)} uses the block headers to skip blocks whose last docno is below the
+ * target without decoding them. A cursor can be {@link #reset(BytesWritable) reset} onto another
+ * list, so walking postings allocates nothing.
+ *
+ * On a positional index, term positions are only located and decoded when {@link #positions()}
+ * is called for the current posting.
+ *
+ * On an index with max scores, {@link #maxScore()} and {@link #blockMaxScore()} bound the BM25
+ * tfNorm of the list and of the current block, and {@link #advanceShallow(int)} moves between
+ * blocks without decoding any, for query evaluation that skips what cannot score high enough.
+ */
+public class PostingsCursor {
+  public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+  private final boolean positional;
+  private final boolean hasMaxScores;
+  private final PostingCodec codec;
+  private final int blockSize;
+
+  private byte[] bytes;
+
+  private int docFreq;
+  private int numBlocks;
+
+  private int headerPos;
+  private int block;
+  private int blockLastDocno;
+  private int blockStart;
+  private int nextBlockStart;
+  private int pos;
+
+  private float maxScore;
+  private float blockMaxScore;
+
+  // The current block, decoded into docnos once a posting in it is needed; blockIndex is -1 until
+  // then.
+  private final int[] blockDocnos;
+  private final int[] blockTfs;
+  private int blockBase;
+  private int blockCount;
+  private int blockIndex;
+
+  private int docno = -1;
+  private int tf;
+
+  // Positions of the current block start at positionsPos, after positionsSkip vints that belong
+  // to earlier postings of the block whose positions were never asked for.
+  private int nextPositionsStart;
+  private int positionsPos;
+  private int positionsSkip;
+  private boolean positionsRead;
+  private int[] positions = new int[16];
+
+  public PostingsCursor() {
+    this(false);
+  }
+
+  public PostingsCursor(boolean positional) {
+    this(positional, PostingCodec.forName(PostingCodec.DEFAULT), PostingWriter.DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * @param codec the codec the lists were written with
+   * @param blockSize the block size the lists were written with
+   */
+  public PostingsCursor(boolean positional, PostingCodec codec, int blockSize) {
+    this(positional, false, codec, blockSize);
+  }
+
+  /**
+   * @param hasMaxScores whether the lists were written with max scores
+   */
+  public PostingsCursor(boolean positional, boolean hasMaxScores, PostingCodec codec,
+      int blockSize) {
+    this.positional = positional;
+    this.hasMaxScores = hasMaxScores;
+    this.codec = codec;
+    this.blockSize = blockSize;
+    this.blockDocnos = new int[blockSize];
+    this.blockTfs = new int[blockSize];
+  }
+
+  public PostingsCursor(BytesWritable postings) {
+    this(false);
+    reset(postings);
+  }
+
+  /**
+   * Positions the cursor before the first posting of {@code postings}. The cursor reads the
+   * backing array in place, so the value must not be refilled while the cursor is in use.
+   */
+  public void reset(BytesWritable postings) {
+    bytes = postings.getBytes();
+    pos = 0;
+    block = 0;
+    blockLastDocno = 0;
+    docno = -1;
+    tf = 0;
+    blockCount = blockIndex = 0;
+    blockMaxScore = maxScore = 0;
+    positionsRead = true;
+
+    if (postings.getLength() == 0) {
+      // Missing term: MapFile.Reader.get leaves the value empty.
+      docFreq = numBlocks = 0;
+      headerPos = nextBlockStart = 0;
+      return;
+    }
+
+    docFreq = readVInt();
+    numBlocks = readVInt();
+    int headersLength = readVInt();
+    int docsLength = positional ? readVInt() : 0;
+    maxScore = hasMaxScores ? readFloat() : 0;
+
+    headerPos = pos;
+    nextBlockStart = pos + headersLength;
+    nextPositionsStart = nextBlockStart + docsLength;
+  }
+
+  public int df() {
+    return docFreq;
+  }
+
+  /**
+   * Returns the current docno: -1 before the first call to {@link #nextDoc()} or
+   * {@link #advance(int)}, and {@link #NO_MORE_DOCS} once the list is exhausted.
+   */
+  public int docno() {
+    return docno;
+  }
+
+  public int tf() {
+    return tf;
+  }
+
+  /**
+   * Returns an upper bound on the BM25 tfNorm of any posting in the list, or 0 on an index
+   * without max scores.
+   */
+  public float maxScore() {
+    return maxScore;
+  }
+
+  /**
+   * Returns an upper bound on the BM25 tfNorm of the postings in the current block: the block
+   * holding the current posting, or the one {@link #advanceShallow(int)} last moved to.
+   */
+  public float blockMaxScore() {
+    return blockMaxScore;
+  }
+
+  /**
+   * Returns the positions of the term in the current document, in ascending order. Only the first
+   * {@link #tf()} entries are valid, and the array is overwritten by the next call.
+   */
+  public int[] positions() {
+    if (!positional) {
+      throw new IllegalStateException("Index was built without positions");
+    }
+
+    if (!positionsRead) {
+      for (int i = 0; i < positionsSkip; i++) {
+        positionsPos += WritableUtils.decodeVIntSize(bytes[positionsPos]);
+      }
+      positionsSkip = 0;
+
+      if (positions.length < tf) {
+        positions = new int[Math.max(tf, 2 * positions.length)];
+      }
+
+      int saved = pos;
+      pos = positionsPos;
+      int last = 0;
+      for (int i = 0; i < tf; i++) {
+        last += readVInt();
+        positions[i] = last;
+      }
+      positionsPos = pos;
+      pos = saved;
+
+      positionsRead = true;
+    }
+
+    return positions;
+  }
+
+  public int nextDoc() {
+    if (!positionsRead) {
+      positionsSkip += tf;
+    }
+
+    if (blockIndex == blockCount && !nextBlock()) {
+      return docno = NO_MORE_DOCS;
+    }
+
+    if (blockIndex < 0) {
+      decodeBlock();
+    }
+
+    docno = blockDocnos[blockIndex];
+    tf = blockTfs[blockIndex++];
+    positionsRead = false;
+
+    return docno;
+  }
+
+  /**
+   * Moves to the first posting with a docno of at least {@code target} and returns its docno, or
+   * {@link #NO_MORE_DOCS} if there is none. Never moves backwards.
+   */
+  public int advance(int target) {
+    if (docno >= target) {
+      return docno;
+    }
+
+    while (blockLastDocno < target) {
+      if (!nextBlock()) {
+        return docno = NO_MORE_DOCS;
+      }
+    }
+
+    while (docno < target) {
+      nextDoc();
+    }
+
+    return docno;
+  }
+
+  /**
+   * Moves the block headers to the block that would hold {@code target}, without decoding it or
+   * moving the current posting, and returns the last docno of that block, or
+   * {@link #NO_MORE_DOCS} if every docno in the list is below the target. Only
+   * {@link #advance(int)} may follow, to a target at least this one.
+   */
+  public int advanceShallow(int target) {
+    while (block == 0 || blockLastDocno < target) {
+      if (!nextBlock()) {
+        return NO_MORE_DOCS;
+      }
+    }
+
+    return blockLastDocno;
+  }
+
+  private boolean nextBlock() {
+    if (block == numBlocks) {
+      return false;
+    }
+
+    // Gaps in the new block start from the last docno of the previous one.
+    blockBase = blockLastDocno;
+    pos = headerPos;
+    blockLastDocno += readVInt();
+    int length = readVInt();
+    int positionsLength = positional ? readVInt() : 0;
+    blockMaxScore = hasMaxScores ? readFloat() : 0;
+    headerPos = pos;
+
+    blockStart = nextBlockStart;
+    nextBlockStart += length;
+    blockCount = Math.min(blockSize, docFreq - block * blockSize);
+    blockIndex = -1;
+    block++;
+
+    positionsPos = nextPositionsStart;
+    nextPositionsStart += positionsLength;
+    positionsSkip = 0;
+    positionsRead = true;
+
+    return true;
+  }
+
+  private void decodeBlock() {
+    codec.decode(bytes, blockStart, blockDocnos, blockTfs, blockCount);
+
+    int d = blockBase;
+    for (int i = 0; i < blockCount; i++) {
+      d += blockDocnos[i];
+      blockDocnos[i] = d;
+    }
+    blockIndex = 0;
+  }
+
+  private float readFloat() {
+    int bits = ((bytes[pos] & 0xFF) << 24) | ((bytes[pos + 1] & 0xFF) << 16)
+        | ((bytes[pos + 2] & 0xFF) << 8) | (bytes[pos + 3] & 0xFF);
+    pos += 4;
+
+    return Float.intBitsToFloat(bits);
+  }
+
+  private int readVInt() {
+    byte first = bytes[pos++];
+    int size = WritableUtils.decodeVIntSize(first);
+    if (size == 1) {
+      return first;
+    }
+
+    long value = 0;
+    for (int i = 0; i < size - 1; i++) {
+      value = (value << 8) | (bytes[pos++] & 0xFF);
+    }
+
+    return (int) (WritableUtils.isNegativeVInt(first) ? ~value : value);
+  }
+}
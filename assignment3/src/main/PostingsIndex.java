@@ -0,0 +1,58 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Looks up the compressed posting list of a term in an index written by
+ * {@link BuildInvertedIndexCompressed}, whatever the number of reducers that wrote it.
+ */
+public abstract class PostingsIndex implements Closeable {
+  /**
+   * Opens the index in a directory, through its term hash or term dictionary if it has them.
+   */
+  public static PostingsIndex open(FileSystem fs, Path indexPath) throws IOException {
+    IndexMetadata metadata = IndexMetadata.read(fs, indexPath);
+    if (metadata.hasTermDictionary()) {
+      return new DictionaryPostingsIndex(fs, indexPath, metadata.hasTermHash());
+    }
+
+    return new MapFilePostingsIndex(fs, indexPath, metadata);
+  }
+
+  /**
+   * Reads the lists of an index one after another in term order, for tools that walk them all.
+   */
+  public interface Scanner extends Closeable {
+    /**
+     * Reads the next term and its posting list.
+     *
+     * @return false once every list has been read
+     */
+    boolean next(Text term, BytesWritable postings) throws IOException;
+  }
+
+  /**
+   * Opens scanners that together read every list of an index: one over the postings file of an
+   * index with a term dictionary, or else one per MapFile partition, whose terms interleave.
+   */
+  public static Scanner[] scan(FileSystem fs, Path indexPath, IndexMetadata metadata)
+      throws IOException {
+    if (metadata.hasTermDictionary()) {
+      return new Scanner[] { DictionaryPostingsIndex.scan(fs, indexPath) };
+    }
+
+    return MapFilePostingsIndex.scan(fs, indexPath);
+  }
+
+  /**
+   * Reads the posting list of a term into {@code postings}, or empties it if the term is not in
+   * the index.
+   *
+   * @return whether the term is in the index
+   */
+  public abstract boolean getPostings(Text term, BytesWritable postings) throws IOException;
+}
@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Stack;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Evaluates postfix boolean queries ("white red OR rose AND") against a compressed index. The
+ * operators are AND, OR and NOT ("a b NOT" is a AND NOT b); a quoted token ("\"white rose\"") is a
+ * phrase and needs an index built with positions.
+ *
+ * A term is decoded into a sorted docno array, or into a compressed bitmap once its df passes the
+ * bitmap threshold. A term directly followed by AND or NOT is not decoded at all but streamed
+ * through its cursor, which skips blocks of postings.
+ *
+ * Terms and phrases go through the {@link Analyzer} the index was built with. A term the
+ * analyzer drops, such as a stopword, matches no documents, as it has no postings.
+ *
+ * An evaluator reuses its lookup buffers and is not thread-safe.
+ */
+public class QueryEvaluator {
+  public static final int DEFAULT_BITMAP_THRESHOLD = 4096;
+
+  private static final Pattern TOKEN = Pattern.compile("\"[^\"]*\"|\\S+");
+
+  private final PostingsIndex index;
+  private final IndexMetadata metadata;
+  private final Analyzer analyzer;
+  private final int bitmapThreshold;
+  private final Stack<DocSet> stack = new Stack<DocSet>();
+
+  private final Text key = new Text();
+  private final BytesWritable value = new BytesWritable();
+  private final PostingsCursor cursor;
+
+  public QueryEvaluator(PostingsIndex index, IndexMetadata metadata) {
+    this(index, metadata, DEFAULT_BITMAP_THRESHOLD);
+  }
+
+  /**
+   * @param bitmapThreshold terms with a larger df are decoded into a {@link RoaringDocSet}
+   */
+  public QueryEvaluator(PostingsIndex index, IndexMetadata metadata, int bitmapThreshold) {
+    this.index = index;
+    this.metadata = metadata;
+    this.analyzer = new Analyzer(metadata.getAnalyzer());
+    this.bitmapThreshold = bitmapThreshold;
+    this.cursor = metadata.newCursor();
+  }
+
+  public DocSet evaluate(String q) throws IOException {
+    List<String> terms = tokenize(q);
+    stack.clear();
+
+    for (int i = 0; i < terms.size(); i++) {
+      String t = terms.get(i);
+      String next = i + 1 < terms.size() ? terms.get(i + 1) : null;
+
+      if (t.equals("AND")) {
+        performAND();
+      } else if (t.equals("OR")) {
+        performOR();
+      } else if (t.equals("NOT")) {
+        performNOT();
+      } else if (t.startsWith("\"")) {
+        if (t.length() < 2 || !t.endsWith("\"")) {
+          throw new IllegalArgumentException("Unterminated phrase in query: " + t);
+        }
+        pushPhrase(t.substring(1, t.length() - 1));
+      } else if ("AND".equals(next) && !stack.isEmpty()) {
+        // "<set> term AND": probe the term's postings instead of materializing them.
+        stack.push(stack.pop().and(fetchCursor(analyzer.analyzeToken(t))));
+        i++;
+      } else if ("NOT".equals(next) && !stack.isEmpty()) {
+        stack.push(stack.pop().andNot(fetchCursor(analyzer.analyzeToken(t))));
+        i++;
+      } else {
+        pushTerm(analyzer.analyzeToken(t));
+      }
+    }
+
+    return stack.pop();
+  }
+
+  private static List<String> tokenize(String q) {
+    List<String> tokens = new ArrayList<String>();
+
+    Matcher m = TOKEN.matcher(q);
+    while (m.find()) {
+      tokens.add(m.group());
+    }
+
+    return tokens;
+  }
+
+  private void pushTerm(String term) throws IOException {
+    PostingsCursor cursor = fetchCursor(term);
+
+    if (cursor.df() > bitmapThreshold) {
+      stack.push(RoaringDocSet.fromCursor(cursor));
+    } else {
+      stack.push(ArrayDocSet.fromCursor(cursor));
+    }
+  }
+
+  private void performAND() {
+    DocSet s1 = stack.pop();
+    DocSet s2 = stack.pop();
+
+    stack.push(s1.and(s2));
+  }
+
+  private void performOR() {
+    DocSet s1 = stack.pop();
+    DocSet s2 = stack.pop();
+
+    stack.push(s1.or(s2));
+  }
+
+  private void performNOT() {
+    DocSet s1 = stack.pop();
+    DocSet s2 = stack.pop();
+
+    stack.push(s2.andNot(s1));
+  }
+
+  /**
+   * Finds documents containing the phrase: the term cursors are intersected leapfrog-style, and
+   * positions are decoded only for documents that contain every term.
+   */
+  private void pushPhrase(String phrase) throws IOException {
+    List<String> analyzed = analyzer.analyze(phrase);
+    String[] terms = analyzed.toArray(new String[analyzed.size()]);
+
+    if (terms.length == 0) {
+      stack.push(new ArrayDocSet(new int[0], 0));
+      return;
+    }
+
+    if (terms.length == 1) {
+      pushTerm(terms[0]);
+      return;
+    }
+
+    if (!metadata.hasPositions()) {
+      throw new IllegalStateException("Phrase queries need an index built with -positions");
+    }
+
+    PostingsCursor[] cursors = new PostingsCursor[terms.length];
+    int minDf = Integer.MAX_VALUE;
+    for (int i = 0; i < terms.length; i++) {
+      BytesWritable postings = new BytesWritable();
+      lookup(terms[i], postings);
+
+      cursors[i] = metadata.newCursor();
+      cursors[i].reset(postings);
+      minDf = Math.min(minDf, cursors[i].df());
+    }
+
+    int[] docs = new int[minDf];
+    int n = 0;
+
+    int docno = cursors[0].nextDoc();
+    while (docno != PostingsCursor.NO_MORE_DOCS) {
+      int i = 1;
+      for (; i < cursors.length; i++) {
+        int d = cursors[i].advance(docno);
+        if (d != docno) {
+          docno = cursors[0].advance(d);
+          break;
+        }
+      }
+
+      if (i == cursors.length) {
+        if (containsPhrase(cursors)) {
+          docs[n++] = docno;
+        }
+        docno = cursors[0].nextDoc();
+      }
+    }
+
+    stack.push(new ArrayDocSet(docs, n));
+  }
+
+  private static boolean containsPhrase(PostingsCursor[] cursors) {
+    int[] first = cursors[0].positions();
+
+    int[][] positions = new int[cursors.length][];
+    for (int i = 1; i < cursors.length; i++) {
+      positions[i] = cursors[i].positions();
+    }
+
+    for (int k = 0; k < cursors[0].tf(); k++) {
+      int i = 1;
+      while (i < cursors.length
+          && Arrays.binarySearch(positions[i], 0, cursors[i].tf(), first[k] + i) >= 0) {
+        i++;
+      }
+
+      if (i == cursors.length) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Looks up a term and returns the shared cursor positioned before its first posting. The
+   * cursor is only valid until the next lookup.
+   */
+  private PostingsCursor fetchCursor(String term) throws IOException {
+    lookup(term, value);
+    cursor.reset(value);
+
+    return cursor;
+  }
+
+  private void lookup(String term, BytesWritable postings) throws IOException {
+    if (term == null) {
+      postings.setSize(0);
+      return;
+    }
+
+    key.set(term);
+    index.getPostings(key, postings);
+  }
+}
@@ -0,0 +1,243 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Answers queries over a line protocol, from stdin or from clients on a local socket. Every line
+ * is a query; its response is the searcher's output followed by a latency line and a blank line.
+ * The line ":stats" prints latency percentiles over all queries served so far, from a histogram
+ * of fixed size with log-spaced buckets.
+ *
+ * Queries run concurrently on a fixed pool, each on a searcher borrowed from a pool of the same
+ * size, so searchers (and the index readers they hold) are never shared between threads.
+ * Responses within one session are written in the order the queries arrived; a session reads
+ * ahead at most twice the pool size of queries past the one being written.
+ */
+public class QueryServer {
+  private static final Logger LOG = Logger.getLogger(QueryServer.class);
+
+  public static final String STATS = ":stats";
+
+  /**
+   * Runs one query and appends its results to {@code out}. Need not be thread-safe.
+   */
+  public interface Searcher {
+    void search(String query, StringBuilder out) throws IOException;
+  }
+
+  /**
+   * What the writer of a session prints next: a query's response, the stats, which are taken once
+   * every query before them has been written, or nothing, at the end of the session.
+   */
+  private static class Response {
+    enum Kind { QUERY, STATS, END }
+
+    static final Response STATS = new Response(Kind.STATS, null);
+    static final Response END = new Response(Kind.END, null);
+
+    final Kind kind;
+    final Future<String> result;
+
+    Response(Kind kind, Future<String> result) {
+      this.kind = kind;
+      this.result = result;
+    }
+  }
+
+  // Latencies are counted in buckets of 2^SUB_BITS per power of two, so a bucket spans less than
+  // 1/64 of its values: below 2 * 2^SUB_BITS ns every value has its own bucket, and past that a
+  // value's bucket is its exponent and its SUB_BITS bits after the leading one.
+  private static final int SUB_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  private final BlockingQueue<Searcher> searchers;
+  private final ExecutorService pool;
+  private final int maxPending;
+
+  private final long[] buckets = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+  private long numLatencies;
+  private long maxLatency;
+
+  public QueryServer(List<Searcher> searchers) {
+    this.searchers = new ArrayBlockingQueue<Searcher>(searchers.size(), false, searchers);
+    this.pool = Executors.newFixedThreadPool(searchers.size());
+    this.maxPending = 2 * searchers.size();
+  }
+
+  /**
+   * Serves one session until {@code in} is exhausted.
+   */
+  public void serve(BufferedReader in, final PrintWriter out) throws IOException, InterruptedException {
+    // Bounded, so reading blocks once the pool is this far behind the writer.
+    final BlockingQueue<Response> responses = new ArrayBlockingQueue<Response>(maxPending);
+
+    Thread writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (Response response = responses.take(); response.kind != Response.Kind.END;
+              response = responses.take()) {
+            out.print(response.kind == Response.Kind.STATS ? stats() : get(response.result));
+            out.flush();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    writer.start();
+
+    String line;
+    while ((line = in.readLine()) != null) {
+      final String query = line.trim();
+      if (query.length() == 0) {
+        continue;
+      }
+
+      if (query.equals(STATS)) {
+        responses.put(Response.STATS);
+        continue;
+      }
+
+      final long submitted = System.nanoTime();
+      responses.put(new Response(Response.Kind.QUERY, pool.submit(new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+          StringBuilder sb = new StringBuilder();
+          sb.append("Query: ").append(query).append('\n');
+
+          Searcher searcher = searchers.take();
+          try {
+            searcher.search(query, sb);
+          } catch (Exception e) {
+            sb.append("Error: ").append(e).append('\n');
+          } finally {
+            searchers.put(searcher);
+          }
+
+          long nanos = System.nanoTime() - submitted;
+          record(nanos);
+          sb.append(String.format("Latency: %.3f ms%n%n", nanos / 1e6));
+
+          return sb.toString();
+        }
+      })));
+    }
+
+    responses.put(Response.END);
+    writer.join();
+  }
+
+  /**
+   * Waits for a query's response. A query whose task failed still gets an error response, so the
+   * session goes on with the next one.
+   */
+  private static String get(Future<String> response) throws InterruptedException {
+    try {
+      return response.get();
+    } catch (ExecutionException e) {
+      LOG.error("Query failed", e.getCause());
+      return String.format("Error: %s%n%n", e.getCause());
+    }
+  }
+
+  /**
+   * Accepts clients on the loopback interface, one session thread per connection. Never returns.
+   */
+  public void listen(int port) throws IOException {
+    ServerSocket server = new ServerSocket(port, 50, InetAddress.getByName(null));
+    LOG.info("Listening on " + server.getLocalSocketAddress());
+
+    while (true) {
+      final Socket socket = server.accept();
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            serve(new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8")),
+                new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), "UTF-8")));
+          } catch (Exception e) {
+            LOG.error("Session failed", e);
+          } finally {
+            try {
+              socket.close();
+            } catch (IOException e) {
+              // Ignore: the session is over either way.
+            }
+          }
+        }
+      }).start();
+    }
+  }
+
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Returns query count and latency percentiles, measured from when a query was read to when its
+   * response was ready, so queueing behind other queries is included. Percentiles are the upper
+   * bounds of their buckets, within 1/64 of the exact values; the max is exact.
+   */
+  public synchronized String stats() {
+    if (numLatencies == 0) {
+      return "Queries: 0\n\n";
+    }
+
+    return String.format("Queries: %d%np50: %.3f ms%np90: %.3f ms%np99: %.3f ms%nmax: %.3f ms%n%n",
+        numLatencies, percentile(50) / 1e6, percentile(90) / 1e6, percentile(99) / 1e6,
+        maxLatency / 1e6);
+  }
+
+  private synchronized void record(long nanos) {
+    buckets[bucket(Math.max(nanos, 0))]++;
+    numLatencies++;
+    maxLatency = Math.max(maxLatency, nanos);
+  }
+
+  private static int bucket(long nanos) {
+    if (nanos < 2 * SUB_BUCKETS) {
+      return (int) nanos;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BITS;
+    return shift * SUB_BUCKETS + (int) (nanos >>> shift);
+  }
+
+  // The largest value in the given bucket.
+  private static long bucketLimit(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    return ((mantissa + 1) << shift) - 1;
+  }
+
+  // Nearest-rank percentile, capped at the max.
+  private long percentile(int p) {
+    long rank = Math.max((long) Math.ceil(p / 100.0 * numLatencies), 1);
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        return Math.min(bucketLimit(i), maxLatency);
+      }
+    }
+    return maxLatency;
+  }
+}
@@ -0,0 +1,329 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Ranks documents against a bag-of-words query with BM25. Every query term is optional, so a
+ * document matches if it contains any of them; boolean operators and phrase quotes are ignored,
+ * and a repeated term counts once per occurrence. Terms go through the index's {@link Analyzer}
+ * first, and those it drops are left out.
+ *
+ * Evaluation is document-at-a-time: one cursor per term, advanced together in docno order, so
+ * each document is scored once from all its terms and offered to a bounded {@link TopDocs} heap.
+ * Exhaustive evaluation scores every document containing a query term. On an index with max
+ * scores, WAND keeps the cursors sorted by docno and only scores a document once the terms at or
+ * before it could together beat the current k-th score; Block-Max WAND additionally checks the
+ * max scores of the blocks holding the candidate and skips whole blocks that cannot. Both return
+ * exactly the exhaustive top k.
+ *
+ * By default documents are scored with the statistics of this index alone. An evaluator over one
+ * segment of a larger index is given the document count and total length of the whole index, and
+ * each query is then run in two steps: {@link #open} returns the terms' dfs in this segment, and
+ * {@link #evaluate(int[], int)} scores with the dfs summed over all segments. Every segment thus
+ * scores a document as a single index of all of them would. Max scores stored with a shorter
+ * average length than the whole index's, such as a segment's own, are loosened to remain bounds
+ * (see {@link BM25#maxTfNorm}).
+ *
+ * An evaluator reuses its cursors and buffers and is not thread-safe.
+ */
+public class RankedEvaluator {
+  public enum Strategy { EXHAUSTIVE, WAND, BLOCK_MAX_WAND }
+
+  private final PostingsIndex index;
+  private final IndexMetadata metadata;
+  private final Analyzer analyzer;
+  private final BM25 scorer;
+  private final Strategy strategy;
+  // The average length the index's max scores were computed with.
+  private final float builtAverageLength;
+
+  private final Text key = new Text();
+  private final List<PostingsCursor> cursors = new ArrayList<PostingsCursor>();
+  private final List<BytesWritable> values = new ArrayList<BytesWritable>();
+  private final TopDocs top = new TopDocs();
+
+  // The query's distinct terms, by how often each occurs, from the last call to open.
+  private int[] counts = new int[0];
+  private int numQueryTerms;
+
+  // The cursors of the query's terms, the terms' weights (query tf x idf) and upper bounds on
+  // what they add to a score; order holds the term indexes sorted by current docno.
+  private PostingsCursor[] active = new PostingsCursor[0];
+  private float[] weights = new float[0];
+  private float[] bounds = new float[0];
+  private int[] order = new int[0];
+  private int numTerms;
+
+  private long numScored;
+
+  /**
+   * Creates an evaluator using Block-Max WAND if the index has max scores, and exhaustive
+   * evaluation otherwise.
+   */
+  public RankedEvaluator(PostingsIndex index, IndexMetadata metadata, DocLengthTable lengths) {
+    this(index, metadata, lengths,
+        metadata.hasMaxScores() ? Strategy.BLOCK_MAX_WAND : Strategy.EXHAUSTIVE);
+  }
+
+  public RankedEvaluator(PostingsIndex index, IndexMetadata metadata, DocLengthTable lengths,
+      Strategy strategy) {
+    this(index, metadata, lengths, lengths.size(), lengths.getTotalLength(), strategy);
+  }
+
+  /**
+   * Creates an evaluator over a segment of an index of {@code numDocs} documents whose lengths
+   * sum to {@code totalLength}, using Block-Max WAND if the index has max scores.
+   */
+  public RankedEvaluator(PostingsIndex index, IndexMetadata metadata, DocLengthTable lengths,
+      int numDocs, long totalLength) {
+    this(index, metadata, lengths, numDocs, totalLength,
+        metadata.hasMaxScores() ? Strategy.BLOCK_MAX_WAND : Strategy.EXHAUSTIVE);
+  }
+
+  public RankedEvaluator(PostingsIndex index, IndexMetadata metadata, DocLengthTable lengths,
+      int numDocs, long totalLength, Strategy strategy) {
+    if (strategy != Strategy.EXHAUSTIVE && !metadata.hasMaxScores()) {
+      throw new IllegalArgumentException(strategy + " needs an index built with max scores");
+    }
+
+    this.index = index;
+    this.metadata = metadata;
+    this.analyzer = new Analyzer(metadata.getAnalyzer());
+    this.scorer = new BM25(metadata.getK1(), metadata.getB(), lengths, numDocs, totalLength);
+    this.strategy = strategy;
+    this.builtAverageLength = metadata.getMaxScoreAverageLength() > 0 ?
+        metadata.getMaxScoreAverageLength() : lengths.getAverageLength();
+  }
+
+  /**
+   * Returns how many documents have been scored so far, over all queries.
+   */
+  public long getNumScored() {
+    return numScored;
+  }
+
+  /**
+   * Returns the {@code k} best documents for the query, sorted best first. The result is reused
+   * by the next call.
+   */
+  public TopDocs evaluate(String q, int k) throws IOException {
+    return evaluate(open(q), k);
+  }
+
+  /**
+   * Looks up the distinct terms of a query and returns their dfs in this index, in query order.
+   * A term the index does not hold has df 0.
+   */
+  public int[] open(String q) throws IOException {
+    Map<String, Integer> terms = parse(q);
+    if (counts.length < terms.size()) {
+      counts = new int[terms.size()];
+      active = new PostingsCursor[terms.size()];
+      weights = new float[terms.size()];
+      bounds = new float[terms.size()];
+      order = new int[terms.size()];
+    }
+
+    int[] dfs = new int[terms.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> e : terms.entrySet()) {
+      if (cursors.size() == i) {
+        cursors.add(metadata.newCursor());
+        values.add(new BytesWritable());
+      }
+
+      key.set(e.getKey());
+      index.getPostings(key, values.get(i));
+      cursors.get(i).reset(values.get(i));
+
+      counts[i] = e.getValue();
+      dfs[i] = cursors.get(i).df();
+      i++;
+    }
+    numQueryTerms = i;
+
+    return dfs;
+  }
+
+  /**
+   * Returns the {@code k} best documents for the query last {@link #open opened}, weighting its
+   * terms by the given dfs, sorted best first. The result is reused by the next call.
+   */
+  public TopDocs evaluate(int[] dfs, int k) {
+    int n = 0;
+    for (int i = 0; i < numQueryTerms; i++) {
+      PostingsCursor cursor = cursors.get(i);
+      if (cursor.df() == 0) {
+        continue;
+      }
+
+      active[n] = cursor;
+      weights[n] = counts[i] * scorer.idf(dfs[i]);
+      bounds[n] = weights[n] * scorer.maxTfNorm(cursor.maxScore(), builtAverageLength);
+      order[n] = n;
+      cursor.nextDoc();
+      n++;
+    }
+    numTerms = n;
+
+    top.reset(k);
+    if (strategy == Strategy.EXHAUSTIVE) {
+      evaluateExhaustive();
+    } else {
+      evaluateWand(strategy == Strategy.BLOCK_MAX_WAND);
+    }
+
+    top.sort();
+    return top;
+  }
+
+  private void evaluateExhaustive() {
+    while (true) {
+      int docno = PostingsCursor.NO_MORE_DOCS;
+      for (int i = 0; i < numTerms; i++) {
+        docno = Math.min(docno, active[i].docno());
+      }
+      if (docno == PostingsCursor.NO_MORE_DOCS) {
+        break;
+      }
+
+      top.insert(docno, score(docno));
+      advancePast(docno);
+    }
+  }
+
+  private void evaluateWand(boolean blockMax) {
+    while (true) {
+      sortCursors();
+      float threshold = top.threshold();
+
+      // The pivot is the first cursor at which the bounds of the terms so far beat the threshold:
+      // a document before its docno only contains terms that cannot.
+      int pivot = -1;
+      float bound = 0;
+      for (int j = 0; j < numTerms; j++) {
+        bound += bounds[order[j]];
+        if (bound > threshold) {
+          pivot = j;
+          break;
+        }
+      }
+      if (pivot < 0) {
+        break;
+      }
+
+      int docno = active[order[pivot]].docno();
+      if (docno == PostingsCursor.NO_MORE_DOCS) {
+        break;
+      }
+      while (pivot + 1 < numTerms && active[order[pivot + 1]].docno() == docno) {
+        pivot++;
+      }
+
+      if (blockMax) {
+        // Bound the candidate with the blocks that would hold it. If they cannot beat the
+        // threshold, neither can any document before the first of those blocks ends or the next
+        // cursor after the pivot starts.
+        float blockBound = 0;
+        int next = PostingsCursor.NO_MORE_DOCS;
+        for (int j = 0; j <= pivot; j++) {
+          PostingsCursor cursor = active[order[j]];
+          int last = cursor.advanceShallow(docno);
+          if (last != PostingsCursor.NO_MORE_DOCS) {
+            // Otherwise the term has no docno left at or after the candidate.
+            blockBound += weights[order[j]]
+                * scorer.maxTfNorm(cursor.blockMaxScore(), builtAverageLength);
+            next = Math.min(next, last + 1);
+          }
+        }
+
+        if (blockBound <= threshold) {
+          if (pivot + 1 < numTerms) {
+            next = Math.min(next, active[order[pivot + 1]].docno());
+          }
+          for (int j = 0; j <= pivot; j++) {
+            active[order[j]].advance(next);
+          }
+          continue;
+        }
+      }
+
+      if (active[order[0]].docno() == docno) {
+        top.insert(docno, score(docno));
+        advancePast(docno);
+      } else {
+        for (int j = 0; j < pivot; j++) {
+          active[order[j]].advance(docno);
+        }
+      }
+    }
+  }
+
+  /**
+   * Scores a document from the cursors positioned on it. Terms are summed in query order
+   * whatever the strategy, so every strategy computes the same float score.
+   */
+  private float score(int docno) {
+    float score = 0;
+    for (int i = 0; i < numTerms; i++) {
+      PostingsCursor cursor = active[i];
+      if (cursor.docno() == docno) {
+        score += weights[i] * scorer.tfNorm(cursor.tf(), docno);
+      }
+    }
+
+    numScored++;
+    return score;
+  }
+
+  private void advancePast(int docno) {
+    for (int i = 0; i < numTerms; i++) {
+      if (active[i].docno() == docno) {
+        active[i].nextDoc();
+      }
+    }
+  }
+
+  // Insertion sort: queries have few terms, and only the cursors that moved are out of place.
+  private void sortCursors() {
+    for (int j = 1; j < numTerms; j++) {
+      int t = order[j];
+      int docno = active[t].docno();
+      int i = j - 1;
+      while (i >= 0 && active[order[i]].docno() > docno) {
+        order[i + 1] = order[i];
+        i--;
+      }
+      order[i + 1] = t;
+    }
+  }
+
+  /**
+   * Splits a query into its distinct terms, with how often each occurs, dropping boolean
+   * operators, quotes and the tokens the analyzer drops.
+   */
+  private Map<String, Integer> parse(String q) {
+    Map<String, Integer> terms = new LinkedHashMap<String, Integer>();
+
+    for (String token : q.replace('"', ' ').trim().split("\\s+")) {
+      if (token.length() == 0 || token.equals("AND") || token.equals("OR") || token.equals("NOT")) {
+        continue;
+      }
+
+      String t = analyzer.analyzeToken(token);
+      if (t == null) {
+        continue;
+      }
+
+      Integer count = terms.get(t);
+      terms.put(t, count == null ? 1 : count + 1);
+    }
+
+    return terms;
+  }
+}
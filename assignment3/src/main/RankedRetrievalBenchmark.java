@@ -0,0 +1,181 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.util.Arrays;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Compares exhaustive BM25 evaluation with WAND and Block-Max WAND on an index built with max
+ * scores: for each query, the number of documents each strategy scores and its mean time, after
+ * checking that all three return the same top k.
+ */
+public class RankedRetrievalBenchmark extends Configured implements Tool {
+  private static final String[] QUERIES = {
+      "outrageous fortune", "white rose", "means deceit", "white red rose pluck",
+      "unhappy outrageous good your fortune", "the and", "the and of to", "lord god the",
+      "king lord god the", "love thee my heart" };
+
+  private static final RankedEvaluator.Strategy[] STRATEGIES = RankedEvaluator.Strategy.values();
+
+  private RankedRetrievalBenchmark() {}
+
+  private static final String INDEX = "index";
+  private static final String ITERATIONS = "iterations";
+  private static final String TOP_K = "topk";
+
+  /**
+   * Runs this tool.
+   */
+  @SuppressWarnings({ "static-access" })
+  public int run(String[] args) throws Exception {
+    Options options = new Options();
+
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("index path").create(INDEX));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("timed runs per query").create(ITERATIONS));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("documents to return").create(TOP_K));
+
+    CommandLine cmdline;
+    CommandLineParser parser = new GnuParser();
+
+    try {
+      cmdline = parser.parse(options, args);
+    } catch (ParseException exp) {
+      System.err.println("Error parsing command line: " + exp.getMessage());
+      return -1;
+    }
+
+    if (!cmdline.hasOption(INDEX)) {
+      System.out.println("args: " + Arrays.toString(args));
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.setWidth(120);
+      formatter.printHelp(this.getClass().getName(), options);
+      ToolRunner.printGenericCommandUsage(System.out);
+      return -1;
+    }
+
+    String indexPath = cmdline.getOptionValue(INDEX);
+    int iterations = cmdline.hasOption(ITERATIONS) ?
+        Integer.parseInt(cmdline.getOptionValue(ITERATIONS)) : 100;
+    int k = cmdline.hasOption(TOP_K) ? Integer.parseInt(cmdline.getOptionValue(TOP_K)) : 10;
+
+    FileSystem fs = FileSystem.get(new Configuration());
+    IndexMetadata metadata = IndexMetadata.read(fs, new Path(indexPath));
+    DocLengthTable lengths = DocLengthTable.open(fs, new Path(indexPath), metadata);
+    if (lengths == null || !metadata.hasMaxScores()) {
+      System.err.println("Index has no max scores: rebuild it with -denseDocnos");
+      return -1;
+    }
+
+    PostingsIndex index = PostingsIndex.open(fs, new Path(indexPath));
+    RankedEvaluator[] evaluators = new RankedEvaluator[STRATEGIES.length];
+    for (int i = 0; i < STRATEGIES.length; i++) {
+      evaluators[i] = new RankedEvaluator(index, metadata, lengths, STRATEGIES[i]);
+    }
+
+    StringBuilder header = new StringBuilder("query");
+    for (RankedEvaluator.Strategy strategy : STRATEGIES) {
+      header.append('\t').append(strategy).append(" scored");
+    }
+    for (RankedEvaluator.Strategy strategy : STRATEGIES) {
+      header.append('\t').append(strategy).append(" us");
+    }
+    System.out.println(header);
+
+    long[] totalScored = new long[STRATEGIES.length];
+    for (String q : QUERIES) {
+      String expected = null;
+      long[] scored = new long[STRATEGIES.length];
+      for (int i = 0; i < STRATEGIES.length; i++) {
+        long before = evaluators[i].getNumScored();
+        String result = toString(evaluators[i].evaluate(q, k));
+        scored[i] = evaluators[i].getNumScored() - before;
+        totalScored[i] += scored[i];
+
+        if (expected == null) {
+          expected = result;
+        } else if (!result.equals(expected)) {
+          throw new IllegalStateException(STRATEGIES[i] + " disagrees on query: " + q);
+        }
+      }
+
+      double[] micros = new double[STRATEGIES.length];
+      for (int i = 0; i < STRATEGIES.length; i++) {
+        // Warm up each strategy before timing it.
+        for (int j = 0; j < iterations / 10 + 1; j++) {
+          evaluators[i].evaluate(q, k);
+        }
+
+        long start = System.nanoTime();
+        for (int j = 0; j < iterations; j++) {
+          evaluators[i].evaluate(q, k);
+        }
+        micros[i] = (System.nanoTime() - start) / 1000.0 / iterations;
+      }
+
+      StringBuilder line = new StringBuilder(q);
+      for (long n : scored) {
+        line.append('\t').append(n);
+      }
+      for (double us : micros) {
+        line.append('\t').append(String.format("%.1f", us));
+      }
+      System.out.println(line);
+    }
+
+    StringBuilder total = new StringBuilder("total");
+    for (long n : totalScored) {
+      total.append('\t').append(n);
+    }
+    System.out.println(total);
+
+    index.close();
+
+    return 0;
+  }
+
+  private static String toString(TopDocs top) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < top.size(); i++) {
+      sb.append(top.docno(i)).append(':').append(top.score(i)).append(' ');
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
+   */
+  public static void main(String[] args) throws Exception {
+    ToolRunner.run(new RankedRetrievalBenchmark(), args);
+  }
+}
@@ -0,0 +1,704 @@
+import java.util.Arrays;
+
+/**
+ * A {@link DocSet} stored as a compressed bitmap in the style of Roaring: docnos are split into
+ * chunks of 2^16 by their high 16 bits, and each chunk keeps its low 16 bits in whichever
+ * container is smallest for it:
+ *
+ * <ul>
+ * <li>an array container: sorted char values, for up to 4096 docnos;</li>
+ * <li>a bitmap container: 1024 longs, for dense chunks;</li>
+ * <li>a run container: (start, end) pairs, for chunks made of long consecutive ranges.</li>
+ * </ul>
+ *
+ * AND, OR and AND-NOT run chunk by chunk, on 64-bit words wherever both sides are dense.
+ */
+public class RoaringDocSet extends DocSet {
+  private static final int ARRAY_MAX = 4096;
+  private static final int WORDS = 1024;
+
+  private final char[] keys;
+  private final Container[] containers;
+  private final int numContainers;
+  private final int size;
+
+  private RoaringDocSet(char[] keys, Container[] containers, int numContainers) {
+    this.keys = keys;
+    this.containers = containers;
+    this.numContainers = numContainers;
+
+    int size = 0;
+    for (int i = 0; i < numContainers; i++) {
+      size += containers[i].cardinality();
+    }
+    this.size = size;
+  }
+
+  /**
+   * Decodes the remaining postings under the cursor.
+   */
+  public static RoaringDocSet fromCursor(PostingsCursor cursor) {
+    Builder builder = new Builder();
+    while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+      builder.add(cursor.docno());
+    }
+
+    return builder.build();
+  }
+
+  public static RoaringDocSet from(DocSet set) {
+    if (set instanceof RoaringDocSet) {
+      return (RoaringDocSet) set;
+    }
+
+    Builder builder = new Builder();
+    DocIterator iter = set.iterator();
+    for (int docno = iter.nextDoc(); docno != NO_MORE_DOCS; docno = iter.nextDoc()) {
+      builder.add(docno);
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(int docno) {
+    int i = findKey((char) (docno >>> 16));
+    return i >= 0 && containers[i].contains((char) docno);
+  }
+
+  @Override
+  public DocIterator iterator() {
+    return new DocIterator() {
+      private int i = -1;
+      private int high;
+      private ContainerIterator current;
+
+      @Override
+      public int nextDoc() {
+        while (true) {
+          if (current != null) {
+            int low = current.next();
+            if (low >= 0) {
+              return high | low;
+            }
+          }
+
+          if (++i >= numContainers) {
+            current = null;
+            return NO_MORE_DOCS;
+          }
+
+          high = keys[i] << 16;
+          current = containers[i].iterator();
+        }
+      }
+    };
+  }
+
+  @Override
+  public DocSet and(DocSet other) {
+    if (!(other instanceof RoaringDocSet)) {
+      // Probing the bitmap from the smaller array side is cheaper than converting it.
+      return other.and(this);
+    }
+
+    RoaringDocSet that = (RoaringDocSet) other;
+    Result result = new Result(Math.min(numContainers, that.numContainers));
+
+    int i = 0;
+    int j = 0;
+    while (i < numContainers && j < that.numContainers) {
+      if (keys[i] < that.keys[j]) {
+        i++;
+      } else if (keys[i] > that.keys[j]) {
+        j++;
+      } else {
+        result.add(keys[i], and(containers[i], that.containers[j]));
+        i++;
+        j++;
+      }
+    }
+
+    return result.build();
+  }
+
+  @Override
+  public DocSet or(DocSet other) {
+    RoaringDocSet that = from(other);
+    Result result = new Result(numContainers + that.numContainers);
+
+    int i = 0;
+    int j = 0;
+    while (i < numContainers || j < that.numContainers) {
+      if (j == that.numContainers || (i < numContainers && keys[i] < that.keys[j])) {
+        result.add(keys[i], containers[i]);
+        i++;
+      } else if (i == numContainers || keys[i] > that.keys[j]) {
+        result.add(that.keys[j], that.containers[j]);
+        j++;
+      } else {
+        result.add(keys[i], or(containers[i], that.containers[j]));
+        i++;
+        j++;
+      }
+    }
+
+    return result.build();
+  }
+
+  @Override
+  public DocSet andNot(DocSet other) {
+    RoaringDocSet that = from(other);
+    Result result = new Result(numContainers);
+
+    int j = 0;
+    for (int i = 0; i < numContainers; i++) {
+      while (j < that.numContainers && that.keys[j] < keys[i]) {
+        j++;
+      }
+
+      if (j < that.numContainers && that.keys[j] == keys[i]) {
+        result.add(keys[i], andNot(containers[i], that.containers[j]));
+      } else {
+        result.add(keys[i], containers[i]);
+      }
+    }
+
+    return result.build();
+  }
+
+  @Override
+  public DocSet and(PostingsCursor cursor) {
+    Builder builder = new Builder();
+
+    if (size < cursor.df()) {
+      // Walk our docnos and let the cursor skip blocks between them.
+      DocIterator iter = iterator();
+      for (int docno = iter.nextDoc(); docno != NO_MORE_DOCS; docno = iter.nextDoc()) {
+        int target = cursor.advance(docno);
+        if (target == PostingsCursor.NO_MORE_DOCS) {
+          break;
+        }
+        if (target == docno) {
+          builder.add(docno);
+        }
+      }
+    } else {
+      while (cursor.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+        if (contains(cursor.docno())) {
+          builder.add(cursor.docno());
+        }
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public DocSet andNot(PostingsCursor cursor) {
+    Builder builder = new Builder();
+
+    DocIterator iter = iterator();
+    for (int docno = iter.nextDoc(); docno != NO_MORE_DOCS; docno = iter.nextDoc()) {
+      if (cursor.advance(docno) != docno) {
+        builder.add(docno);
+      }
+    }
+
+    return builder.build();
+  }
+
+  private int findKey(char key) {
+    return Arrays.binarySearch(keys, 0, numContainers, key);
+  }
+
+  /**
+   * Builds a set from docnos added in ascending order.
+   */
+  public static class Builder {
+    private final Result result = new Result(4);
+    private final char[] lows = new char[ARRAY_MAX];
+
+    private int key = -1;
+    private int count;
+    private long[] words;
+
+    public void add(int docno) {
+      int high = docno >>> 16;
+      if (high != key) {
+        flush();
+        key = high;
+      }
+
+      char low = (char) docno;
+      if (words != null) {
+        words[low >>> 6] |= 1L << low;
+      } else if (count < ARRAY_MAX) {
+        lows[count++] = low;
+      } else {
+        // Chunk outgrew an array: switch to a bitmap for the rest of it.
+        words = new long[WORDS];
+        for (int i = 0; i < count; i++) {
+          words[lows[i] >>> 6] |= 1L << lows[i];
+        }
+        words[low >>> 6] |= 1L << low;
+      }
+    }
+
+    public RoaringDocSet build() {
+      flush();
+      return result.build();
+    }
+
+    private void flush() {
+      if (key < 0) {
+        return;
+      }
+
+      if (words != null) {
+        result.add((char) key, fromWords(words));
+      } else if (count > 0) {
+        result.add((char) key, optimize(new ArrayContainer(Arrays.copyOf(lows, count), count)));
+      }
+
+      count = 0;
+      words = null;
+    }
+  }
+
+  /**
+   * Collects (key, container) pairs in key order, dropping empty containers.
+   */
+  private static class Result {
+    private char[] keys;
+    private Container[] containers;
+    private int n;
+
+    Result(int capacity) {
+      keys = new char[Math.max(capacity, 1)];
+      containers = new Container[keys.length];
+    }
+
+    void add(char key, Container container) {
+      if (container == null || container.cardinality() == 0) {
+        return;
+      }
+
+      if (n == keys.length) {
+        keys = Arrays.copyOf(keys, n * 2);
+        containers = Arrays.copyOf(containers, n * 2);
+      }
+
+      keys[n] = key;
+      containers[n] = container;
+      n++;
+    }
+
+    RoaringDocSet build() {
+      return new RoaringDocSet(keys, containers, n);
+    }
+  }
+
+  private static Container and(Container a, Container b) {
+    if (b instanceof ArrayContainer) {
+      Container t = a;
+      a = b;
+      b = t;
+    }
+
+    if (a instanceof ArrayContainer) {
+      ArrayContainer array = (ArrayContainer) a;
+      char[] out = new char[array.card];
+      int n = 0;
+      for (int i = 0; i < array.card; i++) {
+        if (b.contains(array.lows[i])) {
+          out[n++] = array.lows[i];
+        }
+      }
+      return new ArrayContainer(out, n);
+    }
+
+    long[] words = a.toWords();
+    long[] other = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toWords();
+    for (int i = 0; i < WORDS; i++) {
+      words[i] &= other[i];
+    }
+
+    return fromWords(words);
+  }
+
+  private static Container or(Container a, Container b) {
+    if (a instanceof ArrayContainer && b instanceof ArrayContainer
+        && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+      ArrayContainer x = (ArrayContainer) a;
+      ArrayContainer y = (ArrayContainer) b;
+      char[] out = new char[x.card + y.card];
+      int n = 0;
+      int i = 0;
+      int j = 0;
+      while (i < x.card && j < y.card) {
+        if (x.lows[i] < y.lows[j]) {
+          out[n++] = x.lows[i++];
+        } else if (x.lows[i] > y.lows[j]) {
+          out[n++] = y.lows[j++];
+        } else {
+          out[n++] = x.lows[i++];
+          j++;
+        }
+      }
+      while (i < x.card) {
+        out[n++] = x.lows[i++];
+      }
+      while (j < y.card) {
+        out[n++] = y.lows[j++];
+      }
+      return optimize(new ArrayContainer(out, n));
+    }
+
+    long[] words = a.toWords();
+    b.orInto(words);
+
+    return fromWords(words);
+  }
+
+  private static Container andNot(Container a, Container b) {
+    if (a instanceof ArrayContainer) {
+      ArrayContainer array = (ArrayContainer) a;
+      char[] out = new char[array.card];
+      int n = 0;
+      for (int i = 0; i < array.card; i++) {
+        if (!b.contains(array.lows[i])) {
+          out[n++] = array.lows[i];
+        }
+      }
+      return new ArrayContainer(out, n);
+    }
+
+    long[] words = a.toWords();
+    b.andNotFrom(words);
+
+    return fromWords(words);
+  }
+
+  /**
+   * Picks the smallest container for a chunk given as a bitmap; takes ownership of the words.
+   */
+  private static Container fromWords(long[] words) {
+    int card = 0;
+    for (int i = 0; i < WORDS; i++) {
+      card += Long.bitCount(words[i]);
+    }
+
+    if (card == 0) {
+      return null;
+    }
+
+    BitmapContainer bitmap = new BitmapContainer(words, card);
+    if (card <= ARRAY_MAX) {
+      char[] lows = new char[card];
+      int n = 0;
+      ContainerIterator iter = bitmap.iterator();
+      for (int low = iter.next(); low >= 0; low = iter.next()) {
+        lows[n++] = (char) low;
+      }
+      return optimize(new ArrayContainer(lows, n));
+    }
+
+    return optimize(bitmap);
+  }
+
+  /**
+   * Converts a container to runs when that is smaller (4 bytes per run against 2 bytes per array
+   * value or 8 KB for a bitmap).
+   */
+  private static Container optimize(Container c) {
+    int runs = c.numRuns();
+    int bytes = c instanceof ArrayContainer ? 2 * c.cardinality() : 8 * WORDS;
+    if (4 * runs >= bytes) {
+      return c;
+    }
+
+    char[] starts = new char[runs];
+    char[] ends = new char[runs];
+    int n = -1;
+    int prev = -2;
+    ContainerIterator iter = c.iterator();
+    for (int low = iter.next(); low >= 0; low = iter.next()) {
+      if (low != prev + 1) {
+        starts[++n] = (char) low;
+      }
+      ends[n] = (char) low;
+      prev = low;
+    }
+
+    return new RunContainer(starts, ends, runs, c.cardinality());
+  }
+
+  /**
+   * Iterates the low 16 bits of a container in ascending order; returns -1 when done.
+   */
+  private interface ContainerIterator {
+    int next();
+  }
+
+  private abstract static class Container {
+    abstract int cardinality();
+
+    abstract boolean contains(char low);
+
+    abstract ContainerIterator iterator();
+
+    abstract int numRuns();
+
+    /** Returns the chunk as a fresh bitmap. */
+    abstract long[] toWords();
+
+    abstract void orInto(long[] words);
+
+    abstract void andNotFrom(long[] words);
+  }
+
+  private static class ArrayContainer extends Container {
+    final char[] lows;
+    final int card;
+
+    ArrayContainer(char[] lows, int card) {
+      this.lows = lows;
+      this.card = card;
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return Arrays.binarySearch(lows, 0, card, low) >= 0;
+    }
+
+    @Override
+    ContainerIterator iterator() {
+      return new ContainerIterator() {
+        private int i = 0;
+
+        @Override
+        public int next() {
+          return i < card ? lows[i++] : -1;
+        }
+      };
+    }
+
+    @Override
+    int numRuns() {
+      int runs = 0;
+      for (int i = 0; i < card; i++) {
+        if (i == 0 || lows[i] != lows[i - 1] + 1) {
+          runs++;
+        }
+      }
+      return runs;
+    }
+
+    @Override
+    long[] toWords() {
+      long[] words = new long[WORDS];
+      orInto(words);
+      return words;
+    }
+
+    @Override
+    void orInto(long[] words) {
+      for (int i = 0; i < card; i++) {
+        words[lows[i] >>> 6] |= 1L << lows[i];
+      }
+    }
+
+    @Override
+    void andNotFrom(long[] words) {
+      for (int i = 0; i < card; i++) {
+        words[lows[i] >>> 6] &= ~(1L << lows[i]);
+      }
+    }
+  }
+
+  private static class BitmapContainer extends Container {
+    final long[] words;
+    final int card;
+
+    BitmapContainer(long[] words, int card) {
+      this.words = words;
+      this.card = card;
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    @Override
+    ContainerIterator iterator() {
+      return new ContainerIterator() {
+        private int i = 0;
+        private long word = words[0];
+
+        @Override
+        public int next() {
+          while (word == 0) {
+            if (++i == WORDS) {
+              return -1;
+            }
+            word = words[i];
+          }
+
+          int low = (i << 6) + Long.numberOfTrailingZeros(word);
+          word &= word - 1;
+          return low;
+        }
+      };
+    }
+
+    @Override
+    int numRuns() {
+      int runs = 0;
+      for (int i = 0; i < WORDS; i++) {
+        long word = words[i];
+        // A run starts at every set bit whose lower neighbour is clear.
+        long carry = i == 0 ? 0 : words[i - 1] >>> 63;
+        runs += Long.bitCount(word & ~((word << 1) | carry));
+      }
+      return runs;
+    }
+
+    @Override
+    long[] toWords() {
+      return words.clone();
+    }
+
+    @Override
+    void orInto(long[] out) {
+      for (int i = 0; i < WORDS; i++) {
+        out[i] |= words[i];
+      }
+    }
+
+    @Override
+    void andNotFrom(long[] out) {
+      for (int i = 0; i < WORDS; i++) {
+        out[i] &= ~words[i];
+      }
+    }
+  }
+
+  private static class RunContainer extends Container {
+    final char[] starts;
+    final char[] ends;
+    final int numRuns;
+    final int card;
+
+    RunContainer(char[] starts, char[] ends, int numRuns, int card) {
+      this.starts = starts;
+      this.ends = ends;
+      this.numRuns = numRuns;
+      this.card = card;
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      int i = Arrays.binarySearch(starts, 0, numRuns, low);
+      if (i >= 0) {
+        return true;
+      }
+
+      i = -i - 2;
+      return i >= 0 && low <= ends[i];
+    }
+
+    @Override
+    ContainerIterator iterator() {
+      return new ContainerIterator() {
+        private int run = 0;
+        private int next = numRuns > 0 ? starts[0] : -1;
+
+        @Override
+        public int next() {
+          if (run == numRuns) {
+            return -1;
+          }
+
+          int low = next;
+          if (low == ends[run]) {
+            if (++run < numRuns) {
+              next = starts[run];
+            }
+          } else {
+            next++;
+          }
+          return low;
+        }
+      };
+    }
+
+    @Override
+    int numRuns() {
+      return numRuns;
+    }
+
+    @Override
+    long[] toWords() {
+      long[] words = new long[WORDS];
+      orInto(words);
+      return words;
+    }
+
+    @Override
+    void orInto(long[] words) {
+      for (int r = 0; r < numRuns; r++) {
+        setRange(words, starts[r], ends[r], true);
+      }
+    }
+
+    @Override
+    void andNotFrom(long[] words) {
+      for (int r = 0; r < numRuns; r++) {
+        setRange(words, starts[r], ends[r], false);
+      }
+    }
+
+    private static void setRange(long[] words, int first, int last, boolean value) {
+      int firstWord = first >>> 6;
+      int lastWord = last >>> 6;
+
+      for (int w = firstWord; w <= lastWord; w++) {
+        long mask = -1L;
+        if (w == firstWord) {
+          mask &= -1L << first;
+        }
+        if (w == lastWord) {
+          mask &= -1L >>> (63 - (last & 63));
+        }
+
+        if (value) {
+          words[w] |= mask;
+        } else {
+          words[w] &= ~mask;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Lists the segments of a segmented index, and the collection batches their documents come from.
+ * A segment is an ordinary compressed index in a subdirectory of the index, numbering its
+ * documents densely from 0; its documents are the global docnos base to base + numDocs - 1.
+ * Segments cover consecutive docno ranges in order, so concatenating their results keeps docnos
+ * ascending. Each batch is a collection file that was added whole; a merged segment spans several
+ * batches, and a docno's batch tells which file its line is in.
+ *
+ * The manifest is a properties file, {@link #FILE}, written whole to a temporary file and renamed
+ * into place, so readers see either the old or the new list of segments.
+ */
+public class SegmentManifest {
+  public static final String FILE = "_segments";
+
+  /**
+   * A range of docnos and where they live.
+   */
+  public static class Entry {
+    private final String name;
+    private final int base;
+    private final int numDocs;
+
+    Entry(String name, int base, int numDocs) {
+      this.name = name;
+      this.base = base;
+      this.numDocs = numDocs;
+    }
+
+    /**
+     * Returns the segment's directory name, or the batch's collection path.
+     */
+    public String getName() {
+      return name;
+    }
+
+    public int getBase() {
+      return base;
+    }
+
+    public int getNumDocs() {
+      return numDocs;
+    }
+  }
+
+  private final List<Entry> batches = new ArrayList<Entry>();
+  private final List<Entry> segments = new ArrayList<Entry>();
+  private int generation;
+
+  public List<Entry> getBatches() {
+    return Collections.unmodifiableList(batches);
+  }
+
+  public List<Entry> getSegments() {
+    return Collections.unmodifiableList(segments);
+  }
+
+  public int getNumDocs() {
+    return batches.isEmpty() ? 0 : batches.get(batches.size() - 1).base
+        + batches.get(batches.size() - 1).numDocs;
+  }
+
+  /**
+   * Returns a segment directory name not used before in this index.
+   */
+  public String newSegmentName() {
+    return segmentName(generation++);
+  }
+
+  /**
+   * Returns the name of the segment created at a generation; a new index names its first
+   * segments seg-00000, seg-00001, ...
+   */
+  public static String segmentName(int generation) {
+    return String.format("seg-%05d", generation);
+  }
+
+  /**
+   * Records a batch of documents indexed as a new segment after all others.
+   */
+  public void addBatch(Path collection, String segment, int numDocs) {
+    int base = getNumDocs();
+    addCollection(collection, numDocs);
+    addSegment(segment, base, numDocs);
+  }
+
+  /**
+   * Records a collection file whose documents follow all others, without adding segments; an
+   * index built document-partitioned adds its shards with {@link #addSegment}.
+   */
+  public void addCollection(Path collection, int numDocs) {
+    batches.add(new Entry(collection.toString(), getNumDocs(), numDocs));
+  }
+
+  /**
+   * Records a segment after all others, holding the documents from {@code base}.
+   */
+  public void addSegment(String segment, int base, int numDocs) {
+    segments.add(new Entry(segment, base, numDocs));
+  }
+
+  /**
+   * Replaces the segments from {@code from} (inclusive) to {@code to} (exclusive) with one
+   * segment holding all their documents.
+   */
+  public void replaceSegments(int from, int to, String merged) {
+    int base = segments.get(from).base;
+    Entry last = segments.get(to - 1);
+
+    segments.subList(from, to).clear();
+    segments.add(from, new Entry(merged, base, last.base + last.numDocs - base));
+  }
+
+  /**
+   * Returns the index of the batch holding a global docno.
+   */
+  public int findBatch(int docno) {
+    int lo = 0;
+    int hi = batches.size() - 1;
+    while (lo < hi) {
+      int mid = (lo + hi + 1) >>> 1;
+      if (batches.get(mid).base <= docno) {
+        lo = mid;
+      } else {
+        hi = mid - 1;
+      }
+    }
+
+    return lo;
+  }
+
+  public static boolean exists(FileSystem fs, Path indexPath) throws IOException {
+    return fs.exists(new Path(indexPath, FILE));
+  }
+
+  public static SegmentManifest read(FileSystem fs, Path indexPath) throws IOException {
+    SegmentManifest manifest = new SegmentManifest();
+
+    Path path = new Path(indexPath, FILE);
+    if (!fs.exists(path)) {
+      return manifest;
+    }
+
+    Properties properties = new Properties();
+    InputStream in = fs.open(path);
+    try {
+      properties.load(in);
+    } finally {
+      in.close();
+    }
+
+    manifest.generation = Integer.parseInt(properties.getProperty("generation", "0"));
+    readEntries(properties, "batches", "batch", manifest.batches);
+    readEntries(properties, "segments", "segment", manifest.segments);
+
+    return manifest;
+  }
+
+  private static void readEntries(Properties properties, String count, String prefix,
+      List<Entry> entries) {
+    int n = Integer.parseInt(properties.getProperty(count, "0"));
+    for (int i = 0; i < n; i++) {
+      entries.add(new Entry(properties.getProperty(prefix + "." + i + ".name"),
+          Integer.parseInt(properties.getProperty(prefix + "." + i + ".base")),
+          Integer.parseInt(properties.getProperty(prefix + "." + i + ".docs"))));
+    }
+  }
+
+  public void write(FileSystem fs, Path indexPath) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty("generation", Integer.toString(generation));
+    writeEntries(properties, "batches", "batch", batches);
+    writeEntries(properties, "segments", "segment", segments);
+
+    Path path = new Path(indexPath, FILE);
+    Path tmp = new Path(indexPath, FILE + ".tmp");
+    OutputStream out = fs.create(tmp, true);
+    try {
+      properties.store(out, SegmentManifest.class.getSimpleName());
+    } finally {
+      out.close();
+    }
+
+    // HDFS renames do not replace an existing file.
+    fs.delete(path, false);
+    if (!fs.rename(tmp, path)) {
+      throw new IOException("Could not rename " + tmp + " to " + path);
+    }
+  }
+
+  private static void writeEntries(Properties properties, String count, String prefix,
+      List<Entry> entries) {
+    properties.setProperty(count, Integer.toString(entries.size()));
+    for (int i = 0; i < entries.size(); i++) {
+      Entry e = entries.get(i);
+      properties.setProperty(prefix + "." + i + ".name", e.name);
+      properties.setProperty(prefix + "." + i + ".base", Integer.toString(e.base));
+      properties.setProperty(prefix + "." + i + ".docs", Integer.toString(e.numDocs));
+    }
+  }
+}
@@ -0,0 +1,281 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+import org.apache.log4j.Logger;
+
+/**
+ * Compacts the segments of a segmented index (see {@link SegmentManifest}) with a tiered merge
+ * policy. A segment's level is the floor of the log, in base mergeFactor, of its number of
+ * documents; whenever mergeFactor adjacent segments share a level, they are merged into one
+ * segment of the next level. Each document is thus rewritten about log(numDocs) times over the
+ * life of the index, and an index holds at most mergeFactor - 1 segments per level. Only adjacent
+ * segments are merged, so segments keep covering consecutive docno ranges.
+ *
+ * Merging walks the lists of every source segment in term order, through its postings file or its
+ * MapFile partitions, and re-encodes each term's lists, with docnos shifted into the merged
+ * segment's range, into a single MapFile partition, which becomes the merged segment's postings
+ * file if it has a term dictionary; the docno and length tables are concatenated. Max scores are recomputed over the merged
+ * lengths. The manifest is rewritten before the sources are deleted, so readers opening the index
+ * meanwhile see either the sources or the merged segment.
+ */
+public class SegmentMerger {
+  private static final Logger LOG = Logger.getLogger(SegmentMerger.class);
+
+  public static final int DEFAULT_MERGE_FACTOR = 10;
+
+  private final FileSystem fs;
+  private final Path indexPath;
+  private final int mergeFactor;
+
+  public SegmentMerger(FileSystem fs, Path indexPath, int mergeFactor) {
+    if (mergeFactor < 2) {
+      throw new IllegalArgumentException("Merge factor must be at least 2: " + mergeFactor);
+    }
+
+    this.fs = fs;
+    this.indexPath = indexPath;
+    this.mergeFactor = mergeFactor;
+  }
+
+  /**
+   * Merges segments until the policy finds nothing more to merge, rewriting the manifest after
+   * each merge.
+   *
+   * @return the number of merges done
+   */
+  public int maybeMerge(SegmentManifest manifest) throws IOException {
+    int merges = 0;
+    for (int[] range = findMerge(manifest.getSegments()); range != null;
+        range = findMerge(manifest.getSegments())) {
+      merge(manifest, range[0], range[1]);
+      merges++;
+    }
+
+    return merges;
+  }
+
+  /**
+   * Returns the first run of mergeFactor adjacent segments on the same level, as {from, to}, or
+   * null if there is none.
+   */
+  int[] findMerge(List<SegmentManifest.Entry> segments) {
+    int start = 0;
+    for (int i = 1; i <= segments.size(); i++) {
+      if (i == segments.size() || level(segments.get(i)) != level(segments.get(start))) {
+        if (i - start >= mergeFactor) {
+          return new int[] { start, start + mergeFactor };
+        }
+        start = i;
+      }
+    }
+
+    return null;
+  }
+
+  private int level(SegmentManifest.Entry segment) {
+    int level = 0;
+    for (long size = mergeFactor; size <= segment.getNumDocs(); size *= mergeFactor) {
+      level++;
+    }
+
+    return level;
+  }
+
+  /**
+   * One partition's reader and its current entry, for the merge. Heads of the same term pop in
+   * segment order, so their postings come in ascending global docno order.
+   */
+  private static class Head {
+    final PostingsIndex.Scanner scanner;
+    final int segment;
+    final Text term = new Text();
+    final BytesWritable postings = new BytesWritable();
+
+    Head(PostingsIndex.Scanner scanner, int segment) {
+      this.scanner = scanner;
+      this.segment = segment;
+    }
+
+    boolean next() throws IOException {
+      return scanner.next(term, postings);
+    }
+  }
+
+  /**
+   * Merges the segments from {@code from} (inclusive) to {@code to} (exclusive) into a new
+   * segment, records it in the manifest and deletes the sources.
+   */
+  public void merge(SegmentManifest manifest, int from, int to) throws IOException {
+    long startTime = System.currentTimeMillis();
+
+    List<SegmentManifest.Entry> segments = manifest.getSegments().subList(from, to);
+    Path[] sources = new Path[segments.size()];
+    for (int i = 0; i < sources.length; i++) {
+      sources[i] = new Path(indexPath, segments.get(i).getName());
+    }
+
+    IndexMetadata metadata = IndexMetadata.read(fs, sources[0]);
+    for (Path source : sources) {
+      IndexMetadata other = IndexMetadata.read(fs, source);
+      if (other.hasPositions() != metadata.hasPositions()
+          || other.getBlockSize() != metadata.getBlockSize()
+          || !other.getCodec().equals(metadata.getCodec())
+          || other.hasMaxScores() != metadata.hasMaxScores()
+          || !other.getAnalyzer().equals(metadata.getAnalyzer())
+          || !other.hasDenseDocnos()) {
+        throw new IOException("Segment " + source + " was built with different options than " + sources[0]);
+      }
+    }
+
+    String name = manifest.newSegmentName();
+    Path target = new Path(indexPath, name);
+    fs.delete(target, true);
+    fs.mkdirs(target);
+
+    concatenate(sources, DocnoTable.FILE, target);
+    concatenate(sources, DocLengthTable.FILE, target);
+
+    BM25 scorer = null;
+    if (metadata.hasMaxScores()) {
+      scorer = new BM25(metadata.getK1(), metadata.getB(),
+          DocLengthTable.open(fs, new Path(target, DocLengthTable.FILE)));
+    }
+
+    int numTerms = mergePostings(sources, segments, metadata, scorer, target);
+    if (metadata.hasTermDictionary()) {
+      DictionaryPostingsIndex.build(fs, target, TermDictionary.DEFAULT_TERMS_PER_BLOCK,
+          metadata.hasTermHash(), false);
+    }
+
+    metadata.setPartitions(1);
+    metadata.setPartitionTable(false);
+    // The merged lists' max scores were just computed with the merged segment's own lengths.
+    metadata.setMaxScoreAverageLength(0);
+    metadata.write(fs, target);
+
+    manifest.replaceSegments(from, to, name);
+    manifest.write(fs, indexPath);
+    for (Path source : sources) {
+      fs.delete(source, true);
+    }
+
+    LOG.info("Merged " + sources.length + " segments into " + name + " ("
+        + manifest.getSegments().get(from).getNumDocs() + " docs, " + numTerms + " terms) in "
+        + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+  }
+
+  private void concatenate(Path[] sources, String file, Path target) throws IOException {
+    OutputStream out = fs.create(new Path(target, file), true);
+    try {
+      for (Path source : sources) {
+        InputStream in = fs.open(new Path(source, file));
+        try {
+          IOUtils.copyBytes(in, out, 1 << 16, false);
+        } finally {
+          in.close();
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  private int mergePostings(Path[] sources, List<SegmentManifest.Entry> segments,
+      IndexMetadata metadata, BM25 scorer, Path target) throws IOException {
+    PriorityQueue<Head> heads = new PriorityQueue<Head>(16, new Comparator<Head>() {
+      @Override
+      public int compare(Head a, Head b) {
+        int cmp = a.term.compareTo(b.term);
+        return cmp != 0 ? cmp : a.segment - b.segment;
+      }
+    });
+
+    boolean positional = metadata.hasPositions();
+    PostingsCursor cursor = metadata.newCursor();
+    PostingWriter writer = new PostingWriter(metadata.getBlockSize(), positional,
+        PostingCodec.forName(metadata.getCodec()), scorer);
+    DataOutputBuffer buffer = new DataOutputBuffer();
+    BytesWritable postings = new BytesWritable();
+    Text term = new Text();
+
+    MapFile.Writer out = new MapFile.Writer(fs.getConf(), fs,
+        new Path(target, "part-r-00000").toString(), Text.class, BytesWritable.class);
+
+    int numTerms = 0;
+    int base = segments.get(0).getBase();
+    try {
+      for (int i = 0; i < sources.length; i++) {
+        for (PostingsIndex.Scanner scanner :
+            PostingsIndex.scan(fs, sources[i], IndexMetadata.read(fs, sources[i]))) {
+          Head head = new Head(scanner, i);
+          if (head.next()) {
+            heads.add(head);
+          } else {
+            head.scanner.close();
+          }
+        }
+      }
+
+      while (!heads.isEmpty()) {
+        Head head = heads.poll();
+        if (numTerms == 0 || !head.term.equals(term)) {
+          if (numTerms > 0) {
+            write(writer, buffer, postings, term, out);
+          }
+          term.set(head.term);
+          writer.reset();
+          numTerms++;
+        }
+
+        int shift = segments.get(head.segment).getBase() - base;
+        cursor.reset(head.postings);
+        for (int docno = cursor.nextDoc(); docno != PostingsCursor.NO_MORE_DOCS;
+            docno = cursor.nextDoc()) {
+          if (positional) {
+            writer.add(docno + shift, cursor.positions(), cursor.tf());
+          } else {
+            writer.add(docno + shift, cursor.tf());
+          }
+        }
+
+        // The cursor reads the value in place, so refill it only once the list is copied.
+        if (head.next()) {
+          heads.add(head);
+        } else {
+          head.scanner.close();
+        }
+      }
+
+      if (numTerms > 0) {
+        write(writer, buffer, postings, term, out);
+      }
+    } finally {
+      for (Head head : heads) {
+        head.scanner.close();
+      }
+      out.close();
+    }
+
+    return numTerms;
+  }
+
+  private static void write(PostingWriter writer, DataOutputBuffer buffer, BytesWritable postings,
+      Text term, MapFile.Writer out) throws IOException {
+    buffer.reset();
+    writer.write(buffer);
+    postings.set(buffer.getData(), 0, buffer.getLength());
+    out.append(term, postings);
+  }
+}
@@ -0,0 +1,237 @@
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalDirAllocator;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapreduce.MRConfig;
+
+import edu.umd.cloud9.io.array.ArrayListWritable;
+import edu.umd.cloud9.io.pair.PairOfInts;
+import edu.umd.cloud9.io.pair.PairOfWritables;
+
+/**
+ * Collects the (docno, tf) postings of one term in a primitive buffer bounded by a byte budget,
+ * for reducers that must not hold a whole posting list as objects. Each posting is packed into a
+ * long, docno in the high half and tf in the low half, so sorting the longs sorts by docno. When
+ * the buffer is full it is sorted and spilled as a run to a file in the task's local directories;
+ * {@link #write} merges the runs and the buffer and streams the sorted postings out.
+ *
+ * The serialized form is exactly that of a
+ * {@code PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>} holding the df and the
+ * postings sorted by docno, one record per term, so readers of {@link BuildInvertedIndex} output
+ * read it with {@code MapFile.Reader.get} as before. (SequenceFile iteration with
+ * {@code next(key, value)} checks the value class against the file header, which names this
+ * class.) SequenceFile.Writer still copies each record into a byte buffer before appending it, so
+ * a list costs its 8 bytes per posting there once, instead of a PairOfInts object per posting.
+ */
+public class SpillingPostingsWritable implements Writable {
+  public static final long DEFAULT_BUDGET = 64L << 20;
+
+  private static final int RUN_BUFFER_SIZE = 1 << 16;
+
+  private final int capacity;
+  private long[] buffer;
+  private int size;
+  private int docFreq;
+
+  // Where runs go: files named after the task in its local directories.
+  private final Configuration conf;
+  private final String runPrefix;
+  private final LocalDirAllocator localDirs = new LocalDirAllocator(MRConfig.LOCAL_DIR);
+  private final List<Path> runs = new ArrayList<Path>();
+
+  // The merge of the runs and the buffer, while the list is written out.
+  private DataInputStream[] ins = new DataInputStream[0];
+  private long[] heads;
+  private int[] remaining;
+  private int next;
+
+  /**
+   * Creates a writable for reading lists, which never spills.
+   */
+  public SpillingPostingsWritable() {
+    this(DEFAULT_BUDGET, null, null);
+  }
+
+  /**
+   * @param budget bytes of postings to buffer in memory before spilling a run
+   * @param runPrefix names the runs, unique to the task
+   */
+  public SpillingPostingsWritable(long budget, Configuration conf, String runPrefix) {
+    this.capacity = (int) Math.max(1, Math.min(budget / 8, Integer.MAX_VALUE - 8));
+    this.buffer = new long[Math.min(1024, capacity)];
+    this.conf = conf;
+    this.runPrefix = runPrefix;
+  }
+
+  /**
+   * Empties the buffer and deletes the runs of the previous list.
+   */
+  public void reset() throws IOException {
+    closeRuns();
+    size = 0;
+    docFreq = 0;
+
+    FileSystem local = runs.isEmpty() ? null : FileSystem.getLocal(conf);
+    for (Path run : runs) {
+      local.delete(run, false);
+    }
+    runs.clear();
+  }
+
+  public void add(int docno, int tf) throws IOException {
+    if (size == buffer.length) {
+      if (size == capacity) {
+        spill();
+      } else {
+        buffer = Arrays.copyOf(buffer, (int) Math.min(2L * size, capacity));
+      }
+    }
+
+    buffer[size++] = (long) docno << 32 | (tf & 0xFFFFFFFFL);
+    docFreq++;
+  }
+
+  public int getDocFreq() {
+    return docFreq;
+  }
+
+  /**
+   * Returns the number of runs spilled for the current list.
+   */
+  public int getNumRuns() {
+    return runs.size();
+  }
+
+  private void spill() throws IOException {
+    if (conf == null) {
+      throw new IllegalStateException("No local directories to spill to");
+    }
+    Arrays.sort(buffer, 0, size);
+
+    Path run = localDirs.getLocalPathForWrite(runPrefix + "-" + runs.size(), 8L * size, conf);
+    DataOutputStream out = FileSystem.getLocal(conf).create(run, true);
+    try {
+      for (int i = 0; i < size; i++) {
+        out.writeLong(buffer[i]);
+      }
+    } finally {
+      out.close();
+    }
+
+    runs.add(run);
+    size = 0;
+  }
+
+  private void startMerge() throws IOException {
+    closeRuns();
+
+    // There are few runs, each budget-sized, so a linear scan for the smallest head is enough.
+    FileSystem local = FileSystem.getLocal(conf);
+    int n = runs.size();
+    ins = new DataInputStream[n];
+    heads = new long[n + 1];
+    remaining = new int[n + 1];
+    for (int i = 0; i < n; i++) {
+      ins[i] = local.open(runs.get(i), RUN_BUFFER_SIZE);
+      remaining[i] = (int) (local.getFileStatus(runs.get(i)).getLen() / 8);
+      heads[i] = ins[i].readLong();
+    }
+    remaining[n] = size;
+    heads[n] = size > 0 ? buffer[0] : 0;
+    next = 0;
+  }
+
+  private long nextPosting() throws IOException {
+    int n = ins.length;
+    int min = -1;
+    for (int i = 0; i <= n; i++) {
+      if (remaining[i] > 0 && (min < 0 || heads[i] < heads[min])) {
+        min = i;
+      }
+    }
+
+    long posting = heads[min];
+    if (--remaining[min] > 0) {
+      heads[min] = min == n ? buffer[++next] : ins[min].readLong();
+    }
+
+    return posting;
+  }
+
+  private void closeRuns() throws IOException {
+    for (int i = 0; i < ins.length; i++) {
+      if (ins[i] != null) {
+        ins[i].close();
+      }
+    }
+    ins = new DataInputStream[0];
+  }
+
+  @Override
+  public void write(DataOutput out) throws IOException {
+    out.writeUTF(IntWritable.class.getCanonicalName());
+    out.writeUTF(ArrayListWritable.class.getCanonicalName());
+    out.writeInt(docFreq);
+    out.writeInt(docFreq);
+    if (docFreq == 0) {
+      return;
+    }
+    out.writeUTF(PairOfInts.class.getCanonicalName());
+
+    Arrays.sort(buffer, 0, size);
+    if (runs.isEmpty()) {
+      for (int i = 0; i < size; i++) {
+        writePosting(out, buffer[i]);
+      }
+      return;
+    }
+
+    startMerge();
+    try {
+      for (int i = 0; i < docFreq; i++) {
+        writePosting(out, nextPosting());
+      }
+    } finally {
+      closeRuns();
+    }
+  }
+
+  private static void writePosting(DataOutput out, long posting) throws IOException {
+    out.writeInt((int) (posting >>> 32));
+    out.writeInt((int) posting);
+  }
+
+  /**
+   * Reads a serialized {@code PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>} into
+   * the buffer.
+   */
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value =
+        new PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>();
+    value.readFields(in);
+
+    ArrayListWritable<PairOfInts> postings = value.getRightElement();
+    reset();
+    if (buffer.length < postings.size()) {
+      buffer = new long[postings.size()];
+    }
+    for (PairOfInts posting : postings) {
+      buffer[size++] =
+          (long) posting.getLeftElement() << 32 | (posting.getRightElement() & 0xFFFFFFFFL);
+    }
+
+    docFreq = value.getLeftElement().get();
+  }
+}
@@ -0,0 +1,57 @@
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+
+/**
+ * Reads a collection through one buffered stream, for collections that cannot be mapped (on
+ * HDFS, for instance). A fetch ahead of the buffer that is within {@link #MAX_SKIP} bytes reads
+ * through the gap instead of seeking, so lines fetched in ascending order come from a single
+ * sequential pass.
+ */
+public class StreamCollectionReader extends CollectionReader {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final long MAX_SKIP = 256 * 1024;
+
+  private final FSDataInputStream in;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  // The buffer holds the bytes from bufferStart on, and the stream is positioned right after them.
+  private long bufferStart;
+  private int bufferLength;
+
+  public StreamCollectionReader(FSDataInputStream in) {
+    this.in = in;
+  }
+
+  @Override
+  protected int byteAt(long pos) throws IOException {
+    if (pos < bufferStart || pos >= bufferStart + bufferLength) {
+      fill(pos);
+      if (pos >= bufferStart + bufferLength) {
+        return -1;
+      }
+    }
+
+    return buffer[(int) (pos - bufferStart)] & 0xff;
+  }
+
+  private void fill(long pos) throws IOException {
+    long end = bufferStart + bufferLength;
+
+    if (pos >= end && pos - end <= MAX_SKIP) {
+      do {
+        bufferStart += bufferLength;
+        bufferLength = Math.max(in.read(buffer), 0);
+      } while (bufferLength > 0 && pos >= bufferStart + bufferLength);
+    } else {
+      in.seek(pos);
+      bufferStart = pos;
+      bufferLength = Math.max(in.read(buffer), 0);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
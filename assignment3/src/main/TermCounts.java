@@ -0,0 +1,158 @@
+import java.util.Arrays;
+
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
+
+import edu.umd.cloud9.io.array.ArrayListOfIntsWritable;
+
+/**
+ * The histogram of the terms of one document, keyed on the terms' bytes, for mappers that count
+ * or collect the positions of each term before emitting it. Terms are copied once, on their first
+ * occurrence, into a pooled byte array, and the pool, the hash table and the position lists are
+ * reused from one document to the next, so counting a document allocates nothing once they have
+ * grown and no term is ever decoded into a String.
+ *
+ * Entries are numbered from 0 in the order their terms first occur.
+ */
+public class TermCounts {
+  private byte[] pool = new byte[1024];
+  private int poolLength;
+
+  private int[] starts = new int[64];
+  private int[] lengths = new int[64];
+  private int[] counts = new int[64];
+  private ArrayListOfIntsWritable[] positions = new ArrayListOfIntsWritable[64];
+  private int size;
+
+  // Open-addressed table of entry numbers plus one, 0 for an empty slot; a power of two, at most
+  // half full.
+  private int[] table = new int[128];
+
+  /**
+   * Removes every term, keeping the memory for the next document.
+   */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(table, 0);
+    }
+    size = 0;
+    poolLength = 0;
+  }
+
+  /**
+   * Counts an occurrence of the analyzer's current term.
+   *
+   * @return the term's entry
+   */
+  public int add(Analyzer analyzer) {
+    return add(analyzer.getTermBytes(), analyzer.getTermStart(), analyzer.getTermLength());
+  }
+
+  /**
+   * Counts an occurrence of the analyzer's current term at a position of the document.
+   *
+   * @return the term's entry
+   */
+  public int add(Analyzer analyzer, int position) {
+    int entry = add(analyzer);
+    positions[entry].add(position);
+    return entry;
+  }
+
+  /**
+   * Counts an occurrence of a term.
+   *
+   * @return the term's entry
+   */
+  public int add(byte[] bytes, int start, int length) {
+    int mask = table.length - 1;
+    int slot = WritableComparator.hashBytes(bytes, start, length) & mask;
+    while (table[slot] != 0) {
+      int entry = table[slot] - 1;
+      if (lengths[entry] == length
+          && WritableComparator.compareBytes(pool, starts[entry], length, bytes, start, length) == 0) {
+        counts[entry]++;
+        return entry;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (size == starts.length) {
+      grow();
+    }
+    if (pool.length < poolLength + length) {
+      pool = Arrays.copyOf(pool, Math.max(poolLength + length, 2 * pool.length));
+    }
+    System.arraycopy(bytes, start, pool, poolLength, length);
+
+    int entry = size++;
+    starts[entry] = poolLength;
+    lengths[entry] = length;
+    counts[entry] = 1;
+    if (positions[entry] == null) {
+      positions[entry] = new ArrayListOfIntsWritable(4);
+    } else {
+      positions[entry].clear();
+    }
+    poolLength += length;
+    table[slot] = entry + 1;
+
+    if (2 * size > table.length) {
+      rehash();
+    }
+    return entry;
+  }
+
+  private void grow() {
+    int n = 2 * starts.length;
+    starts = Arrays.copyOf(starts, n);
+    lengths = Arrays.copyOf(lengths, n);
+    counts = Arrays.copyOf(counts, n);
+    positions = Arrays.copyOf(positions, n);
+  }
+
+  private void rehash() {
+    table = new int[2 * table.length];
+    int mask = table.length - 1;
+    for (int entry = 0; entry < size; entry++) {
+      int slot = WritableComparator.hashBytes(pool, starts[entry], lengths[entry]) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = entry + 1;
+    }
+  }
+
+  /**
+   * Returns the number of distinct terms.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Copies the term of an entry into a Text.
+   */
+  public void getTerm(int entry, Text term) {
+    term.set(pool, starts[entry], lengths[entry]);
+  }
+
+  /**
+   * Returns the length in bytes of the term of an entry.
+   */
+  public int getTermLength(int entry) {
+    return lengths[entry];
+  }
+
+  public int getCount(int entry) {
+    return counts[entry];
+  }
+
+  /**
+   * Returns the positions an entry's term was added at, in the order they were added. The list
+   * is reused for another term after {@link #clear()}.
+   */
+  public ArrayListOfIntsWritable getPositions(int entry) {
+    return positions[entry];
+  }
+}
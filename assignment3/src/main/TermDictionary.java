@@ -0,0 +1,352 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Maps terms to the offsets and lengths of their posting lists in the index's postings file. The
+ * terms are sorted in Text order and front-coded in blocks: the first term of each block is
+ * stored whole, and each following term as the length of the prefix it shares with the previous
+ * term plus the rest. A block index at the end of the file locates the block heads.
+ *
+ * <pre>
+ * blocks:  vint head length, head bytes, vlong postings offset, vint postings length,
+ *          then per term: vint shared prefix, vint suffix length, suffix bytes, vint postings length
+ * index:   numBlocks x long block start
+ * trailer: int terms per block, int numTerms, long index start
+ * </pre>
+ *
+ * Posting lists are stored in term order, so a term's offset is the block's offset plus the
+ * lengths of the terms before it in the block. A lookup binary-searches the block heads in place
+ * and scans one block, decoding terms into a reused buffer; it allocates nothing. Local
+ * dictionaries are memory-mapped and others are read into memory.
+ *
+ * {@link #next} walks the terms in order instead, for tools that read every list. A dictionary
+ * keeps the result of the last lookup or step of the walk, and is not thread-safe.
+ */
+public class TermDictionary {
+  public static final String FILE = "_terms";
+  public static final int DEFAULT_TERMS_PER_BLOCK = 16;
+
+  private static final int TRAILER_LENGTH = 16;
+
+  private final ByteBuffer buffer;
+  private final int numTerms;
+  private final int numBlocks;
+  private final int indexStart;
+
+  private byte[] term = new byte[64];
+  private long offset;
+  private int length;
+  private int pos;
+
+  // The walk by next(), kept apart from lookups: its position, next block, term and list.
+  private int scanPos;
+  private int scanBlock;
+  private byte[] scanTerm = new byte[64];
+  private int scanTermLength;
+  private long scanOffset;
+  private int scanListLength;
+
+  private TermDictionary(ByteBuffer buffer) {
+    this.buffer = buffer;
+
+    // The trailer starts with the terms per block, which lookups do not need.
+    int trailer = buffer.limit() - TRAILER_LENGTH;
+    numTerms = buffer.getInt(trailer + 4);
+    indexStart = (int) buffer.getLong(trailer + 8);
+    numBlocks = (trailer - indexStart) / 8;
+  }
+
+  public int size() {
+    return numTerms;
+  }
+
+  /**
+   * Looks up a term; if found, {@link #getOffset()} and {@link #getLength()} locate its postings.
+   */
+  public boolean find(Text target) {
+    byte[] t = target.getBytes();
+    int tLength = target.getLength();
+
+    // The last block whose head is at most the target.
+    int lo = 0;
+    int hi = numBlocks - 1;
+    int block = -1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      pos = (int) buffer.getLong(indexStart + 8 * mid);
+      int headLength = readVInt();
+      int cmp = compare(pos, headLength, t, tLength);
+
+      if (cmp == 0) {
+        pos += headLength;
+        offset = readVLong();
+        length = readVInt();
+        return true;
+      } else if (cmp < 0) {
+        block = mid;
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+
+    if (block < 0) {
+      return false;
+    }
+
+    pos = (int) buffer.getLong(indexStart + 8 * block);
+    int termLength = readVInt();
+    ensureCapacity(termLength);
+    for (int i = 0; i < termLength; i++) {
+      term[i] = buffer.get(pos++);
+    }
+    offset = readVLong();
+    length = readVInt();
+
+    int end = block + 1 < numBlocks ? (int) buffer.getLong(indexStart + 8 * (block + 1)) : indexStart;
+    while (pos < end) {
+      int shared = readVInt();
+      int suffixLength = readVInt();
+      termLength = shared + suffixLength;
+      ensureCapacity(termLength);
+      for (int i = shared; i < termLength; i++) {
+        term[i] = buffer.get(pos++);
+      }
+      offset += length;
+      length = readVInt();
+
+      int cmp = Text.Comparator.compareBytes(term, 0, termLength, t, 0, tLength);
+      if (cmp == 0) {
+        return true;
+      } else if (cmp > 0) {
+        return false;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Steps to the next term in Text order, from the first, and reads it into {@code target};
+   * {@link #getOffset()} and {@link #getLength()} then locate its postings. Lookups with
+   * {@link #find} in between do not move the walk.
+   *
+   * @return false once every term has been read
+   */
+  public boolean next(Text target) {
+    if (scanPos >= indexStart) {
+      return false;
+    }
+
+    pos = scanPos;
+    boolean head = scanBlock < numBlocks && pos == (int) buffer.getLong(indexStart + 8 * scanBlock);
+    int shared = head ? 0 : readVInt();
+    scanTermLength = shared + readVInt();
+    if (scanTerm.length < scanTermLength) {
+      scanTerm = Arrays.copyOf(scanTerm, Math.max(scanTermLength, 2 * scanTerm.length));
+    }
+    for (int i = shared; i < scanTermLength; i++) {
+      scanTerm[i] = buffer.get(pos++);
+    }
+
+    if (head) {
+      scanOffset = readVLong();
+      scanBlock++;
+    } else {
+      scanOffset += scanListLength;
+    }
+    scanListLength = readVInt();
+    scanPos = pos;
+
+    offset = scanOffset;
+    length = scanListLength;
+    target.set(scanTerm, 0, scanTermLength);
+    return true;
+  }
+
+  /**
+   * Returns the offset in the postings file of the list of the term last found.
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns the byte length of the list of the term last found.
+   */
+  public int getLength() {
+    return length;
+  }
+
+  private int compare(int start, int headLength, byte[] t, int tLength) {
+    int n = Math.min(headLength, tLength);
+    for (int i = 0; i < n; i++) {
+      int a = buffer.get(start + i) & 0xFF;
+      int b = t[i] & 0xFF;
+      if (a != b) {
+        return a - b;
+      }
+    }
+
+    return headLength - tLength;
+  }
+
+  private void ensureCapacity(int n) {
+    if (term.length < n) {
+      byte[] larger = new byte[Math.max(n, 2 * term.length)];
+      System.arraycopy(term, 0, larger, 0, term.length);
+      term = larger;
+    }
+  }
+
+  private int readVInt() {
+    return (int) readVLong();
+  }
+
+  private long readVLong() {
+    byte first = buffer.get(pos++);
+    int size = WritableUtils.decodeVIntSize(first);
+    if (size == 1) {
+      return first;
+    }
+
+    long value = 0;
+    for (int i = 0; i < size - 1; i++) {
+      value = (value << 8) | (buffer.get(pos++) & 0xFF);
+    }
+
+    return WritableUtils.isNegativeVInt(first) ? ~value : value;
+  }
+
+  /**
+   * Opens the dictionary of an index.
+   */
+  public static TermDictionary open(FileSystem fs, Path indexPath) throws IOException {
+    Path path = new Path(indexPath, FILE);
+    long length = fs.getFileStatus(path).getLen();
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Term dictionary too large to map: " + path);
+    }
+
+    ByteBuffer buffer;
+    if (fs instanceof LocalFileSystem) {
+      RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem) fs).pathToFile(path), "r");
+      try {
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+      } finally {
+        raf.close();
+      }
+    } else {
+      FSDataInputStream in = fs.open(path);
+      try {
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        buffer = ByteBuffer.wrap(bytes);
+      } finally {
+        in.close();
+      }
+    }
+
+    return new TermDictionary(buffer);
+  }
+
+  /**
+   * Writes a dictionary from terms added in Text order with the lengths of their posting lists,
+   * which must be stored back to back in the same order.
+   */
+  public static class Writer {
+    private final DataOutputStream out;
+    private final int termsPerBlock;
+
+    // Block starts, written as the block index on close; the whole dictionary is mapped as one
+    // buffer, so they fit in ints.
+    private int[] blockStarts = new int[1024];
+
+    private final Text last = new Text();
+    private int numTerms;
+    private int numBlocks;
+    private long offset;
+
+    // Bytes of terms written, counted here since DataOutputStream.size() stops at
+    // Integer.MAX_VALUE.
+    private long length;
+
+    public Writer(FileSystem fs, Path path, int termsPerBlock) throws IOException {
+      this.out = new DataOutputStream(new BufferedOutputStream(fs.create(path, true), 1 << 16));
+      this.termsPerBlock = termsPerBlock;
+    }
+
+    public void add(Text term, int postingsLength) throws IOException {
+      if (numTerms > 0 && last.compareTo(term) >= 0) {
+        throw new IOException("Terms out of order: " + last + " then " + term);
+      }
+
+      if (numTerms % termsPerBlock == 0) {
+        if (numBlocks == blockStarts.length) {
+          blockStarts = Arrays.copyOf(blockStarts, 2 * numBlocks);
+        }
+        blockStarts[numBlocks++] = (int) length;
+
+        WritableUtils.writeVInt(out, term.getLength());
+        out.write(term.getBytes(), 0, term.getLength());
+        WritableUtils.writeVLong(out, offset);
+        length += WritableUtils.getVIntSize(term.getLength()) + term.getLength()
+            + WritableUtils.getVIntSize(offset);
+      } else {
+        int shared = sharedPrefix(last, term);
+        WritableUtils.writeVInt(out, shared);
+        WritableUtils.writeVInt(out, term.getLength() - shared);
+        out.write(term.getBytes(), shared, term.getLength() - shared);
+        length += WritableUtils.getVIntSize(shared)
+            + WritableUtils.getVIntSize(term.getLength() - shared) + term.getLength() - shared;
+      }
+      WritableUtils.writeVInt(out, postingsLength);
+      length += WritableUtils.getVIntSize(postingsLength);
+
+      // The block index and trailer follow the terms, and the whole file is mapped as one buffer.
+      if (length + 8L * numBlocks + 16 > Integer.MAX_VALUE) {
+        throw new IOException("Term dictionary too large to map");
+      }
+
+      last.set(term);
+      offset += postingsLength;
+      numTerms++;
+    }
+
+    public void close() throws IOException {
+      long indexStart = length;
+      for (int i = 0; i < numBlocks; i++) {
+        out.writeLong(blockStarts[i]);
+      }
+
+      out.writeInt(termsPerBlock);
+      out.writeInt(numTerms);
+      out.writeLong(indexStart);
+      out.close();
+    }
+
+    private static int sharedPrefix(Text a, Text b) {
+      byte[] x = a.getBytes();
+      byte[] y = b.getBytes();
+      int n = Math.min(a.getLength(), b.getLength());
+
+      int i = 0;
+      while (i < n && x[i] == y[i]) {
+        i++;
+      }
+      return i;
+    }
+  }
+}
@@ -0,0 +1,348 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Maps each term of the vocabulary to the location of its posting list through a minimal perfect
+ * hash function, for exact-match lookups in O(1) without comparing terms. The function is BBHash:
+ * at each level, every key still unplaced hashes to a bit in an array of gamma (here 2) bits per
+ * key; keys alone on their bit are placed there, and colliding keys move on to the next, smaller
+ * level. A term's slot is the rank of its bit over all levels, found with popcounts and a rank
+ * sample every 512 bits; with the samples, the function takes about 3.5 bits per term.
+ *
+ * A perfect hash maps terms outside the vocabulary to some slot too, so each slot keeps a 32-bit
+ * fingerprint of its term; a mismatch means a miss, and a term that is not in the index is taken
+ * for one that is with probability 2^-32.
+ *
+ * <pre>
+ * int numTerms, int numLevels, numLevels x int level words
+ * long[] level bits, int[] rank samples (one per 8 words)
+ * int[numTerms] fingerprints, int[numTerms] postings lengths, long[numTerms] postings offsets
+ * </pre>
+ *
+ * Local files are memory-mapped and others read into memory. Lookups only read, so one instance
+ * may serve several threads.
+ */
+public class TermHash {
+  public static final String FILE = "_termhash";
+
+  private static final double GAMMA = 2.0;
+  private static final int MAX_LEVELS = 64;
+
+  private final int numTerms;
+  private final int[] levelStarts;
+  private final int[] levelWords;
+  private final LongBuffer bits;
+  private final IntBuffer ranks;
+  private final IntBuffer fingerprints;
+  private final IntBuffer lengths;
+  private final LongBuffer offsets;
+
+  private TermHash(ByteBuffer buffer) {
+    numTerms = buffer.getInt();
+    int numLevels = buffer.getInt();
+
+    levelStarts = new int[numLevels];
+    levelWords = new int[numLevels];
+    int totalWords = 0;
+    for (int i = 0; i < numLevels; i++) {
+      levelStarts[i] = totalWords;
+      levelWords[i] = buffer.getInt();
+      totalWords += levelWords[i];
+    }
+
+    bits = slice(buffer, 8L * totalWords).asLongBuffer();
+    ranks = slice(buffer, 4L * numRanks(totalWords)).asIntBuffer();
+    fingerprints = slice(buffer, 4L * numTerms).asIntBuffer();
+    lengths = slice(buffer, 4L * numTerms).asIntBuffer();
+    offsets = slice(buffer, 8L * numTerms).asLongBuffer();
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, long length) {
+    ByteBuffer slice = buffer.slice();
+    slice.limit((int) length);
+    buffer.position(buffer.position() + (int) length);
+
+    return slice;
+  }
+
+  private static int numRanks(int totalWords) {
+    return (totalWords + 7) / 8;
+  }
+
+  public int size() {
+    return numTerms;
+  }
+
+  /**
+   * Returns the slot of a term, or -1 if it is not in the vocabulary.
+   */
+  public int find(Text term) {
+    long h = hash(term.getBytes(), term.getLength());
+
+    for (int level = 0; level < levelWords.length; level++) {
+      long bit = levelHash(h, level) % (64L * levelWords[level]);
+      int word = levelStarts[level] + (int) (bit >>> 6);
+      long mask = 1L << bit;
+
+      if ((bits.get(word) & mask) != 0) {
+        int slot = rank(word) + Long.bitCount(bits.get(word) & (mask - 1));
+        return fingerprints.get(slot) == fingerprint(h) ? slot : -1;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the size of the hash function itself, level bits and rank samples, per term.
+   */
+  public double getBitsPerTerm() {
+    return numTerms == 0 ? 0 : (64.0 * bits.limit() + 32.0 * ranks.limit()) / numTerms;
+  }
+
+  public long getOffset(int slot) {
+    return offsets.get(slot);
+  }
+
+  public int getLength(int slot) {
+    return lengths.get(slot);
+  }
+
+  private int rank(int word) {
+    int rank = ranks.get(word >>> 3);
+    for (int w = word & ~7; w < word; w++) {
+      rank += Long.bitCount(bits.get(w));
+    }
+
+    return rank;
+  }
+
+  /**
+   * 64-bit hash of a term's bytes: a multiply-xorshift over 8-byte words, finished with the
+   * MurmurHash3 mixer.
+   */
+  static long hash(byte[] bytes, int length) {
+    long h = 0x9E3779B97F4A7C15L ^ length;
+
+    int i = 0;
+    for (; i + 8 <= length; i += 8) {
+      long k = (bytes[i] & 0xFFL) | (bytes[i + 1] & 0xFFL) << 8 | (bytes[i + 2] & 0xFFL) << 16
+          | (bytes[i + 3] & 0xFFL) << 24 | (bytes[i + 4] & 0xFFL) << 32 | (bytes[i + 5] & 0xFFL) << 40
+          | (bytes[i + 6] & 0xFFL) << 48 | (bytes[i + 7] & 0xFFL) << 56;
+      h = (h ^ mix(k)) * 0xC2B2AE3D27D4EB4FL;
+    }
+
+    long k = 0;
+    for (int shift = 0; i < length; i++, shift += 8) {
+      k |= (bytes[i] & 0xFFL) << shift;
+    }
+    h = (h ^ mix(k)) * 0xC2B2AE3D27D4EB4FL;
+
+    return mix(h);
+  }
+
+  private static long levelHash(long h, int level) {
+    return mix(h + (level + 1) * 0x9E3779B97F4A7C15L) & Long.MAX_VALUE;
+  }
+
+  private static int fingerprint(long h) {
+    return (int) (h >>> 32);
+  }
+
+  private static long mix(long k) {
+    k ^= k >>> 33;
+    k *= 0xFF51AFD7ED558CCDL;
+    k ^= k >>> 33;
+    k *= 0xC4CEB9FE1A85EC53L;
+    k ^= k >>> 33;
+
+    return k;
+  }
+
+  /**
+   * Opens the term hash of an index.
+   */
+  public static TermHash open(FileSystem fs, Path indexPath) throws IOException {
+    Path path = new Path(indexPath, FILE);
+    long length = fs.getFileStatus(path).getLen();
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Term hash too large to map: " + path);
+    }
+
+    ByteBuffer buffer;
+    if (fs instanceof LocalFileSystem) {
+      RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem) fs).pathToFile(path), "r");
+      try {
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+      } finally {
+        raf.close();
+      }
+    } else {
+      FSDataInputStream in = fs.open(path);
+      try {
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        buffer = ByteBuffer.wrap(bytes);
+      } finally {
+        in.close();
+      }
+    }
+
+    return new TermHash(buffer);
+  }
+
+  /**
+   * Collects the vocabulary with the locations of the posting lists, then builds and writes the
+   * hash. Only the terms' 64-bit hashes are kept, at 20 bytes per term.
+   */
+  public static class Builder {
+    private long[] hashes = new long[1024];
+    private long[] offsets = new long[1024];
+    private int[] lengths = new int[1024];
+    private int numTerms;
+
+    public void add(Text term, long offset, int length) {
+      if (numTerms == hashes.length) {
+        hashes = Arrays.copyOf(hashes, 2 * numTerms);
+        offsets = Arrays.copyOf(offsets, 2 * numTerms);
+        lengths = Arrays.copyOf(lengths, 2 * numTerms);
+      }
+
+      hashes[numTerms] = hash(term.getBytes(), term.getLength());
+      offsets[numTerms] = offset;
+      lengths[numTerms] = length;
+      numTerms++;
+    }
+
+    public void write(FileSystem fs, Path path) throws IOException {
+      // Keys still to place, as indexes into the arrays above.
+      int[] keys = new int[numTerms];
+      for (int i = 0; i < numTerms; i++) {
+        keys[i] = i;
+      }
+      int remaining = numTerms;
+
+      long[][] levels = new long[MAX_LEVELS][];
+      int numLevels = 0;
+      while (remaining > 0) {
+        if (numLevels == MAX_LEVELS) {
+          throw new IOException("Cannot place " + remaining + " terms: duplicate term hashes?");
+        }
+
+        int words = (int) Math.max(1, (long) Math.ceil(GAMMA * remaining / 64));
+        long[] seen = new long[words];
+        long[] collided = new long[words];
+        long numBits = 64L * words;
+
+        for (int i = 0; i < remaining; i++) {
+          long bit = levelHash(hashes[keys[i]], numLevels) % numBits;
+          int word = (int) (bit >>> 6);
+          long mask = 1L << bit;
+          if ((seen[word] & mask) != 0) {
+            collided[word] |= mask;
+          } else {
+            seen[word] |= mask;
+          }
+        }
+
+        // Keep the bits of keys that landed alone, and pass the others to the next level.
+        int next = 0;
+        for (int i = 0; i < words; i++) {
+          seen[i] &= ~collided[i];
+        }
+        for (int i = 0; i < remaining; i++) {
+          long bit = levelHash(hashes[keys[i]], numLevels) % numBits;
+          if ((collided[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+            keys[next++] = keys[i];
+          }
+        }
+
+        levels[numLevels++] = seen;
+        remaining = next;
+      }
+
+      int totalWords = 0;
+      for (int i = 0; i < numLevels; i++) {
+        totalWords += levels[i].length;
+      }
+      long[] bits = new long[totalWords];
+      int[] levelStarts = new int[numLevels];
+      for (int i = 0, start = 0; i < numLevels; start += levels[i].length, i++) {
+        levelStarts[i] = start;
+        System.arraycopy(levels[i], 0, bits, start, levels[i].length);
+      }
+
+      int[] ranks = new int[numRanks(totalWords)];
+      for (int w = 0, rank = 0; w < totalWords; w++) {
+        if ((w & 7) == 0) {
+          ranks[w >>> 3] = rank;
+        }
+        rank += Long.bitCount(bits[w]);
+      }
+
+      // Lay the values out by slot.
+      int[] slotFingerprints = new int[numTerms];
+      int[] slotLengths = new int[numTerms];
+      long[] slotOffsets = new long[numTerms];
+      for (int i = 0; i < numTerms; i++) {
+        int slot = -1;
+        for (int level = 0; level < numLevels && slot < 0; level++) {
+          long bit = levelHash(hashes[i], level) % (64L * levels[level].length);
+          int word = levelStarts[level] + (int) (bit >>> 6);
+          long mask = 1L << bit;
+          if ((bits[word] & mask) != 0) {
+            int rank = ranks[word >>> 3];
+            for (int w = word & ~7; w < word; w++) {
+              rank += Long.bitCount(bits[w]);
+            }
+            slot = rank + Long.bitCount(bits[word] & (mask - 1));
+          }
+        }
+
+        slotFingerprints[slot] = fingerprint(hashes[i]);
+        slotLengths[slot] = lengths[i];
+        slotOffsets[slot] = offsets[i];
+      }
+
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(fs.create(path, true), 1 << 16));
+      try {
+        out.writeInt(numTerms);
+        out.writeInt(numLevels);
+        for (int i = 0; i < numLevels; i++) {
+          out.writeInt(levels[i].length);
+        }
+        for (long word : bits) {
+          out.writeLong(word);
+        }
+        for (int rank : ranks) {
+          out.writeInt(rank);
+        }
+        for (int i = 0; i < numTerms; i++) {
+          out.writeInt(slotFingerprints[i]);
+        }
+        for (int i = 0; i < numTerms; i++) {
+          out.writeInt(slotLengths[i]);
+        }
+        for (int i = 0; i < numTerms; i++) {
+          out.writeLong(slotOffsets[i]);
+        }
+      } finally {
+        out.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Times term lookups on an index built with a term dictionary, a term hash and -keepPartitions:
+ * through the MapFile partitions (MapFile.Reader.get), through the front-coded
+ * {@link TermDictionary}, and through the {@link TermHash}. Every term of the vocabulary is
+ * looked up in random order, and then as many terms that are not in it; each lookup copies out
+ * the posting list, as queries do.
+ */
+public class TermLookupBenchmark extends Configured implements Tool {
+  private static final String INDEX = "index";
+  private static final String ITERATIONS = "iterations";
+
+  private TermLookupBenchmark() {}
+
+  /**
+   * Runs this tool.
+   */
+  @SuppressWarnings({ "static-access" })
+  public int run(String[] args) throws Exception {
+    Options options = new Options();
+
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("index path").create(INDEX));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("timed passes over the vocabulary").create(ITERATIONS));
+
+    CommandLine cmdline;
+    CommandLineParser parser = new GnuParser();
+
+    try {
+      cmdline = parser.parse(options, args);
+    } catch (ParseException exp) {
+      System.err.println("Error parsing command line: " + exp.getMessage());
+      return -1;
+    }
+
+    if (!cmdline.hasOption(INDEX)) {
+      System.out.println("args: " + Arrays.toString(args));
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.setWidth(120);
+      formatter.printHelp(this.getClass().getName(), options);
+      ToolRunner.printGenericCommandUsage(System.out);
+      return -1;
+    }
+
+    Path indexPath = new Path(cmdline.getOptionValue(INDEX));
+    int iterations = cmdline.hasOption(ITERATIONS) ?
+        Integer.parseInt(cmdline.getOptionValue(ITERATIONS)) : 5;
+
+    FileSystem fs = FileSystem.get(new Configuration());
+    IndexMetadata metadata = IndexMetadata.read(fs, indexPath);
+    if (!metadata.hasTermHash()) {
+      System.err.println("Index has no term hash: rebuild it with -termHash");
+      return -1;
+    }
+    if (fs.listStatus(indexPath, MapFilePostingsIndex.PARTITIONS).length == 0) {
+      System.err.println("Index has no MapFiles to compare with: rebuild it with -keepPartitions");
+      return -1;
+    }
+
+    List<Text> hits = new ArrayList<Text>();
+    Text term = new Text();
+    BytesWritable value = new BytesWritable();
+    for (PostingsIndex.Scanner scanner : PostingsIndex.scan(fs, indexPath, metadata)) {
+      while (scanner.next(term, value)) {
+        hits.add(new Text(term));
+      }
+      scanner.close();
+    }
+    Collections.shuffle(hits, new Random(0));
+
+    // Misses that share prefixes with real terms, the hard case for a sorted dictionary.
+    List<Text> misses = new ArrayList<Text>();
+    for (Text hit : hits) {
+      misses.add(new Text(hit + "\u0001"));
+    }
+
+    PostingsIndex[] indexes = {
+        new MapFilePostingsIndex(fs, indexPath, metadata),
+        new DictionaryPostingsIndex(fs, indexPath, false),
+        new DictionaryPostingsIndex(fs, indexPath, true) };
+    String[] names = { "MapFile", "dictionary", "hash" };
+
+    TermHash hash = TermHash.open(fs, indexPath);
+    System.out.println(String.format("%d terms, term hash %.2f bits/term", hash.size(),
+        hash.getBitsPerTerm()));
+    System.out.println("lookup\thit us\tmiss us");
+
+    for (int i = 0; i < indexes.length; i++) {
+      // Check the answers, which also warms up the lookup path.
+      for (Text t : hits) {
+        if (!indexes[i].getPostings(t, value)) {
+          throw new IllegalStateException(names[i] + " misses term " + t);
+        }
+      }
+      for (Text t : misses) {
+        if (indexes[i].getPostings(t, value)) {
+          throw new IllegalStateException(names[i] + " finds missing term " + t);
+        }
+      }
+
+      double hitMicros = time(indexes[i], hits, value, iterations);
+      double missMicros = time(indexes[i], misses, value, iterations);
+      System.out.println(String.format("%s\t%.2f\t%.2f", names[i], hitMicros, missMicros));
+
+      indexes[i].close();
+    }
+
+    return 0;
+  }
+
+  private static double time(PostingsIndex index, List<Text> terms, BytesWritable value,
+      int iterations) throws Exception {
+    long start = System.nanoTime();
+    for (int k = 0; k < iterations; k++) {
+      for (Text t : terms) {
+        index.getPostings(t, value);
+      }
+    }
+
+    return (System.nanoTime() - start) / 1000.0 / iterations / terms.size();
+  }
+
+  /**
+   * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
+   */
+  public static void main(String[] args) throws Exception {
+    ToolRunner.run(new TermLookupBenchmark(), args);
+  }
+}
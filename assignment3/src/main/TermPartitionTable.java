@@ -0,0 +1,262 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.util.LineReader;
+
+/**
+ * Assigns the most frequent terms of a collection to index partitions so that every reducer
+ * receives about the same number of postings; other terms are hash-partitioned as before
+ * ({@link BuildInvertedIndexCompressed.MyPartitioner}). Term frequencies are Zipfian, so with
+ * plain hashing the reducer that draws the few most common terms gets far more postings than the
+ * rest and finishes last.
+ *
+ * The table is built from document frequencies estimated on a sample of the collection
+ * ({@link #sample}): the load each partition gets from the hashed terms is estimated first, then
+ * the frequent terms are placed greedily, most frequent first, on the least loaded partition.
+ * It is stored as {@link #FILE} in the index, where readers use it to find a term's partition.
+ * A table only applies to the number of partitions it was built for; with any other number,
+ * every term is hashed.
+ *
+ * <pre>
+ * vint numPartitions, vint numTerms, numTerms x (Text term, vint partition)
+ * </pre>
+ */
+public class TermPartitionTable {
+  public static final String FILE = "_partitions";
+  public static final int DEFAULT_MAX_TERMS = 10000;
+  public static final long DEFAULT_SAMPLE_BYTES = 16L << 20;
+
+  // Number of evenly spaced places the sample is read from.
+  private static final int SAMPLE_CHUNKS = 64;
+
+  private final int numPartitions;
+  private final Map<Text, Integer> partitions;
+
+  private TermPartitionTable(int numPartitions, Map<Text, Integer> partitions) {
+    this.numPartitions = numPartitions;
+    this.partitions = partitions;
+  }
+
+  public int getNumPartitions() {
+    return numPartitions;
+  }
+
+  public int size() {
+    return partitions.size();
+  }
+
+  /**
+   * Returns the partition holding a term's postings in an index of {@code n} partitions.
+   */
+  public int getPartition(Text term, int n) {
+    if (n == numPartitions) {
+      Integer partition = partitions.get(term);
+      if (partition != null) {
+        return partition;
+      }
+    }
+
+    return BuildInvertedIndexCompressed.MyPartitioner.getPartition(term, n);
+  }
+
+  /**
+   * Returns the postings each partition would receive under this table, by estimated dfs.
+   */
+  public long[] getLoads(Map<String, Long> dfs) {
+    long[] loads = new long[numPartitions];
+    Text term = new Text();
+    for (Map.Entry<String, Long> e : dfs.entrySet()) {
+      term.set(e.getKey());
+      loads[getPartition(term, numPartitions)] += e.getValue();
+    }
+
+    return loads;
+  }
+
+  /**
+   * Returns the postings each of {@code n} partitions would receive by hashing alone.
+   */
+  public static long[] getHashLoads(Map<String, Long> dfs, int n) {
+    return new TermPartitionTable(n, Collections.<Text, Integer>emptyMap()).getLoads(dfs);
+  }
+
+  /**
+   * Estimates the document frequencies of the terms of a collection, a file or a directory of
+   * files, from about {@code sampleBytes} of its lines, read at evenly spaced places. Lines are
+   * analyzed into terms as the mappers analyze them, and dfs are scaled up by the sampled fraction.
+   */
+  public static Map<String, Long> sample(FileSystem fs, Path input, long sampleBytes,
+      Analyzer analyzer) throws IOException {
+    FileStatus[] files = fs.getFileStatus(input).isDirectory() ?
+        fs.listStatus(input) : new FileStatus[] { fs.getFileStatus(input) };
+
+    long totalBytes = 0;
+    for (FileStatus file : files) {
+      totalBytes += file.getLen();
+    }
+
+    Map<Text, long[]> counts = new HashMap<Text, long[]>();
+    TermCounts seen = new TermCounts();
+    Text term = new Text();
+    Text line = new Text();
+    long sampledBytes = 0;
+
+    for (FileStatus file : files) {
+      if (file.isDirectory() || file.getPath().getName().startsWith("_") || file.getLen() == 0) {
+        continue;
+      }
+
+      // This file's share of the sample, read in chunks spread over it.
+      long chunkBytes = (long) Math.ceil((double) sampleBytes * file.getLen() / totalBytes / SAMPLE_CHUNKS);
+      long stride = Math.max(chunkBytes, file.getLen() / SAMPLE_CHUNKS);
+
+      FSDataInputStream in = fs.open(file.getPath());
+      try {
+        for (long start = 0; start < file.getLen(); start += stride) {
+          in.seek(start);
+          LineReader reader = new LineReader(in);
+          long pos = start;
+          // Skip the partial line the chunk starts in, as record readers do.
+          if (start > 0) {
+            pos += reader.readLine(line);
+          }
+
+          // A line starting right at the end is read here too, since the next chunk skips it.
+          long end = Math.min(start + chunkBytes, file.getLen());
+          while (pos <= end) {
+            int n = reader.readLine(line);
+            if (n == 0) {
+              break;
+            }
+            pos += n;
+            sampledBytes += n;
+
+            seen.clear();
+            analyzer.reset(line);
+            while (analyzer.next()) {
+              seen.add(analyzer);
+            }
+
+            for (int i = 0; i < seen.size(); i++) {
+              seen.getTerm(i, term);
+              long[] count = counts.get(term);
+              if (count == null) {
+                counts.put(new Text(term), new long[] { 1 });
+              } else {
+                count[0]++;
+              }
+            }
+          }
+        }
+      } finally {
+        in.close();
+      }
+    }
+
+    double scale = sampledBytes == 0 ? 0 : Math.max(1.0, (double) totalBytes / sampledBytes);
+    Map<String, Long> dfs = new HashMap<String, Long>();
+    for (Map.Entry<Text, long[]> e : counts.entrySet()) {
+      dfs.put(e.getKey().toString(), Math.round(e.getValue()[0] * scale));
+    }
+
+    return dfs;
+  }
+
+  /**
+   * Builds a table for {@code numPartitions} partitions, placing up to {@code maxTerms} of the
+   * most frequent terms by estimated df.
+   */
+  public static TermPartitionTable build(Map<String, Long> dfs, int numPartitions, int maxTerms) {
+    List<Map.Entry<String, Long>> terms = new ArrayList<Map.Entry<String, Long>>(dfs.entrySet());
+    Collections.sort(terms, new Comparator<Map.Entry<String, Long>>() {
+      @Override
+      public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+        int cmp = b.getValue().compareTo(a.getValue());
+        return cmp != 0 ? cmp : a.getKey().compareTo(b.getKey());
+      }
+    });
+
+    int numPlaced = Math.min(maxTerms, terms.size());
+    long[] loads = new long[numPartitions];
+    for (int i = numPlaced; i < terms.size(); i++) {
+      loads[BuildInvertedIndexCompressed.MyPartitioner.getPartition(new Text(terms.get(i).getKey()),
+          numPartitions)] += terms.get(i).getValue();
+    }
+
+    Map<Text, Integer> partitions = new HashMap<Text, Integer>();
+    for (int i = 0; i < numPlaced; i++) {
+      int least = 0;
+      for (int p = 1; p < numPartitions; p++) {
+        if (loads[p] < loads[least]) {
+          least = p;
+        }
+      }
+
+      partitions.put(new Text(terms.get(i).getKey()), least);
+      loads[least] += terms.get(i).getValue();
+    }
+
+    return new TermPartitionTable(numPartitions, partitions);
+  }
+
+  public void write(FileSystem fs, Path path) throws IOException {
+    DataOutputStream out = fs.create(path, true);
+    try {
+      WritableUtils.writeVInt(out, numPartitions);
+      WritableUtils.writeVInt(out, partitions.size());
+      for (Map.Entry<Text, Integer> e : partitions.entrySet()) {
+        e.getKey().write(out);
+        WritableUtils.writeVInt(out, e.getValue());
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  public static TermPartitionTable read(FileSystem fs, Path path) throws IOException {
+    DataInputStream in = fs.open(path);
+    try {
+      int numPartitions = WritableUtils.readVInt(in);
+      int numTerms = WritableUtils.readVInt(in);
+      Map<Text, Integer> partitions = new HashMap<Text, Integer>(2 * numTerms);
+      for (int i = 0; i < numTerms; i++) {
+        Text term = new Text();
+        term.readFields(in);
+        partitions.put(term, WritableUtils.readVInt(in));
+      }
+
+      return new TermPartitionTable(numPartitions, partitions);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Formats per-partition loads, with the largest over the mean.
+   */
+  public static String formatLoads(long[] loads) {
+    long total = 0;
+    long max = 0;
+    for (long load : loads) {
+      total += load;
+      max = Math.max(max, load);
+    }
+
+    return String.format("%s (max/mean %.2f)", Arrays.toString(loads),
+        total == 0 ? 0.0 : (double) max * loads.length / total);
+  }
+}
@@ -1,6 +1,10 @@
+import java.io.IOException;
+
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
 
 import edu.umd.cloud9.io.pair.PairOfWritables;
 
@@ -13,10 +17,9 @@ public class TextIntWritablePairComparable extends PairOfWritables<Text, IntWrit
   public int compareTo(PairOfWritables<Text, IntWritable> arg0) {
     PairOfWritables<Text, IntWritable> pair1 = this;
     PairOfWritables<Text, IntWritable> pair2 = arg0;
-    String leftText = pair1.getLeftElement().toString();
-    String rightText = pair2.getLeftElement().toString();
     
-    int leftElementCompare = leftText.compareTo(rightText);
+    // Text compares its UTF-8 bytes, the same order the raw comparator uses.
+    int leftElementCompare = pair1.getLeftElement().compareTo(pair2.getLeftElement());
     
     if( leftElementCompare == 0){
       
@@ -28,4 +31,78 @@ public class TextIntWritablePairComparable extends PairOfWritables<Text, IntWrit
     
   }
 
+  /**
+   * Compares serialized pairs without deserializing them. PairOfWritables writes the two
+   * element class names (writeUTF) ahead of the elements, so those are skipped first; then the
+   * Text (vint length + UTF-8 bytes) and the big-endian int are compared in place.
+   */
+  public static class Comparator extends WritableComparator {
+    public Comparator() {
+      super(TextIntWritablePairComparable.class);
+    }
+
+    @Override
+    public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+      try {
+        int t1 = textStart(b1, s1);
+        int t2 = textStart(b2, s2);
+
+        int n1 = WritableUtils.decodeVIntSize(b1[t1]);
+        int n2 = WritableUtils.decodeVIntSize(b2[t2]);
+        int len1 = readVInt(b1, t1);
+        int len2 = readVInt(b2, t2);
+
+        int cmp = compareBytes(b1, t1 + n1, len1, b2, t2 + n2, len2);
+        if (cmp != 0) {
+          return cmp;
+        }
+
+        int docno1 = readInt(b1, t1 + n1 + len1);
+        int docno2 = readInt(b2, t2 + n2 + len2);
+
+        return docno1 < docno2 ? -1 : (docno1 == docno2 ? 0 : 1);
+      } catch (IOException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+
+    /**
+     * Returns the offset of the serialized Text, past the two writeUTF class names.
+     */
+    static int textStart(byte[] b, int s) {
+      s += 2 + readUnsignedShort(b, s);
+      s += 2 + readUnsignedShort(b, s);
+      return s;
+    }
+  }
+
+  /**
+   * Compares serialized pairs by their Text element only. Used as the grouping comparator so that
+   * one reduce() call sees all docnos of a term, in the order given by {@link Comparator}.
+   */
+  public static class TermComparator extends WritableComparator {
+    public TermComparator() {
+      super(TextIntWritablePairComparable.class);
+    }
+
+    @Override
+    public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+      try {
+        int t1 = Comparator.textStart(b1, s1);
+        int t2 = Comparator.textStart(b2, s2);
+
+        int n1 = WritableUtils.decodeVIntSize(b1[t1]);
+        int n2 = WritableUtils.decodeVIntSize(b2[t2]);
+
+        return compareBytes(b1, t1 + n1, readVInt(b1, t1), b2, t2 + n2, readVInt(b2, t2));
+      } catch (IOException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+  }
+
+  static {
+    WritableComparator.define(TextIntWritablePairComparable.class, new Comparator());
+  }
+
 }
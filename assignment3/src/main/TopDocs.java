@@ -0,0 +1,126 @@
+/**
+ * Collects the k best-scoring documents of a ranked query in a bounded min-heap over parallel
+ * primitive arrays: the root is the weakest document kept, so a candidate that cannot beat it is
+ * rejected with one comparison, and one that can replaces it in O(log k). Among equal scores the
+ * smaller docno ranks higher.
+ *
+ * A collector is reused across queries with {@link #reset(int)} and is not thread-safe.
+ */
+public class TopDocs {
+  private int[] docs = new int[0];
+  private float[] scores = new float[0];
+  private int k;
+  private int size;
+
+  /**
+   * Empties the collector and sets how many documents it keeps.
+   */
+  public void reset(int k) {
+    if (docs.length < k) {
+      docs = new int[k];
+      scores = new float[k];
+    }
+    this.k = k;
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the score a document must beat to enter the top k, or negative infinity while fewer
+   * than k documents have been collected.
+   */
+  public float threshold() {
+    if (size < k) {
+      return Float.NEGATIVE_INFINITY;
+    }
+
+    return k == 0 ? Float.POSITIVE_INFINITY : scores[0];
+  }
+
+  /**
+   * Offers a document, and returns whether it was kept.
+   */
+  public boolean insert(int docno, float score) {
+    if (size < k) {
+      docs[size] = docno;
+      scores[size] = score;
+      siftUp(size++);
+      return true;
+    }
+
+    if (k == 0 || !worse(docs[0], scores[0], docno, score)) {
+      return false;
+    }
+
+    docs[0] = docno;
+    scores[0] = score;
+    siftDown(0, size);
+    return true;
+  }
+
+  /**
+   * Sorts the collected documents best first; after this, {@link #docno(int)} and
+   * {@link #score(int)} give the i-th result, until the next insert.
+   */
+  public void sort() {
+    // Heapsort: popping the weakest to the end of the array leaves the best at the front.
+    for (int n = size - 1; n > 0; n--) {
+      swap(0, n);
+      siftDown(0, n);
+    }
+  }
+
+  public int docno(int i) {
+    return docs[i];
+  }
+
+  public float score(int i) {
+    return scores[i];
+  }
+
+  // Whether document a ranks below document b.
+  private static boolean worse(int docA, float scoreA, int docB, float scoreB) {
+    return scoreA < scoreB || (scoreA == scoreB && docA > docB);
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!worse(docs[i], scores[i], docs[parent], scores[parent])) {
+        break;
+      }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i, int n) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= n) {
+        break;
+      }
+      if (child + 1 < n && worse(docs[child + 1], scores[child + 1], docs[child], scores[child])) {
+        child++;
+      }
+      if (!worse(docs[child], scores[child], docs[i], scores[i])) {
+        break;
+      }
+      swap(i, child);
+      i = child;
+    }
+  }
+
+  private void swap(int i, int j) {
+    int d = docs[i];
+    docs[i] = docs[j];
+    docs[j] = d;
+
+    float s = scores[i];
+    scores[i] = scores[j];
+    scores[j] = s;
+  }
+}
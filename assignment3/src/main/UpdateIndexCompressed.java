@@ -0,0 +1,202 @@
+/*
+ * Cloud9: A Hadoop toolkit for working with big data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * Adds a batch of documents to a segmented index, and merges its segments. Each batch is indexed
+ * by {@link BuildInvertedIndexCompressed} into a new segment whose docnos follow those of the
+ * documents already in the index; the first batch creates the index, and later ones are built
+ * with its options. After each batch the {@link SegmentMerger} merge policy runs, unless
+ * disabled; -merge runs it on its own.
+ */
+public class UpdateIndexCompressed extends Configured implements Tool {
+  private static final Logger LOG = Logger.getLogger(UpdateIndexCompressed.class);
+
+  private UpdateIndexCompressed() {}
+
+  private static final String INDEX = "index";
+  private static final String INPUT = "input";
+  private static final String NUM_REDUCERS = "numReducers";
+  private static final String MERGE = "merge";
+  private static final String NO_MERGE = "noMerge";
+  private static final String MERGE_FACTOR = "mergeFactor";
+  private static final String BLOCK_SIZE = "blockSize";
+  private static final String POSITIONS = "positions";
+  private static final String CODEC = "codec";
+  private static final String TERM_HASH = "termHash";
+
+  /**
+   * Runs this tool.
+   */
+  @SuppressWarnings({ "static-access" })
+  public int run(String[] args) throws Exception {
+    Options options = new Options();
+
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("segmented index path").create(INDEX));
+    options.addOption(OptionBuilder.withArgName("path").hasArg()
+        .withDescription("collection file to add as a new segment").create(INPUT));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("number of reducers").create(NUM_REDUCERS));
+    options.addOption(OptionBuilder.withDescription("run the merge policy").create(MERGE));
+    options.addOption(OptionBuilder.withDescription("do not merge after adding a batch")
+        .create(NO_MERGE));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("segments merged at a time").create(MERGE_FACTOR));
+    options.addOption(OptionBuilder.withArgName("num").hasArg()
+        .withDescription("postings per skip block, for a new index").create(BLOCK_SIZE));
+    options.addOption(OptionBuilder.withDescription("store term positions, for a new index")
+        .create(POSITIONS));
+    options.addOption(OptionBuilder.withArgName("name").hasArg()
+        .withDescription("posting codec, for a new index: " + Arrays.toString(PostingCodec.NAMES))
+        .create(CODEC));
+    options.addOption(OptionBuilder.withDescription("write term hashes, for a new index")
+        .create(TERM_HASH));
+
+    CommandLine cmdline;
+    CommandLineParser parser = new GnuParser();
+
+    try {
+      cmdline = parser.parse(options, args);
+    } catch (ParseException exp) {
+      System.err.println("Error parsing command line: " + exp.getMessage());
+      return -1;
+    }
+
+    if (!cmdline.hasOption(INDEX) || !(cmdline.hasOption(INPUT) || cmdline.hasOption(MERGE))) {
+      System.out.println("args: " + Arrays.toString(args));
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.setWidth(120);
+      formatter.printHelp(this.getClass().getName(), options);
+      ToolRunner.printGenericCommandUsage(System.out);
+      return -1;
+    }
+
+    Path indexPath = new Path(cmdline.getOptionValue(INDEX));
+    int mergeFactor = cmdline.hasOption(MERGE_FACTOR) ?
+        Integer.parseInt(cmdline.getOptionValue(MERGE_FACTOR)) : SegmentMerger.DEFAULT_MERGE_FACTOR;
+
+    FileSystem fs = FileSystem.get(getConf());
+    if (fs.exists(indexPath) && !SegmentManifest.exists(fs, indexPath)) {
+      System.err.println(indexPath + " is not a segmented index");
+      return -1;
+    }
+
+    SegmentManifest manifest = SegmentManifest.read(fs, indexPath);
+    SegmentMerger merger = new SegmentMerger(fs, indexPath, mergeFactor);
+
+    LOG.info("Tool name: " + UpdateIndexCompressed.class.getSimpleName());
+    LOG.info(" - index path: " + indexPath);
+    LOG.info(" - segments: " + manifest.getSegments().size());
+    LOG.info(" - documents: " + manifest.getNumDocs());
+
+    if (cmdline.hasOption(INPUT)) {
+      Path inputPath = fs.makeQualified(new Path(cmdline.getOptionValue(INPUT)));
+      // A directory would be built into a segmented index of its own.
+      if (!fs.isFile(inputPath)) {
+        System.err.println(inputPath + " is not a collection file: add a directory's files one at a time");
+        return -1;
+      }
+      String name = manifest.newSegmentName();
+      Path segmentPath = new Path(indexPath, name);
+
+      List<String> buildArgs = new ArrayList<String>();
+      buildArgs.addAll(Arrays.asList("-input", inputPath.toString(), "-output", segmentPath.toString(),
+          "-denseDocnos"));
+      if (cmdline.hasOption(NUM_REDUCERS)) {
+        buildArgs.addAll(Arrays.asList("-numReducers", cmdline.getOptionValue(NUM_REDUCERS)));
+      }
+
+      // Segments are merged list by list, so they must all be built the same way.
+      if (manifest.getSegments().isEmpty()) {
+        if (cmdline.hasOption(BLOCK_SIZE)) {
+          buildArgs.addAll(Arrays.asList("-blockSize", cmdline.getOptionValue(BLOCK_SIZE)));
+        }
+        if (cmdline.hasOption(CODEC)) {
+          buildArgs.addAll(Arrays.asList("-codec", cmdline.getOptionValue(CODEC)));
+        }
+        if (cmdline.hasOption(POSITIONS)) {
+          buildArgs.add("-positions");
+        }
+        if (cmdline.hasOption(TERM_HASH)) {
+          buildArgs.add("-termHash");
+        }
+      } else {
+        IndexMetadata metadata = IndexMetadata.read(fs,
+            new Path(indexPath, manifest.getSegments().get(0).getName()));
+        buildArgs.addAll(Arrays.asList("-blockSize", Integer.toString(metadata.getBlockSize()),
+            "-codec", metadata.getCodec(),
+            "-k1", Float.toString(metadata.getK1()),
+            "-b", Float.toString(metadata.getB())));
+        if (metadata.hasPositions()) {
+          buildArgs.add("-positions");
+        }
+        if (!metadata.hasTermDictionary()) {
+          buildArgs.add("-noDictionary");
+        }
+        if (metadata.hasTermHash()) {
+          buildArgs.add("-termHash");
+        }
+        getConf().set(Analyzer.FILTERS_KEY, metadata.getAnalyzer());
+      }
+
+      fs.mkdirs(indexPath);
+      if (ToolRunner.run(getConf(), new BuildInvertedIndexCompressed(),
+          buildArgs.toArray(new String[buildArgs.size()])) != 0) {
+        fs.delete(segmentPath, true);
+        return -1;
+      }
+
+      IndexMetadata metadata = IndexMetadata.read(fs, segmentPath);
+      int numDocs = DocnoTable.open(fs, segmentPath, metadata).size();
+      manifest.addBatch(inputPath, name, numDocs);
+      manifest.write(fs, indexPath);
+      LOG.info("Added " + numDocs + " documents from " + inputPath + " as " + name);
+    }
+
+    if (cmdline.hasOption(MERGE) || (cmdline.hasOption(INPUT) && !cmdline.hasOption(NO_MERGE))) {
+      int merges = merger.maybeMerge(manifest);
+      LOG.info("Ran " + merges + " merges, leaving " + manifest.getSegments().size() + " segments");
+    }
+
+    return 0;
+  }
+
+  /**
+   * Dispatches command-line arguments to the tool via the {@code ToolRunner}.
+   */
+  public static void main(String[] args) throws Exception {
+    ToolRunner.run(new UpdateIndexCompressed(), args);
+  }
+}
@@ -0,0 +1,52 @@
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Writes each d-gap and tf as a Hadoop vint, interleaved. This is the format indexes had before
+ * codecs were pluggable.
+ */
+public class VIntCodec extends PostingCodec {
+  private byte[] bytes;
+  private int pos;
+
+  @Override
+  public String getName() {
+    return "vint";
+  }
+
+  @Override
+  public void encode(int[] gaps, int[] tfs, int n, DataOutput out) throws IOException {
+    for (int i = 0; i < n; i++) {
+      WritableUtils.writeVInt(out, gaps[i]);
+      WritableUtils.writeVInt(out, tfs[i]);
+    }
+  }
+
+  @Override
+  public void decode(byte[] bytes, int pos, int[] gaps, int[] tfs, int n) {
+    this.bytes = bytes;
+    this.pos = pos;
+
+    for (int i = 0; i < n; i++) {
+      gaps[i] = readVInt();
+      tfs[i] = readVInt();
+    }
+  }
+
+  private int readVInt() {
+    byte first = bytes[pos++];
+    int size = WritableUtils.decodeVIntSize(first);
+    if (size == 1) {
+      return first;
+    }
+
+    long value = 0;
+    for (int i = 0; i < size - 1; i++) {
+      value = (value << 8) | (bytes[pos++] & 0xFF);
+    }
+
+    return (int) (WritableUtils.isNegativeVInt(first) ? ~value : value);
+  }
+}
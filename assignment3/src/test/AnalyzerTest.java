@@ -0,0 +1,132 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class AnalyzerTest {
+  private static List<String> terms(String filters, String s) {
+    return new Analyzer(filters).analyze(s);
+  }
+
+  @Test
+  public void testTokensMatchStringTokenizer() {
+    // Every delimiter of a default StringTokenizer splits; a vertical tab does not.
+    String s = "  one\ttwo\nthree\r\nfour\ffive  six\u000Bseven \u00E9t\u00E9 \u4E2D\u6587\t";
+    List<String> expected = new ArrayList<String>();
+    StringTokenizer tokenizer = new StringTokenizer(s);
+    while (tokenizer.hasMoreTokens()) {
+      expected.add(tokenizer.nextToken());
+    }
+
+    assertEquals(expected, terms("", s));
+    assertEquals("six\u000Bseven", expected.get(5));
+    assertEquals(Arrays.<String>asList(), terms("", " \t\r\n\f "));
+    assertEquals(Arrays.<String>asList(), terms("", ""));
+  }
+
+  @Test
+  public void testLetters() {
+    assertEquals(Arrays.asList("Hello", "World"),
+        terms(Analyzer.LETTERS, "Hello world, 42 x1 \u00E9t\u00E9 don't World"));
+  }
+
+  @Test
+  public void testLowercase() {
+    // Only ASCII letters are lowercased.
+    assertEquals(Arrays.asList("hello", "\u00C9t\u00C9", "mixed42case", "lower"),
+        terms(Analyzer.LOWERCASE, "HELLO \u00C9t\u00C9 MiXeD42CaSe lower"));
+  }
+
+  @Test
+  public void testStopwords() {
+    // Matched after lowercasing, but not in other case without it.
+    assertEquals(Arrays.asList("The", "quick", "fox", "thesis"),
+        terms(Analyzer.STOPWORDS, "The quick fox and the thesis"));
+    assertEquals(Arrays.asList("quick", "fox", "thesis"),
+        terms("lowercase,stopwords", "The quick fox AND the thesis"));
+  }
+
+  @Test
+  public void testStem() {
+    String[][] cases = {
+        { "flowers", "flower" }, { "cities", "city" }, { "boxes", "boxe" }, { "bus", "bus" },
+        { "glass", "glass" }, { "trees", "trees" }, { "shoes", "shoes" }, { "keys", "key" },
+        { "plays", "play" }, { "as", "as" }, { "ies", "ies" }, { "word", "word" } };
+    for (String[] c : cases) {
+      assertEquals(c[0], c[1], new Analyzer(Analyzer.STEM).analyzeToken(c[0]));
+    }
+  }
+
+  @Test
+  public void testFiltersInOrder() {
+    Analyzer analyzer = new Analyzer("stem, stopwords,lowercase,letters");
+    assertEquals("letters,lowercase,stopwords,stem", analyzer.getFilters());
+    assertEquals(Arrays.asList("flower", "city"),
+        analyzer.analyze("The FLOWERS of 3 Cities AS it IS"));
+    assertNull(analyzer.analyzeToken("This"));
+    assertEquals("", new Analyzer().getFilters());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownFilter() {
+    new Analyzer("lowercase,porter");
+  }
+
+  @Test
+  public void testFromConf() {
+    Configuration conf = new Configuration();
+    assertEquals("", Analyzer.fromConf(conf).getFilters());
+    assertEquals("lowercase", Analyzer.fromConf(conf, "lowercase").getFilters());
+    conf.set(Analyzer.FILTERS_KEY, "letters,stem");
+    assertEquals("letters,stem", Analyzer.fromConf(conf, "lowercase").getFilters());
+  }
+
+  @Test
+  public void testTermBytes() throws UnsupportedEncodingException {
+    Text line = new Text("Caf\u00E9 \u4E2D\u6587 plain Words");
+    byte[] bytes = Arrays.copyOf(line.getBytes(), line.getLength());
+    Analyzer analyzer = new Analyzer("lowercase,stem");
+    analyzer.reset(line);
+
+    // An unchanged term is a slice of the input; a changed one is copied.
+    Text term = new Text();
+    String[] expected = { "caf\u00E9", "\u4E2D\u6587", "plain", "word" };
+    for (String s : expected) {
+      analyzer.next();
+      analyzer.getTerm(term);
+      assertEquals(s, term.toString());
+      assertEquals(s, analyzer.getTermString());
+      assertArrayEquals(s.getBytes("UTF-8"), Arrays.copyOfRange(analyzer.getTermBytes(),
+          analyzer.getTermStart(), analyzer.getTermStart() + analyzer.getTermLength()));
+      if (!s.equals("caf\u00E9") && !s.equals("word")) {
+        assertSame(line.getBytes(), analyzer.getTermBytes());
+      }
+    }
+    assertEquals(false, analyzer.next());
+
+    // The input is left as it was.
+    assertArrayEquals(bytes, Arrays.copyOf(line.getBytes(), line.getLength()));
+  }
+
+  @Test
+  public void testResetSlice() throws UnsupportedEncodingException {
+    byte[] bytes = "skip these two words".getBytes("UTF-8");
+    Analyzer analyzer = new Analyzer();
+    analyzer.reset(bytes, 5, 9);
+    analyzer.next();
+    assertEquals("these", analyzer.getTermString());
+    analyzer.next();
+    assertEquals("two", analyzer.getTermString());
+    assertEquals(false, analyzer.next());
+  }
+}
@@ -0,0 +1,152 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.junit.Test;
+
+/**
+ * Checks {@link ArrayDocSet} and {@link RoaringDocSet}, and operations mixing them, against the
+ * same operations on TreeSets.
+ */
+public class DocSetTest {
+  private final Random random = new Random(7);
+
+  /**
+   * Returns a random set: a few docnos, many scattered ones, ones dense enough in one 2^16 chunk
+   * to need a bitmap, or runs, starting in one of the first few chunks.
+   */
+  private TreeSet<Integer> randomSet() {
+    TreeSet<Integer> set = new TreeSet<Integer>();
+    int kind = random.nextInt(4);
+    int n = random.nextInt(kind == 0 ? 50 : 20000);
+    int base = random.nextInt(3) * 65536 * (1 + random.nextInt(3));
+    for (int i = 0; i < n; i++) {
+      if (kind == 1) {
+        int start = base + random.nextInt(300000);
+        int length = random.nextInt(3000);
+        for (int j = 0; j < length; j++) {
+          set.add(start + j);
+        }
+        i += length;
+      } else if (kind == 2) {
+        set.add(base + random.nextInt(70000));
+      } else {
+        set.add(base + random.nextInt(2000000));
+      }
+    }
+    return set;
+  }
+
+  private static DocSet docSet(TreeSet<Integer> set, boolean roaring) {
+    int[] docs = new int[set.size()];
+    int i = 0;
+    for (int docno : set) {
+      docs[i++] = docno;
+    }
+
+    ArrayDocSet array = new ArrayDocSet(docs, docs.length);
+    return roaring ? RoaringDocSet.from(array) : array;
+  }
+
+  private static PostingsCursor cursor(TreeSet<Integer> set) throws IOException {
+    PostingWriter writer = new PostingWriter();
+    for (int docno : set) {
+      writer.add(docno, 1);
+    }
+
+    DataOutputBuffer out = new DataOutputBuffer();
+    writer.write(out);
+    BytesWritable postings = new BytesWritable();
+    postings.set(out.getData(), 0, out.getLength());
+    return new PostingsCursor(postings);
+  }
+
+  private void assertDocs(String message, TreeSet<Integer> expected, DocSet actual) {
+    assertEquals(message, expected.size(), actual.size());
+
+    DocSet.DocIterator iterator = actual.iterator();
+    for (int docno : expected) {
+      assertEquals(message, docno, iterator.nextDoc());
+    }
+    assertEquals(message, DocSet.NO_MORE_DOCS, iterator.nextDoc());
+
+    for (int i = 0; i < 200; i++) {
+      int docno = random.nextInt(2500000);
+      assertEquals(message + " contains " + docno, expected.contains(docno),
+          actual.contains(docno));
+    }
+    for (int docno : expected.headSet(expected.isEmpty() ? 0 : expected.first() + 100)) {
+      assertTrue(message + " contains " + docno, actual.contains(docno));
+    }
+  }
+
+  @Test
+  public void testOperations() throws IOException {
+    for (int i = 0; i < 40; i++) {
+      TreeSet<Integer> a = randomSet();
+      TreeSet<Integer> b = randomSet();
+
+      TreeSet<Integer> and = new TreeSet<Integer>(a);
+      and.retainAll(b);
+      TreeSet<Integer> or = new TreeSet<Integer>(a);
+      or.addAll(b);
+      TreeSet<Integer> andNot = new TreeSet<Integer>(a);
+      andNot.removeAll(b);
+
+      for (int kinds = 0; kinds < 4; kinds++) {
+        DocSet x = docSet(a, (kinds & 1) != 0);
+        DocSet y = docSet(b, (kinds & 2) != 0);
+        String message = x.getClass().getSimpleName() + " with " + y.getClass().getSimpleName();
+
+        assertDocs(message, a, x);
+        assertDocs(message + " and", and, x.and(y));
+        assertDocs(message + " or", or, x.or(y));
+        assertDocs(message + " andNot", andNot, x.andNot(y));
+        assertDocs(message + " and cursor", and, x.and(cursor(b)));
+        assertDocs(message + " andNot cursor", andNot, x.andNot(cursor(b)));
+      }
+    }
+  }
+
+  @Test
+  public void testFromCursor() throws IOException {
+    for (int i = 0; i < 20; i++) {
+      TreeSet<Integer> set = randomSet();
+      assertDocs("array", set, ArrayDocSet.fromCursor(cursor(set)));
+      assertDocs("roaring", set, RoaringDocSet.fromCursor(cursor(set)));
+    }
+  }
+
+  @Test
+  public void testBuilder() {
+    TreeSet<Integer> set = randomSet();
+    set.add(65535);
+    set.add(65536);
+    RoaringDocSet.Builder builder = new RoaringDocSet.Builder();
+    for (int docno : set) {
+      builder.add(docno);
+    }
+    assertDocs("builder", set, builder.build());
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    TreeSet<Integer> empty = new TreeSet<Integer>();
+    TreeSet<Integer> set = randomSet();
+    for (int kinds = 0; kinds < 4; kinds++) {
+      DocSet x = docSet(empty, (kinds & 1) != 0);
+      DocSet y = docSet(set, (kinds & 2) != 0);
+      assertDocs("empty", empty, x);
+      assertDocs("empty and", empty, x.and(y));
+      assertDocs("and empty", empty, y.and(x));
+      assertDocs("empty or", set, x.or(y));
+      assertDocs("andNot empty", set, y.andNot(x));
+      assertDocs("and empty cursor", empty, y.and(cursor(empty)));
+    }
+  }
+}
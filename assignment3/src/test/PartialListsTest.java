@@ -0,0 +1,104 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
+import org.junit.Test;
+
+/**
+ * Adds random postings, some long enough to span many slices, until the lists are full, and
+ * checks each list decoded against a LinkedHashMap, before and after clearing them.
+ */
+public class PartialListsTest {
+  private static final long BUDGET = 256 * 1024;
+
+  @Test
+  public void testListsUntilFull() throws IOException {
+    Random random = new Random(23);
+    PartialLists lists = new PartialLists(BUDGET);
+    assertTrue(lists.getFootprint() <= BUDGET);
+
+    for (int round = 0; round < 3; round++) {
+      // Lists of (docno, posting length), each posting's bytes being its length repeated.
+      Map<String, List<int[]>> expected = new LinkedHashMap<String, List<int[]>>();
+      DataOutputBuffer posting = new DataOutputBuffer();
+      int docno = round;
+      boolean full = false;
+      while (!full) {
+        docno += 1 + random.nextInt(1000);
+        for (int t = 0; t < 20 && !full; t++) {
+          String term = "term" + random.nextInt(round == 1 ? 50 : 5000);
+          if (expected.containsKey(term) && last(expected.get(term))[0] == docno) {
+            continue;
+          }
+
+          int length = random.nextInt(100) == 0 ? 1000 + random.nextInt(5000) : 1 + random.nextInt(8);
+          posting.reset();
+          for (int i = 0; i < length; i++) {
+            posting.write(length & 0x7F);
+          }
+
+          if (lists.add(new Text(term), docno, posting)) {
+            if (!expected.containsKey(term)) {
+              expected.put(term, new ArrayList<int[]>());
+            }
+            expected.get(term).add(new int[] { docno, length });
+          } else {
+            full = true;
+          }
+        }
+      }
+
+      assertEquals(expected.size(), lists.size());
+      int entry = 0;
+      Text term = new Text();
+      BytesWritable list = new BytesWritable();
+      DataInputBuffer in = new DataInputBuffer();
+      for (Map.Entry<String, List<int[]>> e : expected.entrySet()) {
+        lists.getTerm(entry, term);
+        assertEquals(e.getKey(), term.toString());
+        assertEquals(e.getValue().get(0)[0], lists.getFirstDocno(entry));
+
+        lists.getList(entry, list);
+        in.reset(list.getBytes(), list.getLength());
+        int previous = e.getValue().get(0)[0];
+        for (int[] p : e.getValue()) {
+          assertEquals(p[0] - previous, WritableUtils.readVInt(in));
+          previous = p[0];
+          for (int i = 0; i < p[1]; i++) {
+            assertEquals(p[1] & 0x7F, in.readByte());
+          }
+        }
+        assertEquals(list.getLength(), in.getPosition());
+        entry++;
+      }
+
+      lists.clear();
+      assertEquals(0, lists.size());
+    }
+  }
+
+  @Test
+  public void testPostingLargerThanSlab() throws IOException {
+    PartialLists lists = new PartialLists(BUDGET);
+    DataOutputBuffer posting = new DataOutputBuffer();
+    posting.write(new byte[(int) BUDGET]);
+    assertFalse(lists.add(new Text("term"), 0, posting));
+    assertEquals(0, lists.size());
+  }
+
+  private static int[] last(List<int[]> list) {
+    return list.get(list.size() - 1);
+  }
+}
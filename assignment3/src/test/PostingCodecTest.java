@@ -0,0 +1,121 @@
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.junit.Test;
+
+/**
+ * Round-trips blocks through every {@link PostingCodec}, at each bit width from 0 to 31 and at
+ * block lengths on either side of the packed codec's 64-value units.
+ */
+public class PostingCodecTest {
+  private static final int[] LENGTHS = { 1, 2, 63, 64, 65, 127, 128 };
+
+  private final Random random = new Random(13);
+
+  /**
+   * Returns n values of at most {@code width} bits and at least {@code min}, with the largest
+   * value of the width among them.
+   */
+  private int[] values(int n, int width, int min) {
+    int max = (int) ((1L << width) - 1);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = Math.max(min, random.nextBoolean() ? max : random.nextInt() & max);
+    }
+    values[random.nextInt(n)] = Math.max(min, max);
+    return values;
+  }
+
+  /**
+   * Encodes each block after some leading bytes, and checks that each decodes back from its
+   * offset, with more blocks following it.
+   */
+  private static void assertRoundTrip(String message, PostingCodec codec, int[][] gaps,
+      int[][] tfs) throws IOException {
+    DataOutputBuffer out = new DataOutputBuffer();
+    out.write(new byte[] { 1, 2, 3 });
+
+    int[] offsets = new int[gaps.length];
+    for (int i = 0; i < gaps.length; i++) {
+      offsets[i] = out.getLength();
+      codec.encode(gaps[i], tfs[i], gaps[i].length, out);
+    }
+    out.write(new byte[] { -1, -1, -1, -1, -1, -1, -1, -1 });
+
+    byte[] bytes = Arrays.copyOf(out.getData(), out.getLength());
+    for (int i = 0; i < gaps.length; i++) {
+      int n = gaps[i].length;
+      int[] decodedGaps = new int[n];
+      int[] decodedTfs = new int[n];
+      codec.decode(bytes, offsets[i], decodedGaps, decodedTfs, n);
+
+      assertArrayEquals(message + " gaps", gaps[i], decodedGaps);
+      assertArrayEquals(message + " tfs", tfs[i], decodedTfs);
+    }
+  }
+
+  @Test
+  public void testEachWidth() throws IOException {
+    for (String name : PostingCodec.NAMES) {
+      PostingCodec codec = PostingCodec.forName(name);
+      for (int n : LENGTHS) {
+        for (int width = 0; width <= 31; width++) {
+          // Gaps are at least 1 but for the first of a list, so only a list of one can have
+          // gaps of width 0. Codecs pack tfs minus one; 30 bits keeps the tfs within an int.
+          int[] gaps = values(n, Math.max(width, 1), 1);
+          if (n == 1 && width == 0) {
+            gaps[0] = 0;
+          }
+          int[] tfs = values(n, Math.min(width, 30), 0);
+          for (int i = 0; i < n; i++) {
+            tfs[i]++;
+          }
+
+          String message = name + " n=" + n + " width=" + width;
+          assertRoundTrip(message, codec, new int[][] { gaps, gaps }, new int[][] { tfs, tfs });
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testOnesAndFirstGapZero() throws IOException {
+    for (String name : PostingCodec.NAMES) {
+      for (int n : LENGTHS) {
+        int[] gaps = new int[n];
+        int[] tfs = new int[n];
+        Arrays.fill(gaps, 1);
+        Arrays.fill(tfs, 1);
+        gaps[0] = 0;
+        assertRoundTrip(name + " n=" + n, PostingCodec.forName(name), new int[][] { gaps },
+            new int[][] { tfs });
+      }
+    }
+  }
+
+  @Test
+  public void testOutliers() throws IOException {
+    // Mostly small values with a few at full width: exceptions for PForDelta, wide frames for
+    // the others.
+    for (String name : PostingCodec.NAMES) {
+      PostingCodec codec = PostingCodec.forName(name);
+      for (int n : LENGTHS) {
+        int[][] gaps = new int[4][];
+        int[][] tfs = new int[4][];
+        for (int i = 0; i < gaps.length; i++) {
+          gaps[i] = values(n, 3, 1);
+          tfs[i] = values(n, 2, 1);
+          for (int j = 0; j < 1 + n / 20; j++) {
+            gaps[i][random.nextInt(n)] = Integer.MAX_VALUE - random.nextInt(1000);
+            tfs[i][random.nextInt(n)] = 1 + random.nextInt(1 << 20);
+          }
+        }
+        assertRoundTrip(name + " n=" + n, codec, gaps, tfs);
+      }
+    }
+  }
+}
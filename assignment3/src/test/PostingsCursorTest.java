@@ -0,0 +1,177 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.junit.Test;
+
+public class PostingsCursorTest {
+  private static final int BLOCK_SIZE = 16;
+
+  /**
+   * Returns ascending docnos from 0, with gaps of 1 and of up to 100000 mixed.
+   */
+  private static int[] docnos(int n, long seed) {
+    Random random = new Random(seed);
+    int[] docnos = new int[n];
+    for (int i = 1; i < n; i++) {
+      docnos[i] = docnos[i - 1] + 1 + (random.nextBoolean() ? 0 : random.nextInt(100000));
+    }
+    return docnos;
+  }
+
+  private static BytesWritable write(PostingWriter writer, int[] docnos) throws IOException {
+    for (int i = 0; i < docnos.length; i++) {
+      writer.add(docnos[i], tf(i));
+    }
+
+    DataOutputBuffer out = new DataOutputBuffer();
+    writer.write(out);
+    BytesWritable postings = new BytesWritable();
+    postings.set(out.getData(), 0, out.getLength());
+    return postings;
+  }
+
+  private static int tf(int i) {
+    return 1 + i % 7;
+  }
+
+  private static PostingsCursor cursor(String codec, int[] docnos) throws IOException {
+    BytesWritable postings = write(
+        new PostingWriter(BLOCK_SIZE, false, PostingCodec.forName(codec)), docnos);
+    PostingsCursor cursor = new PostingsCursor(false, PostingCodec.forName(codec), BLOCK_SIZE);
+    cursor.reset(postings);
+    return cursor;
+  }
+
+  @Test
+  public void testNextDocWalksEveryBlock() throws IOException {
+    // Full blocks and a partial last one.
+    int[] docnos = docnos(5 * BLOCK_SIZE + 3, 1);
+    for (String codec : PostingCodec.NAMES) {
+      PostingsCursor cursor = cursor(codec, docnos);
+      assertEquals(docnos.length, cursor.df());
+      for (int i = 0; i < docnos.length; i++) {
+        assertEquals(codec, docnos[i], cursor.nextDoc());
+        assertEquals(codec, tf(i), cursor.tf());
+      }
+      assertEquals(codec, PostingsCursor.NO_MORE_DOCS, cursor.nextDoc());
+    }
+  }
+
+  @Test
+  public void testAdvanceAcrossBlockBoundaries() throws IOException {
+    int[] docnos = docnos(8 * BLOCK_SIZE, 2);
+    for (String codec : PostingCodec.NAMES) {
+      // To the last posting of each block, then just past it, to the first of the next.
+      PostingsCursor cursor = cursor(codec, docnos);
+      for (int i = BLOCK_SIZE - 1; i + 1 < docnos.length; i += BLOCK_SIZE) {
+        assertEquals(codec, docnos[i], cursor.advance(docnos[i]));
+        assertEquals(codec, tf(i), cursor.tf());
+        assertEquals(codec, docnos[i + 1], cursor.advance(docnos[i] + 1));
+        assertEquals(codec, tf(i + 1), cursor.tf());
+      }
+      assertEquals(codec, PostingsCursor.NO_MORE_DOCS,
+          cursor.advance(docnos[docnos.length - 1] + 1));
+    }
+  }
+
+  @Test
+  public void testAdvanceSkippingBlocks() throws IOException {
+    int[] docnos = docnos(20 * BLOCK_SIZE, 3);
+    Random random = new Random(4);
+    for (String codec : PostingCodec.NAMES) {
+      PostingsCursor cursor = cursor(codec, docnos);
+      int target = 0;
+      while (true) {
+        target += random.nextInt(400000);
+        int i = firstAtLeast(docnos, target);
+        int docno = cursor.advance(target);
+        if (i == docnos.length) {
+          assertEquals(codec, PostingsCursor.NO_MORE_DOCS, docno);
+          break;
+        }
+        assertEquals(codec, docnos[i], docno);
+        assertEquals(codec, tf(i), cursor.tf());
+        target = docno;
+      }
+    }
+  }
+
+  @Test
+  public void testAdvanceNeverMovesBackwards() throws IOException {
+    int[] docnos = docnos(3 * BLOCK_SIZE, 5);
+    PostingsCursor cursor = cursor(PostingCodec.DEFAULT, docnos);
+    assertEquals(docnos[2 * BLOCK_SIZE], cursor.advance(docnos[2 * BLOCK_SIZE]));
+    assertEquals(docnos[2 * BLOCK_SIZE], cursor.advance(docnos[1]));
+  }
+
+  @Test
+  public void testAdvanceShallow() throws IOException {
+    int[] docnos = docnos(6 * BLOCK_SIZE + 5, 6);
+    for (String codec : PostingCodec.NAMES) {
+      PostingsCursor cursor = cursor(codec, docnos);
+      for (int block = 0; block * BLOCK_SIZE < docnos.length; block += 2) {
+        int first = block * BLOCK_SIZE;
+        int last = Math.min(first + BLOCK_SIZE, docnos.length) - 1;
+
+        // Any target in the block, up to its last docno, lands on the block.
+        int target = first == 0 ? 0 : docnos[first - 1] + 1;
+        assertEquals(codec, docnos[last], cursor.advanceShallow(target));
+        assertEquals(codec, docnos[last], cursor.advanceShallow(docnos[last]));
+        assertEquals(codec, docnos[first], cursor.advance(target));
+        assertEquals(codec, tf(first), cursor.tf());
+      }
+
+      assertEquals(codec, PostingsCursor.NO_MORE_DOCS,
+          cursor.advanceShallow(docnos[docnos.length - 1] + 1));
+    }
+  }
+
+  @Test
+  public void testPositionsAcrossBlocks() throws IOException {
+    PostingWriter writer = new PostingWriter(BLOCK_SIZE, true, PostingCodec.forName("pfor"));
+    int n = 3 * BLOCK_SIZE + 1;
+    for (int i = 0; i < n; i++) {
+      writer.add(3 * i, positions(i), tf(i));
+    }
+    DataOutputBuffer out = new DataOutputBuffer();
+    writer.write(out);
+    BytesWritable postings = new BytesWritable();
+    postings.set(out.getData(), 0, out.getLength());
+
+    // Skip the positions of some postings, in and across blocks.
+    PostingsCursor cursor = new PostingsCursor(true, PostingCodec.forName("pfor"), BLOCK_SIZE);
+    cursor.reset(postings);
+    for (int i = 0; i < n; i += 1 + i % 5) {
+      assertEquals(3 * i, cursor.advance(3 * i));
+      assertArrayEquals(positions(i), Arrays.copyOf(cursor.positions(), cursor.tf()));
+    }
+  }
+
+  private static int[] positions(int i) {
+    int[] positions = new int[tf(i)];
+    for (int j = 0; j < positions.length; j++) {
+      positions[j] = i + 2 * j;
+    }
+    return positions;
+  }
+
+  @Test
+  public void testEmptyList() {
+    PostingsCursor cursor = new PostingsCursor(new BytesWritable());
+    assertEquals(0, cursor.df());
+    assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.advanceShallow(0));
+    assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.nextDoc());
+    assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.docno());
+  }
+
+  private static int firstAtLeast(int[] docnos, int target) {
+    int i = Arrays.binarySearch(docnos, target);
+    return i >= 0 ? i : -i - 1;
+  }
+}
@@ -0,0 +1,246 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Merges small hand-built segments and checks that each term's merged list holds the postings of
+ * every source, with docnos shifted by the source's base within the merged segment.
+ */
+public class SegmentMergerTest {
+  private static final String[] TERMS = { "a", "b", "c", "d", "e", "f", "g", "h" };
+  private static final int[] NUM_DOCS = { 5, 11, 4 };
+  private static final int BLOCK_SIZE = 4;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private FileSystem fs;
+  private Path index;
+  private SegmentManifest manifest;
+  private IndexMetadata metadata;
+
+  // The postings of each segment, term -> segment-local docno -> tf, and the document lengths.
+  private final List<Map<String, TreeMap<Integer, Integer>>> postings =
+      new ArrayList<Map<String, TreeMap<Integer, Integer>>>();
+  private final List<int[]> lengths = new ArrayList<int[]>();
+
+  @Before
+  public void setUp() throws IOException {
+    fs = FileSystem.getLocal(new Configuration());
+    index = new Path(folder.getRoot().getPath());
+    manifest = new SegmentManifest();
+
+    metadata = new IndexMetadata();
+    metadata.setDenseDocnos(true);
+    metadata.setBlockSize(BLOCK_SIZE);
+    metadata.setCodec("pfor");
+
+    Random random = new Random(23);
+    for (int numDocs : NUM_DOCS) {
+      Map<String, TreeMap<Integer, Integer>> segment =
+          new TreeMap<String, TreeMap<Integer, Integer>>();
+      int[] docLengths = new int[numDocs];
+      for (String term : TERMS) {
+        // Some terms are missing from some segments.
+        if (random.nextInt(4) == 0) {
+          continue;
+        }
+        TreeMap<Integer, Integer> list = new TreeMap<Integer, Integer>();
+        for (int docno = 0; docno < numDocs; docno++) {
+          if (random.nextInt(3) > 0) {
+            int tf = 1 + random.nextInt(5);
+            list.put(docno, tf);
+            docLengths[docno] += tf;
+          }
+        }
+        if (!list.isEmpty()) {
+          segment.put(term, list);
+        }
+      }
+
+      String name = manifest.newSegmentName();
+      writeSegment(new Path(index, name), segment, docLengths);
+      manifest.addBatch(new Path("collection-" + name), name, numDocs);
+      postings.add(segment);
+      lengths.add(docLengths);
+    }
+    manifest.write(fs, index);
+  }
+
+  /**
+   * Writes a segment with its terms split over two partitions, as two reducers would.
+   */
+  @SuppressWarnings("deprecation")
+  private void writeSegment(Path dir, Map<String, TreeMap<Integer, Integer>> segment,
+      int[] docLengths) throws IOException {
+    fs.mkdirs(dir);
+    metadata.write(fs, dir);
+
+    DataOutputStream docnos = fs.create(new Path(dir, DocnoTable.FILE));
+    DataOutputStream lengthTable = fs.create(new Path(dir, DocLengthTable.FILE));
+    for (int docno = 0; docno < docLengths.length; docno++) {
+      docnos.writeLong(100L * docno);
+      lengthTable.writeInt(docLengths[docno]);
+    }
+    docnos.close();
+    lengthTable.close();
+
+    MapFile.Writer[] parts = new MapFile.Writer[2];
+    for (int i = 0; i < parts.length; i++) {
+      parts[i] = new MapFile.Writer(fs.getConf(), fs, new Path(dir, "part-r-0000" + i).toString(),
+          Text.class, BytesWritable.class);
+    }
+    for (Map.Entry<String, TreeMap<Integer, Integer>> e : segment.entrySet()) {
+      PostingWriter writer =
+          new PostingWriter(BLOCK_SIZE, false, PostingCodec.forName(metadata.getCodec()));
+      for (Map.Entry<Integer, Integer> posting : e.getValue().entrySet()) {
+        writer.add(posting.getKey(), posting.getValue());
+      }
+      DataOutputBuffer buffer = new DataOutputBuffer();
+      writer.write(buffer);
+      BytesWritable value = new BytesWritable();
+      value.set(buffer.getData(), 0, buffer.getLength());
+
+      parts[e.getKey().charAt(0) % 2].append(new Text(e.getKey()), value);
+    }
+    for (MapFile.Writer part : parts) {
+      part.close();
+    }
+  }
+
+  /**
+   * Returns the merged postings of segments [from, to), with docnos counted from the first one's
+   * base.
+   */
+  private Map<String, TreeMap<Integer, Integer>> expected(int from, int to) {
+    Map<String, TreeMap<Integer, Integer>> merged =
+        new TreeMap<String, TreeMap<Integer, Integer>>();
+    int shift = 0;
+    for (int i = from; i < to; i++) {
+      for (Map.Entry<String, TreeMap<Integer, Integer>> e : postings.get(i).entrySet()) {
+        if (!merged.containsKey(e.getKey())) {
+          merged.put(e.getKey(), new TreeMap<Integer, Integer>());
+        }
+        for (Map.Entry<Integer, Integer> posting : e.getValue().entrySet()) {
+          merged.get(e.getKey()).put(posting.getKey() + shift, posting.getValue());
+        }
+      }
+      shift += NUM_DOCS[i];
+    }
+    return merged;
+  }
+
+  private Map<String, TreeMap<Integer, Integer>> read(Path dir) throws IOException {
+    Map<String, TreeMap<Integer, Integer>> merged =
+        new TreeMap<String, TreeMap<Integer, Integer>>();
+    IndexMetadata mergedMetadata = IndexMetadata.read(fs, dir);
+    assertEquals(1, mergedMetadata.getPartitions());
+
+    PostingsCursor cursor = mergedMetadata.newCursor();
+    PostingsIndex.Scanner[] scanners = PostingsIndex.scan(fs, dir, mergedMetadata);
+    assertEquals(1, scanners.length);
+    Text term = new Text();
+    BytesWritable value = new BytesWritable();
+    while (scanners[0].next(term, value)) {
+      TreeMap<Integer, Integer> list = new TreeMap<Integer, Integer>();
+      cursor.reset(value);
+      for (int docno = cursor.nextDoc(); docno != PostingsCursor.NO_MORE_DOCS;
+          docno = cursor.nextDoc()) {
+        list.put(docno, cursor.tf());
+      }
+      assertEquals(term.toString(), list.size(), cursor.df());
+      merged.put(term.toString(), list);
+    }
+    scanners[0].close();
+
+    return merged;
+  }
+
+  @Test
+  public void testMergeAll() throws IOException {
+    List<String> sources = new ArrayList<String>();
+    for (SegmentManifest.Entry segment : manifest.getSegments()) {
+      sources.add(segment.getName());
+    }
+
+    new SegmentMerger(fs, index, 3).merge(manifest, 0, 3);
+
+    SegmentManifest written = SegmentManifest.read(fs, index);
+    assertEquals(1, written.getSegments().size());
+    SegmentManifest.Entry merged = written.getSegments().get(0);
+    assertEquals(0, merged.getBase());
+    assertEquals(NUM_DOCS[0] + NUM_DOCS[1] + NUM_DOCS[2], merged.getNumDocs());
+
+    Path dir = new Path(index, merged.getName());
+    assertEquals(expected(0, 3), read(dir));
+    for (String source : sources) {
+      assertFalse(source, fs.exists(new Path(index, source)));
+    }
+
+    // The tables are concatenated in segment order.
+    DocLengthTable table = DocLengthTable.open(fs, new Path(dir, DocLengthTable.FILE));
+    assertEquals(merged.getNumDocs(), table.size());
+    int docno = 0;
+    for (int[] docLengths : lengths) {
+      for (int length : docLengths) {
+        assertEquals(length, table.getLength(docno++));
+      }
+    }
+    DocnoTable docnos = DocnoTable.open(fs, dir, IndexMetadata.read(fs, dir));
+    assertEquals(100L * (NUM_DOCS[0] - 1), docnos.getOffset(NUM_DOCS[0] - 1));
+    assertEquals(0L, docnos.getOffset(NUM_DOCS[0]));
+  }
+
+  @Test
+  public void testMergeLaterSegments() throws IOException {
+    // Docnos in the merged segment count from its own base, that of the first source.
+    String first = manifest.getSegments().get(0).getName();
+    new SegmentMerger(fs, index, 2).merge(manifest, 1, 3);
+
+    SegmentManifest written = SegmentManifest.read(fs, index);
+    assertEquals(2, written.getSegments().size());
+    assertEquals(first, written.getSegments().get(0).getName());
+    SegmentManifest.Entry merged = written.getSegments().get(1);
+    assertEquals(NUM_DOCS[0], merged.getBase());
+    assertEquals(NUM_DOCS[1] + NUM_DOCS[2], merged.getNumDocs());
+
+    assertEquals(expected(1, 3), read(new Path(index, merged.getName())));
+  }
+
+  @Test
+  public void testMergeDictionarySegments() throws IOException {
+    // Sources with a term dictionary are read through it, their MapFiles gone as after a build.
+    metadata.setTermDictionary(true);
+    for (SegmentManifest.Entry segment : manifest.getSegments()) {
+      Path dir = new Path(index, segment.getName());
+      DictionaryPostingsIndex.build(fs, dir, 4, false, false);
+      metadata.write(fs, dir);
+      assertEquals(0, fs.listStatus(dir, MapFilePostingsIndex.PARTITIONS).length);
+    }
+
+    new SegmentMerger(fs, index, 3).merge(manifest, 0, 3);
+
+    Path dir = new Path(index, SegmentManifest.read(fs, index).getSegments().get(0).getName());
+    assertEquals(expected(0, 3), read(dir));
+    assertEquals(0, fs.listStatus(dir, MapFilePostingsIndex.PARTITIONS).length);
+  }
+}
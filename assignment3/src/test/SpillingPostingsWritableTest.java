@@ -0,0 +1,223 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.MRConfig;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.umd.cloud9.io.array.ArrayListWritable;
+import edu.umd.cloud9.io.pair.PairOfInts;
+import edu.umd.cloud9.io.pair.PairOfWritables;
+
+/**
+ * Spills posting lists past a small budget and checks that the record written reads back, as
+ * PairOfWritables, into the sorted list, and that the runs are cleaned up.
+ */
+public class SpillingPostingsWritableTest {
+  // Ten postings per run.
+  private static final int CAPACITY = 10;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Configuration conf;
+  private File localDir;
+  private SpillingPostingsWritable postings;
+
+  @Before
+  public void setUp() throws IOException {
+    localDir = folder.newFolder("local");
+    conf = new Configuration();
+    conf.set(MRConfig.LOCAL_DIR, localDir.getPath());
+    postings = new SpillingPostingsWritable(8 * CAPACITY, conf, "postings-test");
+  }
+
+  /**
+   * Adds n postings with distinct docnos, in random order, and returns them by docno.
+   */
+  private TreeMap<Integer, Integer> add(int n, long seed) throws IOException {
+    Random random = new Random(seed);
+    TreeMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+    while (expected.size() < n) {
+      expected.put(random.nextInt(Integer.MAX_VALUE), 1 + random.nextInt(1000));
+    }
+
+    List<Integer> docnos = new ArrayList<Integer>(expected.keySet());
+    Collections.shuffle(docnos, random);
+    for (int docno : docnos) {
+      postings.add(docno, expected.get(docno));
+    }
+    return expected;
+  }
+
+  /**
+   * Writes out the current list and returns it as read back by PairOfWritables.
+   */
+  private PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> written()
+      throws IOException {
+    DataOutputBuffer out = new DataOutputBuffer();
+    postings.write(out);
+    DataInputBuffer in = new DataInputBuffer();
+    in.reset(out.getData(), out.getLength());
+
+    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value =
+        new PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>();
+    value.readFields(in);
+    assertEquals(in.getLength(), in.getPosition());
+    return value;
+  }
+
+  private static void assertPostings(TreeMap<Integer, Integer> expected,
+      List<PairOfInts> actual) {
+    assertEquals(expected.size(), actual.size());
+    int i = 0;
+    for (Integer docno : expected.keySet()) {
+      assertEquals(docno.intValue(), actual.get(i).getLeftElement());
+      assertEquals(expected.get(docno).intValue(), actual.get(i).getRightElement());
+      i++;
+    }
+  }
+
+  private int countRuns() {
+    int runs = 0;
+    List<File> dirs = new ArrayList<File>();
+    dirs.add(localDir);
+    while (!dirs.isEmpty()) {
+      for (File file : dirs.remove(dirs.size() - 1).listFiles()) {
+        if (file.isDirectory()) {
+          dirs.add(file);
+        } else if (file.getName().startsWith("postings-test-")) {
+          runs++;
+        }
+      }
+    }
+    return runs;
+  }
+
+  @Test
+  public void testWithoutSpilling() throws IOException {
+    postings.reset();
+    TreeMap<Integer, Integer> expected = add(CAPACITY, 1);
+    assertEquals(0, postings.getNumRuns());
+
+    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value = written();
+    assertEquals(CAPACITY, value.getLeftElement().get());
+    assertPostings(expected, value.getRightElement());
+  }
+
+  @Test
+  public void testSpilledList() throws IOException {
+    postings.reset();
+    TreeMap<Integer, Integer> expected = add(5 * CAPACITY + 7, 2);
+    assertEquals(5, postings.getNumRuns());
+    assertEquals(5, countRuns());
+    assertEquals(expected.size(), postings.getDocFreq());
+
+    // The runs merge into one record holding the df and the whole list, however often written.
+    for (int i = 0; i < 2; i++) {
+      PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value = written();
+      assertEquals(expected.size(), value.getLeftElement().get());
+      assertPostings(expected, value.getRightElement());
+    }
+
+    postings.reset();
+    assertEquals(0, postings.getNumRuns());
+    assertEquals(0, countRuns());
+  }
+
+  @Test
+  public void testReuse() throws IOException {
+    // A list after a spilled one starts from an empty buffer and no runs.
+    postings.reset();
+    add(3 * CAPACITY, 3);
+    written();
+
+    postings.reset();
+    TreeMap<Integer, Integer> expected = add(CAPACITY / 2, 4);
+    assertEquals(0, postings.getNumRuns());
+    assertPostings(expected, written().getRightElement());
+  }
+
+  @Test
+  public void testEmptyList() throws IOException {
+    postings.reset();
+    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value = written();
+    assertEquals(0, value.getLeftElement().get());
+    assertTrue(value.getRightElement().isEmpty());
+  }
+
+  @Test
+  public void testReadFields() throws IOException {
+    postings.reset();
+    TreeMap<Integer, Integer> expected = add(CAPACITY, 5);
+    DataOutputBuffer out = new DataOutputBuffer();
+    postings.write(out);
+
+    // Read back and written again, a list serializes the same.
+    DataInputBuffer in = new DataInputBuffer();
+    in.reset(out.getData(), out.getLength());
+    SpillingPostingsWritable read = new SpillingPostingsWritable();
+    read.readFields(in);
+    assertEquals(expected.size(), read.getDocFreq());
+
+    DataOutputBuffer again = new DataOutputBuffer();
+    read.write(again);
+    assertEquals(out.getLength(), again.getLength());
+    for (int i = 0; i < out.getLength(); i++) {
+      assertEquals(out.getData()[i], again.getData()[i]);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testMapFileGet() throws IOException {
+    FileSystem fs = FileSystem.getLocal(conf);
+    String dir = new Path(folder.getRoot().getPath(), "index").toString();
+    MapFile.Writer writer = new MapFile.Writer(conf, fs, dir, Text.class,
+        SpillingPostingsWritable.class);
+
+    // A spilled list between short ones, each a single record under its term.
+    String[] terms = { "ab", "abc", "abd" };
+    List<TreeMap<Integer, Integer>> lists = new ArrayList<TreeMap<Integer, Integer>>();
+    for (int t = 0; t < terms.length; t++) {
+      postings.reset();
+      lists.add(add(t == 1 ? 4 * CAPACITY + 1 : t + 1, 10 + t));
+      writer.append(new Text(terms[t]), postings);
+    }
+    writer.close();
+
+    MapFile.Reader reader = new MapFile.Reader(fs, dir, conf);
+    PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>> value =
+        new PairOfWritables<IntWritable, ArrayListWritable<PairOfInts>>();
+    for (int t = 0; t < terms.length; t++) {
+      assertSame(value, reader.get(new Text(terms[t]), value));
+      assertEquals(lists.get(t).size(), value.getLeftElement().get());
+      assertPostings(lists.get(t), value.getRightElement());
+    }
+    assertNull(reader.get(new Text("abcd"), value));
+    reader.close();
+
+    postings.reset();
+    assertEquals(0, countRuns());
+  }
+}
@@ -0,0 +1,85 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import edu.umd.cloud9.io.array.ArrayListOfIntsWritable;
+
+/**
+ * Counts the terms of random documents, past the initial sizes of the pool and the table, and
+ * checks them against a LinkedHashMap.
+ */
+public class TermCountsTest {
+  @Test
+  public void testCountsAndPositions() {
+    Random random = new Random(17);
+    Analyzer analyzer = new Analyzer("lowercase");
+    TermCounts counts = new TermCounts();
+    Text term = new Text();
+
+    for (int doc = 0; doc < 20; doc++) {
+      // Documents of few and of many distinct terms, long ones among them.
+      int vocabulary = doc % 2 == 0 ? 10 : 5000;
+      StringBuilder text = new StringBuilder();
+      Map<String, List<Integer>> expected = new LinkedHashMap<String, List<Integer>>();
+      for (int position = 0; position < 3000; position++) {
+        String s = "Term" + random.nextInt(vocabulary) + (random.nextInt(50) == 0 ? "-long-suffix"
+            + "-of-a-term-longer-than-the-scratch-buffers" : "");
+        text.append(s).append(' ');
+        String lower = s.toLowerCase();
+        if (!expected.containsKey(lower)) {
+          expected.put(lower, new ArrayList<Integer>());
+        }
+        expected.get(lower).add(position);
+      }
+
+      counts.clear();
+      analyzer.reset(new Text(text.toString()));
+      for (int position = 0; analyzer.next(); position++) {
+        counts.add(analyzer, position);
+      }
+
+      // Entries are numbered in order of first occurrence.
+      assertEquals(expected.size(), counts.size());
+      int entry = 0;
+      for (Map.Entry<String, List<Integer>> e : expected.entrySet()) {
+        counts.getTerm(entry, term);
+        assertEquals(e.getKey(), term.toString());
+        assertEquals(term.getLength(), counts.getTermLength(entry));
+        assertEquals(e.getValue().size(), counts.getCount(entry));
+
+        ArrayListOfIntsWritable positions = counts.getPositions(entry);
+        assertEquals(e.getValue().size(), positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+          assertEquals(e.getValue().get(i).intValue(), positions.get(i));
+        }
+        entry++;
+      }
+    }
+  }
+
+  @Test
+  public void testAddBytes() {
+    TermCounts counts = new TermCounts();
+    byte[] bytes = { 'a', 'b', 'a', 'b', 'a' };
+    assertEquals(0, counts.add(bytes, 0, 2));
+    assertEquals(0, counts.add(bytes, 2, 2));
+    assertEquals(1, counts.add(bytes, 1, 2));
+    assertEquals(2, counts.add(bytes, 0, 0));
+    assertEquals(3, counts.size());
+    assertEquals(2, counts.getCount(0));
+    assertEquals(0, counts.getTermLength(2));
+
+    counts.clear();
+    assertEquals(0, counts.size());
+    assertEquals(0, counts.add(bytes, 1, 2));
+    assertEquals(1, counts.getCount(0));
+    assertEquals(0, counts.getPositions(0).size());
+  }
+}
@@ -0,0 +1,168 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TermDictionaryTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Returns sorted, distinct terms: random words, prefixes of one another, multi-byte ones and a
+   * term longer than the dictionary's initial buffer.
+   */
+  private static List<Text> terms(int n) {
+    Random random = new Random(17);
+    TreeSet<Text> terms = new TreeSet<Text>();
+    while (terms.size() < n) {
+      StringBuilder word = new StringBuilder();
+      int length = 1 + random.nextInt(8);
+      for (int i = 0; i < length; i++) {
+        word.append((char) ('a' + random.nextInt(6)));
+      }
+      terms.add(new Text(word.toString()));
+    }
+    terms.add(new Text("b"));
+    terms.add(new Text("bb"));
+    terms.add(new Text("bbb"));
+    terms.add(new Text("caf\u00e9"));
+    terms.add(new Text("\u00fcber"));
+    StringBuilder longTerm = new StringBuilder("d");
+    for (int i = 0; i < 200; i++) {
+      longTerm.append('x');
+    }
+    terms.add(new Text(longTerm.toString()));
+
+    return new ArrayList<Text>(terms);
+  }
+
+  private TermDictionary write(List<Text> terms, int termsPerBlock) throws IOException {
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    Path index = new Path(folder.newFolder("index" + termsPerBlock).getPath());
+
+    TermDictionary.Writer writer =
+        new TermDictionary.Writer(fs, new Path(index, TermDictionary.FILE), termsPerBlock);
+    for (int i = 0; i < terms.size(); i++) {
+      writer.add(terms.get(i), length(i));
+    }
+    writer.close();
+
+    return TermDictionary.open(fs, index);
+  }
+
+  private static int length(int i) {
+    return 1 + (i * 37) % 1000;
+  }
+
+  @Test
+  public void testFindsEveryTerm() throws IOException {
+    List<Text> terms = terms(2000);
+    for (int termsPerBlock : new int[] { 1, 4, TermDictionary.DEFAULT_TERMS_PER_BLOCK }) {
+      TermDictionary dictionary = write(terms, termsPerBlock);
+      assertEquals(terms.size(), dictionary.size());
+
+      // Lists are stored back to back in term order.
+      List<Integer> order = new ArrayList<Integer>();
+      long offset = 0;
+      List<Long> offsets = new ArrayList<Long>();
+      for (int i = 0; i < terms.size(); i++) {
+        offsets.add(offset);
+        offset += length(i);
+        order.add(i);
+      }
+
+      Collections.shuffle(order, new Random(termsPerBlock));
+      for (int i : order) {
+        assertTrue(terms.get(i).toString(), dictionary.find(terms.get(i)));
+        assertEquals(terms.get(i).toString(), (long) offsets.get(i), dictionary.getOffset());
+        assertEquals(terms.get(i).toString(), length(i), dictionary.getLength());
+      }
+    }
+  }
+
+  @Test
+  public void testAbsentTerms() throws IOException {
+    List<Text> terms = terms(2000);
+    TreeSet<Text> present = new TreeSet<Text>(terms);
+
+    // Before the first term, after the last, between terms in and across blocks, and prefixes
+    // and extensions of terms.
+    List<Text> absent = new ArrayList<Text>();
+    absent.add(new Text(""));
+    absent.add(new Text("\u0000"));
+    absent.add(new Text("A"));
+    absent.add(new Text("zzz"));
+    absent.add(new Text("\uffff"));
+    for (Text term : terms) {
+      String s = term.toString();
+      absent.add(new Text(s + "\u0000"));
+      absent.add(new Text(s + "z"));
+      absent.add(new Text(s.substring(0, s.length() - 1) + "z"));
+      if (s.length() > 1) {
+        absent.add(new Text(s.substring(0, s.length() - 1)));
+      }
+    }
+
+    for (int termsPerBlock : new int[] { 1, 4, TermDictionary.DEFAULT_TERMS_PER_BLOCK }) {
+      TermDictionary dictionary = write(terms, termsPerBlock);
+      for (Text term : absent) {
+        assertEquals(term.toString(), present.contains(term), dictionary.find(term));
+      }
+    }
+  }
+
+  @Test
+  public void testWalksEveryTerm() throws IOException {
+    List<Text> terms = terms(2000);
+    for (int termsPerBlock : new int[] { 1, 4, TermDictionary.DEFAULT_TERMS_PER_BLOCK }) {
+      TermDictionary dictionary = write(terms, termsPerBlock);
+
+      Text term = new Text();
+      long offset = 0;
+      for (int i = 0; i < terms.size(); i++) {
+        assertTrue(dictionary.next(term));
+        assertEquals(terms.get(i), term);
+        assertEquals(term.toString(), offset, dictionary.getOffset());
+        assertEquals(term.toString(), length(i), dictionary.getLength());
+        offset += length(i);
+
+        // A lookup in between leaves the walk where it was.
+        if (i % 7 == 0) {
+          assertTrue(dictionary.find(terms.get((i * 31) % terms.size())));
+        }
+      }
+      assertFalse(dictionary.next(term));
+    }
+  }
+
+  @Test
+  public void testEmptyDictionary() throws IOException {
+    TermDictionary dictionary = write(new ArrayList<Text>(), 4);
+    assertEquals(0, dictionary.size());
+    assertFalse(dictionary.find(new Text("a")));
+    assertFalse(dictionary.find(new Text("")));
+    assertFalse(dictionary.next(new Text()));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTermsOutOfOrder() throws IOException {
+    List<Text> terms = new ArrayList<Text>();
+    terms.add(new Text("b"));
+    terms.add(new Text("a"));
+    write(terms, 4);
+  }
+}
@@ -0,0 +1,80 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TermHashTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TermHash write(int numTerms) throws IOException {
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    Path index = new Path(folder.newFolder("index" + numTerms).getPath());
+
+    TermHash.Builder builder = new TermHash.Builder();
+    for (int i = 0; i < numTerms; i++) {
+      builder.add(term(i), offset(i), length(i));
+    }
+    builder.write(fs, new Path(index, TermHash.FILE));
+
+    return TermHash.open(fs, index);
+  }
+
+  private static Text term(int i) {
+    return new Text("term" + i);
+  }
+
+  private static long offset(int i) {
+    return 1000L * i + (1L << 33);
+  }
+
+  private static int length(int i) {
+    return 1 + i % 1000;
+  }
+
+  @Test
+  public void testFindsEveryTerm() throws IOException {
+    for (int numTerms : new int[] { 1, 2, 100, 20000 }) {
+      TermHash hash = write(numTerms);
+      assertEquals(numTerms, hash.size());
+
+      // A minimal perfect hash: each term gets its own slot in [0, numTerms).
+      Set<Integer> slots = new HashSet<Integer>();
+      for (int i = 0; i < numTerms; i++) {
+        int slot = hash.find(term(i));
+        assertTrue(term(i) + " slot " + slot, slot >= 0 && slot < numTerms);
+        assertTrue(term(i) + " slot " + slot + " taken", slots.add(slot));
+        assertEquals(offset(i), hash.getOffset(slot));
+        assertEquals(length(i), hash.getLength(slot));
+      }
+    }
+  }
+
+  @Test
+  public void testAbsentTerms() throws IOException {
+    TermHash hash = write(20000);
+    for (int i = 20000; i < 120000; i++) {
+      assertEquals(term(i).toString(), -1, hash.find(term(i)));
+    }
+    assertEquals(-1, hash.find(new Text("")));
+    assertEquals(-1, hash.find(new Text("term")));
+    assertEquals(-1, hash.find(new Text("term1 ")));
+  }
+
+  @Test
+  public void testEmptyVocabulary() throws IOException {
+    TermHash hash = write(0);
+    assertEquals(0, hash.size());
+    assertEquals(-1, hash.find(term(0)));
+  }
+}
@@ -0,0 +1,206 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TermPartitionTableTest {
+  private static final int NUM_PARTITIONS = 5;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private FileSystem fs;
+
+  @Before
+  public void setUp() throws IOException {
+    fs = FileSystem.getLocal(new Configuration());
+  }
+
+  /**
+   * Returns Zipfian dfs for n terms, the most frequent with df {@code top}.
+   */
+  private static Map<String, Long> zipf(int n, long top) {
+    Map<String, Long> dfs = new HashMap<String, Long>();
+    for (int i = 1; i <= n; i++) {
+      dfs.put("term" + i, Math.max(1, top / i));
+    }
+    return dfs;
+  }
+
+  private static double maxOverMean(long[] loads) {
+    long total = 0;
+    long max = 0;
+    for (long load : loads) {
+      total += load;
+      max = Math.max(max, load);
+    }
+    return (double) max * loads.length / total;
+  }
+
+  @Test
+  public void testBuildBalancesLoads() {
+    Map<String, Long> dfs = zipf(20000, 1000000);
+    TermPartitionTable table = TermPartitionTable.build(dfs, NUM_PARTITIONS, 100);
+    assertEquals(NUM_PARTITIONS, table.getNumPartitions());
+    assertEquals(100, table.size());
+
+    long[] hashLoads = TermPartitionTable.getHashLoads(dfs, NUM_PARTITIONS);
+    long[] loads = table.getLoads(dfs);
+    long total = 0;
+    for (int p = 0; p < NUM_PARTITIONS; p++) {
+      total += loads[p];
+    }
+    for (long df : dfs.values()) {
+      total -= df;
+    }
+    assertEquals(0, total);
+
+    assertTrue(maxOverMean(hashLoads) > 1.2);
+    assertTrue(maxOverMean(loads) < 1.01);
+  }
+
+  @Test
+  public void testGetPartition() {
+    Map<String, Long> dfs = zipf(1000, 100000);
+    TermPartitionTable table = TermPartitionTable.build(dfs, NUM_PARTITIONS, 10);
+
+    // The placed terms spread over every partition; terms outside the table are hashed.
+    Text term = new Text();
+    Set<Integer> used = new HashSet<Integer>();
+    for (int i = 1; i <= 1000; i++) {
+      term.set("term" + i);
+      int partition = table.getPartition(term, NUM_PARTITIONS);
+      assertTrue(partition >= 0 && partition < NUM_PARTITIONS);
+      if (i <= 10) {
+        used.add(partition);
+      } else {
+        assertEquals(term.toString(),
+            BuildInvertedIndexCompressed.MyPartitioner.getPartition(term, NUM_PARTITIONS),
+            partition);
+      }
+    }
+    assertEquals(NUM_PARTITIONS, used.size());
+
+    term.set("absent");
+    assertEquals(BuildInvertedIndexCompressed.MyPartitioner.getPartition(term, NUM_PARTITIONS),
+        table.getPartition(term, NUM_PARTITIONS));
+  }
+
+  @Test
+  public void testOtherNumPartitionsHashes() {
+    TermPartitionTable table = TermPartitionTable.build(zipf(1000, 100000), NUM_PARTITIONS, 10);
+    Text term = new Text();
+    for (int i = 1; i <= 10; i++) {
+      term.set("term" + i);
+      assertEquals(BuildInvertedIndexCompressed.MyPartitioner.getPartition(term, 3),
+          table.getPartition(term, 3));
+    }
+  }
+
+  @Test
+  public void testWriteRead() throws IOException {
+    Map<String, Long> dfs = zipf(500, 10000);
+    TermPartitionTable table = TermPartitionTable.build(dfs, NUM_PARTITIONS, 50);
+    Path path = new Path(folder.getRoot().getPath(), TermPartitionTable.FILE);
+    table.write(fs, path);
+
+    TermPartitionTable read = TermPartitionTable.read(fs, path);
+    assertEquals(table.getNumPartitions(), read.getNumPartitions());
+    assertEquals(table.size(), read.size());
+    Text term = new Text();
+    for (String s : dfs.keySet()) {
+      term.set(s);
+      assertEquals(s, table.getPartition(term, NUM_PARTITIONS),
+          read.getPartition(term, NUM_PARTITIONS));
+    }
+  }
+
+  /**
+   * Writes numLines lines of random terms to a file and adds each line's distinct terms, after
+   * analysis, to dfs.
+   */
+  private void writeCollection(Path path, int numLines, Random random, Analyzer analyzer,
+      Map<String, Long> dfs) throws IOException {
+    Writer out = new OutputStreamWriter(fs.create(path), "UTF-8");
+    try {
+      for (int i = 0; i < numLines; i++) {
+        StringBuilder line = new StringBuilder("doc" + i + "\tThe");
+        int length = 1 + random.nextInt(20);
+        for (int j = 0; j < length; j++) {
+          line.append(random.nextBoolean() ? " " : "\t").append("Word").append(random.nextInt(50));
+        }
+        out.write(line.toString());
+        out.write("\n");
+
+        for (String term : new HashSet<String>(analyzer.analyze(line.toString()))) {
+          Long df = dfs.get(term);
+          dfs.put(term, df == null ? 1 : df + 1);
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  @Test
+  public void testSampleWholeCollection() throws IOException {
+    // With a sample as large as the collection, every line is read once: the dfs are exact.
+    Analyzer analyzer = new Analyzer("letters,lowercase,stopwords");
+    Path input = new Path(folder.getRoot().getPath(), "collection");
+    Map<String, Long> expected = new HashMap<String, Long>();
+    Random random = new Random(11);
+    writeCollection(new Path(input, "part-00000"), 3000, random, analyzer, expected);
+    writeCollection(new Path(input, "part-00001"), 500, random, analyzer, expected);
+    fs.create(new Path(input, "_SUCCESS")).close();
+
+    long bytes = fs.getContentSummary(input).getLength();
+    assertEquals(expected, TermPartitionTable.sample(fs, input, bytes, analyzer));
+  }
+
+  @Test
+  public void testSampleLinesAtChunkBoundaries() throws IOException {
+    // 64 lines of the same length: each sample chunk starts exactly at a line.
+    Path input = new Path(folder.getRoot().getPath(), "aligned");
+    Writer out = new OutputStreamWriter(fs.create(input), "UTF-8");
+    for (int i = 0; i < 64; i++) {
+      out.write(String.format("w%08d\n", i));
+    }
+    out.close();
+
+    Map<String, Long> dfs =
+        TermPartitionTable.sample(fs, input, fs.getFileStatus(input).getLen(), new Analyzer());
+    assertEquals(64, dfs.size());
+    for (long df : dfs.values()) {
+      assertEquals(1, df);
+    }
+  }
+
+  @Test
+  public void testSampleScalesDfs() throws IOException {
+    Analyzer analyzer = new Analyzer("lowercase");
+    Path input = new Path(folder.getRoot().getPath(), "collection");
+    Map<String, Long> expected = new HashMap<String, Long>();
+    writeCollection(input, 20000, new Random(12), analyzer, expected);
+
+    Map<String, Long> dfs =
+        TermPartitionTable.sample(fs, input, fs.getFileStatus(input).getLen() / 4, analyzer);
+    assertEquals(20000, dfs.get("the"), 1000);
+    assertEquals(expected.get("word7"), dfs.get("word7"), expected.get("word7") / 10);
+  }
+}
@@ -0,0 +1,380 @@
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Splits text into terms directly over its UTF-8 bytes. Tokens are the runs of bytes between
+ * the delimiters of a default StringTokenizer (space, tab, newline, carriage return and form
+ * feed), the same tokens as tokenizing the decoded text, since the bytes of a multi-byte
+ * character are never ASCII. Unlike \s+, a vertical tab (0x0B) does not split tokens. Each token
+ * then goes through the filters named in {@link #FILTERS_KEY}, comma separated, which always run
+ * in this order:
+ *
+ * <ul>
+ * <li>{@value #LETTERS}: drops tokens that are not made of ASCII letters only.</li>
+ * <li>{@value #LOWERCASE}: lowercases ASCII letters; other characters are left as they are.</li>
+ * <li>{@value #STOPWORDS}: drops common English words, matched in lowercase.</li>
+ * <li>{@value #STEM}: strips plural endings with a light S-stemmer ("flowers" to "flower",
+ * "cities" to "city").</li>
+ * </ul>
+ *
+ * With no filters the analyzer yields every token, as the jobs split lines before.
+ *
+ * The current term is exposed as a slice of a byte array: of the input itself when no filter
+ * changed it, otherwise of a scratch buffer owned by the analyzer. Walking the terms of a line
+ * thus allocates nothing; only {@link #getTermString()} creates a String. An analyzer is not
+ * thread-safe.
+ *
+ * This is the one copy shared by the assignments: the builds of assignment2 and assignment3
+ * compile common/src/main with their own sources, and assignment1's run script compiles it with
+ * DemoWordCount.
+ */
+public class Analyzer {
+  public static final String FILTERS_KEY = "analyzer.filters";
+
+  public static final String LETTERS = "letters";
+  public static final String LOWERCASE = "lowercase";
+  public static final String STOPWORDS = "stopwords";
+  public static final String STEM = "stem";
+  public static final String[] NAMES = { LETTERS, LOWERCASE, STOPWORDS, STEM };
+
+  private static final String[] STOPWORD_LIST = { "a", "an", "and", "are", "as", "at", "be",
+      "but", "by", "for", "if", "in", "into", "is", "it", "no", "not", "of", "on", "or", "such",
+      "that", "the", "their", "then", "there", "these", "they", "this", "to", "was", "will",
+      "with" };
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  // Longer tokens are not hashed at all.
+  private static final int MAX_STOPWORD_LENGTH = 5;
+
+  // Open-addressed hash set of the stopwords' bytes; a power of two, at most a quarter full.
+  private static final byte[][] STOPWORD_TABLE = new byte[128][];
+
+  static {
+    for (String word : STOPWORD_LIST) {
+      byte[] bytes = word.getBytes(UTF8);
+      int slot = hash(bytes, 0, bytes.length) & (STOPWORD_TABLE.length - 1);
+      while (STOPWORD_TABLE[slot] != null) {
+        slot = (slot + 1) & (STOPWORD_TABLE.length - 1);
+      }
+      STOPWORD_TABLE[slot] = bytes;
+    }
+  }
+
+  private final boolean letters;
+  private final boolean lowercase;
+  private final boolean stopwords;
+  private final boolean stem;
+
+  private byte[] bytes;
+  private int pos;
+  private int end;
+
+  private byte[] term;
+  private int termStart;
+  private int termLength;
+  private byte[] scratch = new byte[32];
+
+  private final Text text = new Text();
+
+  /**
+   * Creates an analyzer that yields every token unchanged.
+   */
+  public Analyzer() {
+    this("");
+  }
+
+  /**
+   * @param filters comma-separated filter names, or the empty string for none
+   */
+  public Analyzer(String filters) {
+    boolean letters = false;
+    boolean lowercase = false;
+    boolean stopwords = false;
+    boolean stem = false;
+
+    for (String name : filters.split(",")) {
+      name = name.trim();
+      if (name.length() == 0) {
+        continue;
+      } else if (name.equals(LETTERS)) {
+        letters = true;
+      } else if (name.equals(LOWERCASE)) {
+        lowercase = true;
+      } else if (name.equals(STOPWORDS)) {
+        stopwords = true;
+      } else if (name.equals(STEM)) {
+        stem = true;
+      } else {
+        throw new IllegalArgumentException(
+            "Unknown analyzer filter: " + name + ", expected one of " + Arrays.toString(NAMES));
+      }
+    }
+
+    this.letters = letters;
+    this.lowercase = lowercase;
+    this.stopwords = stopwords;
+    this.stem = stem;
+  }
+
+  /**
+   * Creates the analyzer configured for a job, with no filters if none are set.
+   */
+  public static Analyzer fromConf(Configuration conf) {
+    return fromConf(conf, "");
+  }
+
+  /**
+   * Creates the analyzer configured for a job, with the given filters if none are set.
+   */
+  public static Analyzer fromConf(Configuration conf, String defaultFilters) {
+    return new Analyzer(conf.get(FILTERS_KEY, defaultFilters));
+  }
+
+  /**
+   * Returns the filters of this analyzer in the order they run, comma separated, as recorded
+   * with what it produced.
+   */
+  public String getFilters() {
+    StringBuilder filters = new StringBuilder();
+    boolean[] enabled = { letters, lowercase, stopwords, stem };
+    for (int i = 0; i < NAMES.length; i++) {
+      if (enabled[i]) {
+        filters.append(filters.length() > 0 ? "," : "").append(NAMES[i]);
+      }
+    }
+
+    return filters.toString();
+  }
+
+  /**
+   * Starts analyzing the contents of a Text. The Text must not change until the last term is
+   * read.
+   */
+  public void reset(Text text) {
+    reset(text.getBytes(), 0, text.getLength());
+  }
+
+  public void reset(byte[] bytes, int start, int length) {
+    this.bytes = bytes;
+    this.pos = start;
+    this.end = start + length;
+    this.termLength = 0;
+  }
+
+  /**
+   * Advances to the next term.
+   *
+   * @return false when there are no more terms
+   */
+  public boolean next() {
+    while (true) {
+      while (pos < end && isSpace(bytes[pos])) {
+        pos++;
+      }
+      if (pos == end) {
+        return false;
+      }
+
+      int start = pos;
+      while (pos < end && !isSpace(bytes[pos])) {
+        pos++;
+      }
+
+      if (accept(start, pos - start)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean accept(int start, int length) {
+    if (letters && !isLetters(bytes, start, length)) {
+      return false;
+    }
+
+    term = bytes;
+    termStart = start;
+    termLength = length;
+
+    if (lowercase) {
+      for (int i = start; i < start + length; i++) {
+        if (bytes[i] >= 'A' && bytes[i] <= 'Z') {
+          copyTerm();
+          for (int j = i - start; j < length; j++) {
+            if (term[j] >= 'A' && term[j] <= 'Z') {
+              term[j] += 'a' - 'A';
+            }
+          }
+          break;
+        }
+      }
+    }
+
+    if (stopwords && isStopword(term, termStart, termLength)) {
+      return false;
+    }
+
+    if (stem) {
+      stem();
+    }
+
+    return true;
+  }
+
+  /**
+   * Moves the current term to the scratch buffer, so filters may change it in place.
+   */
+  private void copyTerm() {
+    if (term == scratch) {
+      return;
+    }
+
+    if (scratch.length < termLength) {
+      scratch = new byte[Math.max(termLength, 2 * scratch.length)];
+    }
+    System.arraycopy(term, termStart, scratch, 0, termLength);
+    term = scratch;
+    termStart = 0;
+  }
+
+  /**
+   * Strips a plural "s", "es" or "ies" ("ies" becomes "y"), except after "u" or "s" ("bus",
+   * "glass") and in "aes", "ees", "oes" and short or "aies", "eies" endings.
+   */
+  private void stem() {
+    int n = termLength;
+    int s = termStart;
+    if (n < 3 || term[s + n - 1] != 's') {
+      return;
+    }
+
+    switch (term[s + n - 2]) {
+    case 'u':
+    case 's':
+      return;
+    case 'e':
+      if (n > 3 && term[s + n - 3] == 'i' && term[s + n - 4] != 'a' && term[s + n - 4] != 'e') {
+        copyTerm();
+        term[n - 3] = 'y';
+        termLength = n - 2;
+        return;
+      }
+      if (term[s + n - 3] == 'i' || term[s + n - 3] == 'a' || term[s + n - 3] == 'o'
+          || term[s + n - 3] == 'e') {
+        return;
+      }
+      termLength = n - 1;
+      return;
+    default:
+      termLength = n - 1;
+    }
+  }
+
+  /**
+   * Returns the array holding the current term, from {@link #getTermStart()} for
+   * {@link #getTermLength()} bytes. It is only valid until the next call to {@link #next()}.
+   */
+  public byte[] getTermBytes() {
+    return term;
+  }
+
+  public int getTermStart() {
+    return termStart;
+  }
+
+  public int getTermLength() {
+    return termLength;
+  }
+
+  /**
+   * Copies the current term into a Text.
+   */
+  public void getTerm(Text t) {
+    t.set(term, termStart, termLength);
+  }
+
+  /**
+   * Decodes the current term into a new String.
+   */
+  public String getTermString() {
+    return new String(term, termStart, termLength, UTF8);
+  }
+
+  /**
+   * Returns the terms of a string, such as a query.
+   */
+  public List<String> analyze(String s) {
+    List<String> terms = new ArrayList<String>();
+
+    text.set(s);
+    reset(text);
+    while (next()) {
+      terms.add(getTermString());
+    }
+
+    return terms;
+  }
+
+  /**
+   * Returns the term a single token analyzes to, or null if the filters drop it.
+   */
+  public String analyzeToken(String token) {
+    List<String> terms = analyze(token);
+    return terms.isEmpty() ? null : terms.get(0);
+  }
+
+  /**
+   * Returns whether a byte is one of StringTokenizer's default delimiters.
+   */
+  public static boolean isSpace(int b) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+  }
+
+  private static boolean isLetters(byte[] bytes, int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      int b = bytes[i] | 0x20;
+      if (b < 'a' || b > 'z') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isStopword(byte[] bytes, int start, int length) {
+    if (length > MAX_STOPWORD_LENGTH) {
+      return false;
+    }
+
+    int slot = hash(bytes, start, length) & (STOPWORD_TABLE.length - 1);
+    for (byte[] word = STOPWORD_TABLE[slot]; word != null; word = STOPWORD_TABLE[slot]) {
+      if (word.length == length) {
+        int i = 0;
+        while (i < length && word[i] == bytes[start + i]) {
+          i++;
+        }
+        if (i == length) {
+          return true;
+        }
+      }
+      slot = (slot + 1) & (STOPWORD_TABLE.length - 1);
+    }
+
+    return false;
+  }
+
+  // FNV-1a.
+  private static int hash(byte[] bytes, int start, int length) {
+    int h = 0x811C9DC5;
+    for (int i = start; i < start + length; i++) {
+      h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+    }
+
+    return h ^ (h >>> 16);
+  }
+}